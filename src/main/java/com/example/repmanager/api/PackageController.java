@@ -1,15 +1,41 @@
 package com.example.repmanager.api;
 
+import com.example.repmanager.bussines.abstracts.ArchiveService;
+import com.example.repmanager.bussines.abstracts.BundleService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.DownloadRedirectService;
 import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.bussines.abstracts.UploadJobService;
+import com.example.repmanager.core.util.ContentEncodingHelper;
+import com.example.repmanager.dto.ArchiveEntryDTO;
+import com.example.repmanager.dto.BundleEntryDTO;
+import com.example.repmanager.dto.BundleRequestDTO;
+import com.example.repmanager.dto.CursorPageDTO;
+import com.example.repmanager.dto.PackageFileDTO;
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.dto.PackageVersionDTO;
+import com.example.repmanager.dto.ResolutionDTO;
+import com.example.repmanager.dto.UploadJobDTO;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.List;
 
 /**
- * Bu sınıf, paket yükleme ve indirme işlemleri için REST API uç noktalarını yönetir.
+ * Bu sınıf, paket yükleme, indirme ve listeleme işlemleri için REST API uç noktalarını yönetir.
  */
 @RestController
 @RequestMapping("/api/packages")
@@ -18,6 +44,11 @@ public class PackageController {
 
     // Service katmanı ile iletişimi sağlar. İş mantığı burada değil, service içerisinde bulunur.
     private final PackageService packageService;
+    private final DependencyService dependencyService; // Bağımlılık çözümlemesi için kullanılır.
+    private final BundleService bundleService;         // Toplu indirme arşivlerini üretir.
+    private final UploadJobService uploadJobService;   // Asenkron yüklemeleri kuyruğa alır.
+    private final ArchiveService archiveService;       // package.rep arşivinin içeriğini listeler ve tek girdileri okur.
+    private final DownloadRedirectService downloadRedirectService; // İndirmeler için MinIO'nun imzalı URL'lerini üretir.
 
     /**
      * Bir paketi (.rep dosyası) ve buna ait meta.json dosyasını sunucuya yükler.
@@ -44,27 +75,357 @@ public class PackageController {
         return ResponseEntity.ok().build(); // Başarılı olduğunda boş bir 200 OK cevabı döner.
     }
 
+    /**
+     * Bir paketi asenkron olarak yükler (?async=true). Dosyalar yerel diske kalıcı olarak yazıldıktan sonra
+     * istek beklemeden 202 Accepted ile cevaplanır; storage ve veritabanı işlemleri arka planda tamamlanır.
+     * İşin durumu Location başlığındaki /api/upload-jobs/{jobId} adresinden sorgulanabilir.
+     *
+     * @param packageName Yüklenecek paketin adını belirtir.
+     * @param version Yüklenecek paketin versiyonunu belirtir.
+     * @param metaFile Paketle ilgili bilgileri içeren meta.json dosyasını temsil eder.
+     * @param packageFile Derlenmiş kodları içeren .rep (zip formatlı) dosyasını temsil eder.
+     * @return Kuyruğa alınan yükleme işi; kuyruk doluysa 429 Too Many Requests döner.
+     */
+    @Operation(summary = "Bir paketi asenkron olarak yükler ve bir iş kimliği döner")
+    @PostMapping(
+            value = "/{packageName}/{version}",
+            params = "async=true",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE
+    )
+    public ResponseEntity<UploadJobDTO> uploadPackageAsync(
+            @PathVariable String packageName,
+            @PathVariable String version,
+            @RequestParam("metaFile") MultipartFile metaFile,
+            @RequestParam("packageFile") MultipartFile packageFile
+    ) {
+        UploadJobDTO job = uploadJobService.submit(packageName, version, metaFile, packageFile);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/upload-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Birden fazla paketi tek bir istekte yükler (örneğin CI üzerinden yapılan toplu yayınlar için).
+     * Her paket için bir metaFile ve bir packageFile parçası aynı sırada gönderilir; paket adı ve versiyonu meta.json'dan okunur.
+     * Yükleme bütün olarak başarılı olur veya hiçbir paket yüklenmez.
+     *
+     * @param metaFiles Her paket için meta.json dosyaları.
+     * @param packageFiles Her paket için package.rep dosyaları.
+     * @return Yüklenen paket versiyonlarının listesi.
+     */
+    @Operation(summary = "Birden fazla paketi tek bir istekte yükler")
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<PackageVersionDTO>> uploadPackages(
+            @RequestParam("metaFile") List<MultipartFile> metaFiles,
+            @RequestParam("packageFile") List<MultipartFile> packageFiles
+    ) {
+        return ResponseEntity.ok(packageService.uploadPackages(metaFiles, packageFiles));
+    }
+
     /**
      * Bir paket dosyasını (.rep) veya ona ait meta.json dosyasını sunucudan indirir.
+     * Yayınlanmış bir versiyon değişmediği için cevap, içerik özetinden üretilen güçlü bir ETag ve Last-Modified başlığı taşır.
+     * İstemci If-None-Match veya If-Modified-Since gönderirse ve dosya değişmemişse gövdesiz 304 Not Modified döner.
+     * Range başlığı ile gelen istekler için Spring, Resource üzerinden yalnızca istenen byte aralıklarını 206 Partial Content olarak döner;
+     * böylece yarıda kalan büyük indirmeler kaldığı yerden devam ettirilebilir.
+     * Dosya sıkıştırılmış (gzip) saklanıyorsa ve istemci Accept-Encoding ile gzip kabul ediyorsa byte'lar olduğu gibi
+     * Content-Encoding: gzip ile gönderilir; diğer istemciler için içerik akış halinde açılarak gönderilir.
+     * Yönlendirme açıksa (storage.redirect.enabled) ve dosya MinIO'da ise istemci 302 Found ile kısa ömürlü imzalı bir
+     * URL'e yönlendirilir; byte'lar uygulama sunucusundan geçmez. Yönlendirme izleyemeyen istemciler ?redirect=false gönderir.
      *
      * @param packageName İndirilecek paketin adını belirtir.
      * @param version İndirilecek paketin versiyonunu belirtir.
      * @param fileName İndirilecek dosyanın adını belirtir (örneğin: meta.json veya package.rep).
-     * @return İstenen dosyayı byte[] olarak döner ve HTTP cevabı içerisine yerleştirir.
+     * @param redirect false ise dosya, yönlendirme açık olsa da uygulama üzerinden gönderilir.
+     * @param webRequest Koşullu istek başlıklarını (If-None-Match, If-Modified-Since) kontrol etmek için kullanılır.
+     * @return İstenen dosyayı Resource olarak döner; içerik HTTP cevabına belleğe alınmadan akış halinde yazılır.
      */
     @Operation(summary = "Bir paket dosyasını veya meta.json dosyasını indirir") // Swagger dökümantasyonu için açıklama sağlar.
     @GetMapping("/{packageName}/{version}/{fileName}")
-    public ResponseEntity<byte[]> downloadPackageFile(
+    public ResponseEntity<Resource> downloadPackageFile(
             @PathVariable String packageName,
             @PathVariable String version,
-            @PathVariable String fileName
+            @PathVariable String fileName,
+            @RequestParam(defaultValue = "true") boolean redirect,
+            WebRequest webRequest
     ) {
+        return serveFile(packageName, version, fileName, redirect, webRequest);
+    }
+
+    /**
+     * Bir paket versiyonunun package.rep arşivindeki girdileri listeler.
+     * Arşivin tamamı okunmaz; yalnızca arşivin sonundaki merkezi dizin okunur.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return Arşivdeki girdiler (yol, boyut, sıkıştırılmış boyut, CRC-32).
+     */
+    @Operation(summary = "package.rep arşivindeki dosyaları listeler")
+    @GetMapping("/{packageName}/{version}/package.rep/entries")
+    public ResponseEntity<List<ArchiveEntryDTO>> listArchiveEntries(
+            @PathVariable String packageName,
+            @PathVariable String version
+    ) {
+        return ResponseEntity.ok(archiveService.listEntries(packageName, version));
+    }
+
+    /**
+     * package.rep arşivindeki tek bir dosyayı açılmış olarak indirir.
+     * Storage'dan yalnızca bu girdinin byte aralığı okunur; paketin tamamı indirilmez.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param entryPath Girdinin arşiv içindeki yolu (örnek: META-INF/MANIFEST.MF).
+     * @return Girdinin içeriği.
+     */
+    @Operation(summary = "package.rep arşivindeki tek bir dosyayı indirir")
+    @GetMapping("/{packageName}/{version}/package.rep/entries/{*entryPath}")
+    public ResponseEntity<Resource> downloadArchiveEntry(
+            @PathVariable String packageName,
+            @PathVariable String version,
+            @PathVariable String entryPath
+    ) {
+        // {*entryPath} değişkeni baştaki "/" ile birlikte gelir.
+        Resource entry = archiveService.openEntry(packageName, version, entryPath.substring(1));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(entry.getFilename()).build().toString())
+                .body(entry);
+    }
+
+    /**
+     * Bir paket versiyonunun tüm geçişli (transitive) bağımlılıklarını tek bir cevapta döner.
+     * Paketler kurulum sırasına göre listelenir; istemci bağımlılık ağacını gezmek için ayrı ayrı istek atmak zorunda kalmaz.
+     * Bağımlılıklardan biri bulunamazsa 404, bağımlılık ağacında döngü varsa 400 döner.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return İstenen paket dahil tüm paketleri içeren çözümleme sonucu.
+     */
+    @Operation(summary = "Bir paket versiyonunun tüm bağımlılıklarını çözümler")
+    @GetMapping("/{packageName}/{version}/resolve")
+    public ResponseEntity<ResolutionDTO> resolveDependencies(
+            @PathVariable String packageName,
+            @PathVariable String version
+    ) {
+        return ResponseEntity.ok(dependencyService.resolve(packageName, version));
+    }
+
+    /**
+     * Bir paket versiyonunu ve tüm geçişli bağımlılıklarını tek bir zip arşivi olarak indirir.
+     * Arşivde her paket için {ad}/{versiyon}/meta.json ve {ad}/{versiyon}/package.rep girdileri kurulum sırasına göre bulunur.
+     * Arşiv bellekte oluşturulmaz, dosyalar storage'dan okundukça cevaba akış halinde yazılır.
+     *
+     * @param packageName Kök paketin adını belirtir.
+     * @param version Kök paketin versiyonunu belirtir.
+     * @return Zip arşivi.
+     */
+    @Operation(summary = "Bir paketi bağımlılıkları ile birlikte tek bir zip arşivi olarak indirir")
+    @GetMapping("/{packageName}/{version}/bundle")
+    public ResponseEntity<StreamingResponseBody> downloadBundle(
+            @PathVariable String packageName,
+            @PathVariable String version
+    ) {
+        List<BundleEntryDTO> entries = bundleService.prepareBundle(packageName, version);
+        return bundleResponse(packageName + "-" + version + "-bundle.zip", entries);
+    }
+
+    /**
+     * İstenen paket versiyonlarını tek bir zip arşivi olarak indirir.
+     *
+     * @param request "ad@versiyon" formatındaki paket listesi.
+     * @return Zip arşivi.
+     */
+    @Operation(summary = "Birden fazla paket versiyonunu tek bir zip arşivi olarak indirir")
+    @PostMapping(value = "/bundle", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> downloadBundle(@Valid @RequestBody BundleRequestDTO request) {
+        List<BundleEntryDTO> entries = bundleService.prepareBundle(request.getPackages());
+        return bundleResponse("bundle.zip", entries);
+    }
+
+    /**
+     * Paketlerin listesini, her paketin en son versiyonu ile birlikte paket adına göre sıralı olarak döner.
+     * Sayfalama imleç (keyset) tabanlıdır: sonraki sayfa için cevaptaki nextCursor değeri "after" parametresi olarak gönderilir.
+     *
+     * @param after Önceki sayfanın son paket adı; ilk sayfa için gönderilmez.
+     * @param limit Sayfadaki en fazla kayıt sayısı (en fazla 200).
+     * @return Paketleri ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Operation(summary = "Paketleri en son versiyonları ile listeler")
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<PackageVersionDTO>> listPackages(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(packageService.listPackages(after, limit));
+    }
+
+    /**
+     * Paketleri ad önekine, ad veya yazarda geçen metne, yazara ya da bağımlılığa göre arar.
+     * Her paket için filtrelere uyan en son versiyon döner; sayfalama listPackages ile aynıdır.
+     *
+     * @param prefix Paket adı öneki (autocomplete).
+     * @param q Paket adında veya yazarında geçen metin (en az 3 karakter).
+     * @param author Yazar adı.
+     * @param dependsOn Bu pakete ("ad" veya "ad@versiyon") bağımlı olan paketler.
+     * @param after Önceki sayfanın son paket adı; ilk sayfa için gönderilmez.
+     * @param limit Sayfadaki en fazla kayıt sayısı (en fazla 200).
+     * @return Bulunan paketleri ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Operation(summary = "Paketleri ada, yazara veya bağımlılığa göre arar")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<PackageVersionDTO>> searchPackages(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String dependsOn,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        PackageSearchDTO criteria = PackageSearchDTO.builder()
+                .prefix(prefix)
+                .query(q)
+                .author(author)
+                .dependsOn(dependsOn)
+                .build();
+        return ResponseEntity.ok(packageService.searchPackages(criteria, after, limit));
+    }
+
+    /**
+     * Bir paketin tüm versiyonlarını büyükten küçüğe sıralı olarak, imleç tabanlı sayfalar halinde döner.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param after Önceki sayfanın son versiyonu (örneğin 1.2.0); ilk sayfa için gönderilmez.
+     * @param limit Sayfadaki en fazla kayıt sayısı (en fazla 200).
+     * @return Versiyonları ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Operation(summary = "Bir paketin versiyonlarını listeler")
+    @GetMapping("/{packageName}/versions")
+    public ResponseEntity<CursorPageDTO<PackageVersionDTO>> listVersions(
+            @PathVariable String packageName,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(packageService.listVersions(packageName, after, limit));
+    }
+
+    /**
+     * Bir paketin en son versiyonunun bilgilerini döner.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @return En son versiyonun özet bilgileri.
+     */
+    @Operation(summary = "Bir paketin en son versiyonunu döner")
+    @GetMapping("/{packageName}/latest")
+    public ResponseEntity<PackageVersionDTO> getLatestVersion(@PathVariable String packageName) {
+        return ResponseEntity.ok(packageService.getLatestVersion(packageName));
+    }
+
+    /**
+     * Bir paketin en son versiyonuna ait dosyayı indirir.
+     * ETag dosya içeriğinden üretildiği için yeni bir versiyon yüklendiğinde istemcinin kopyası otomatik olarak geçersiz olur.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param fileName İndirilecek dosyanın adını belirtir (örneğin: meta.json veya package.rep).
+     * @param redirect false ise dosya, yönlendirme açık olsa da uygulama üzerinden gönderilir.
+     * @param webRequest Koşullu istek başlıklarını kontrol etmek için kullanılır.
+     * @return En son versiyonun istenen dosyası.
+     */
+    @Operation(summary = "Bir paketin en son versiyonundaki dosyayı indirir")
+    @GetMapping("/{packageName}/latest/{fileName}")
+    public ResponseEntity<Resource> downloadLatestPackageFile(
+            @PathVariable String packageName,
+            @PathVariable String fileName,
+            @RequestParam(defaultValue = "true") boolean redirect,
+            WebRequest webRequest
+    ) {
+        String version = packageService.getLatestVersion(packageName).getVersion();
+        return serveFile(packageName, version, fileName, redirect, webRequest);
+    }
+
+    /**
+     * Bir paket versiyonunu ve ona ait meta.json ve package.rep dosyalarını siler.
+     *
+     * @param packageName Silinecek paketin adını belirtir.
+     * @param version Silinecek paketin versiyonunu belirtir.
+     * @return Silme başarılıysa HTTP 204 No Content cevabı döner.
+     */
+    @Operation(summary = "Bir paket versiyonunu siler")
+    @DeleteMapping("/{packageName}/{version}")
+    public ResponseEntity<Void> deletePackage(
+            @PathVariable String packageName,
+            @PathVariable String version
+    ) {
+        packageService.deletePackage(packageName, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Bir paket dosyasını ETag / Last-Modified başlıkları ile döner; istemcinin kopyası güncelse 304 cevabı üretir.
+     */
+    private ResponseEntity<Resource> serveFile(String packageName, String version, String fileName, boolean redirect,
+                                               WebRequest webRequest) {
+        // Dosyanın ETag ve Last-Modified bilgilerini, içeriği okumadan iş katmanından alır.
+        PackageFileDTO fileInfo = packageService.getPackageFileInfo(packageName, version, fileName);
+
+        // Dosya sıkıştırılmış saklanıyorsa ve istemci bu kodlamayı kabul ediyorsa storage'daki byte'lar olduğu gibi gönderilir.
+        String encoding = fileInfo.getEncoding();
+        boolean sendEncoded = encoding != null
+                && ContentEncodingHelper.accepts(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), encoding);
+        // Sıkıştırılmış ve açılmış gösterimler farklı byte'lar olduğu için güçlü ETag'leri de farklıdır.
+        String eTag = sendEncoded ? fileInfo.getDigest() + "-" + encoding : fileInfo.getDigest();
+
+        // İstemcideki kopya güncelse 304 Not Modified döner; storage'a hiç gidilmez.
+        if (webRequest.checkNotModified(eTag, fileInfo.getLastModified())) {
+            return null;
+        }
+
+        // Dosya MinIO'dan doğrudan indirilebiliyorsa istemci imzalı URL'e yönlendirilir.
+        // URL kısa ömürlü olduğu için yönlendirme cevabı hiçbir önbellekte saklanmaz.
+        URI location = redirect
+                ? downloadRedirectService.findRedirect(packageName, version, fileName, sendEncoded)
+                : null;
+        if (location != null) {
+            ResponseEntity.HeadersBuilder<?> found = ResponseEntity.status(HttpStatus.FOUND)
+                    .location(location)
+                    .cacheControl(CacheControl.noStore());
+            if (encoding != null) {
+                found.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            }
+            return found.build();
+        }
+
         // İstenen dosyayı iş katmanından (service) alır.
-        byte[] data = packageService.downloadPackageFile(packageName, version, fileName);
+        Resource resource = sendEncoded
+                ? packageService.downloadStoredPackageFile(packageName, version, fileName)
+                : packageService.downloadPackageFile(packageName, version, fileName);
 
         // Dosyayı binary formatta geri döner ve Content-Type olarak application/octet-stream ayarlar.
-        return ResponseEntity.ok()
+        // Content-Length, Resource'un boyutundan otomatik olarak hesaplanır; Range istekleri için 206 cevabını Spring üretir.
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(data);
+                .eTag(eTag)
+                .lastModified(fileInfo.getLastModified());
+        if (encoding != null) {
+            // Aynı URL, Accept-Encoding başlığına göre farklı gösterimler döner; ara önbellekler bunları ayrı tutmalıdır.
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (sendEncoded) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return response.body(resource);
+    }
+
+    /**
+     * Hazırlanan arşiv girdilerini akış halinde yazan bir zip cevabı üretir.
+     * Paketler önceden bulunduğu için eksik bir paket, cevap başlamadan 404 olarak döner.
+     */
+    private ResponseEntity<StreamingResponseBody> bundleResponse(String fileName, List<BundleEntryDTO> entries) {
+        StreamingResponseBody body = outputStream -> bundleService.writeBundle(entries, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
     }
 }
@@ -0,0 +1,39 @@
+package com.example.repmanager.api;
+
+import com.example.repmanager.bussines.abstracts.ScrubService;
+import com.example.repmanager.dto.ScrubReportDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Bu sınıf, storage bütünlük taramasını (scrub) bir actuator uç noktası olarak sunar (/actuator/scrub).
+ * Paket API'sinden ayrı tutulur; yalnızca management.endpoints.web.exposure.include listesine eklendiğinde erişilebilir.
+ */
+@Component
+@Endpoint(id = "scrub")
+@RequiredArgsConstructor
+public class ScrubEndpoint {
+
+    private final ScrubService scrubService;
+
+    /**
+     * GET /actuator/scrub: süren taramanın durumunu veya son taramanın raporunu döner; hiç tarama yapılmadıysa 404.
+     */
+    @ReadOperation
+    public ScrubReportDTO report() {
+        return scrubService.getReport();
+    }
+
+    /**
+     * POST /actuator/scrub: taramayı arka planda başlatır.
+     */
+    @WriteOperation
+    public Map<String, Boolean> start() {
+        return Map.of("started", scrubService.startScrub());
+    }
+}
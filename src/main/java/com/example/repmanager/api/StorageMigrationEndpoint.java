@@ -0,0 +1,48 @@
+package com.example.repmanager.api;
+
+import com.example.repmanager.bussines.abstracts.StorageMigrationService;
+import com.example.repmanager.dto.StorageMigrationDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Bu sınıf, storage backend'leri arasındaki taşıma işini bir actuator uç noktası olarak sunar (/actuator/migration).
+ * storage.migration.source tanımlı değilse durum boş döner ve iş başlatılamaz.
+ */
+@Component
+@Endpoint(id = "migration")
+@RequiredArgsConstructor
+public class StorageMigrationEndpoint {
+
+    private final StorageMigrationService migrationService;
+
+    /**
+     * GET /actuator/migration: taşıma işinin durumunu ve ilerlemesini döner.
+     */
+    @ReadOperation
+    public StorageMigrationDTO status() {
+        return migrationService.getStatus();
+    }
+
+    /**
+     * POST /actuator/migration: taşıma işini kontrol noktasından başlatır veya devam ettirir.
+     */
+    @WriteOperation
+    public Map<String, Boolean> start() {
+        return Map.of("started", migrationService.start());
+    }
+
+    /**
+     * DELETE /actuator/migration: taşıma işini mevcut sayfa bittikten sonra durdurur.
+     */
+    @DeleteOperation
+    public Map<String, Boolean> stop() {
+        return Map.of("stopping", migrationService.stop());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.repmanager.api;
+
+import com.example.repmanager.bussines.abstracts.UploadJobService;
+import com.example.repmanager.dto.UploadJobDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bu sınıf, asenkron yükleme işlerinin (?async=true) durumunu sorgulamak için REST API uç noktalarını yönetir.
+ */
+@RestController
+@RequestMapping("/api/upload-jobs")
+@RequiredArgsConstructor
+public class UploadJobController {
+
+    private final UploadJobService uploadJobService;
+
+    /**
+     * Bir yükleme işinin güncel durumunu döner.
+     *
+     * @param jobId Yükleme isteğine 202 cevabı ile dönen iş kimliği.
+     * @return İşin durumu (QUEUED, PROCESSING, COMPLETED veya FAILED); iş bulunamazsa 404 Not Found döner.
+     */
+    @Operation(summary = "Bir asenkron yükleme işinin durumunu döner")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<UploadJobDTO> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(uploadJobService.getJob(jobId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.ArchiveEntryDTO;
+import org.springframework.core.io.Resource;
+
+import java.util.List;
+
+/**
+ * Bu arayüz (interface), bir paketin package.rep (zip) arşivinin içeriğinin, arşivin tamamı indirilmeden
+ * listelenmesini ve tek bir girdisinin okunmasını tanımlar.
+ */
+public interface ArchiveService {
+
+    /**
+     * Bir paket versiyonunun package.rep arşivindeki girdileri listeler.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return Arşivdeki girdiler, arşivdeki sırayla.
+     */
+    List<ArchiveEntryDTO> listEntries(String name, String version);
+
+    /**
+     * Bir paket versiyonunun package.rep arşivindeki tek bir girdinin açılmış içeriğini döner.
+     * Storage'dan yalnızca girdinin byte aralığı okunur.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param path Girdinin arşiv içindeki yolu (örnek: META-INF/MANIFEST.MF).
+     * @return Girdinin içeriğini akış olarak okuyan Resource (Content-Length okumadan bilinir).
+     */
+    Resource openEntry(String name, String version, String path);
+}
@@ -0,0 +1,63 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.entities.BlobEntity;
+import com.example.repmanager.storage.EncodedContent;
+
+/**
+ * Bu arayüz (interface), içerik adresli (content-addressed) storage modundaki blob'ların
+ * referans sayımını ve çöp toplamasını (garbage collection) yönetir.
+ */
+public interface BlobService {
+
+    /**
+     * Blob'un içeriğini, blob henüz kayıtlı değilse storage'a yazar; referans sayısını değiştirmez.
+     * İçerikler transaction dışında yazılır (toplu yüklemede paralel olarak), referanslar ise
+     * acquireStored ile transaction içinde eklenir.
+     *
+     * @param digest Ham içeriğin SHA-256 özetidir.
+     * @param size Ham içeriğin byte cinsinden boyutudur.
+     * @param content Yazılacak (gerekirse sıkıştırılmış) içeriktir.
+     * @return İçerik bu çağrıda yazıldıysa storage yolu; blob zaten kayıtlıysa null.
+     */
+    String storeIfAbsent(String digest, long size, EncodedContent content);
+
+    /**
+     * İçeriği storeIfAbsent ile önceden yazılmış bir blob'a referans ekler; storage'a hiç yazmaz.
+     * Blob zaten kayıtlıysa önceki saklama kodlaması korunur; dönen kaydın kodlaması, yazılandan farklı olabilir.
+     *
+     * @param digest Ham içeriğin SHA-256 özetidir.
+     * @param size Ham içeriğin byte cinsinden boyutudur.
+     * @param storagePath storeIfAbsent'in döndüğü yol; blob zaten kayıtlıysa null olabilir.
+     * @param encoding storeIfAbsent ile yazılan içeriğin saklama kodlaması; ham yazıldıysa null.
+     * @return Referans eklenen blob kaydı (storage yolu ve saklama kodlaması).
+     */
+    BlobEntity acquireStored(String digest, long size, String storagePath, String encoding);
+
+    /**
+     * storeIfAbsent ile yazılmış ama kaydı eklenemeyen (yüklemesi başarısız olan) bir blob'u, referansı olmayan bir kayıt
+     * olarak ekler; içerik bekleme süresinden sonra çöp toplama ile silinir. İçerik doğrudan silinmez: aynı içeriği
+     * eşzamanlı olarak yükleyen başka bir istek aynı anahtara yazmış ve referansını eklemek üzere olabilir.
+     * Blob zaten kayıtlıysa hiçbir şey yapılmaz.
+     *
+     * @param digest Blob'un SHA-256 özetidir.
+     * @param size Ham içeriğin byte cinsinden boyutudur.
+     * @param storagePath storeIfAbsent'in döndüğü yol.
+     * @param encoding Yazılan içeriğin saklama kodlaması; ham yazıldıysa null.
+     */
+    void releaseStored(String digest, long size, String storagePath, String encoding);
+
+    /**
+     * Verilen özete sahip blob'dan bir referansı kaldırır.
+     * Referans sayısı sıfıra düşen blob'lar hemen silinmez; bekleme süresi dolduktan sonra çöp toplama ile silinir.
+     *
+     * @param digest Blob'un SHA-256 özetidir.
+     */
+    void release(String digest);
+
+    /**
+     * Referansı kalmamış ve bekleme süresi dolmuş blob'ları storage'dan ve veritabanından siler.
+     *
+     * @return Silinen blob sayısı.
+     */
+    int collectGarbage();
+}
@@ -0,0 +1,42 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.BundleEntryDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Bu arayüz (interface), birden fazla paket versiyonunun meta.json ve package.rep dosyalarının
+ * tek bir arşiv (zip) olarak indirilmesini tanımlar.
+ * Hazırlık (paketlerin bulunması) ve yazma ayrı adımlardır; böylece eksik bir paket, cevap akışı başlamadan 404 ile bildirilir.
+ */
+public interface BundleService {
+
+    /**
+     * Verilen paket versiyonlarının arşiv girdilerini hazırlar.
+     *
+     * @param packages "ad@versiyon" formatındaki paket listesi; tekrar eden elemanlar bir kez yazılır.
+     * @return Arşive yazılacak girdiler (her paket için önce meta.json, sonra package.rep).
+     */
+    List<BundleEntryDTO> prepareBundle(List<String> packages);
+
+    /**
+     * Bir paket versiyonunu ve tüm geçişli bağımlılıklarını kurulum sırasına göre içeren arşiv girdilerini hazırlar.
+     *
+     * @param name Kök paketin adını belirtir.
+     * @param version Kök paketin versiyonunu belirtir.
+     * @return Arşive yazılacak girdiler.
+     */
+    List<BundleEntryDTO> prepareBundle(String name, String version);
+
+    /**
+     * Girdileri sırasıyla zip arşivi olarak akışa yazar.
+     * Sıradaki girdiler storage'dan eş zamanlı olarak önceden okunur; arşivin tamamı hiçbir zaman bellekte tutulmaz.
+     *
+     * @param entries prepareBundle ile hazırlanan girdiler.
+     * @param outputStream Arşivin yazılacağı akış (HTTP cevabı).
+     * @throws IOException Akışa yazılamazsa (örneğin istemci bağlantıyı kapattıysa).
+     */
+    void writeBundle(List<BundleEntryDTO> entries, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.MetaDTO;
+import com.example.repmanager.dto.ResolutionDTO;
+import com.example.repmanager.entities.PackageEntity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bu arayüz (interface), paketler arasındaki bağımlılık kenarlarının saklanmasını ve
+ * bir paketin geçişli (transitive) bağımlılıklarının sunucu tarafında çözümlenmesini tanımlar.
+ */
+public interface DependencyService {
+
+    /**
+     * Bir paket versiyonunun bağımlılıklarını kaydeder; önceki kenarlar varsa değiştirilir.
+     *
+     * @param entity Bağımlılıkları kaydedilecek paket kaydı (id'si atanmış olmalıdır).
+     * @param dependencies meta.json içindeki bağımlılık listesi; null olabilir.
+     */
+    void saveDependencies(PackageEntity entity, List<MetaDTO.Dependency> dependencies);
+
+    /**
+     * Yeni oluşturulan paket versiyonlarının bağımlılıklarını kaydeder. Önceki kenarlar silinmez;
+     * tüm kenarlar tek seferde eklendiği için JDBC batch olarak yazılabilir (toplu yükleme için).
+     *
+     * @param dependenciesByPackageId Paket kaydı id'si -> meta.json içindeki bağımlılık listesi.
+     */
+    void addDependencies(Map<Long, List<MetaDTO.Dependency>> dependenciesByPackageId);
+
+    /**
+     * Bir paket versiyonunun bağımlılık kenarlarını siler.
+     *
+     * @param entity Silinen paket kaydı.
+     */
+    void deleteDependencies(PackageEntity entity);
+
+    /**
+     * Bir paket versiyonunun tüm geçişli bağımlılıklarını tek seferde çözümler.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return İstenen paket dahil tüm paketleri kurulum sırasına göre içeren sonuç.
+     * @throws com.example.repmanager.core.exception.PackageNotFoundException Paket veya bağımlılıklarından biri bulunamazsa.
+     * @throws RuntimeException Bağımlılık ağacında döngü varsa.
+     */
+    ResolutionDTO resolve(String name, String version);
+}
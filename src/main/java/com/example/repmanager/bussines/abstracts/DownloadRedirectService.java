@@ -0,0 +1,22 @@
+package com.example.repmanager.bussines.abstracts;
+
+import java.net.URI;
+
+/**
+ * Bu arayüz (interface), paket dosyalarının uygulama sunucusundan geçirilmeden, istemcinin storage'a (MinIO)
+ * kısa ömürlü imzalı bir URL ile yönlendirilerek indirilmesini tanımlar.
+ */
+public interface DownloadRedirectService {
+
+    /**
+     * Bir paket dosyası için istemcinin yönlendirileceği imzalı URL'i döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param fileName Dosyanın adını belirtir (meta.json veya package.rep).
+     * @param encoded true ise istemci dosyanın storage'daki (gzip ile sıkıştırılmış) halini kabul eder.
+     * @return İmzalı URL; yönlendirme kapalıysa, storage stratejisi desteklemiyorsa, dosya küçükse veya
+     *         istemcinin istediği gösterim storage'dakinden farklıysa null (dosya uygulama üzerinden gönderilir).
+     */
+    URI findRedirect(String name, String version, String fileName, boolean encoded);
+}
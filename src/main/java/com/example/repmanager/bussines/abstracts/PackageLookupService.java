@@ -0,0 +1,49 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.entities.PackageEntity;
+
+import java.util.Optional;
+
+/**
+ * Bu arayüz (interface), paket kayıtlarının okuma yollarında (indirme, bağımlılık çözümleme, en son versiyon,
+ * yükleme öncesi varlık kontrolü) kullanılan önbellekli sorgulamaları tanımlar.
+ * Yayınlanmış bir versiyon değişmediği için kayıtlar bellekte tutulur; bir kayıt değiştiğinde invalidateAfterCommit
+ * ile hem bu uygulamadaki hem de diğer replikalardaki önbellek temizlenir.
+ */
+public interface PackageLookupService {
+
+    /**
+     * Paket ismine ve versiyonuna göre paket kaydını döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return Bulunursa kaydın bir kopyası; dönen nesne değiştirilebilir, önbelleği etkilemez.
+     */
+    Optional<PackageEntity> findPackage(String name, String version);
+
+    /**
+     * Bir paketin sayısal olarak en büyük versiyonunu döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @return Bulunursa en son versiyon kaydının bir kopyası.
+     */
+    Optional<PackageEntity> findLatest(String name);
+
+    /**
+     * Bir paket versiyonunun kayıtlı olup olmadığını döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return Kayıt varsa true.
+     */
+    boolean exists(String name, String version);
+
+    /**
+     * Bir paket versiyonunun (ve paketin en son versiyonunun) önbellek kayıtlarını, çağıran transaction commit
+     * edildikten sonra temizler ve diğer replikalara bildirir. Transaction yoksa hemen temizler.
+     *
+     * @param name Değişen paketin adını belirtir.
+     * @param version Değişen paketin versiyonunu belirtir.
+     */
+    void invalidateAfterCommit(String name, String version);
+}
@@ -1,8 +1,14 @@
 package com.example.repmanager.bussines.abstracts;
 
-import com.example.repmanager.dto.MetaDTO;
+import com.example.repmanager.dto.CursorPageDTO;
+import com.example.repmanager.dto.PackageFileDTO;
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.dto.PackageVersionDTO;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 /**
  * Bu arayüz (interface), paket yükleme ve indirme işlemleri için gerekli olan servis metodlarını tanımlar.
  * Uygulamada gerçek iş mantığı bu interface'i implemente eden sınıfta (örneğin PackageServiceImpl) bulunur.
@@ -19,13 +25,93 @@ public interface PackageService {
      */
     void uploadPackage(String name, String version, MultipartFile metaFile, MultipartFile packageFile);
 
+    /**
+     * Birden fazla paketi tek bir istekte yükler. Dosyalar storage'a paralel yazılır, kayıtlar tek bir transaction'da eklenir;
+     * herhangi bir paket başarısız olursa hiçbiri yüklenmez ve yazılan dosyalar silinir.
+     *
+     * @param metaFiles Her paket için meta.json dosyaları; paket adı ve versiyonu bu dosyalardan okunur.
+     * @param packageFiles Her paket için package.rep dosyaları (metaFiles ile aynı sırada).
+     * @return Yüklenen paket versiyonları.
+     */
+    List<PackageVersionDTO> uploadPackages(List<MultipartFile> metaFiles, List<MultipartFile> packageFiles);
+
+    /**
+     * Bir paket dosyasının içerik özetini (ETag) ve yüklenme zamanını (Last-Modified) döner.
+     * Koşullu isteklerin (If-None-Match / If-Modified-Since) dosya içeriği okunmadan cevaplanmasını sağlar.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param fileName Dosyanın adını belirtir (örneğin: package.rep veya meta.json).
+     * @return Dosyanın özet ve zaman bilgilerini içeren PackageFileDTO nesnesi.
+     */
+    PackageFileDTO getPackageFileInfo(String name, String version, String fileName);
+
     /**
      * İstenilen bir paket dosyasını (.rep veya meta.json) sunucudan indirir.
      *
      * @param name İndirilecek paketin adını belirtir.
      * @param version İndirilecek paketin versiyonunu belirtir.
      * @param fileName İndirilecek dosyanın adını belirtir (örneğin: package.rep veya meta.json).
-     * @return İndirilen dosyanın byte dizisi (byte array) olarak içeriğini döner.
+     * @return İndirilecek dosyayı, içeriği belleğe alınmadan akış olarak okunabilecek bir Resource şeklinde döner.
+     *         Dosya sıkıştırılmış saklanıyorsa içerik okunurken açılır.
+     */
+    Resource downloadPackageFile(String name, String version, String fileName);
+
+    /**
+     * İstenilen bir paket dosyasını storage'daki haliyle döner; dosya sıkıştırılmış saklanıyorsa içerik açılmaz.
+     * Sıkıştırılmış içeriği kabul eden istemcilere byte'ların olduğu gibi gönderilmesi için kullanılır
+     * (kodlama PackageFileDTO.encoding alanındadır).
+     *
+     * @param name İndirilecek paketin adını belirtir.
+     * @param version İndirilecek paketin versiyonunu belirtir.
+     * @param fileName İndirilecek dosyanın adını belirtir (örneğin: package.rep veya meta.json).
+     * @return Dosyanın storage'daki byte'larını temsil eden Resource nesnesi.
+     */
+    Resource downloadStoredPackageFile(String name, String version, String fileName);
+
+    /**
+     * Bir paket versiyonunu ve ona ait dosyaları siler.
+     *
+     * @param name Silinecek paketin adını belirtir.
+     * @param version Silinecek paketin versiyonunu belirtir.
+     */
+    void deletePackage(String name, String version);
+
+    /**
+     * Her paketin en son versiyonunu paket adına göre sıralı, imleç tabanlı sayfalar halinde listeler.
+     *
+     * @param after Önceki sayfanın nextCursor değeri; ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Paketleri ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    CursorPageDTO<PackageVersionDTO> listPackages(String after, int limit);
+
+    /**
+     * Filtrelere uyan paketleri, her paket için filtrelere uyan en son versiyonu ile, paket adına göre sıralı
+     * ve imleç tabanlı sayfalar halinde döner.
+     *
+     * @param criteria Arama filtreleri; en az biri verilmelidir.
+     * @param after Önceki sayfanın nextCursor değeri; ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Bulunan paketleri ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    CursorPageDTO<PackageVersionDTO> searchPackages(PackageSearchDTO criteria, String after, int limit);
+
+    /**
+     * Bir paketin versiyonlarını büyükten küçüğe, imleç tabanlı sayfalar halinde listeler.
+     *
+     * @param name Paketin adını belirtir.
+     * @param after Önceki sayfanın nextCursor değeri (bir versiyon, örneğin 1.2.0); ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Versiyonları ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    CursorPageDTO<PackageVersionDTO> listVersions(String name, String after, int limit);
+
+    /**
+     * Bir paketin en son (sayısal olarak en büyük) versiyonunu döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @return En son versiyonun özet bilgileri.
      */
-    byte[] downloadPackageFile(String name, String version, String fileName);
+    PackageVersionDTO getLatestVersion(String name);
 }
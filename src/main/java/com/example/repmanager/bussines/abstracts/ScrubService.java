@@ -0,0 +1,33 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.ScrubReportDTO;
+
+/**
+ * Bu arayüz (interface), saklanan dosyaların bütünlük taramasını (scrub) yönetir.
+ * Tarama, paket kayıtlarındaki her dosyanın storage'da var olduğunu ve içeriğinin kayıttaki SHA-256 özetiyle
+ * uyuştuğunu kontrol eder; ardından storage'ı listeleyerek hiçbir kayda ait olmayan nesneleri bulur.
+ * Tarama yalnızca raporlar; hiçbir dosyayı veya kaydı değiştirmez.
+ */
+public interface ScrubService {
+
+    /**
+     * Taramayı çağıran thread'de çalıştırır. Başka bir tarama sürüyorsa beklemeden son raporu döner.
+     *
+     * @return Taramanın raporu.
+     */
+    ScrubReportDTO scrub();
+
+    /**
+     * Taramayı arka planda başlatır.
+     *
+     * @return Tarama başlatıldıysa true; zaten sürüyorsa false.
+     */
+    boolean startScrub();
+
+    /**
+     * Süren taramanın o anki durumunu, tarama yoksa son taramanın raporunu döner.
+     *
+     * @return Rapor; uygulama başladığından beri hiç tarama yapılmadıysa null.
+     */
+    ScrubReportDTO getReport();
+}
@@ -0,0 +1,32 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.StorageMigrationDTO;
+
+/**
+ * Bu arayüz (interface), storage.migration.source ile verilen backend'deki nesneleri storage.strategy ile seçilen
+ * backend'e uygulama çalışırken taşıyan işi yönetir. İş kaldığı yerden devam ettirilebilir (checkpoint).
+ */
+public interface StorageMigrationService {
+
+    /**
+     * Taşıma işini arka planda başlatır veya kaldığı yerden devam ettirir.
+     *
+     * @return İş bu replikada başlatıldıysa true; bu veya başka bir replikada zaten sürüyorsa ya da
+     *         storage.migration.source tanımlı değilse false.
+     */
+    boolean start();
+
+    /**
+     * Süren işi, o anki sayfa bittikten sonra durdurur (PAUSED); iş daha sonra kaldığı yerden devam ettirilebilir.
+     *
+     * @return İş bu replikada sürüyorduysa true.
+     */
+    boolean stop();
+
+    /**
+     * Taşıma işinin durumunu döner.
+     *
+     * @return İşin kontrol noktası ve bu replikadaki hatalar.
+     */
+    StorageMigrationDTO getStatus();
+}
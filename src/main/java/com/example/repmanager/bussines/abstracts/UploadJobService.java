@@ -0,0 +1,32 @@
+package com.example.repmanager.bussines.abstracts;
+
+import com.example.repmanager.dto.UploadJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Bu arayüz (interface), paketlerin asenkron olarak yayınlanmasını sağlar.
+ * Yüklenen dosyalar önce yerel diske (spool) yazılır ve istek hemen bir iş kimliği ile cevaplanır;
+ * storage ve veritabanı işlemleri daha sonra sınırlı sayıda worker tarafından tamamlanır.
+ */
+public interface UploadJobService {
+
+    /**
+     * Bir paketi asenkron yükleme için kuyruğa alır. Metod döndüğünde dosyalar diske kalıcı olarak yazılmıştır;
+     * uygulama bu noktadan sonra yeniden başlasa bile iş tamamlanır.
+     *
+     * @param name Yüklenecek paketin adını belirtir.
+     * @param version Yüklenecek paketin versiyonunu belirtir.
+     * @param metaFile Paket bilgilerini içeren meta.json dosyasını temsil eder.
+     * @param packageFile Derlenmiş kaynak kodu içeren package.rep dosyasını temsil eder.
+     * @return Kuyruğa alınan işin durumu (QUEUED).
+     */
+    UploadJobDTO submit(String name, String version, MultipartFile metaFile, MultipartFile packageFile);
+
+    /**
+     * Bir yükleme işinin durumunu döner.
+     *
+     * @param jobId İşin kimliği.
+     * @return İşin durumu; iş bulunamazsa PackageNotFoundException fırlatılır.
+     */
+    UploadJobDTO getJob(String jobId);
+}
@@ -0,0 +1,315 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.ArchiveService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.core.util.Crc32VerifyingInputStream;
+import com.example.repmanager.core.util.ZipDirectory;
+import com.example.repmanager.dto.ArchiveEntryDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageCompressor;
+import com.example.repmanager.storage.StorageService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Bu sınıf, ArchiveService arayüzünün implementasyonudur.
+ * package.rep arşivinin yalnızca sonundaki merkezi dizini ve istenen girdinin byte aralığı storage'dan okunur
+ * (StorageService.openRange: dosya sisteminde seek, MinIO'da Range'li GetObject). 300 MB'lık bir paketten tek bir
+ * manifest okumak, birkaç KB'lık okuma ile sonuçlanır.
+ * Çözümlenen dizinler paket dosyasının özetine (SHA-256) göre önbellekte tutulur; aynı özet aynı içerik demek
+ * olduğu için önbelleğin temizlenmesi gerekmez. Önbellek, içerdiği toplam girdi sayısı ile sınırlıdır.
+ * Dosya gzip ile sıkıştırılmış saklanıyorsa aralık okuması yapılamaz; bu durumda arşiv baştan sona akış olarak okunur.
+ * Arşivin yalnızca bir kısmı okunduğu için paket özeti doğrulanamaz; girdiler merkezi dizindeki CRC-32 ile doğrulanır.
+ */
+@Service
+@Slf4j
+public class ArchiveServiceImpl implements ArchiveService {
+
+    private static final String PACKAGE_FILE = PackageServiceImpl.PACKAGE_FILE_NAME;
+
+    private final PackageLookupService packageLookupService;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+    private final boolean verifyDownloads; // true ise girdiler okunurken CRC-32 ve boyutları ile doğrulanır.
+    private final long maxDirectorySize; // Okunmasına izin verilen en büyük merkezi dizin (bozuk veya kötü niyetli arşivlere karşı).
+    private final Cache<String, ArchiveIndex> directoryCache; // Paket özeti -> çözümlenmiş merkezi dizin.
+
+    public ArchiveServiceImpl(PackageLookupService packageLookupService,
+                              StorageService storageService,
+                              MeterRegistry meterRegistry,
+                              @Value("${storage.verify-downloads:true}") boolean verifyDownloads,
+                              @Value("${archive.max-directory-size:16MB}") DataSize maxDirectorySize,
+                              @Value("${archive.cache.max-entries:1000000}") long maxEntries) {
+        this.packageLookupService = packageLookupService;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        this.verifyDownloads = verifyDownloads;
+        this.maxDirectorySize = Math.min(maxDirectorySize.toBytes(), Integer.MAX_VALUE);
+        this.directoryCache = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((String key, ArchiveIndex index) -> Math.max(1, index.entries().size()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, directoryCache, "archive-entries");
+    }
+
+    @Override
+    public List<ArchiveEntryDTO> listEntries(String name, String version) {
+        return index(findPackage(name, version)).entries().values().stream()
+                .map(entry -> ArchiveEntryDTO.builder()
+                        .path(entry.name())
+                        .size(entry.size())
+                        .compressedSize(entry.compressedSize())
+                        .crc32(String.format("%08x", entry.crc()))
+                        .directory(entry.isDirectory())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public Resource openEntry(String name, String version, String path) {
+        PackageEntity entity = findPackage(name, version);
+        ArchiveIndex index = index(entity);
+        ZipDirectory.Entry entry = index.entries().get(path);
+        if (entry == null || entry.isDirectory()) {
+            throw new PackageNotFoundException("Entry not found in " + name + "@" + version + ": " + path);
+        }
+        if (entry.encrypted()) {
+            throw new RuntimeException("Encrypted archive entries are not supported: " + path);
+        }
+        if (entry.method() != ZipDirectory.STORED && entry.method() != ZipDirectory.DEFLATED) {
+            throw new RuntimeException("Unsupported compression method " + entry.method() + " for entry: " + path);
+        }
+        return new EntryResource(index, entry, entity.getPackageEncoding(), PackageServiceImpl.sizeOf(entity, PACKAGE_FILE));
+    }
+
+    private PackageEntity findPackage(String name, String version) {
+        return packageLookupService.findPackage(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+    }
+
+    /**
+     * Paketin merkezi dizinini önbellekten döner; yoksa storage'dan okur.
+     * Özeti olmayan eski kayıtların dizini önbelleğe alınmaz.
+     */
+    private ArchiveIndex index(PackageEntity entity) {
+        String digest = entity.getPackageDigest();
+        if (digest == null) {
+            return loadIndex(entity);
+        }
+        return directoryCache.get(digest, key -> loadIndex(entity));
+    }
+
+    private ArchiveIndex loadIndex(PackageEntity entity) {
+        String storageKey = PackageServiceImpl.storageKey(entity, PACKAGE_FILE);
+        try {
+            List<ZipDirectory.Entry> entries = entity.getPackageEncoding() == null
+                    ? ZipDirectory.read(rangeReader(storageKey), archiveSize(entity, storageKey), maxDirectorySize)
+                    : scanEntries(entity, storageKey);
+            Map<String, ZipDirectory.Entry> byName = new LinkedHashMap<>();
+            for (ZipDirectory.Entry entry : entries) {
+                byName.putIfAbsent(entry.name(), entry);
+            }
+            return new ArchiveIndex(storageKey, byName, new ConcurrentHashMap<>());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read package archive of "
+                    + entity.getName() + "@" + entity.getVersion() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sıkıştırılmış saklanan bir arşivin girdilerini, arşivi baştan sona açarak bulur.
+     * Girdilerin boyutları ve CRC değerleri her girdi okunduktan sonra kesinleşir.
+     */
+    private List<ZipDirectory.Entry> scanEntries(PackageEntity entity, String storageKey) throws IOException {
+        List<ZipDirectory.Entry> entries = new ArrayList<>();
+        Resource decoded = decoded(storageKey, entity.getPackageEncoding(), PackageServiceImpl.sizeOf(entity, PACKAGE_FILE));
+        try (ZipInputStream zip = new ZipInputStream(decoded.getInputStream())) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                zip.closeEntry();
+                entries.add(new ZipDirectory.Entry(zipEntry.getName(), zipEntry.getMethod(), zipEntry.getCrc(),
+                        zipEntry.getCompressedSize(), zipEntry.getSize(), -1, false));
+            }
+        }
+        return entries;
+    }
+
+    private Resource decoded(String storageKey, String encoding, long size) {
+        return StorageCompressor.decode(storageService.loadObject(storageKey), encoding, size);
+    }
+
+    private long archiveSize(PackageEntity entity, String storageKey) throws IOException {
+        Long size = entity.getPackageSize();
+        return size != null ? size : storageService.loadObject(storageKey).contentLength();
+    }
+
+    private ZipDirectory.RangeReader rangeReader(String storageKey) {
+        return (offset, length) -> {
+            try (InputStream in = storageService.openRange(storageKey, offset, length)) {
+                byte[] bytes = in.readNBytes(length);
+                if (bytes.length != length) {
+                    throw new EOFException("Unexpected end of archive at offset " + offset);
+                }
+                return bytes;
+            }
+        };
+    }
+
+    /**
+     * Çözümlenmiş bir merkezi dizin.
+     *
+     * @param storageKey Arşivin storage anahtarı.
+     * @param entries Ad -> girdi, arşivdeki sırayla.
+     * @param dataOffsets Ad -> girdinin verisinin arşivdeki konumu; girdi ilk okunduğunda yerel başlıktan hesaplanır.
+     */
+    private record ArchiveIndex(String storageKey, Map<String, ZipDirectory.Entry> entries,
+                                ConcurrentMap<String, Long> dataOffsets) {
+    }
+
+    /**
+     * Arşivdeki tek bir girdinin açılmış içeriği. İçerik ancak getInputStream çağrıldığında storage'dan okunur.
+     */
+    private final class EntryResource extends AbstractResource {
+
+        private final ArchiveIndex index;
+        private final ZipDirectory.Entry entry;
+        private final String encoding;    // Arşivin storage'daki kodlaması; null değilse aralık okuması yapılamaz.
+        private final long archiveSize;   // Arşivin ham boyutu; bilinmiyorsa -1.
+
+        private EntryResource(ArchiveIndex index, ZipDirectory.Entry entry, String encoding, long archiveSize) {
+            this.index = index;
+            this.entry = entry;
+            this.encoding = encoding;
+            this.archiveSize = archiveSize;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            InputStream content = encoding != null ? sequentialStream() : rangeStream();
+            if (!verifyDownloads || entry.size() < 0) {
+                return content;
+            }
+            return new Crc32VerifyingInputStream(content, entry.crc(), entry.size(), () -> {
+                log.error("Integrity check failed while serving {}", getDescription());
+                meterRegistry.counter("storage.integrity.failures", "source", "archive").increment();
+            });
+        }
+
+        /**
+         * Girdinin verisini arşivden aralık okuması ile okur ve gerekirse açar.
+         */
+        private InputStream rangeStream() throws IOException {
+            long dataOffset = dataOffset();
+            InputStream raw = storageService.openRange(index.storageKey(), dataOffset, entry.compressedSize());
+            return entry.method() == ZipDirectory.DEFLATED ? new EntryInflaterInputStream(raw) : raw;
+        }
+
+        /**
+         * Girdinin verisinin konumunu döner; ilk okumada girdinin yerel başlığı okunur ve sonuç saklanır.
+         */
+        private long dataOffset() throws IOException {
+            Long cached = index.dataOffsets().get(entry.name());
+            if (cached != null) {
+                return cached;
+            }
+            byte[] header = rangeReader(index.storageKey())
+                    .read(entry.localHeaderOffset(), ZipDirectory.LOCAL_HEADER_SIZE);
+            long dataOffset = ZipDirectory.dataOffset(header, entry);
+            if (archiveSize >= 0 && dataOffset + entry.compressedSize() > archiveSize) {
+                throw new IOException("Archive entry is out of bounds: " + entry.name());
+            }
+            index.dataOffsets().put(entry.name(), dataOffset);
+            return dataOffset;
+        }
+
+        /**
+         * Sıkıştırılmış saklanan arşivlerde girdiye kadar olan içerik açılarak atlanır.
+         */
+        private InputStream sequentialStream() throws IOException {
+            ZipInputStream zip = new ZipInputStream(decoded(index.storageKey(), encoding, archiveSize).getInputStream());
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (zipEntry.getName().equals(entry.name())) {
+                    return zip; // ZipInputStream girdinin sonunda -1 döner.
+                }
+            }
+            zip.close();
+            throw new IOException("Entry not found in archive: " + entry.name());
+        }
+
+        @Override
+        public long contentLength() {
+            return entry.size();
+        }
+
+        @Override
+        public String getFilename() {
+            return entry.name().substring(entry.name().lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "archive entry [" + index.storageKey() + "!/" + entry.name() + "]";
+        }
+    }
+
+    /**
+     * Ham (nowrap) deflate verisini açan akış. Inflater kapatıldığında serbest bırakılır.
+     * Ham deflate verisinin sonunda zlib'in bitişi algılayabilmesi için bir "dummy" byte verilir (java.util.zip.ZipFile gibi).
+     */
+    private static final class EntryInflaterInputStream extends InflaterInputStream {
+
+        private boolean eof;
+
+        private EntryInflaterInputStream(InputStream in) {
+            super(in, new Inflater(true), 8192);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+}
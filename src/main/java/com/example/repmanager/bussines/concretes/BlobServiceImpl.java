@@ -0,0 +1,136 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.BlobService;
+import com.example.repmanager.dao.BlobRepository;
+import com.example.repmanager.entities.BlobEntity;
+import com.example.repmanager.storage.EncodedContent;
+import com.example.repmanager.storage.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bu sınıf, BlobService arayüzünün gerçek iş mantığını (implementasyonunu) içerir.
+ * Blob'ların referans sayımı veritabanında tutulur; satır kilitleri sayesinde referans ekleme ve çöp toplama
+ * aynı blob üzerinde birbirini beklerek çalışır.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BlobServiceImpl implements BlobService {
+
+    private final BlobRepository blobRepository;                 // Blob kayıtları için veritabanı işlemleri.
+    private final StorageService storageService;                 // Blob içeriklerinin saklandığı storage servisi.
+    private final PlatformTransactionManager transactionManager; // Çöp toplamada her blob ayrı transaction'da silinir.
+
+    // Referansı sıfıra düşen bir blob'un silinmeden önce ne kadar bekleyeceği (aynı içeriğin tekrar yüklenmesi ihtimaline karşı).
+    @Value("${storage.gc.grace-period:PT1H}")
+    private Duration gracePeriod;
+
+    // Tek bir çöp toplama turunda en fazla kaç blob'un inceleneceği.
+    @Value("${storage.gc.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public String storeIfAbsent(String digest, long size, EncodedContent content) {
+        if (blobRepository.existsById(digest)) {
+            return null; // Blob kayıtlı; içerik storage'da zaten var.
+        }
+        try (InputStream inputStream = content.getInputStream()) {
+            return storageService.saveObject(StorageService.blobKey(digest), inputStream, content.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read blob content: " + digest, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public BlobEntity acquireStored(String digest, long size, String storagePath, String encoding) {
+        BlobEntity existing = blobRepository.findByDigestForUpdate(digest).orElse(null);
+        if (existing != null) {
+            existing.setRefCount(existing.getRefCount() + 1);
+            existing.setReleasedAt(null);
+            return existing;
+        }
+        if (storagePath == null) {
+            // storeIfAbsent sırasında kayıtlı olan blob o andan beri silinmiş; içeriğin storage'da olduğu garanti edilemez.
+            throw new RuntimeException("Blob was removed while uploading: " + digest);
+        }
+
+        return insertOrReference(digest, size, storagePath, encoding);
+    }
+
+    @Override
+    @Transactional
+    public void releaseStored(String digest, long size, String storagePath, String encoding) {
+        blobRepository.insertReleased(digest, size, encoding, storagePath, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void release(String digest) {
+        blobRepository.findByDigestForUpdate(digest).ifPresent(blob -> {
+            blob.setRefCount(Math.max(0, blob.getRefCount() - 1));
+            if (blob.getRefCount() == 0) {
+                blob.setReleasedAt(LocalDateTime.now()); // Bekleme süresi bu andan itibaren başlar.
+            }
+        });
+    }
+
+    /**
+     * Blob kaydını ekler; aynı içeriği eşzamanlı olarak yükleyen başka bir transaction kaydı önce eklediyse
+     * onun referans sayısını artırır. Dönen kayıt satır kilidi altında okunur.
+     */
+    private BlobEntity insertOrReference(String digest, long size, String storagePath, String encoding) {
+        blobRepository.insertOrReference(digest, size, encoding, storagePath, LocalDateTime.now());
+        return blobRepository.findByDigestForUpdate(digest)
+                .orElseThrow(() -> new IllegalStateException("Blob was not recorded: " + digest));
+    }
+
+    /**
+     * Referansı kalmamış blob'ları periyodik olarak siler.
+     * Her blob kendi transaction'ında, satır kilidi altında tekrar kontrol edilerek silinir;
+     * kontrol ile silme arasında blob'a yeni bir referans eklendiyse silinmez.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${storage.gc.interval:PT1H}", initialDelayString = "${storage.gc.interval:PT1H}")
+    public int collectGarbage() {
+        LocalDateTime releasedBefore = LocalDateTime.now().minus(gracePeriod);
+        List<String> candidates = blobRepository.findCollectableDigests(releasedBefore, PageRequest.of(0, batchSize));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int deleted = 0;
+        for (String digest : candidates) {
+            Boolean removed = transactionTemplate.execute(status -> {
+                BlobEntity blob = blobRepository.findByDigestForUpdate(digest).orElse(null);
+                if (blob == null || blob.getRefCount() > 0 || blob.getReleasedAt() == null
+                        || blob.getReleasedAt().isAfter(releasedBefore)) {
+                    return false;
+                }
+                storageService.deleteObject(StorageService.blobKey(digest));
+                blobRepository.delete(blob);
+                return true;
+            });
+            if (Boolean.TRUE.equals(removed)) {
+                deleted++;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("Blob garbage collection removed {} unreferenced blobs", deleted);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.BundleService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.dto.BundleEntryDTO;
+import com.example.repmanager.dto.ResolvedPackageDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageCompressor;
+import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.VerifyingResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bu sınıf, BundleService arayüzünün implementasyonudur.
+ * Arşiv girdileri sırayla yazılırken, sıradaki "prefetch" kadar girdi ortak storage thread havuzunda okunur;
+ * böylece her dosyanın storage gecikmesi bir öncekinin yazılmasıyla örtüşür. Önceden okunan içerik yalnızca
+ * küçük dosyalar için bellekte tutulur; büyük dosyalar sırası geldiğinde doğrudan akış halinde kopyalanır.
+ * Bir istek için bellekte en fazla prefetch * max-prefetch-entry-size kadar veri bulunur.
+ * Girdiler tek tek indirmelerdeki gibi kayıttaki SHA-256 özeti ile doğrulanır; bozuk bir girdi arşivi yarıda keser.
+ */
+@Service
+@Slf4j
+public class BundleServiceImpl implements BundleService {
+
+    private final PackageLookupService packageLookupService;
+    private final DependencyService dependencyService;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService fetchExecutor; // Girdileri storage'dan önceden okuyan, tüm isteklerce paylaşılan havuz (bkz. ExecutorConfig).
+    private final int prefetch;                  // Bir istek için aynı anda önceden okunan en fazla girdi sayısı.
+    private final long maxPrefetchEntrySize;     // Bu boyuttan büyük girdiler önceden belleğe okunmaz.
+    private final int maxPackages;               // Bir arşivdeki en fazla paket sayısı.
+    private final boolean verifyDownloads;       // true ise girdiler okunurken özet ve boyutları ile doğrulanır.
+
+    public BundleServiceImpl(PackageLookupService packageLookupService,
+                             DependencyService dependencyService,
+                             StorageService storageService,
+                             MeterRegistry meterRegistry,
+                             @Qualifier("storageExecutor") ExecutorService fetchExecutor,
+                             @Value("${bundle.prefetch:8}") int prefetch,
+                             @Value("${bundle.max-prefetch-entry-size:4MB}") DataSize maxPrefetchEntrySize,
+                             @Value("${bundle.max-packages:500}") int maxPackages,
+                             @Value("${storage.verify-downloads:true}") boolean verifyDownloads) {
+        this.packageLookupService = packageLookupService;
+        this.dependencyService = dependencyService;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        this.prefetch = Math.max(1, prefetch);
+        this.maxPrefetchEntrySize = Math.min(maxPrefetchEntrySize.toBytes(), Integer.MAX_VALUE);
+        this.maxPackages = maxPackages;
+        this.fetchExecutor = fetchExecutor;
+        this.verifyDownloads = verifyDownloads;
+    }
+
+    @Override
+    public List<BundleEntryDTO> prepareBundle(List<String> packages) {
+        Set<String> unique = new LinkedHashSet<>(packages);
+        checkSize(unique.size());
+
+        List<BundleEntryDTO> entries = new ArrayList<>();
+        for (String reference : unique) {
+            int separator = reference == null ? -1 : reference.lastIndexOf('@');
+            if (separator <= 0 || separator == reference.length() - 1) {
+                throw new RuntimeException("Package reference must be like name@1.0.0: " + reference);
+            }
+            addEntries(entries, reference.substring(0, separator), reference.substring(separator + 1));
+        }
+        return entries;
+    }
+
+    @Override
+    public List<BundleEntryDTO> prepareBundle(String name, String version) {
+        List<ResolvedPackageDTO> packages = dependencyService.resolve(name, version).getPackages();
+        checkSize(packages.size());
+
+        List<BundleEntryDTO> entries = new ArrayList<>();
+        for (ResolvedPackageDTO resolved : packages) {
+            addEntries(entries, resolved.getName(), resolved.getVersion());
+        }
+        return entries;
+    }
+
+    @Override
+    public void writeBundle(List<BundleEntryDTO> entries, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        Deque<Future<Object>> window = new ArrayDeque<>();
+        Iterator<BundleEntryDTO> pending = entries.iterator();
+        try {
+            // Pencereyi doldurur: ilk "prefetch" kadar girdi hemen okunmaya başlar.
+            while (window.size() < prefetch && pending.hasNext()) {
+                window.add(submit(pending.next()));
+            }
+
+            for (BundleEntryDTO entry : entries) {
+                Object content = await(window.poll());
+                if (pending.hasNext()) {
+                    window.add(submit(pending.next())); // Bir girdi yazılırken pencerenin sonuna yenisi eklenir.
+                }
+
+                // package.rep zaten bir zip dosyası olduğu için tekrar sıkıştırmak yalnızca CPU harcar.
+                zip.setLevel(entry.isCompress() ? Deflater.DEFAULT_COMPRESSION : Deflater.NO_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(entry.getPath()));
+                if (content instanceof byte[] bytes) {
+                    zip.write(bytes);
+                } else {
+                    try (InputStream inputStream = ((Resource) content).getInputStream()) {
+                        inputStream.transferTo(zip);
+                    }
+                }
+                zip.closeEntry();
+            }
+            zip.finish(); // Akışı kapatmaz; kapatma işlemi HTTP cevabının sahibine aittir.
+        } finally {
+            // İstemci bağlantıyı kapattıysa veya bir girdi okunamadıysa bekleyen okumalar iptal edilir.
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Bir girdiyi arka planda okumaya başlar. Küçük girdiler byte dizisi olarak, büyük girdiler ise
+     * akış halinde okunmak üzere Resource olarak döner.
+     */
+    private Future<Object> submit(BundleEntryDTO entry) {
+        return fetchExecutor.submit(() -> {
+            Resource resource = verified(entry, StorageCompressor.decode(
+                    storageService.loadObject(entry.getStorageKey()), entry.getEncoding(), entry.getSize()));
+            if (entry.getSize() < 0 || entry.getSize() > maxPrefetchEntrySize) {
+                return resource;
+            }
+            try (InputStream inputStream = resource.getInputStream()) {
+                return inputStream.readAllBytes();
+            }
+        });
+    }
+
+    /**
+     * Girdinin içeriğini, okunurken kayıttaki özet ve boyut ile doğrulanacak şekilde sarmalar.
+     * Özeti kaydedilmemiş eski kayıtlar doğrulanmaz.
+     */
+    private Resource verified(BundleEntryDTO entry, Resource resource) {
+        if (!verifyDownloads || entry.getDigest() == null || entry.getSize() < 0) {
+            return resource;
+        }
+        return new VerifyingResource(resource, entry.getDigest(), entry.getSize(), () -> {
+            log.error("Integrity check failed while writing bundle entry {} (storage key {})",
+                    entry.getPath(), entry.getStorageKey());
+            meterRegistry.counter("storage.integrity.failures", "source", "bundle").increment();
+        });
+    }
+
+    private static Object await(Future<Object> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bundle download interrupted", e);
+        } catch (CancellationException e) {
+            throw new IOException("Bundle download cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Could not read bundle entry", cause);
+        }
+    }
+
+    /**
+     * Bir paket versiyonunun meta.json ve package.rep girdilerini listeye ekler.
+     */
+    private void addEntries(List<BundleEntryDTO> entries, String name, String version) {
+        PackageEntity entity = packageLookupService.findPackage(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+        String prefix = name + "/" + version + "/";
+
+        String metaFile = PackageServiceImpl.META_FILE_NAME;
+        entries.add(new BundleEntryDTO(prefix + metaFile, PackageServiceImpl.storageKey(entity, metaFile),
+                PackageServiceImpl.sizeOf(entity, metaFile), true, PackageServiceImpl.encodingOf(entity, metaFile),
+                PackageServiceImpl.digestOf(entity, metaFile)));
+
+        String packageFile = PackageServiceImpl.PACKAGE_FILE_NAME;
+        entries.add(new BundleEntryDTO(prefix + packageFile, PackageServiceImpl.storageKey(entity, packageFile),
+                PackageServiceImpl.sizeOf(entity, packageFile), false, PackageServiceImpl.encodingOf(entity, packageFile),
+                PackageServiceImpl.digestOf(entity, packageFile)));
+    }
+
+    private void checkSize(int packages) {
+        if (packages > maxPackages) {
+            throw new RuntimeException("A bundle can contain at most " + maxPackages + " packages");
+        }
+    }
+}
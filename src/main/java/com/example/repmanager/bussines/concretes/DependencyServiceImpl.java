@@ -0,0 +1,240 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.core.util.SemanticVersion;
+import com.example.repmanager.dao.DependencyRepository;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.MetaDTO;
+import com.example.repmanager.dto.ResolutionDTO;
+import com.example.repmanager.dto.ResolvedPackageDTO;
+import com.example.repmanager.entities.DependencyEntity;
+import com.example.repmanager.entities.PackageEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bu sınıf, DependencyService arayüzünün implementasyonudur.
+ * Bir paket versiyonunun geçişli bağımlılıkları derinlik öncelikli arama (DFS) ile çözümlenir; aramadaki
+ * mevcut yol tutulduğu için döngüler tespit edilir ve döngünün kendisi hata mesajında gösterilir.
+ * Her paket versiyonu için hesaplanan kapanış (closure) bellekte saklanır; ortak alt ağaçlar hem aynı istekte hem de
+ * sonraki isteklerde tekrar hesaplanmaz. Yeni bir yükleme veya silme, işlem commit edildikten sonra önbelleği temizler.
+ */
+@Service
+public class DependencyServiceImpl implements DependencyService {
+
+    private final PackageRepository packageRepository;
+    private final PackageLookupService packageLookupService; // Kök ve bağımlılık kayıtlarını önbellekten okur.
+    private final DependencyRepository dependencyRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, List<ResolvedPackageDTO>> closureCache; // "ad@versiyon" -> kurulum sırasına göre kapanış.
+    private final AtomicLong generation = new AtomicLong();            // Her geçersiz kılmada artar; eski sonuçların önbelleğe yazılmasını engeller.
+
+    public DependencyServiceImpl(PackageRepository packageRepository,
+                                 DependencyRepository dependencyRepository,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${dependency.cache.max-nodes:1000000}") long maxNodes,
+                                 PackageLookupService packageLookupService) {
+        this.packageRepository = packageRepository;
+        this.packageLookupService = packageLookupService;
+        this.dependencyRepository = dependencyRepository;
+        this.objectMapper = objectMapper;
+        // Önbellek, saklanan kapanışlardaki toplam paket sayısı ile sınırlandırılır.
+        this.closureCache = Caffeine.newBuilder()
+                .maximumWeight(maxNodes)
+                .weigher((String key, List<ResolvedPackageDTO> closure) -> closure.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closureCache, "dependencies");
+    }
+
+    @Override
+    @Transactional
+    public void saveDependencies(PackageEntity entity, List<MetaDTO.Dependency> dependencies) {
+        dependencyRepository.deleteByPackageId(entity.getId());
+        dependencyRepository.saveAll(edges(entity.getId(), dependencies));
+        invalidateAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void addDependencies(Map<Long, List<MetaDTO.Dependency>> dependenciesByPackageId) {
+        List<DependencyEntity> edges = new ArrayList<>();
+        dependenciesByPackageId.forEach((packageId, dependencies) -> edges.addAll(edges(packageId, dependencies)));
+        dependencyRepository.saveAll(edges);
+        invalidateAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void deleteDependencies(PackageEntity entity) {
+        dependencyRepository.deleteByPackageId(entity.getId());
+        invalidateAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public ResolutionDTO resolve(String name, String version) {
+        PackageEntity root = packageLookupService.findPackage(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+
+        long startGeneration = generation.get();
+        List<ResolvedPackageDTO> packages = closure(root, new LinkedHashSet<>(), startGeneration);
+        return new ResolutionDTO(name, version, packages);
+    }
+
+    /**
+     * Bir paketin kapanışını döner: önce bağımlılıklarının kapanışları (tekrarsız), en sonda paketin kendisi.
+     *
+     * @param entity Kapanışı hesaplanacak paket.
+     * @param path Kökten bu pakete kadar olan arama yolu; döngü tespiti için kullanılır.
+     * @param startGeneration Çözümleme başladığındaki önbellek nesli.
+     */
+    private List<ResolvedPackageDTO> closure(PackageEntity entity, LinkedHashSet<String> path, long startGeneration) {
+        String key = key(entity.getName(), entity.getVersion());
+        List<ResolvedPackageDTO> cached = closureCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        path.add(key);
+        List<MetaDTO.Dependency> dependencies = dependenciesOf(entity);
+        Map<String, ResolvedPackageDTO> result = new LinkedHashMap<>();
+        for (MetaDTO.Dependency dependency : dependencies) {
+            String dependencyKey = key(dependency.getPackageName(), dependency.getVersion());
+            if (path.contains(dependencyKey)) {
+                throw new RuntimeException("Dependency cycle detected: "
+                        + String.join(" -> ", cyclePath(path, dependencyKey)));
+            }
+            PackageEntity dependencyEntity = packageLookupService
+                    .findPackage(dependency.getPackageName(), dependency.getVersion())
+                    .orElseThrow(() -> new PackageNotFoundException(
+                            "Dependency not found: " + dependencyKey + " (required by " + key + ")"));
+            for (ResolvedPackageDTO resolved : closure(dependencyEntity, path, startGeneration)) {
+                result.putIfAbsent(key(resolved.getName(), resolved.getVersion()), resolved);
+            }
+        }
+        path.remove(key);
+
+        result.put(key, ResolvedPackageDTO.builder()
+                .name(entity.getName())
+                .version(entity.getVersion())
+                .packageDigest(entity.getPackageDigest())
+                .packageSize(entity.getPackageSize())
+                .dependencies(dependencies)
+                .build());
+        List<ResolvedPackageDTO> closure = List.copyOf(result.values());
+
+        // Çözümleme sırasında bir yükleme commit edildiyse sonuç eski olabilir; önbelleğe yazılmaz.
+        if (generation.get() == startGeneration) {
+            closureCache.put(key, closure);
+        }
+        return closure;
+    }
+
+    /**
+     * Paketin doğrudan bağımlılıklarını döner.
+     * Bağımlılık kenarları kaydedilmeden önce yüklenmiş paketler için kenarlar bir kez meta.json'dan çıkarılır ve kaydedilir.
+     */
+    private List<MetaDTO.Dependency> dependenciesOf(PackageEntity entity) {
+        if (!Boolean.TRUE.equals(entity.getDependenciesIndexed())) {
+            MetaDTO meta;
+            try {
+                meta = objectMapper.readValue(entity.getPackageBinary(), MetaDTO.class);
+            } catch (IOException e) {
+                throw new RuntimeException("Invalid meta.json for " + key(entity.getName(), entity.getVersion()), e);
+            }
+            dependencyRepository.deleteByPackageId(entity.getId());
+            dependencyRepository.saveAll(edges(entity.getId(), meta.getDependencies()));
+            entity.setDependenciesIndexed(true);
+            packageRepository.save(entity);
+            packageLookupService.invalidateAfterCommit(entity.getName(), entity.getVersion());
+        }
+
+        return dependencyRepository.findByPackageIdOrderByDependencyName(entity.getId()).stream()
+                .map(edge -> new MetaDTO.Dependency(edge.getDependencyName(), edge.getDependencyVersion()))
+                .toList();
+    }
+
+    /**
+     * Bağımlılık listesini doğrular ve kaydedilecek kenarlara dönüştürür.
+     */
+    private static List<DependencyEntity> edges(Long packageId, List<MetaDTO.Dependency> dependencies) {
+        if (dependencies == null || dependencies.isEmpty()) {
+            return List.of();
+        }
+        Set<String> names = new HashSet<>();
+        return dependencies.stream()
+                .map(dependency -> {
+                    if (dependency.getPackageName() == null || dependency.getPackageName().isBlank()) {
+                        throw new RuntimeException("Dependency name must not be blank");
+                    }
+                    SemanticVersion.parse(dependency.getVersion()); // Versiyon formatını doğrular.
+                    if (!names.add(dependency.getPackageName())) {
+                        throw new RuntimeException("Duplicate dependency: " + dependency.getPackageName());
+                    }
+                    return DependencyEntity.builder()
+                            .packageId(packageId)
+                            .dependencyName(dependency.getPackageName())
+                            .dependencyVersion(dependency.getVersion())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Bağımlılık grafiği değiştiğinde önbelleği temizler. Bir işlem içindeyse temizlik commit'ten sonra yapılır;
+     * böylece commit edilmemiş (ve geri alınabilecek) bir değişiklik başka isteklerin sonuçlarını etkilemez.
+     */
+    private void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        closureCache.invalidateAll();
+    }
+
+    /**
+     * Arama yolundan, verilen paketle başlayıp yine onunla biten döngüyü çıkarır (örnek: a@1.0.0 -> b@1.0.0 -> a@1.0.0).
+     */
+    private static List<String> cyclePath(LinkedHashSet<String> path, String start) {
+        List<String> nodes = List.copyOf(path);
+        List<String> cycle = new ArrayList<>(nodes.subList(nodes.indexOf(start), nodes.size()));
+        cycle.add(start);
+        return cycle;
+    }
+
+    private static String key(String name, String version) {
+        return name + "@" + version;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.DownloadRedirectService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bu sınıf, DownloadRedirectService arayüzünün implementasyonudur.
+ * İmzalı URL'ler storage anahtarı ve gösterim (ham veya gzip) başına önbellekte tutulur; aynı dosyayı indiren
+ * istemciler, URL'in geçerliliğinin bitmesine storage.redirect.min-remaining kalana kadar aynı URL'e yönlendirilir.
+ * Böylece her indirme için yeniden imza hesaplanmaz ve istemciye verilen URL en az min-remaining süre geçerli olur.
+ * URL nesnenin içeriğine değil anahtarına aittir; dosya silinip yeniden yüklendiğinde önbelleğin temizlenmesi gerekmez.
+ * Dosya gzip ile sıkıştırılmış saklanıyorsa yalnızca gzip kabul eden istemciler yönlendirilir; storage içeriği açamaz.
+ */
+@Service
+public class DownloadRedirectServiceImpl implements DownloadRedirectService {
+
+    private final PackageLookupService packageLookupService;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration expiry;   // İmzalı URL'in geçerlilik süresi.
+    private final long minSize;      // Bu boyuttan küçük dosyalar (örn. meta.json) yönlendirilmez; önbellekten gönderilir.
+    private final Cache<String, URI> urlCache; // "anahtar|kodlama" -> imzalı URL.
+
+    public DownloadRedirectServiceImpl(PackageLookupService packageLookupService,
+                                       StorageService storageService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${storage.redirect.enabled:false}") boolean enabled,
+                                       @Value("${storage.redirect.expiry:PT15M}") Duration expiry,
+                                       @Value("${storage.redirect.min-remaining:PT5M}") Duration minRemaining,
+                                       @Value("${storage.redirect.min-size:1MB}") DataSize minSize,
+                                       @Value("${storage.redirect.cache.max-entries:100000}") long maxEntries) {
+        if (minRemaining.compareTo(expiry) >= 0) {
+            throw new IllegalStateException("storage.redirect.min-remaining (" + minRemaining
+                    + ") must be shorter than storage.redirect.expiry (" + expiry + ")");
+        }
+        this.packageLookupService = packageLookupService;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.expiry = expiry;
+        this.minSize = minSize.toBytes();
+        this.urlCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expiry.minus(minRemaining))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, urlCache, "presigned-urls");
+    }
+
+    @Override
+    public URI findRedirect(String name, String version, String fileName, boolean encoded) {
+        if (!enabled) {
+            return null;
+        }
+        PackageEntity entity = packageLookupService.findPackage(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+        String encoding = PackageServiceImpl.encodingOf(entity, fileName);
+        long size = PackageServiceImpl.sizeOf(entity, fileName);
+        if ((encoding != null && !encoded) || (size >= 0 && size < minSize)) {
+            return null;
+        }
+
+        String key = PackageServiceImpl.storageKey(entity, fileName);
+        URI url = urlCache.get(encoding == null ? key : key + "|" + encoding, cacheKey -> storageService.presignedUrl(
+                key, expiry, encoding == null
+                        ? Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                        : Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                                 HttpHeaders.CONTENT_ENCODING, encoding)));
+        if (url != null) {
+            meterRegistry.counter("package.downloads", "mode", "redirect").increment();
+        }
+        return url;
+    }
+}
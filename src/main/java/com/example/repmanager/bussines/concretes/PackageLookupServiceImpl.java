@@ -0,0 +1,255 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.entities.PackageEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bu sınıf, PackageLookupService arayüzünün implementasyonudur.
+ * Paket kayıtları "ad@versiyon" anahtarıyla, paketlerin en son versiyonları "ad@latest" anahtarıyla Caffeine önbelleğinde
+ * tutulur. Bulunamayan kayıtlar da (negatif önbellek) daha kısa bir süre için saklanır. Aynı anahtar için eşzamanlı
+ * istekler veritabanına tek bir sorgu gönderir; sık istenen paketler için veritabanına yalnızca önbellekten düşen
+ * kayıtlar gider. Kayıtlar meta.json içeriğini (packageBinary) de taşıdığı için önbellek kayıt sayısıyla değil,
+ * bu içeriğin yaklaşık boyutuyla sınırlandırılır.
+ * Bir kayıt değiştiğinde (yükleme, silme) transaction içinde pg_notify ile bir bildirim gönderilir; PostgreSQL bildirimi
+ * yalnızca commit edildiğinde iletir. Her replika ayrı bir bağlantı üzerinden bu kanalı dinler (LISTEN) ve ilgili
+ * anahtarları siler. Dinleyici bağlantısı koptuğunda bildirim kaçırılmış olabileceği için yeniden bağlanınca önbellek
+ * tamamen temizlenir. Veritabanı PostgreSQL değilse (örneğin gömülü H2) yalnızca yerel önbellek temizlenir.
+ */
+@Service
+@Slf4j
+public class PackageLookupServiceImpl implements PackageLookupService {
+
+    static final String CHANNEL = "package_changed"; // LISTEN/NOTIFY kanalı; bildirim içeriği "ad@versiyon" anahtarıdır.
+    private static final String LATEST = "latest";   // En son versiyon anahtarının versiyon kısmı (geçerli bir semver olamaz).
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+    private static final int POLL_MILLIS = 1000;
+    private static final int ENTRY_OVERHEAD = 512; // meta.json dışındaki alanlar ve önbellek kaydı için tahmini bayt.
+
+    private final PackageRepository packageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Cache<String, Optional<PackageEntity>> cache;
+    private final boolean notifyEnabled;  // Veritabanı PostgreSQL ise true; bildirimler gönderilir ve dinlenir.
+    private final String url;
+    private final String username;
+    private final String password;
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread listener;
+
+    public PackageLookupServiceImpl(PackageRepository packageRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${package.cache.enabled:true}") boolean enabled,
+                                    @Value("${package.cache.max-weight:256MB}") DataSize maxWeight,
+                                    @Value("${package.cache.ttl:PT1H}") Duration ttl,
+                                    @Value("${package.cache.negative-ttl:PT30S}") Duration negativeTtl,
+                                    @Value("${spring.datasource.url:}") String url,
+                                    @Value("${spring.datasource.username:}") String username,
+                                    @Value("${spring.datasource.password:}") String password) {
+        this.packageRepository = packageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.notifyEnabled = enabled && url.startsWith("jdbc:postgresql:");
+        // Kayıtlar bir bildirim kaçırılsa bile en geç ttl sonra, bulunamayan kayıtlar negative-ttl sonra yeniden okunur.
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((String key, Optional<PackageEntity> value) -> weigh(value))
+                .expireAfter(new Expiry<String, Optional<PackageEntity>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<PackageEntity> value, long currentTime) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<PackageEntity> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<PackageEntity> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "packages");
+    }
+
+    /**
+     * Veritabanı PostgreSQL ise diğer replikaların bildirimlerini dinleyen thread'i başlatır.
+     */
+    @PostConstruct
+    public void start() {
+        if (!notifyEnabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("package-cache-listener").daemon(true).start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            closeQuietly(listenerConnection);
+        }
+    }
+
+    @Override
+    public Optional<PackageEntity> findPackage(String name, String version) {
+        if (!enabled) {
+            return packageRepository.findByNameAndVersion(name, version);
+        }
+        return cache.get(key(name, version), k -> packageRepository.findByNameAndVersion(name, version))
+                .map(PackageLookupServiceImpl::copy);
+    }
+
+    @Override
+    public Optional<PackageEntity> findLatest(String name) {
+        if (!enabled) {
+            return packageRepository.findFirstByNameOrderByVersionMajorDescVersionMinorDescVersionPatchDesc(name);
+        }
+        return cache.get(key(name, LATEST),
+                        k -> packageRepository.findFirstByNameOrderByVersionMajorDescVersionMinorDescVersionPatchDesc(name))
+                .map(PackageLookupServiceImpl::copy);
+    }
+
+    @Override
+    public boolean exists(String name, String version) {
+        if (!enabled) {
+            return packageRepository.existsByNameAndVersion(name, version);
+        }
+        return cache.get(key(name, version), k -> packageRepository.findByNameAndVersion(name, version)).isPresent();
+    }
+
+    @Override
+    public void invalidateAfterCommit(String name, String version) {
+        if (!enabled) {
+            return;
+        }
+        if (notifyEnabled) {
+            // Bildirim transaction ile birlikte commit edilir; rollback olursa diğer replikalara hiç gitmez.
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, key(name, version));
+        }
+        // Yerel önbellek commit'ten sonra temizlenir; commit'ten önce okunup önbelleğe yazılmış eski kayıtlar da silinir.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(name, version);
+                }
+            });
+        } else {
+            invalidate(name, version);
+        }
+    }
+
+    /**
+     * Önbellek kaydının yaklaşık bellek maliyetini döner; bulunamayan kayıtlar yalnızca sabit maliyet taşır.
+     */
+    private static int weigh(Optional<PackageEntity> value) {
+        long binaryLength = value.map(PackageEntity::getPackageBinary).map(String::length).orElse(0);
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + binaryLength);
+    }
+
+    /**
+     * Paket versiyonunun ve paketin en son versiyonunun önbellek kayıtlarını siler.
+     */
+    private void invalidate(String name, String version) {
+        cache.invalidate(key(name, version));
+        cache.invalidate(key(name, LATEST));
+    }
+
+    /**
+     * Bildirim kanalını ayrı (havuz dışı) bir bağlantı üzerinden dinler; bağlantı koparsa yeniden bağlanır.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Bağlantı yokken gelen bildirimler kaçırılmış olabilir.
+                cache.invalidateAll();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        String key = notification.getParameter();
+                        int separator = key.lastIndexOf('@');
+                        if (separator > 0) {
+                            invalidate(key.substring(0, separator), key.substring(separator + 1));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Package cache listener lost its connection, reconnecting in {}", RETRY_DELAY, e);
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close package cache listener connection", e);
+        }
+    }
+
+    /**
+     * Önbellekteki kaydın bir kopyasını döner; çağıranlar kaydı değiştirip kaydedebilir.
+     */
+    private static PackageEntity copy(PackageEntity entity) {
+        return entity.toBuilder().build();
+    }
+
+    private static String key(String name, String version) {
+        return name + "@" + version;
+    }
+}
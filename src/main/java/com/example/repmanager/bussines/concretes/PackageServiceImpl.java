@@ -1,32 +1,107 @@
 package com.example.repmanager.bussines.concretes;
 
+import com.example.repmanager.bussines.abstracts.BlobService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
 import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.core.util.HashingInputStream;
+import com.example.repmanager.core.util.SemanticVersion;
 import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.CursorPageDTO;
 import com.example.repmanager.dto.MetaDTO;
+import com.example.repmanager.dto.PackageFileDTO;
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.dto.PackageVersionDTO;
 import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.entities.BlobEntity;
+import com.example.repmanager.storage.EncodedContent;
+import com.example.repmanager.storage.StorageCompressor;
 import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.VerifyingResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 /**
  * Bu sınıf, PackageService arayüzünün gerçek iş mantığını (implementasyonunu) içerir.
  * Paket yükleme ve indirme işlemlerinin nasıl yapılacağını tanımlar.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor // Lombok anotasyonu: constructor'ı otomatik oluşturur ve final değişkenleri enjekte eder.
 public class PackageServiceImpl implements PackageService {
 
     private final PackageRepository packageRepository; // Veritabanı işlemleri için repository kullanır.
     private final StorageService storageService;       // Dosya depolama işlemleri için storage servisini kullanır.
+    private final BlobService blobService;             // İçerik adresli modda blob referanslarını yönetir.
+    private final DependencyService dependencyService; // Bağımlılık kenarlarını kaydeder ve çözümleme önbelleğini yönetir.
     private final ObjectMapper objectMapper;           // JSON verilerini Java nesnelerine dönüştürmek için kullanır.
+    private final ExecutorService storageExecutor;     // Toplu yüklemede dosyaları paralel yazmak için kullanılır (bkz. ExecutorConfig).
+    private final PlatformTransactionManager transactionManager; // Toplu yüklemenin kayıtlarını tek transaction'da eklemek için.
+    private final MeterRegistry meterRegistry;         // Yükleme aşamalarının sürelerini yayınlar.
+    private final StorageCompressor storageCompressor; // Dosyaların sıkıştırılmış saklanıp saklanmayacağına karar verir.
+    private final PackageLookupService packageLookupService; // Okuma yollarındaki paket sorgularını önbellekten cevaplar.
+
+    static final String META_FILE_NAME = "meta.json";      // Paket metadata dosyasının adı.
+    static final String PACKAGE_FILE_NAME = "package.rep"; // Paket dosyasının adı.
+    private static final int MAX_PAGE_SIZE = 200;          // Listeleme uç noktalarında bir sayfadaki en fazla kayıt.
+
+    // true ise dosyalar içeriklerinin SHA-256 özeti ile (blobs/ab/<sha256>) ve tekil olarak saklanır.
+    @Value("${storage.content-addressed:false}")
+    private boolean contentAddressed;
+
+    // Toplu yüklemede bir istekteki en fazla paket sayısı.
+    @Value("${upload.batch.max-packages:500}")
+    private int maxBatchPackages;
+
+    // Toplu yüklemede aynı anda storage'a yazılan en fazla paket sayısı.
+    @Value("${upload.batch.concurrency:8}")
+    private int batchConcurrency;
+
+    // true ise indirilen dosyalar akış sırasında kayıttaki SHA-256 özeti ve boyutu ile doğrulanır.
+    @Value("${storage.verify-downloads:true}")
+    private boolean verifyDownloads;
 
     /**
      * Bir paketi (.rep ve meta.json dosyalarını) storage'a kaydeder ve veritabanına paket kaydı oluşturur.
+     * meta.json bir kez okunur ve ayrıştırılır; package.rep ise storage'a tek geçişte akış halinde yazılırken
+     * SHA-256 özeti ve boyutu aynı anda hesaplanır. Böylece yükleme başına bellek kullanımı dosya boyutundan bağımsızdır.
+     * İçerik adresli modda önce özet hesaplanır; aynı içerik daha önce yüklenmişse storage'a hiç yazılmaz.
+     * Dosyalar, toplu yüklemedeki gibi transaction dışında yazılır; transaction yalnızca blob referanslarını, kaydı ve
+     * bağımlılıkları kapsar. Böylece büyük bir yükleme boyunca veritabanı bağlantısı veya blob satır kilidi tutulmaz.
+     * Sıkıştırılmış saklama açıksa her dosya gzip ile sıkıştırılır ve yalnızca yeterli kazanç sağlıyorsa sıkıştırılmış saklanır.
+     * Aynı versiyon tekrar yüklenirse mevcut kayıt güncellenir ve önceki blob referansları bırakılır.
      *
      * @param name Yüklenecek paketin adını belirtir.
      * @param version Yüklenecek paketin versiyonunu belirtir.
@@ -35,43 +110,678 @@ public class PackageServiceImpl implements PackageService {
      */
     @Override
     public void uploadPackage(String name, String version, MultipartFile metaFile, MultipartFile packageFile) {
+        // 1. meta.json dosyasının içeriğini bir kez okur ve bir MetaDTO nesnesine çevirir.
+        ParsedMeta parsed = stageTimer("single", "parse").record(() -> readMeta(metaFile));
+        MetaDTO meta = parsed.meta();
+
+        // meta.json içindeki ad ve versiyon, URL'deki ile aynı olmalıdır; aksi halde dosyalar ile veritabanı kaydı eşleşmez.
+        if (!name.equals(meta.getName()) || !version.equals(meta.getVersion())) {
+            throw new RuntimeException("meta.json name/version does not match the request path");
+        }
+        String metaDigest = DigestHelper.sha256Hex(parsed.bytes());
+
+        // 2. meta.json ve package.rep dosyalarını transaction dışında storage katmanına kaydeder.
+        StoredPackage stored = stageTimer("single", "store").record(() -> storeForUpload(parsed, metaDigest, packageFile));
+
+        // 3. ve 4. Veritabanı kaydını oluşturur ve bağımlılık kenarlarıyla birlikte kısa bir transaction'da kaydeder.
         try {
-            // 1. meta.json dosyasının içeriğini okur ve bir MetaDTO nesnesine çevirir.
-            MetaDTO meta = objectMapper.readValue(metaFile.getBytes(), MetaDTO.class);
-
-            // 2. meta.json ve package.rep dosyalarını storage katmanına kaydeder.
-            String metaPath = storageService.saveFile(name, version, "meta.json", metaFile);
-            String repPath = storageService.saveFile(name, version, "package.rep", packageFile);
-
-            // 3. Paket bilgilerini kullanarak veritabanına yeni bir kayıt oluşturur.
-            PackageEntity entity = PackageEntity.builder()
-                    .name(meta.getName())                         // meta.json içindeki adı kullanır.
-                    .version(meta.getVersion())                   // meta.json içindeki versiyonu kullanır.
-                    .author(meta.getAuthor())                     // meta.json içindeki yazarı kullanır.
-                    .packageBinary(new String(metaFile.getBytes()))// meta.json dosyasının içeriğini String olarak kaydeder. (Burada küçük bir hata olabilir, aşağıda not yazdım.)
-                    .storagePath(repPath)                         // .rep dosyasının storage üzerindeki yolunu kaydeder.
-                    .uploadedAt(LocalDateTime.now())              // Şu anki tarihi ve saati kaydeder.
-                    .build();
-
-            // 4. Veritabanına entity'i kaydeder.
-            packageRepository.save(entity);
-        } catch (IOException e) {
-            // Eğer meta.json dosyası okunamazsa RuntimeException fırlatır.
-            throw new RuntimeException("Invalid meta.json file", e);
+            stageTimer("single", "db").record(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> saveUpload(stored)));
+        } catch (RuntimeException e) {
+            if (contentAddressed) {
+                discard(List.of(stored)); // Bu istekte yazılan blob'lar çöp toplamaya bırakılır.
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Tekli yüklemenin kaydını ekler veya aynı versiyonun kaydını günceller; çağıran transaction içinde çalışır.
+     */
+    private void saveUpload(StoredPackage stored) {
+        MetaDTO meta = stored.parsed().meta();
+        StoredPackage item = contentAddressed ? acquireBlobs(stored) : stored;
+
+        // Aynı versiyon daha önce yüklendiyse kayıt güncellenir; önceki içerik adresli dosyaların referansları bırakılır.
+        PackageEntity existing = packageRepository.findByNameAndVersion(meta.getName(), meta.getVersion()).orElse(null);
+        if (existing != null) {
+            releaseBlobs(existing);
+        }
+
+        PackageEntity entity = buildEntity(item);
+        entity.setId(existing != null ? existing.getId() : null); // Varsa mevcut kaydın üzerine yazar.
+
+        PackageEntity saved = packageRepository.save(entity);
+        dependencyService.saveDependencies(saved, meta.getDependencies());
+        packageLookupService.invalidateAfterCommit(meta.getName(), meta.getVersion());
+    }
+
+    /**
+     * Birden fazla paketi tek bir istek ve tek bir veritabanı transaction'ı ile yükler.
+     * Adımlar:
+     * 1. Tüm meta.json dosyaları okunur ve doğrulanır; herhangi biri geçersizse storage'a hiçbir şey yazılmaz.
+     * 2. Dosyalar transaction dışında, ortak storage havuzunda paralel olarak storage'a yazılır.
+     * 3. Tüm kayıtlar ve bağımlılık kenarları tek bir transaction'da eklenir; sequence ID'leri sayesinde insert'ler
+     *    JDBC batch olarak gönderilir.
+     * Herhangi bir adım başarısız olursa transaction geri alınır ve bu istekte storage'a yazılan dosyalar silinir.
+     * Toplu yükleme yalnızca yeni versiyonlar içindir; var olan bir versiyonun değiştirilmesi tekli yükleme ile yapılır.
+     *
+     * @param metaFiles Her paket için meta.json dosyaları.
+     * @param packageFiles Her paket için package.rep dosyaları (metaFiles ile aynı sırada).
+     * @return Yüklenen paket versiyonları.
+     */
+    @Override
+    public List<PackageVersionDTO> uploadPackages(List<MultipartFile> metaFiles, List<MultipartFile> packageFiles) {
+        if (metaFiles.isEmpty() || metaFiles.size() != packageFiles.size()) {
+            throw new RuntimeException("Each package needs exactly one meta.json and one package.rep");
+        }
+        if (metaFiles.size() > maxBatchPackages) {
+            throw new RuntimeException("A batch can contain at most " + maxBatchPackages + " packages");
+        }
+
+        // 1. Tüm meta.json dosyalarını storage'a bir şey yazmadan önce doğrular.
+        Timer.Sample parseSample = Timer.start(meterRegistry);
+        List<ParsedMeta> parsed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (MultipartFile metaFile : metaFiles) {
+            ParsedMeta meta = readMeta(metaFile);
+            String reference = meta.meta().getName() + "@" + meta.meta().getVersion();
+            if (!seen.add(reference)) {
+                throw new RuntimeException("Duplicate package in batch: " + reference);
+            }
+            if (packageLookupService.exists(meta.meta().getName(), meta.meta().getVersion())) {
+                throw new RuntimeException("Package already exists: " + reference);
+            }
+            parsed.add(meta);
+        }
+        parseSample.stop(stageTimer("batch", "parse"));
+
+        // 2. Dosyaları paralel olarak storage'a yazar; bir batch aynı anda en fazla batchConcurrency dosya çifti yazar.
+        Timer.Sample storeSample = Timer.start(meterRegistry);
+        Semaphore permits = new Semaphore(batchConcurrency);
+        List<Future<StoredPackage>> futures = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            ParsedMeta meta = parsed.get(i);
+            MultipartFile packageFile = packageFiles.get(i);
+            futures.add(storageExecutor.submit(() -> {
+                permits.acquire();
+                try {
+                    return storeForBatch(meta, packageFile);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<StoredPackage> stored = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Future<StoredPackage> future : futures) {
+            try {
+                stored.add(future.get()); // Bir yazma başarısız olsa bile diğerlerinin bitmesi beklenir ki hepsi temizlenebilsin.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure != null ? failure : new RuntimeException("Batch upload interrupted", e);
+            } catch (ExecutionException e) {
+                failure = failure != null ? failure : (e.getCause() instanceof RuntimeException cause
+                        ? cause : new RuntimeException("Could not store package file", e.getCause()));
+            }
+        }
+        storeSample.stop(stageTimer("batch", "store"));
+        if (failure != null) {
+            discard(stored);
+            throw failure;
+        }
+
+        // 3. Tüm kayıtları tek bir transaction'da ekler.
+        Timer.Sample dbSample = Timer.start(meterRegistry);
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> insertBatch(stored));
+        } catch (RuntimeException e) {
+            discard(stored);
+            throw e;
+        } finally {
+            dbSample.stop(stageTimer("batch", "db"));
+        }
+    }
+
+    /**
+     * Bir paket dosyasının ETag (içerik özeti) ve Last-Modified bilgilerini döner.
+     * Özeti henüz hesaplanmamış eski kayıtlar için özet bir kez storage'dan akış halinde hesaplanır ve veritabanına yazılır.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param fileName Dosyanın adını belirtir (meta.json veya package.rep).
+     * @return Dosyanın özet ve yüklenme zamanı bilgilerini içeren PackageFileDTO nesnesi.
+     */
+    @Override
+    public PackageFileDTO getPackageFileInfo(String name, String version, String fileName) {
+        PackageEntity entity = findPackage(name, version);
+
+        String digest = digestOf(entity, fileName);
+        if (digest == null) {
+            // Özeti olmayan eski bir kayıt: özet bir kez hesaplanır ve yalnızca özet sütunu, hâlâ boşsa yazılır.
+            // Kaydın tamamı kaydedilmez; kayıt önbellekten gelen bir kopyadır ve bu arada yeniden yüklenen paketin
+            // alanlarının üzerine yazabilir.
+            digest = computeDigest(entity, fileName);
+            if (META_FILE_NAME.equals(fileName)) {
+                packageRepository.backfillMetaDigest(entity.getId(), digest);
+            } else {
+                packageRepository.backfillPackageDigest(entity.getId(), digest);
+            }
+            packageLookupService.invalidateAfterCommit(name, version);
+        }
+
+        long lastModified = entity.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new PackageFileDTO(digest, lastModified, encodingOf(entity, fileName));
+    }
+
+    /**
+     * Bir dosyayı (meta.json veya package.rep) storage'dan akış olarak okunabilecek şekilde döner.
+     *
+     * @param name İndirilecek paketin adını belirtir.
+     * @param version İndirilecek paketin versiyonunu belirtir.
+     * @param fileName İndirilecek dosyanın adını belirtir.
+     * @return İndirilecek dosyayı temsil eden Resource nesnesini döner (içerik heap'e alınmaz).
+     */
+    @Override
+    public Resource downloadPackageFile(String name, String version, String fileName) {
+        PackageEntity entity = findPackage(name, version);
+        meterRegistry.counter("package.downloads", "mode", "proxy").increment();
+
+        // İstenen dosyayı storage servisinden Resource olarak alır; içerik cevap yazılırken akış halinde okunur.
+        // Dosya sıkıştırılmış saklanıyorsa okunurken açılır.
+        String key = storageKey(entity, fileName);
+        long size = sizeOf(entity, fileName);
+        Resource resource = StorageCompressor.decode(storageService.loadObject(key), encodingOf(entity, fileName), size);
+
+        // Dosya gönderilirken açılmış içeriğin özeti hesaplanır; bozuksa son parça gönderilmeden cevap kesilir.
+        String digest = digestOf(entity, fileName);
+        if (!verifyDownloads || digest == null || size < 0) {
+            return resource; // Özeti kaydedilmemiş eski kayıtlar doğrulanmaz.
         }
+        return new VerifyingResource(resource, digest, size, () -> {
+            log.error("Integrity check failed while serving {}@{} {} (storage key {})", name, version, fileName, key);
+            meterRegistry.counter("storage.integrity.failures", "source", "download").increment();
+        });
     }
 
     /**
-     * Bir dosyayı (meta.json veya package.rep) storage'dan okuyarak döner.
+     * Bir dosyayı storage'daki haliyle (sıkıştırılmış saklanıyorsa sıkıştırılmış olarak) döner.
      *
      * @param name İndirilecek paketin adını belirtir.
      * @param version İndirilecek paketin versiyonunu belirtir.
      * @param fileName İndirilecek dosyanın adını belirtir.
-     * @return İndirilen dosyanın içeriğini byte dizisi (byte[]) olarak döner.
+     * @return Dosyanın storage'daki byte'larını temsil eden Resource nesnesi.
+     */
+    @Override
+    public Resource downloadStoredPackageFile(String name, String version, String fileName) {
+        PackageEntity entity = findPackage(name, version);
+        meterRegistry.counter("package.downloads", "mode", "proxy").increment();
+        return storageService.loadObject(storageKey(entity, fileName));
+    }
+
+    /**
+     * Bir paket versiyonunu siler.
+     * İçerik adresli modda blob referansları bırakılır (blob'lar çöp toplama ile silinir);
+     * diğer modda dosyalar, veritabanı işlemi başarıyla tamamlandıktan sonra storage'dan silinir.
+     *
+     * @param name Silinecek paketin adını belirtir.
+     * @param version Silinecek paketin versiyonunu belirtir.
+     */
+    @Override
+    @Transactional
+    public void deletePackage(String name, String version) {
+        // Silinecek kayıt önbellekten değil, transaction içinde veritabanından okunur.
+        PackageEntity entity = packageRepository.findByNameAndVersion(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+        dependencyService.deleteDependencies(entity);
+        packageRepository.delete(entity);
+        packageLookupService.invalidateAfterCommit(name, version);
+
+        if (Boolean.TRUE.equals(entity.getContentAddressed())) {
+            releaseBlobs(entity);
+            return;
+        }
+
+        // Dosyalar ancak kayıt silme işlemi commit edildikten sonra silinir; rollback olursa dosyalar yerinde kalır.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storageService.deleteObject(StorageService.fileKey(name, version, META_FILE_NAME));
+                storageService.deleteObject(StorageService.fileKey(name, version, PACKAGE_FILE_NAME));
+            }
+        });
+    }
+
+    /**
+     * Her paketin en son versiyonunu paket adına göre sıralı ve imleç tabanlı sayfalar halinde döner.
+     *
+     * @param after Önceki sayfanın son paket adı; ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Paketlerin en son versiyonlarını ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Override
+    public CursorPageDTO<PackageVersionDTO> listPackages(String after, int limit) {
+        int pageSize = pageSize(limit);
+        // Bir fazla kayıt okunarak sonraki sayfanın olup olmadığı ayrı bir COUNT sorgusu olmadan anlaşılır.
+        List<PackageEntity> rows = packageRepository.findLatestVersionsAfter(after == null ? "" : after, pageSize + 1);
+        return toPage(rows, pageSize, PackageEntity::getName);
+    }
+
+    /**
+     * Filtrelere uyan paketleri paket adına göre sıralı ve imleç tabanlı sayfalar halinde döner.
+     * İçinde geçen metin araması trigram indeksini kullanabilmek için en az 3 karakter ister.
+     *
+     * @param criteria Arama filtreleri.
+     * @param after Önceki sayfanın son paket adı; ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Bulunan paketleri ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Override
+    public CursorPageDTO<PackageVersionDTO> searchPackages(PackageSearchDTO criteria, String after, int limit) {
+        if (isBlank(criteria.getPrefix()) && isBlank(criteria.getQuery())
+                && isBlank(criteria.getAuthor()) && isBlank(criteria.getDependsOn())) {
+            throw new RuntimeException("At least one of prefix, q, author or dependsOn is required");
+        }
+        if (!isBlank(criteria.getQuery()) && criteria.getQuery().trim().length() < 3) {
+            throw new RuntimeException("Search text must be at least 3 characters");
+        }
+        int pageSize = pageSize(limit);
+        List<PackageEntity> rows = packageRepository.search(criteria, after == null ? "" : after, pageSize + 1);
+        return toPage(rows, pageSize, PackageEntity::getName);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Bir paketin versiyonlarını büyükten küçüğe sıralı ve imleç tabanlı sayfalar halinde döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @param after Önceki sayfanın son versiyonu; ilk sayfa için null.
+     * @param limit Sayfadaki en fazla kayıt sayısı.
+     * @return Versiyonları ve sonraki sayfanın imlecini içeren sayfa.
+     */
+    @Override
+    public CursorPageDTO<PackageVersionDTO> listVersions(String name, String after, int limit) {
+        int pageSize = pageSize(limit);
+        SemanticVersion cursor = after == null
+                ? new SemanticVersion(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE) // İlk sayfa: tüm versiyonlar.
+                : SemanticVersion.parse(after);
+        List<PackageEntity> rows = packageRepository.findVersionsBefore(
+                name, cursor.major(), cursor.minor(), cursor.patch(), pageSize + 1);
+        if (rows.isEmpty() && after == null) {
+            throw new PackageNotFoundException("Package not found: " + name);
+        }
+        return toPage(rows, pageSize, PackageEntity::getVersion);
+    }
+
+    /**
+     * Bir paketin sayısal olarak en büyük versiyonunu döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @return En son versiyonun özet bilgileri.
      */
     @Override
-    public byte[] downloadPackageFile(String name, String version, String fileName) {
-        // İstenen dosyayı storage servisinden okur ve byte[] olarak geri döner.
-        return storageService.readFile(name, version, fileName);
+    public PackageVersionDTO getLatestVersion(String name) {
+        return packageLookupService.findLatest(name)
+                .map(this::toVersionDTO)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name));
+    }
+
+    /**
+     * meta.json dosyasını okur, ayrıştırır ve versiyonunu doğrular.
+     */
+    private ParsedMeta readMeta(MultipartFile metaFile) {
+        byte[] metaBytes;
+        MetaDTO meta;
+        try {
+            metaBytes = metaFile.getBytes();
+            meta = objectMapper.readValue(metaBytes, MetaDTO.class);
+        } catch (IOException e) {
+            // Eğer meta.json dosyası okunamazsa RuntimeException fırlatır.
+            throw new RuntimeException("Invalid meta.json file", e);
+        }
+        if (meta.getName() == null || meta.getName().isBlank()) {
+            throw new RuntimeException("meta.json must contain a package name");
+        }
+        // Sıralanabilir sayısal versiyon sütunları için versiyon ayrıştırılır.
+        return new ParsedMeta(metaBytes, meta, SemanticVersion.parse(meta.getVersion()));
+    }
+
+    /**
+     * package.rep dosyasını storage'a yazmadan okuyarak SHA-256 özetini ve boyutunu hesaplar.
+     */
+    private HashingInputStream hashPackage(MultipartFile packageFile) {
+        try (InputStream inputStream = packageFile.getInputStream()) {
+            HashingInputStream packageStream = new HashingInputStream(inputStream);
+            packageStream.transferTo(OutputStream.nullOutputStream());
+            return packageStream;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read package file", e);
+        }
+    }
+
+    /**
+     * meta.json ve package.rep dosyalarını paket adı/versiyon anahtarları altına yazar.
+     * package.rep'in özeti ve boyutu, sıkıştırma denendiyse o geçişte, denenmediyse storage'a yazılırken hesaplanır.
+     */
+    private StoredPackage saveFiles(ParsedMeta parsed, String metaDigest, MultipartFile packageFile) {
+        String name = parsed.meta().getName();
+        String version = parsed.meta().getVersion();
+        EncodedContent meta = storageCompressor.encode(parsed.bytes());
+        String metaPath;
+        try (InputStream inputStream = meta.getInputStream()) {
+            metaPath = storageService.saveFile(name, version, META_FILE_NAME, inputStream, meta.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read meta.json file", e);
+        }
+
+        try (EncodedContent encoded = storageCompressor.encode(packageFile, packageFile.getSize());
+             InputStream inputStream = encoded.getInputStream()) {
+            HashingInputStream packageStream = encoded.getDigest() == null ? new HashingInputStream(inputStream) : null;
+            String packagePath = storageService.saveFile(name, version, PACKAGE_FILE_NAME,
+                    packageStream != null ? packageStream : inputStream, encoded.getSize());
+            return new StoredPackage(parsed, metaDigest,
+                    packageStream != null ? packageStream.getDigestHex() : encoded.getDigest(),
+                    packageStream != null ? packageStream.getBytesRead() : encoded.getRawSize(),
+                    metaPath, packagePath, meta.getEncoding(), encoded.getEncoding());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read package file", e);
+        }
+    }
+
+    /**
+     * İçerik adresli modda package.rep'i blob olarak yazılmak üzere kodlar. Blob anahtarı ham içeriğin özeti olduğu için
+     * özet yazmadan önce bilinmelidir; sıkıştırma denenmediyse özet ayrı bir okuma ile hesaplanır.
+     */
+    private EncodedContent encodePackage(MultipartFile packageFile) {
+        EncodedContent encoded = storageCompressor.encode(packageFile, packageFile.getSize());
+        if (encoded.getDigest() != null) {
+            return encoded;
+        }
+        HashingInputStream packageStream = hashPackage(packageFile);
+        return encoded.withDigest(packageStream.getDigestHex(), packageStream.getBytesRead());
+    }
+
+    /**
+     * Tekli yüklemede bir paketin dosyalarını storage'a yazar.
+     * İçerik adresli modda blob anahtarı özet olduğu için özet, yazmadan önce hesaplanır; aynı içerik daha önce
+     * yüklenmişse storage'a yazılmaz, referans sayısı daha sonra transaction içinde artırılır.
+     */
+    private StoredPackage storeForUpload(ParsedMeta parsed, String metaDigest, MultipartFile packageFile) {
+        return contentAddressed ? storeBlobs(parsed, metaDigest, packageFile) : saveFiles(parsed, metaDigest, packageFile);
+    }
+
+    /**
+     * Toplu yüklemede bir paketin dosyalarını storage'a yazar. İçerik adresli modda yalnızca henüz kayıtlı olmayan
+     * blob'lar yazılır; referanslar daha sonra transaction içinde eklenir.
+     */
+    private StoredPackage storeForBatch(ParsedMeta parsed, MultipartFile packageFile) {
+        String metaDigest = DigestHelper.sha256Hex(parsed.bytes());
+        if (!contentAddressed) {
+            try {
+                return saveFiles(parsed, metaDigest, packageFile);
+            } catch (RuntimeException e) {
+                // package.rep yazılamadıysa aynı paketin önceden yazılmış meta.json dosyası da geri alınır.
+                discard(List.of(new StoredPackage(parsed, metaDigest, null, 0, null, null, null, null)));
+                throw e;
+            }
+        }
+        return storeBlobs(parsed, metaDigest, packageFile);
+    }
+
+    /**
+     * İçerik adresli modda bir paketin dosyalarını, henüz kayıtlı değillerse blob olarak yazar. Blob kayıtları ve
+     * referansları eklenmez; bunlar daha sonra transaction içinde acquireBlobs ile eklenir.
+     */
+    private StoredPackage storeBlobs(ParsedMeta parsed, String metaDigest, MultipartFile packageFile) {
+        try (EncodedContent encoded = encodePackage(packageFile)) {
+            String packageDigest = encoded.getDigest();
+            long packageSize = encoded.getRawSize();
+            EncodedContent meta = storageCompressor.encode(parsed.bytes());
+            String metaPath = blobService.storeIfAbsent(metaDigest, parsed.bytes().length, meta);
+            try {
+                String packagePath = blobService.storeIfAbsent(packageDigest, packageSize, encoded);
+                return new StoredPackage(parsed, metaDigest, packageDigest, packageSize, metaPath, packagePath,
+                        meta.getEncoding(), encoded.getEncoding());
+            } catch (RuntimeException e) {
+                discard(List.of(new StoredPackage(parsed, metaDigest, packageDigest, packageSize, metaPath, null,
+                        meta.getEncoding(), null)));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Toplu yüklemenin tüm kayıtlarını ve bağımlılık kenarlarını ekler; çağıran transaction içinde çalışır.
+     */
+    private List<PackageVersionDTO> insertBatch(List<StoredPackage> stored) {
+        List<PackageEntity> entities = new ArrayList<>();
+        for (StoredPackage item : stored) {
+            entities.add(buildEntity(contentAddressed ? acquireBlobs(item) : item));
+        }
+
+        List<PackageEntity> saved = packageRepository.saveAll(entities);
+        Map<Long, List<MetaDTO.Dependency>> dependencies = new LinkedHashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            dependencies.put(saved.get(i).getId(), stored.get(i).parsed().meta().getDependencies());
+        }
+        dependencyService.addDependencies(dependencies);
+        saved.forEach(entity -> packageLookupService.invalidateAfterCommit(entity.getName(), entity.getVersion()));
+        return saved.stream().map(this::toVersionDTO).toList();
+    }
+
+    /**
+     * İçerik adresli modda storage'a yazılmış bir paketin blob referanslarını ekler; çağıran transaction içinde çalışır.
+     * Blob bu istekte yazılmadıysa kayıt, mevcut blob'un yolunu ve kodlamasını kullanır.
+     */
+    private StoredPackage acquireBlobs(StoredPackage item) {
+        BlobEntity meta = blobService.acquireStored(item.metaDigest(), item.parsed().bytes().length,
+                item.metaPath(), item.metaEncoding());
+        BlobEntity rep = blobService.acquireStored(item.packageDigest(), item.packageSize(),
+                item.packagePath(), item.packageEncoding());
+        return new StoredPackage(item.parsed(), item.metaDigest(), item.packageDigest(), item.packageSize(),
+                meta.getStoragePath(), rep.getStoragePath(), meta.getEncoding(), rep.getEncoding());
+    }
+
+    /**
+     * Başarısız bir yüklemede bu istekte storage'a yazılan dosyaları siler.
+     * Silme hataları loglanır; asıl hata çağırana iletilir.
+     */
+    private void discard(List<StoredPackage> stored) {
+        for (StoredPackage item : stored) {
+            try {
+                if (contentAddressed) {
+                    // Yalnızca bu istekte yazılan (path'i dolu olan) blob'lar çöp toplamaya bırakılır.
+                    if (item.metaPath() != null) {
+                        blobService.releaseStored(item.metaDigest(), item.parsed().bytes().length, item.metaPath(),
+                                item.metaEncoding());
+                    }
+                    if (item.packagePath() != null) {
+                        blobService.releaseStored(item.packageDigest(), item.packageSize(), item.packagePath(),
+                                item.packageEncoding());
+                    }
+                } else {
+                    String name = item.parsed().meta().getName();
+                    String version = item.parsed().meta().getVersion();
+                    storageService.deleteObject(StorageService.fileKey(name, version, META_FILE_NAME));
+                    storageService.deleteObject(StorageService.fileKey(name, version, PACKAGE_FILE_NAME));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not clean up files of failed upload for {}@{}",
+                        item.parsed().meta().getName(), item.parsed().meta().getVersion(), e);
+            }
+        }
+    }
+
+    /**
+     * Yüklemenin bir aşamasının (parse: meta.json okuma ve doğrulama, store: storage'a yazma, db: veritabanı kaydı)
+     * süre ölçerini döner. Micrometer aynı ad ve etiketler için her seferinde aynı Timer'ı döner.
+     */
+    private Timer stageTimer(String mode, String stage) {
+        return Timer.builder("package.upload.stage")
+                .description("Package upload duration per stage")
+                .tag("mode", mode)   // single veya batch
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Yüklenen bir paketin bilgilerinden veritabanı kaydını oluşturur.
+     */
+    private PackageEntity buildEntity(StoredPackage stored) {
+        ParsedMeta parsed = stored.parsed();
+        MetaDTO meta = parsed.meta();
+        return PackageEntity.builder()
+                .name(meta.getName())                                           // meta.json içindeki adı kullanır.
+                .version(meta.getVersion())                                     // meta.json içindeki versiyonu kullanır.
+                .versionMajor(parsed.version().major())                         // Versiyonun sayısal parçalarını sıralama için kaydeder.
+                .versionMinor(parsed.version().minor())
+                .versionPatch(parsed.version().patch())
+                .author(meta.getAuthor())                                       // meta.json içindeki yazarı kullanır.
+                .packageBinary(new String(parsed.bytes(), StandardCharsets.UTF_8)) // meta.json dosyasının içeriğini String olarak kaydeder.
+                .storagePath(stored.packagePath())                              // .rep dosyasının storage üzerindeki yolunu kaydeder.
+                .uploadedAt(LocalDateTime.now())                                // Şu anki tarihi ve saati kaydeder.
+                .metaDigest(stored.metaDigest())                                // meta.json içeriğinin SHA-256 özetini kaydeder (ETag).
+                .packageDigest(stored.packageDigest())                          // package.rep içeriğinin SHA-256 özetini kaydeder (ETag, bütünlük kontrolü).
+                .packageSize(stored.packageSize())                              // package.rep dosyasının ham boyutunu kaydeder.
+                .metaSize((long) parsed.bytes().length)                         // meta.json dosyasının yüklendiği haliyle boyutunu kaydeder.
+                .metaEncoding(stored.metaEncoding())                            // Dosyaların storage'daki kodlamasını (gzip veya null) kaydeder.
+                .packageEncoding(stored.packageEncoding())
+                .contentAddressed(contentAddressed)                             // Dosyaların hangi anahtar düzeniyle saklandığını kaydeder.
+                .dependenciesIndexed(true)                                      // Bağımlılıklar kayıttan sonra kenar olarak kaydedilir.
+                .build();
+    }
+
+    /**
+     * Paket kaydını (önbellekten) bulur, bulunamazsa 404'e dönüşen PackageNotFoundException fırlatır.
+     */
+    private PackageEntity findPackage(String name, String version) {
+        return packageLookupService.findPackage(name, version)
+                .orElseThrow(() -> new PackageNotFoundException("Package not found: " + name + "@" + version));
+    }
+
+    /**
+     * Kayıtta tutulan dosya özetini döner; yalnızca meta.json ve package.rep dosyaları desteklenir.
+     */
+    static String digestOf(PackageEntity entity, String fileName) {
+        if (META_FILE_NAME.equals(fileName)) {
+            return entity.getMetaDigest();
+        }
+        if (PACKAGE_FILE_NAME.equals(fileName)) {
+            return entity.getPackageDigest();
+        }
+        throw new PackageNotFoundException("File not found: " + fileName);
+    }
+
+    /**
+     * Kayıtta tutulan dosya saklama kodlamasını (gzip) döner; dosya ham saklanıyorsa null.
+     */
+    static String encodingOf(PackageEntity entity, String fileName) {
+        return META_FILE_NAME.equals(fileName) ? entity.getMetaEncoding() : entity.getPackageEncoding();
+    }
+
+    /**
+     * Bir paket dosyasının ham (açılmış) boyutunu döner; bilinmiyorsa -1.
+     */
+    static long sizeOf(PackageEntity entity, String fileName) {
+        if (META_FILE_NAME.equals(fileName)) {
+            return entity.getMetaSize() != null ? entity.getMetaSize() : legacyMetaSize(entity);
+        }
+        return entity.getPackageSize() == null ? -1 : entity.getPackageSize();
+    }
+
+    /**
+     * meta_size sütunundan önce yüklenmiş kayıtlarda meta.json boyutunu kayıttaki metinden çıkarır.
+     * Metnin UTF-8 kodlaması yalnızca özeti kayıttaki özetle aynıysa yüklenen dosyanın kendisidir;
+     * değilse (BOM, UTF-16 veya geçersiz UTF-8 içeren dosyalar) boyut bilinmiyor kabul edilir.
+     */
+    private static long legacyMetaSize(PackageEntity entity) {
+        if (entity.getPackageBinary() == null || entity.getMetaDigest() == null) {
+            return -1;
+        }
+        byte[] bytes = entity.getPackageBinary().getBytes(StandardCharsets.UTF_8);
+        return DigestHelper.sha256Hex(bytes).equals(entity.getMetaDigest()) ? bytes.length : -1;
+    }
+
+    /**
+     * Bir paket dosyasının storage anahtarını döner.
+     * İçerik adresli kayıtlarda anahtar dosyanın özetinden, diğerlerinde paket adı/versiyon/dosya adından üretilir.
+     */
+    static String storageKey(PackageEntity entity, String fileName) {
+        String digest = digestOf(entity, fileName);
+        if (Boolean.TRUE.equals(entity.getContentAddressed())) {
+            return StorageService.blobKey(digest);
+        }
+        return StorageService.fileKey(entity.getName(), entity.getVersion(), fileName);
+    }
+
+    /**
+     * İçerik adresli bir kaydın meta.json ve package.rep blob referanslarını bırakır.
+     */
+    private void releaseBlobs(PackageEntity entity) {
+        if (!Boolean.TRUE.equals(entity.getContentAddressed())) {
+            return;
+        }
+        blobService.release(entity.getMetaDigest());
+        blobService.release(entity.getPackageDigest());
+    }
+
+    /**
+     * Storage'daki bir dosyanın SHA-256 özetini, içeriği akış halinde okuyarak hesaplar.
+     */
+    private String computeDigest(PackageEntity entity, String fileName) {
+        Resource stored = storageService.loadObject(storageKey(entity, fileName));
+        try (InputStream inputStream = StorageCompressor.decode(stored, encodingOf(entity, fileName), -1).getInputStream()) {
+            return DigestHelper.sha256Hex(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + fileName, e);
+        }
+    }
+
+    /**
+     * İstenen sayfa boyutunu 1 ile MAX_PAGE_SIZE arasında sınırlar.
+     */
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * pageSize + 1 kayıt ile okunan satırlardan bir sayfa üretir; fazladan kayıt varsa son elemanın anahtarı imleç olur.
+     */
+    private CursorPageDTO<PackageVersionDTO> toPage(List<PackageEntity> rows, int pageSize,
+                                                    Function<PackageEntity, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<PackageEntity> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page.stream().map(this::toVersionDTO).toList(), nextCursor);
+    }
+
+    private PackageVersionDTO toVersionDTO(PackageEntity entity) {
+        return PackageVersionDTO.builder()
+                .name(entity.getName())
+                .version(entity.getVersion())
+                .author(entity.getAuthor())
+                .uploadedAt(entity.getUploadedAt())
+                .packageSize(entity.getPackageSize())
+                .packageDigest(entity.getPackageDigest())
+                .build();
+    }
+
+    /**
+     * Okunmuş ve doğrulanmış bir meta.json dosyası.
+     */
+    private record ParsedMeta(byte[] bytes, MetaDTO meta, SemanticVersion version) {
+    }
+
+    /**
+     * Storage'a yazılmış bir paketin dosya bilgileri. İçerik adresli modda metaPath/packagePath,
+     * blob bu istekte yazılmadıysa (zaten kayıtlıysa) null'dır. Kodlamalar, dosyaların storage'daki halini belirtir.
+     */
+    private record StoredPackage(ParsedMeta parsed, String metaDigest, String packageDigest, long packageSize,
+                                 String metaPath, String packagePath, String metaEncoding, String packageEncoding) {
     }
 }
@@ -0,0 +1,433 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.ScrubService;
+import com.example.repmanager.core.util.HashingInputStream;
+import com.example.repmanager.core.util.TokenBucket;
+import com.example.repmanager.dao.BlobRepository;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.ScrubReportDTO;
+import com.example.repmanager.entities.BlobEntity;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageCompressor;
+import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.StoredObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+import static com.example.repmanager.bussines.concretes.PackageServiceImpl.META_FILE_NAME;
+import static com.example.repmanager.bussines.concretes.PackageServiceImpl.PACKAGE_FILE_NAME;
+
+/**
+ * Bu sınıf, ScrubService arayüzünün implementasyonudur.
+ * Tarama iki geçişten oluşur:
+ * 1. Paket kayıtları kimlik sırasıyla (keyset) sayfa sayfa okunur; her sayfadaki dosyalar storage.scrub.concurrency
+ *    kadar thread ile paralel kontrol edilir. Dosya storage'da yoksa "dangling", açılmış içeriğinin SHA-256 özeti veya
+ *    boyutu kayıttakinden farklıysa "corrupt" olarak raporlanır. İçerik önbellekler atlanarak backend'den okunur.
+ * 2. Storage listelenir; hiçbir paket kaydına (veya blob kaydına) ait olmayan nesneler "orphan" olarak raporlanır.
+ *    Son orphan-grace-period içinde yazılmış nesneler, kaydı henüz commit edilmemiş bir yüklemeye ait olabileceği
+ *    için atlanır.
+ * Tarama ön plandaki istekleri yavaşlatmasın diye okuma hızı (byte/sn) ve kontrol edilen nesne sayısı (nesne/sn)
+ * token bucket'larla sınırlanır; thread'ler düşük öncelikle çalışır. Bir sorun bulunan kayıt, raporlanmadan önce
+ * veritabanından tekrar okunur; tarama sırasında silinen veya yeniden yüklenen paketler raporlanmaz.
+ */
+@Service
+@Slf4j
+public class ScrubServiceImpl implements ScrubService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String BLOB_PREFIX = "blobs/";
+
+    /**
+     * Raporlanan sorun tipleri; metriklerde küçük harfle "type" etiketi olarak kullanılır.
+     */
+    enum Finding {
+        CORRUPT,
+        DANGLING,
+        ORPHAN
+    }
+
+    private final PackageRepository packageRepository;
+    private final BlobRepository blobRepository;
+    private final StorageService storageService;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int concurrency;
+    private final long bytesPerSecond;
+    private final double objectsPerSecond;
+    private final Duration orphanGracePeriod;
+    private final int maxReportedFindings;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+    private volatile Run current;             // Süren taramanın sayaçları; tarama yoksa null.
+    private volatile ScrubReportDTO lastReport;
+
+    public ScrubServiceImpl(PackageRepository packageRepository,
+                            BlobRepository blobRepository,
+                            StorageService storageService,
+                            MeterRegistry meterRegistry,
+                            @Value("${storage.scrub.batch-size:200}") int batchSize,
+                            @Value("${storage.scrub.concurrency:2}") int concurrency,
+                            @Value("${storage.scrub.max-bytes-per-second:20MB}") DataSize maxBytesPerSecond,
+                            @Value("${storage.scrub.max-objects-per-second:200}") double maxObjectsPerSecond,
+                            @Value("${storage.scrub.orphan-grace-period:PT1H}") Duration orphanGracePeriod,
+                            @Value("${storage.scrub.max-reported-findings:1000}") int maxReportedFindings) {
+        this.packageRepository = packageRepository;
+        this.blobRepository = blobRepository;
+        this.storageService = storageService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.bytesPerSecond = maxBytesPerSecond.toBytes();
+        this.objectsPerSecond = maxObjectsPerSecond;
+        this.orphanGracePeriod = orphanGracePeriod;
+        this.maxReportedFindings = maxReportedFindings;
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true; // Süren tarama bir sonraki dosyada yarıda kesilir.
+    }
+
+    /**
+     * storage.scrub.cron ile zamanlanır; "-" (varsayılan) zamanlanmış taramayı kapatır.
+     */
+    @Override
+    @Scheduled(cron = "${storage.scrub.cron:-}")
+    public ScrubReportDTO scrub() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Storage scrub is already running");
+            return getReport();
+        }
+        Run run = new Run();
+        current = run;
+        // Dosyalar düşük öncelikli thread'lerde kontrol edilir; ön plandaki istekler CPU için önce sıraya girer.
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().name("storage-scrub-", 0).daemon(true).priority(Thread.MIN_PRIORITY).factory());
+        ScrubReportDTO report = null;
+        try {
+            log.info("Storage scrub started");
+            checkPackages(run, workers);
+            checkObjects(run);
+            report = run.toReport(ScrubReportDTO.State.COMPLETED, null);
+            log.info("Storage scrub finished: {} packages, {} files ({} bytes) verified, {} objects listed, "
+                            + "{} corrupt, {} dangling, {} orphan, {} errors",
+                    report.getPackagesChecked(), report.getFilesVerified(), report.getBytesVerified(),
+                    report.getObjectsListed(), report.getCorruptCount(), report.getDanglingCount(),
+                    report.getOrphanCount(), report.getErrors());
+        } catch (RuntimeException e) {
+            log.error("Storage scrub failed", e);
+            report = run.toReport(ScrubReportDTO.State.FAILED, e.getMessage());
+        } finally {
+            workers.shutdownNow();
+            if (report != null) {
+                lastReport = report; // Rapor, tarama bitmiş görünmeden önce yayınlanır.
+            }
+            current = null;
+            running.set(false);
+        }
+        return report;
+    }
+
+    @Override
+    public boolean startScrub() {
+        if (running.get()) {
+            return false;
+        }
+        Thread.ofPlatform().name("storage-scrub").daemon(true).start(this::scrub);
+        return true;
+    }
+
+    @Override
+    public ScrubReportDTO getReport() {
+        Run run = current;
+        return run != null ? run.toReport(ScrubReportDTO.State.RUNNING, null) : lastReport;
+    }
+
+    /**
+     * 1. geçiş: paket kayıtlarını sayfa sayfa okur ve her sayfanın dosyalarını paralel kontrol eder.
+     * Bir sonraki sayfaya, önceki sayfanın tüm dosyaları bittikten sonra geçilir; böylece bellekte en fazla bir sayfa tutulur.
+     */
+    private void checkPackages(Run run, ExecutorService workers) {
+        long afterId = 0;
+        while (!stopping) {
+            List<PackageEntity> batch = packageRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Callable<Void>> tasks = new ArrayList<>(batch.size() * 2);
+            for (PackageEntity entity : batch) {
+                for (String fileName : List.of(META_FILE_NAME, PACKAGE_FILE_NAME)) {
+                    tasks.add(() -> {
+                        checkFile(run, entity, fileName);
+                        return null;
+                    });
+                }
+            }
+            try {
+                workers.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Storage scrub was interrupted", e);
+            }
+            run.packagesChecked.addAndGet(batch.size());
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Bir dosyanın storage'da var olduğunu ve açılmış içeriğinin kayıttaki özet ve boyutla uyuştuğunu kontrol eder.
+     */
+    private void checkFile(Run run, PackageEntity entity, String fileName) {
+        String digest = PackageServiceImpl.digestOf(entity, fileName);
+        if (digest == null || stopping) {
+            return; // Özeti kaydedilmemiş eski kayıtlar kontrol edilemez.
+        }
+        String key = PackageServiceImpl.storageKey(entity, fileName);
+        String description = entity.getName() + "@" + entity.getVersion() + " " + fileName + " (" + key + ")";
+        run.throttleObjects();
+        try {
+            if (!storageService.objectExists(key)) {
+                if (unchanged(entity, fileName)) {
+                    run.report(Finding.DANGLING, description);
+                }
+                return;
+            }
+            long expectedSize = PackageServiceImpl.sizeOf(entity, fileName);
+            String encoding = PackageServiceImpl.encodingOf(entity, fileName);
+            String actualDigest;
+            long actualSize;
+            try (InputStream stored = storageService.openUncached(key);
+                 HashingInputStream hashing = new HashingInputStream(decode(stored, encoding))) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = hashing.read(buffer)) != -1) {
+                    run.bytesVerified.addAndGet(read);
+                    run.throttleBytes(read);
+                }
+                actualDigest = hashing.getDigestHex();
+                actualSize = hashing.getBytesRead();
+            } catch (ZipException | EOFException e) {
+                // Sıkıştırılmış içerik açılamıyorsa dosya bozuktur.
+                if (unchanged(entity, fileName)) {
+                    run.report(Finding.CORRUPT, description + ": " + e.getMessage());
+                }
+                return;
+            }
+            run.filesVerified.incrementAndGet();
+            boolean sizeMatches = expectedSize < 0 || actualSize == expectedSize;
+            if ((!digest.equals(actualDigest) || !sizeMatches) && unchanged(entity, fileName)) {
+                run.report(Finding.CORRUPT, description + ": expected " + digest + " (" + expectedSize + " bytes), got "
+                        + actualDigest + " (" + actualSize + " bytes)");
+            }
+        } catch (IOException | RuntimeException e) {
+            run.errors.incrementAndGet();
+            log.warn("Storage scrub could not check {}", description, e);
+        }
+    }
+
+    /**
+     * 2. geçiş: storage'ı listeler ve nesneleri sayfalar halinde sahiplerine göre kontrol eder.
+     */
+    private void checkObjects(Run run) {
+        Instant cutoff = run.startInstant.minus(orphanGracePeriod);
+        List<StoredObject> pending = new ArrayList<>(batchSize);
+        try {
+            storageService.listObjects(object -> {
+                if (stopping) {
+                    throw new RuntimeException("Storage scrub was stopped");
+                }
+                run.objectsListed.incrementAndGet();
+                if (object.lastModified().isAfter(cutoff)) {
+                    return; // Kaydı henüz commit edilmemiş bir yüklemeye ait olabilir.
+                }
+                pending.add(object);
+                if (pending.size() >= batchSize) {
+                    findOrphans(run, pending);
+                    pending.clear();
+                }
+            });
+        } catch (UnsupportedOperationException e) {
+            log.info("Storage backend does not support listing; orphan check skipped");
+            return;
+        }
+        findOrphans(run, pending);
+    }
+
+    /**
+     * Blob nesnelerini storage_blob tablosunda, paket dosyalarını paket kayıtlarında arar.
+     * İçerik adresli bir kaydın dosyaları blob olarak saklandığı için "paket/versiyon/dosya" anahtarları sahipsizdir.
+     */
+    private void findOrphans(Run run, List<StoredObject> objects) {
+        List<String> digests = objects.stream()
+                .map(StoredObject::key)
+                .filter(key -> key.startsWith(BLOB_PREFIX))
+                .map(key -> key.substring(key.lastIndexOf('/') + 1))
+                .toList();
+        Set<String> knownBlobs = digests.isEmpty() ? Set.of() : blobRepository.findAllById(digests).stream()
+                .map(BlobEntity::getDigest)
+                .collect(Collectors.toSet());
+
+        Map<String, Optional<PackageEntity>> packages = new HashMap<>();
+        for (StoredObject object : objects) {
+            run.throttleObjects();
+            String key = object.key();
+            if (key.startsWith(BLOB_PREFIX)) {
+                if (!knownBlobs.contains(key.substring(key.lastIndexOf('/') + 1))) {
+                    run.report(Finding.ORPHAN, key);
+                }
+                continue;
+            }
+            int fileSeparator = key.lastIndexOf('/');
+            int versionSeparator = fileSeparator > 0 ? key.lastIndexOf('/', fileSeparator - 1) : -1;
+            String fileName = key.substring(fileSeparator + 1);
+            if (versionSeparator <= 0 || !(META_FILE_NAME.equals(fileName) || PACKAGE_FILE_NAME.equals(fileName))) {
+                run.report(Finding.ORPHAN, key); // Tanınmayan bir anahtar.
+                continue;
+            }
+            String name = key.substring(0, versionSeparator);
+            String version = key.substring(versionSeparator + 1, fileSeparator);
+            // Aynı versiyonun iki dosyası için veritabanına bir kez gidilir.
+            Optional<PackageEntity> entity = packages.computeIfAbsent(name + "@" + version,
+                    k -> packageRepository.findByNameAndVersion(name, version));
+            if (entity.isEmpty() || Boolean.TRUE.equals(entity.get().getContentAddressed())) {
+                run.report(Finding.ORPHAN, key);
+            }
+        }
+    }
+
+    /**
+     * Sorun bulunan kaydın tarama sırasında silinmediğini veya yeniden yüklenmediğini (özetinin değişmediğini) kontrol eder.
+     */
+    private boolean unchanged(PackageEntity entity, String fileName) {
+        String digest = PackageServiceImpl.digestOf(entity, fileName);
+        return packageRepository.findById(entity.getId())
+                .map(latest -> digest.equals(PackageServiceImpl.digestOf(latest, fileName)))
+                .orElse(false);
+    }
+
+    private static InputStream decode(InputStream stored, String encoding) throws IOException {
+        return StorageCompressor.GZIP.equals(encoding) ? new GZIPInputStream(stored, BUFFER_SIZE) : stored;
+    }
+
+    /**
+     * Bir taramanın sayaçları ve bulunan sorunları; dosyalar paralel kontrol edildiği için alanlar thread-safe'tir.
+     */
+    private final class Run {
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Instant startInstant = Instant.now();
+        private final TokenBucket bytes;   // Okunan byte'ları sınırlar (kapasite: bir saniyelik okuma).
+        private final TokenBucket objects; // Kontrol edilen nesneleri sınırlar.
+        private final AtomicLong packagesChecked = new AtomicLong();
+        private final AtomicLong filesVerified = new AtomicLong();
+        private final AtomicLong bytesVerified = new AtomicLong();
+        private final AtomicLong objectsListed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Finding, AtomicLong> counts = new EnumMap<>(Finding.class);
+        private final Map<Finding, List<String>> findings = new EnumMap<>(Finding.class);
+
+        private Run() {
+            long now = System.nanoTime();
+            this.bytes = new TokenBucket(bytesPerSecond, Math.max(bytesPerSecond, BUFFER_SIZE), now);
+            this.objects = new TokenBucket(objectsPerSecond, Math.max(1, (long) objectsPerSecond), now);
+            for (Finding finding : Finding.values()) {
+                counts.put(finding, new AtomicLong());
+                findings.put(finding, Collections.synchronizedList(new ArrayList<>()));
+            }
+        }
+
+        private void report(Finding finding, String description) {
+            log.warn("Storage scrub found {} object: {}", finding.name().toLowerCase(), description);
+            meterRegistry.counter("storage.scrub.findings", "type", finding.name().toLowerCase()).increment();
+            if (finding == Finding.CORRUPT) {
+                meterRegistry.counter("storage.integrity.failures", "source", "scrub").increment();
+            }
+            counts.get(finding).incrementAndGet();
+            List<String> list = findings.get(finding);
+            synchronized (list) {
+                if (list.size() < maxReportedFindings) {
+                    list.add(description);
+                }
+            }
+        }
+
+        private void throttleBytes(long read) {
+            bytes.consume(read, System.nanoTime());
+            pause(bytes.debtNanos(System.nanoTime()));
+        }
+
+        private void throttleObjects() {
+            objects.consume(1, System.nanoTime());
+            pause(objects.debtNanos(System.nanoTime()));
+        }
+
+        private void pause(long nanos) {
+            if (nanos <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Storage scrub was interrupted", e);
+            }
+        }
+
+        private ScrubReportDTO toReport(ScrubReportDTO.State state, String error) {
+            return ScrubReportDTO.builder()
+                    .state(state)
+                    .startedAt(startedAt)
+                    .finishedAt(state == ScrubReportDTO.State.RUNNING ? null : LocalDateTime.now())
+                    .packagesChecked(packagesChecked.get())
+                    .filesVerified(filesVerified.get())
+                    .bytesVerified(bytesVerified.get())
+                    .objectsListed(objectsListed.get())
+                    .errors(errors.get())
+                    .corruptCount(counts.get(Finding.CORRUPT).get())
+                    .danglingCount(counts.get(Finding.DANGLING).get())
+                    .orphanCount(counts.get(Finding.ORPHAN).get())
+                    .corrupt(snapshot(Finding.CORRUPT))
+                    .dangling(snapshot(Finding.DANGLING))
+                    .orphans(snapshot(Finding.ORPHAN))
+                    .error(error)
+                    .build();
+        }
+
+        private List<String> snapshot(Finding finding) {
+            List<String> list = findings.get(finding);
+            synchronized (list) {
+                return List.copyOf(list);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.StorageMigrationService;
+import com.example.repmanager.core.util.HashingInputStream;
+import com.example.repmanager.core.util.TokenBucket;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dao.StorageMigrationRepository;
+import com.example.repmanager.dto.StorageMigrationDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.entities.StorageMigrationEntity;
+import com.example.repmanager.storage.MigratingStorageService;
+import com.example.repmanager.storage.StorageCompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+import static com.example.repmanager.bussines.concretes.PackageServiceImpl.META_FILE_NAME;
+import static com.example.repmanager.bussines.concretes.PackageServiceImpl.PACKAGE_FILE_NAME;
+
+/**
+ * Bu sınıf, StorageMigrationService arayüzünün implementasyonudur.
+ * Paket kayıtları kimlik sırasıyla (keyset) sayfa sayfa okunur; her sayfanın dosyaları storage.migration.concurrency
+ * kadar thread ile paralel olarak kaynaktan hedefe kopyalanır. Kopyalanan her nesne hedeften tekrar okunarak
+ * doğrulanır: saklanan boyut kopyalananla, açılmış içeriğin SHA-256 özeti kayıttakiyle aynı olmalıdır.
+ * Sayfa bittiğinde paket ve blob kayıtlarının storage_path değerleri toplu (JDBC batch) güncellenir ve kontrol noktası
+ * aynı transaction'da yazılır. İş yarıda kalırsa (durdurma, hata, çökme) en fazla bir sayfa tekrar kopyalanır.
+ * Kaynak backend'deki nesneler silinmez; geçiş bitene kadar okumalar kaynaktan yapılmaya devam eder (geri dönüş mümkündür).
+ * İş tek bir replikada çalışır; sahiplik kontrol noktası satırı üzerinden alınır ve replika çökerse
+ * lease-timeout sonra başka bir replika tarafından devralınır.
+ * storage.migration.source çalışma zamanında okunur; tanımlı değilse servis devre dışıdır ve iş başlatılamaz.
+ */
+@Service
+@Slf4j
+public class StorageMigrationServiceImpl implements StorageMigrationService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final PackageRepository packageRepository;
+    private final StorageMigrationRepository migrationRepository;
+    private final MigratingStorageService storage; // Geçiş tanımlı değilse null.
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int concurrency;
+    private final boolean verify;
+    private final long maxBytesPerSecond;
+    private final Duration leaseTimeout;
+    private final String id;     // Kontrol noktasının kimliği: "kaynak->hedef"; geçiş tanımlı değilse null.
+    private final String owner;  // Bu replikanın kimliği: "host:pid".
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final List<String> failures = new ArrayList<>();
+    private volatile boolean stopRequested;
+
+    public StorageMigrationServiceImpl(PackageRepository packageRepository,
+                                       StorageMigrationRepository migrationRepository,
+                                       ObjectProvider<MigratingStorageService> migratingStorageService,
+                                       @Value("${storage.migration.source:}") String migrationSource,
+                                       JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${storage.migration.batch-size:200}") int batchSize,
+                                       @Value("${storage.migration.concurrency:4}") int concurrency,
+                                       @Value("${storage.migration.verify:true}") boolean verify,
+                                       @Value("${storage.migration.max-bytes-per-second:0}") DataSize maxBytesPerSecond,
+                                       @Value("${storage.migration.lease-timeout:PT5M}") Duration leaseTimeout) {
+        this.packageRepository = packageRepository;
+        this.migrationRepository = migrationRepository;
+        this.storage = migrationSource.isBlank() ? null : migratingStorageService.getObject();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.verify = verify;
+        this.maxBytesPerSecond = maxBytesPerSecond.toBytes();
+        this.leaseTimeout = leaseTimeout;
+        this.id = storage == null ? null : storage.getSourceName() + "->" + storage.getTargetName();
+        this.owner = hostName() + ":" + ProcessHandle.current().pid();
+    }
+
+    @Override
+    public boolean start() {
+        if (storage == null || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            StorageMigrationEntity checkpoint = findOrCreateCheckpoint();
+            boolean restart = checkpoint.getState() == StorageMigrationEntity.State.COMPLETED;
+            LocalDateTime now = LocalDateTime.now();
+            if (migrationRepository.claim(id, owner, now, now.minus(leaseTimeout),
+                    StorageMigrationEntity.State.RUNNING) == 0) {
+                running.set(false);
+                return false; // Başka bir replikada sürüyor.
+            }
+            stopRequested = false;
+            Thread.ofPlatform().name("storage-migration").daemon(true).start(() -> run(restart));
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean stop() {
+        if (!running.get()) {
+            return false;
+        }
+        stopRequested = true;
+        return true;
+    }
+
+    @Override
+    public StorageMigrationDTO getStatus() {
+        if (storage == null) {
+            return StorageMigrationDTO.builder().failures(List.of()).build();
+        }
+        StorageMigrationDTO.StorageMigrationDTOBuilder status = StorageMigrationDTO.builder()
+                .source(storage.getSourceName())
+                .target(storage.getTargetName());
+        migrationRepository.findById(id).ifPresent(checkpoint -> status
+                .state(checkpoint.getState())
+                .lastPackageId(checkpoint.getLastPackageId())
+                .copiedObjects(checkpoint.getCopiedObjects())
+                .copiedBytes(checkpoint.getCopiedBytes())
+                .failedObjects(checkpoint.getFailedObjects())
+                .owner(checkpoint.getOwner())
+                .startedAt(checkpoint.getStartedAt())
+                .updatedAt(checkpoint.getUpdatedAt())
+                .finishedAt(checkpoint.getFinishedAt())
+                .error(checkpoint.getError()));
+        synchronized (failures) {
+            status.failures(List.copyOf(failures));
+        }
+        return status.build();
+    }
+
+    /**
+     * İş bu replikada sürüyorsa kontrol noktasının zamanını yeniler; sürmüyorsa ve iş sahibi replika lease-timeout
+     * boyunca kontrol noktası yazmadıysa (çöktüyse) işi devralır.
+     */
+    @Scheduled(fixedDelayString = "${storage.migration.heartbeat-interval:PT1M}",
+            initialDelayString = "${storage.migration.heartbeat-interval:PT1M}")
+    public void heartbeat() {
+        if (storage == null) {
+            return;
+        }
+        if (running.get()) {
+            migrationRepository.heartbeat(id, owner, LocalDateTime.now());
+            return;
+        }
+        migrationRepository.findById(id)
+                .filter(checkpoint -> checkpoint.getState() == StorageMigrationEntity.State.RUNNING)
+                .filter(checkpoint -> checkpoint.getUpdatedAt().isBefore(LocalDateTime.now().minus(leaseTimeout)))
+                .ifPresent(checkpoint -> {
+                    if (start()) {
+                        log.warn("Resumed abandoned storage migration {} (last owner {}) from package id {}",
+                                id, checkpoint.getOwner(), checkpoint.getLastPackageId());
+                    }
+                });
+    }
+
+    /**
+     * Kontrol noktasından başlayarak paket kayıtlarını sayfa sayfa taşır.
+     */
+    private void run(boolean restart) {
+        StorageMigrationEntity checkpoint = migrationRepository.findById(id).orElseThrow();
+        if (restart) {
+            // Tamamlanmış bir iş tekrar başlatıldı; kaynakta kalan her şey baştan kopyalanır.
+            checkpoint.setLastPackageId(0);
+            checkpoint.setCopiedObjects(0);
+            checkpoint.setCopiedBytes(0);
+            checkpoint.setFailedObjects(0);
+            checkpoint.setStartedAt(null);
+        }
+        if (checkpoint.getStartedAt() == null) {
+            checkpoint.setStartedAt(LocalDateTime.now());
+        }
+        synchronized (failures) {
+            failures.clear();
+        }
+        log.info("Storage migration {} started from package id {}", id, checkpoint.getLastPackageId());
+
+        TokenBucket bytes = maxBytesPerSecond > 0
+                ? new TokenBucket(maxBytesPerSecond, maxBytesPerSecond, System.nanoTime())
+                : null;
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().name("storage-migration-", 0).daemon(true).factory());
+        try {
+            while (!stopRequested) {
+                List<PackageEntity> batch = packageRepository.findByIdGreaterThanOrderByIdAsc(
+                        checkpoint.getLastPackageId(), Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    checkpoint.setState(StorageMigrationEntity.State.COMPLETED);
+                    checkpoint.setFinishedAt(LocalDateTime.now());
+                    saveCheckpoint(checkpoint, List.of(), List.of());
+                    log.info("Storage migration {} completed: {} objects ({} bytes) copied, {} failed", id,
+                            checkpoint.getCopiedObjects(), checkpoint.getCopiedBytes(), checkpoint.getFailedObjects());
+                    return;
+                }
+                migrateBatch(checkpoint, batch, workers, bytes);
+            }
+            checkpoint.setState(StorageMigrationEntity.State.PAUSED);
+            saveCheckpoint(checkpoint, List.of(), List.of());
+            log.info("Storage migration {} paused at package id {}", id, checkpoint.getLastPackageId());
+        } catch (RuntimeException e) {
+            log.error("Storage migration {} failed at package id {}", id, checkpoint.getLastPackageId(), e);
+            checkpoint.setState(StorageMigrationEntity.State.FAILED);
+            checkpoint.setError(truncate(e.getMessage()));
+            try {
+                saveCheckpoint(checkpoint, List.of(), List.of());
+            } catch (RuntimeException saveError) {
+                log.error("Could not save storage migration checkpoint", saveError);
+            }
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Bir sayfadaki kayıtların dosyalarını paralel kopyalar, ardından yolları ve kontrol noktasını tek transaction'da yazar.
+     */
+    private void migrateBatch(StorageMigrationEntity checkpoint, List<PackageEntity> batch, ExecutorService workers,
+                              TokenBucket bytes) {
+        List<Callable<Copied>> tasks = new ArrayList<>(batch.size() * 2);
+        for (PackageEntity entity : batch) {
+            for (String fileName : List.of(META_FILE_NAME, PACKAGE_FILE_NAME)) {
+                tasks.add(() -> migrateFile(entity, fileName, bytes));
+            }
+        }
+
+        List<Object[]> packagePaths = new ArrayList<>(); // (storage_path, id, package_digest)
+        List<Object[]> blobPaths = new ArrayList<>();    // (storage_path, digest)
+        try {
+            for (Future<Copied> future : workers.invokeAll(tasks)) {
+                Copied copied = future.get();
+                if (copied == null) {
+                    continue; // Nesne kaynakta yok: zaten taşınmış veya bu arada yeniden yüklenmiş.
+                }
+                if (copied.path() == null) {
+                    checkpoint.setFailedObjects(checkpoint.getFailedObjects() + 1);
+                    continue;
+                }
+                checkpoint.setCopiedObjects(checkpoint.getCopiedObjects() + 1);
+                checkpoint.setCopiedBytes(checkpoint.getCopiedBytes() + copied.size());
+                PackageEntity entity = copied.entity();
+                if (Boolean.TRUE.equals(entity.getContentAddressed())) {
+                    blobPaths.add(new Object[]{copied.path(), PackageServiceImpl.digestOf(entity, copied.fileName())});
+                } else if (PACKAGE_FILE_NAME.equals(copied.fileName())) {
+                    packagePaths.add(new Object[]{copied.path(), entity.getId(), entity.getPackageDigest()});
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Storage migration was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Storage migration failed", e.getCause());
+        }
+
+        checkpoint.setLastPackageId(batch.get(batch.size() - 1).getId());
+        saveCheckpoint(checkpoint, packagePaths, blobPaths);
+    }
+
+    /**
+     * Bir dosyayı kaynaktan hedefe kopyalar ve doğrular.
+     *
+     * @return Nesne kaynakta yoksa null; kopyalanamadıysa veya doğrulanamadıysa path'i null olan sonuç.
+     */
+    private Copied migrateFile(PackageEntity entity, String fileName, TokenBucket bytes) {
+        String key = PackageServiceImpl.storageKey(entity, fileName);
+        try {
+            MigratingStorageService.CopyResult result = storage.copyToTarget(key);
+            if (result == null) {
+                meterRegistry.counter("storage.migration.objects", "outcome", "skipped").increment();
+                return null;
+            }
+            if (bytes != null) {
+                bytes.consume(result.size(), System.nanoTime());
+                TimeUnit.NANOSECONDS.sleep(bytes.debtNanos(System.nanoTime()));
+            }
+            String problem = verify ? verifyCopy(key, entity, fileName) : null;
+            if (problem != null && unchanged(entity, fileName)) {
+                // Hedefteki hatalı kopya, anahtarın kilidi altında ve nesne hâlâ kaynaktaysa silinir; okumalar
+                // kaynaktan devam eder. Bu arada yeniden yüklenen içerik yalnızca hedefte olduğu için korunur.
+                if (storage.discardCopy(key)) {
+                    return failed(entity, fileName, key, problem);
+                }
+                meterRegistry.counter("storage.migration.objects", "outcome", "skipped").increment();
+                return null;
+            }
+            meterRegistry.counter("storage.migration.objects", "outcome", "copied").increment();
+            meterRegistry.counter("storage.migration.bytes").increment(result.size());
+            return new Copied(entity, fileName, result.path(), result.size());
+        } catch (IOException | RuntimeException e) {
+            return failed(entity, fileName, key, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(entity, fileName, key, "interrupted");
+        }
+    }
+
+    /**
+     * Hedefteki kopyayı önbelleği atlayarak okur ve (açılmış) içeriğinin boyutunu ve özetini kayıttakiyle karşılaştırır.
+     *
+     * @return Kopya doğruysa null; değilse uyuşmazlığın açıklaması.
+     */
+    private String verifyCopy(String key, PackageEntity entity, String fileName) throws IOException {
+        String expectedDigest = PackageServiceImpl.digestOf(entity, fileName);
+        long expectedSize = PackageServiceImpl.sizeOf(entity, fileName);
+        String encoding = PackageServiceImpl.encodingOf(entity, fileName);
+        String actualDigest;
+        long actualSize;
+        try (InputStream stored = storage.getTarget().openUncached(key);
+             HashingInputStream hashing = new HashingInputStream(StorageCompressor.GZIP.equals(encoding)
+                     ? new GZIPInputStream(stored, BUFFER_SIZE) : stored)) {
+            hashing.transferTo(OutputStream.nullOutputStream());
+            actualDigest = hashing.getDigestHex();
+            actualSize = hashing.getBytesRead();
+        } catch (ZipException | EOFException e) {
+            return "compressed content is unreadable: " + e.getMessage();
+        }
+        if ((expectedDigest != null && !expectedDigest.equals(actualDigest)) || (expectedSize >= 0 && actualSize != expectedSize)) {
+            return "expected " + expectedDigest + " (" + expectedSize + " bytes), got "
+                    + actualDigest + " (" + actualSize + " bytes)";
+        }
+        return null;
+    }
+
+    /**
+     * Kayıt kopyalama sırasında silinmediyse veya yeniden yüklenmediyse (özeti değişmediyse) true döner.
+     */
+    private boolean unchanged(PackageEntity entity, String fileName) {
+        String digest = PackageServiceImpl.digestOf(entity, fileName);
+        return packageRepository.findById(entity.getId())
+                .map(latest -> Objects.equals(digest, PackageServiceImpl.digestOf(latest, fileName)))
+                .orElse(false);
+    }
+
+    private Copied failed(PackageEntity entity, String fileName, String key, String reason) {
+        log.warn("Storage migration could not copy {}: {}", key, reason);
+        meterRegistry.counter("storage.migration.objects", "outcome", "failed").increment();
+        synchronized (failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(key + ": " + reason);
+            }
+        }
+        return new Copied(entity, fileName, null, 0);
+    }
+
+    /**
+     * Sayfanın yol güncellemelerini ve kontrol noktasını tek transaction'da yazar.
+     * İş bu arada başka bir replika tarafından devralındıysa hiçbir şey yazılmaz ve iş durur.
+     * Paket yolları yalnızca kaydın özeti değişmediyse güncellenir; yeniden yüklenen bir kayıt zaten hedefi gösterir.
+     */
+    private void saveCheckpoint(StorageMigrationEntity checkpoint, List<Object[]> packagePaths, List<Object[]> blobPaths) {
+        transactionTemplate.executeWithoutResult(status -> {
+            String currentOwner = migrationRepository.findById(id).map(StorageMigrationEntity::getOwner).orElse(null);
+            if (!owner.equals(currentOwner)) {
+                throw new IllegalStateException("Storage migration was taken over by " + currentOwner);
+            }
+            if (!packagePaths.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE package_entity SET storage_path = ? WHERE id = ? AND package_digest = ?", packagePaths);
+            }
+            if (!blobPaths.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE storage_blob SET storage_path = ? WHERE digest = ?", blobPaths);
+            }
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            migrationRepository.save(checkpoint);
+        });
+    }
+
+    private StorageMigrationEntity findOrCreateCheckpoint() {
+        return migrationRepository.findById(id).orElseGet(() -> {
+            try {
+                return migrationRepository.save(StorageMigrationEntity.builder()
+                        .id(id)
+                        .state(StorageMigrationEntity.State.PAUSED)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                return migrationRepository.findById(id).orElseThrow(); // Başka bir replika aynı anda oluşturdu.
+            }
+        });
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Kopyalanan bir dosyanın sonucu; path null ise kopyalama başarısızdır.
+     */
+    private record Copied(PackageEntity entity, String fileName, String path, long size) {
+    }
+}
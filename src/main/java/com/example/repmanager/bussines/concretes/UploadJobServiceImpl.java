@@ -0,0 +1,336 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.bussines.abstracts.UploadJobService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.core.exception.RateLimitExceededException;
+import com.example.repmanager.dto.UploadJobDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Bu sınıf, UploadJobService arayüzünün gerçek iş mantığını (implementasyonunu) içerir.
+ * Her iş, spool klasörü altında kendi klasöründe tutulur: meta.json, package.rep ve işin durumunu içeren job.json.
+ * Dosyalar ve job.json diske kalıcı olarak yazıldıktan (fsync) sonra istek 202 ile cevaplanır; böylece kuyruk
+ * uygulama yeniden başladığında kaybolmaz. Açılışta spool klasörü taranır ve tamamlanmamış işler yeniden kuyruğa alınır.
+ * İşler, upload.async.workers boyutunda sabit bir havuzda mevcut yükleme akışı (PackageService.uploadPackage) ile
+ * tamamlanır; aynı versiyonun tekrar yüklenmesi kaydı güncellediği için yarıda kalan bir işin tekrar çalışması güvenlidir.
+ * Bitmiş işlerin dosyaları hemen silinir; durumları upload.async.retention süresi boyunca sorgulanabilir.
+ */
+@Service
+@Slf4j
+public class UploadJobServiceImpl implements UploadJobService {
+
+    private static final String JOB_FILE = "job.json";
+    private static final String META_FILE = "meta.json";
+    private static final String PACKAGE_FILE = "package.rep";
+    private static final long RETRY_AFTER_SECONDS = 5; // Kuyruk doluyken istemciye önerilen bekleme süresi.
+
+    private final PackageService packageService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path spoolDir;          // İşlerin kalıcı olarak tutulduğu klasör.
+    private final int maxPending;         // Kuyrukta bekleyen ve işlenen en fazla iş sayısı.
+    private final Duration retention;     // Bitmiş işlerin durumlarının saklanma süresi.
+    private final ExecutorService workers;
+    private final Map<String, UploadJobDTO> jobs = new ConcurrentHashMap<>(); // İş kimliği -> son durum.
+    private final AtomicInteger pending = new AtomicInteger();                // QUEUED veya PROCESSING iş sayısı.
+
+    public UploadJobServiceImpl(PackageService packageService,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${upload.async.spool-dir:storage/spool}") Path spoolDir,
+                                @Value("${upload.async.workers:4}") int workers,
+                                @Value("${upload.async.max-pending:1000}") int maxPending,
+                                @Value("${upload.async.retention:P1D}") Duration retention) {
+        this.packageService = packageService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.spoolDir = spoolDir.toAbsolutePath().normalize();
+        this.maxPending = maxPending;
+        this.retention = retention;
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("upload-job-", 0).daemon(true).factory());
+        Gauge.builder("upload.jobs.pending", pending, AtomicInteger::get)
+                .description("Asynchronous upload jobs waiting or in progress")
+                .register(meterRegistry);
+        recover();
+    }
+
+    @Override
+    public UploadJobDTO submit(String name, String version, MultipartFile metaFile, MultipartFile packageFile) {
+        // Kuyruk sınırsız büyümez; doluysa istemci daha sonra tekrar denemeye yönlendirilir (429).
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new RateLimitExceededException("upload-queue", RETRY_AFTER_SECONDS);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadJobDTO job = UploadJobDTO.builder()
+                .id(UUID.randomUUID().toString())
+                .name(name)
+                .version(version)
+                .state(UploadJobDTO.State.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        Path jobDir = spoolDir.resolve(job.getId());
+        try {
+            Files.createDirectories(jobDir);
+            spool(metaFile, jobDir.resolve(META_FILE));
+            spool(packageFile, jobDir.resolve(PACKAGE_FILE));
+            persist(job); // job.json yazıldığı an iş kalıcı olarak kabul edilmiş olur.
+        } catch (IOException | RuntimeException e) {
+            pending.decrementAndGet();
+            FileSystemUtils.deleteRecursively(jobDir.toFile());
+            throw new RuntimeException("Could not spool upload", e);
+        }
+
+        jobs.put(job.getId(), job);
+        enqueue(job.getId());
+        return job;
+    }
+
+    @Override
+    public UploadJobDTO getJob(String jobId) {
+        UploadJobDTO job = jobs.get(jobId);
+        if (job == null) {
+            throw new PackageNotFoundException("Upload job not found: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Bekleme süresi dolmuş bitmiş işlerin durumlarını ve klasörlerini siler.
+     */
+    @Scheduled(fixedDelayString = "${upload.async.cleanup-interval:PT1H}")
+    public void removeFinishedJobs() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(retention);
+        for (UploadJobDTO job : List.copyOf(jobs.values())) {
+            if (isFinished(job) && job.getUpdatedAt().isBefore(expiredBefore)) {
+                jobs.remove(job.getId());
+                FileSystemUtils.deleteRecursively(spoolDir.resolve(job.getId()).toFile());
+            }
+        }
+    }
+
+    /**
+     * İşlenmekte olan işler yarıda kalır; job.json'da PROCESSING olarak kaldıkları için açılışta yeniden kuyruğa alınırlar.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void enqueue(String jobId) {
+        workers.execute(() -> process(jobId));
+    }
+
+    private void process(String jobId) {
+        UploadJobDTO job = jobs.get(jobId);
+        Path jobDir = spoolDir.resolve(jobId);
+        job = transition(job, UploadJobDTO.State.PROCESSING, job.getAttempts() + 1, null);
+        String outcome = "completed";
+        try {
+            packageService.uploadPackage(job.getName(), job.getVersion(),
+                    new SpooledFile("metaFile", jobDir.resolve(META_FILE)),
+                    new SpooledFile("packageFile", jobDir.resolve(PACKAGE_FILE)));
+            job = transition(job, UploadJobDTO.State.COMPLETED, job.getAttempts(), null);
+        } catch (RuntimeException e) {
+            if (workers.isShutdown()) {
+                return; // Uygulama kapanıyor; iş PROCESSING olarak kalır ve açılışta tekrar çalışır.
+            }
+            log.warn("Upload job {} for {}@{} failed", jobId, job.getName(), job.getVersion(), e);
+            job = transition(job, UploadJobDTO.State.FAILED, job.getAttempts(), e.getMessage());
+            outcome = "failed";
+        }
+
+        pending.decrementAndGet();
+        deleteQuietly(jobDir.resolve(META_FILE));
+        deleteQuietly(jobDir.resolve(PACKAGE_FILE));
+        Counter.builder("upload.jobs")
+                .description("Finished asynchronous upload jobs")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        // Kabulden yayına kadar geçen süre (kuyrukta bekleme + storage + veritabanı).
+        Timer.builder("upload.jobs.latency")
+                .description("Time from accepting an upload job until it finished")
+                .register(meterRegistry)
+                .record(Duration.between(job.getCreatedAt(), job.getUpdatedAt()));
+    }
+
+    /**
+     * İşin yeni durumunu job.json'a yazar ve bellekteki durumu günceller.
+     * Durum dosyası yazılamasa bile iş devam eder; en kötü durumda açılışta tekrar çalıştırılır.
+     */
+    private UploadJobDTO transition(UploadJobDTO job, UploadJobDTO.State state, int attempts, String error) {
+        UploadJobDTO next = UploadJobDTO.builder()
+                .id(job.getId())
+                .name(job.getName())
+                .version(job.getVersion())
+                .state(state)
+                .attempts(attempts)
+                .error(error)
+                .createdAt(job.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        try {
+            persist(next);
+        } catch (IOException e) {
+            log.warn("Could not persist state of upload job {}", job.getId(), e);
+        }
+        jobs.put(next.getId(), next);
+        return next;
+    }
+
+    /**
+     * Spool klasörünü tarar: job.json'u olmayan (kabul edilmeden yarıda kalmış) klasörleri siler,
+     * tamamlanmamış işleri yeniden kuyruğa alır ve bitmiş işlerin durumlarını yükler.
+     */
+    private void recover() {
+        int resumed = 0;
+        try {
+            Files.createDirectories(spoolDir);
+            try (Stream<Path> dirs = Files.list(spoolDir)) {
+                for (Path jobDir : (Iterable<Path>) dirs::iterator) {
+                    Path jobFile = jobDir.resolve(JOB_FILE);
+                    if (!Files.isRegularFile(jobFile)) {
+                        FileSystemUtils.deleteRecursively(jobDir.toFile());
+                        continue;
+                    }
+                    UploadJobDTO job = objectMapper.readValue(jobFile.toFile(), UploadJobDTO.class);
+                    jobs.put(job.getId(), job);
+                    if (!isFinished(job)) {
+                        pending.incrementAndGet();
+                        enqueue(job.getId());
+                        resumed++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read upload spool directory: " + spoolDir, e);
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} unfinished upload jobs from {}", resumed, spoolDir);
+        }
+    }
+
+    /**
+     * Yüklenen dosyayı spool klasörüne taşır ve diske yazılmasını bekler (fsync).
+     * Diskteki multipart dosyaları kopyalanmadan yeniden adlandırılır.
+     */
+    private static void spool(MultipartFile file, Path target) throws IOException {
+        file.transferTo(target.toFile());
+        force(target);
+    }
+
+    /**
+     * job.json'u önce geçici bir dosyaya yazar, diske yazılmasını bekler ve atomik olarak yerine taşır;
+     * böylece yarım yazılmış bir durum dosyası okunmaz.
+     */
+    private void persist(UploadJobDTO job) throws IOException {
+        Path jobDir = spoolDir.resolve(job.getId());
+        Path temp = jobDir.resolve(JOB_FILE + ".tmp");
+        objectMapper.writeValue(temp.toFile(), job);
+        force(temp);
+        Files.move(temp, jobDir.resolve(JOB_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private static boolean isFinished(UploadJobDTO job) {
+        return job.getState() == UploadJobDTO.State.COMPLETED || job.getState() == UploadJobDTO.State.FAILED;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+
+    /**
+     * Spool klasöründeki bir dosyayı, mevcut yükleme akışının beklediği MultipartFile olarak sunar.
+     */
+    private record SpooledFile(String name, Path path) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
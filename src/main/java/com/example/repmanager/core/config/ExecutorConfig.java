@@ -0,0 +1,35 @@
+package com.example.repmanager.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Bu sınıf, storage okuma/yazma işlerinin arka planda çalıştırıldığı ortak thread havuzunu tanımlar.
+ * spring.threads.virtual.enabled=true ise her iş kendi virtual thread'inde çalışır; storage gecikmesi boyunca
+ * bir platform thread'i bloklanmadığı için eş zamanlı iş sayısı havuz boyutu ile sınırlı kalmaz.
+ * Aksi halde storage.executor.threads boyutunda sabit bir platform thread havuzu kullanılır.
+ * Aynı ayar Spring Boot tarafından Tomcat istek thread'leri ve async (StreamingResponseBody) işleri için de kullanılır.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${storage.executor.threads:16}")
+    private int platformThreads;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService storageExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("storage-", 0).factory());
+        }
+        ThreadFactory factory = Thread.ofPlatform().name("storage-", 0).daemon(true).factory();
+        return Executors.newFixedThreadPool(platformThreads, factory);
+    }
+}
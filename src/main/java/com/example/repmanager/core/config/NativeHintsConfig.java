@@ -0,0 +1,20 @@
+package com.example.repmanager.core.config;
+
+import com.example.repmanager.core.exception.ErrorResponse;
+import com.example.repmanager.dto.MetaDTO;
+import com.example.repmanager.dto.ScrubReportDTO;
+import com.example.repmanager.dto.StorageMigrationDTO;
+import com.example.repmanager.dto.UploadJobDTO;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bu sınıf, AOT/native-image derlemesi için controller dışında ObjectMapper ile okunan veya yazılan
+ * tiplerin (meta.json, job.json, filtrede yazılan hata cevabı, actuator scrub raporu ve taşıma durumu) reflection bilgilerini kaydeder.
+ * Controller'ların aldığı ve döndürdüğü tipler Spring tarafından otomatik olarak kaydedilir.
+ */
+@Configuration
+@RegisterReflectionForBinding({MetaDTO.class, UploadJobDTO.class, ScrubReportDTO.class, StorageMigrationDTO.class,
+        ErrorResponse.class})
+public class NativeHintsConfig {
+}
@@ -0,0 +1,92 @@
+package com.example.repmanager.core.config;
+
+import com.example.repmanager.core.web.RateLimitFilter;
+import com.example.repmanager.core.web.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Bu sınıf, paket API'sinin (/api/packages/*, /api/upload-jobs/*) hız ve eşzamanlılık sınırlarını yapılandırır.
+ * rate-limit.enabled=true değilse hiçbir sınır uygulanmaz.
+ * Byte sınırları saniye başına DataSize olarak verilir (örn. 50MB = saniyede 50 MB).
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Value("${rate-limit.client.requests-per-second:50}")
+    private double clientRequestsPerSecond;
+
+    @Value("${rate-limit.client.request-burst:100}")
+    private long clientRequestBurst;
+
+    @Value("${rate-limit.client.bytes-per-second:50MB}")
+    private DataSize clientBytesPerSecond;
+
+    @Value("${rate-limit.client.byte-burst:200MB}")
+    private DataSize clientByteBurst;
+
+    @Value("${rate-limit.global.requests-per-second:1000}")
+    private double globalRequestsPerSecond;
+
+    @Value("${rate-limit.global.request-burst:2000}")
+    private long globalRequestBurst;
+
+    @Value("${rate-limit.global.bytes-per-second:500MB}")
+    private DataSize globalBytesPerSecond;
+
+    @Value("${rate-limit.global.byte-burst:1GB}")
+    private DataSize globalByteBurst;
+
+    // Bir istemcinin aynı anda süren en fazla isteği; tek bir istemcinin global izinlerin hepsini tutmasını engeller.
+    @Value("${rate-limit.client.max-concurrent:16}")
+    private int clientMaxConcurrent;
+
+    // Aynı anda işlenebilecek en fazla yazma (yükleme, silme) ve okuma isteği.
+    @Value("${rate-limit.max-concurrent-uploads:16}")
+    private int maxConcurrentUploads;
+
+    @Value("${rate-limit.max-concurrent-downloads:256}")
+    private int maxConcurrentDownloads;
+
+    // Kovaları bellekte tutulan en fazla istemci sayısı.
+    @Value("${rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    // Eşzamanlılık sınırı aşıldığında Retry-After değeri.
+    @Value("${rate-limit.concurrency-retry-after:1s}")
+    private Duration concurrencyRetryAfter;
+
+    // Doluysa istemci kimliği bu başlıktan alınır (örn. bir API gateway'in eklediği X-Client-Id); boşsa IP adresi kullanılır.
+    @Value("${rate-limit.client-id-header:}")
+    private String clientIdHeader;
+
+    @Bean
+    public RateLimiter rateLimiter(MeterRegistry meterRegistry) {
+        return new RateLimiter(
+                new RateLimiter.Limit(clientRequestsPerSecond, clientRequestBurst,
+                        clientBytesPerSecond.toBytes(), clientByteBurst.toBytes()),
+                new RateLimiter.Limit(globalRequestsPerSecond, globalRequestBurst,
+                        globalBytesPerSecond.toBytes(), globalByteBurst.toBytes()),
+                clientMaxConcurrent, maxConcurrentUploads, maxConcurrentDownloads, maxClients, concurrencyRetryAfter,
+                System::nanoTime, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, objectMapper, clientIdHeader));
+        registration.addUrlPatterns("/api/packages/*", "/api/upload-jobs/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10); // Reddedilecek istekler için diğer filtreler çalışmaz.
+        return registration;
+    }
+}
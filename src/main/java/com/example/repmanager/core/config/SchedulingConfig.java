@@ -0,0 +1,12 @@
+package com.example.repmanager.core.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Bu sınıf, @Scheduled anotasyonlu periyodik işlerin (örneğin blob çöp toplama) çalışmasını etkinleştirir.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
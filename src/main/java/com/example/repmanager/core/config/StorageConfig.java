@@ -1,16 +1,34 @@
 package com.example.repmanager.core.config;
 
+import com.example.repmanager.storage.CachingStorageService;
 import com.example.repmanager.storage.FileSystemStorageService;
+import com.example.repmanager.storage.MeteredStorageService;
+import com.example.repmanager.storage.MigratingStorageService;
 import com.example.repmanager.storage.ObjectStorageService;
 import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.TieredStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 
 /**
- * Bu sınıf, uygulama çalışırken hangi storage stratejisinin (file-system veya object-storage) kullanılacağını belirler.
+ * Bu sınıf, uygulama çalışırken hangi storage stratejisinin (file-system, object-storage veya tiered) kullanılacağını belirler.
  * StorageService tipinde bir bean üretir ve Spring konteyner'ına ekler.
+ * Seçilen strateji, çağrılarını ölçen MeteredStorageService ile sarmalanır (storage.metrics.enabled).
+ * Önbellek etkinse bunun da önüne sık indirilen dosyaları bellekte tutan CachingStorageService konur;
+ * böylece storage metrikleri yalnızca backend'e giden çağrıları gösterir.
+ * Storage servisleri @Lazy olarak tanımlıdır ve ObjectProvider üzerinden alınır; böylece yalnızca seçilen backend oluşturulur
+ * (örneğin file-system stratejisinde MinIO istemcisi hiç kurulmaz). Strateji çalışma zamanında okunduğu için
+ * AOT/native derlemede de tek bir imaj tüm stratejilerle çalışır.
  */
 @Configuration // Bu anotasyon, Spring'e bu sınıfın bir konfigürasyon sınıfı olduğunu söyler.
 @RequiredArgsConstructor // Lombok anotasyonu: final değişkenler için constructor'ı otomatik oluşturur.
@@ -21,23 +39,117 @@ public class StorageConfig {
     @Value("${storage.strategy:file-system}")
     private String strategy;
 
-    private final FileSystemStorageService fileSystemStorageService; // Dosya sistemine yazan servis.
-    private final ObjectStorageService objectStorageService;         // Nesne tabanlı storage (örneğin MinIO) servisi.
+    // Verilmişse nesneler bu stratejiden storage.strategy ile seçilen stratejiye taşınır (file-system veya object-storage).
+    // Geçiş de strateji gibi çalışma zamanında okunur; AOT/native imajın bu ayar değiştiğinde yeniden derlenmesi gerekmez.
+    @Value("${storage.migration.source:}")
+    private String migrationSource;
+
+    // true ise backend çağrıları için süre, byte ve hata metrikleri yayınlanır.
+    @Value("${storage.metrics.enabled:true}")
+    private boolean metricsEnabled;
+
+    // tiered stratejisinde yerel disk katmanının ayarları.
+    @Value("${storage.tiered.cache-dir:storage/tier}")
+    private Path tieredCacheDir; // Yerel kopyaların tutulduğu klasör.
+
+    @Value("${storage.tiered.max-size:10GB}")
+    private DataSize tieredMaxSize; // Yerel kopyaların toplam boyutunun üst sınırı (disk kotası).
+
+    @Value("${storage.tiered.max-entry-size:1GB}")
+    private DataSize tieredMaxEntrySize; // Bu boyuttan büyük nesneler yalnızca MinIO'dan sunulur.
+
+    // Bellek içi önbellek ayarları.
+    @Value("${storage.cache.enabled:false}")
+    private boolean cacheEnabled;
+
+    @Value("${storage.cache.max-size:256MB}")
+    private DataSize cacheMaxSize; // Önbellekteki toplam içeriğin üst sınırı.
+
+    @Value("${storage.cache.max-entry-size:16MB}")
+    private DataSize cacheMaxEntrySize; // Bu boyuttan büyük dosyalar önbelleğe alınmaz.
+
+    @Value("${storage.cache.off-heap-threshold:1MB}")
+    private DataSize cacheOffHeapThreshold; // Bu boyuttan büyük dosyalar off-heap (direct) bellekte tutulur.
+
+    private final ObjectProvider<FileSystemStorageService> fileSystemStorageService; // Dosya sistemine yazan servis.
+    private final ObjectProvider<ObjectStorageService> objectStorageService;         // Nesne tabanlı storage (örneğin MinIO) servisi.
+    private final ExecutorService storageExecutor;                   // tiered stratejisinde yerel diske kopyalama işlerini çalıştırır.
+    private final MeterRegistry meterRegistry;                       // Storage ve önbellek metriklerinin yayınlandığı registry.
 
     /**
      * Kullanılacak storage stratejisini belirler ve uygun StorageService implementasyonunu döner.
+     * Tüm implementasyonlar StorageService tipinde olduğu için bu bean @Primary olarak işaretlenir.
+     * Bir geçiş kaynağı (storage.migration.source) verilmişse seçilen strateji hedef olur ve nesneler, taşınana kadar
+     * kaynaktan sunulur (bkz. MigratingStorageService).
      *
-     * @return StorageService implementasyonu (FileSystem veya ObjectStorage)
+     * @return StorageService implementasyonu (FileSystem, ObjectStorage veya Tiered; ölçümlü ve önbellek etkinse önbellekli)
+     */
+    @Bean
+    @Primary
+    public StorageService storageService(ObjectProvider<MigratingStorageService> migratingStorageService) {
+        StorageService backend = migrationSource.isBlank() ? backend(strategy) : migratingStorageService.getObject();
+        if (!cacheEnabled) {
+            return backend;
+        }
+        return new CachingStorageService(
+                backend,
+                cacheMaxSize.toBytes(),
+                cacheMaxEntrySize.toBytes(),
+                cacheOffHeapThreshold.toBytes(),
+                meterRegistry
+        );
+    }
+
+    /**
+     * storage.migration.source stratejisinden storage.strategy ile seçilen stratejiye geçiş için kullanılan
+     * storage servisini oluşturur. Taşıma işi (StorageMigrationService) nesneleri bu servis üzerinden kopyalar.
+     * Yalnızca storage.migration.source verilmişse (ObjectProvider üzerinden) oluşturulur.
      */
     @Bean
-    public StorageService storageService() {
+    @Lazy
+    public MigratingStorageService migratingStorageService() {
+        if (migrationSource.isBlank()) {
+            throw new IllegalStateException("storage.migration.source is not set");
+        }
+        if (migrationSource.equalsIgnoreCase(strategy) || migrationSource.equalsIgnoreCase("tiered")) {
+            throw new IllegalStateException("Invalid storage migration source: " + migrationSource
+                    + " (must be file-system or object-storage and differ from storage.strategy=" + strategy + ")");
+        }
+        return new MigratingStorageService(backend(migrationSource), migrationSource.toLowerCase(), backend(strategy),
+                strategy.toLowerCase());
+    }
+
+    /**
+     * Verilen strateji adına göre (önbelleksiz) storage backend'ini oluşturur.
+     */
+    private StorageService backend(String strategy) {
         // Eğer strateji değeri "object-storage" ise ObjectStorageService kullanılır.
         if (strategy.equalsIgnoreCase("object-storage")) {
-            return objectStorageService;
+            ObjectStorageService objectStorage = objectStorageService.getObject();
+            objectStorage.ensureBucket(); // Bucket kontrolü her kayıtta değil, başlangıçta bir kez yapılır.
+            return metered(objectStorage, "object-storage");
         }
-        // Aksi takdirde (veya yanlış bir değer gelirse) varsayılan olarak FileSystemStorageService kullanılır.
-        else {
-            return fileSystemStorageService;
+        // "tiered" ise MinIO asıl kaynak olarak kalır, sık indirilen nesneler yerel diskte de tutulur.
+        if (strategy.equalsIgnoreCase("tiered")) {
+            ObjectStorageService objectStorage = objectStorageService.getObject();
+            objectStorage.ensureBucket();
+            return new TieredStorageService(
+                    metered(objectStorage, "object-storage"),
+                    tieredCacheDir,
+                    tieredMaxSize.toBytes(),
+                    tieredMaxEntrySize.toBytes(),
+                    storageExecutor,
+                    meterRegistry
+            );
         }
+        // Aksi takdirde (veya yanlış bir değer gelirse) varsayılan olarak FileSystemStorageService kullanılır.
+        return metered(fileSystemStorageService.getObject(), "file-system");
+    }
+
+    /**
+     * Metrikler etkinse backend'i çağrılarını ölçen MeteredStorageService ile sarmalar.
+     */
+    private StorageService metered(StorageService backend, String backendName) {
+        return metricsEnabled ? new MeteredStorageService(backend, backendName, meterRegistry) : backend;
     }
 }
@@ -7,5 +7,6 @@ package com.example.repmanager.core.config;
 public enum StorageStrategyType {
 
     FILE_SYSTEM,    // Dosya sistemi üzerinde (örneğin bir klasör yapısında) depolama yapılır.
-    OBJECT_STORAGE  // Nesne tabanlı bir depolama sistemi (örneğin MinIO, AWS S3 gibi) kullanılır.
+    OBJECT_STORAGE, // Nesne tabanlı bir depolama sistemi (örneğin MinIO, AWS S3 gibi) kullanılır.
+    TIERED          // Nesne tabanlı depolama asıl kaynaktır; sık indirilen nesneler yerel diskte de tutulur.
 }
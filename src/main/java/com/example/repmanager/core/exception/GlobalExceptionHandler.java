@@ -3,6 +3,7 @@ package com.example.repmanager.core.exception;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -30,6 +31,30 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.BAD_REQUEST, ex.getMessage()); // 400 Bad Request döner.
     }
 
+    /**
+     * Bulunamayan paket veya dosya isteklerini yakalar.
+     *
+     * @param ex Paket, versiyon veya dosya bulunamadığında oluşan istisnadır.
+     * @return Hata bilgisi içeren bir ResponseEntity döner.
+     */
+    @ExceptionHandler(PackageNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(PackageNotFoundException ex) {
+        return buildError(HttpStatus.NOT_FOUND, ex.getMessage()); // 404 Not Found döner.
+    }
+
+    /**
+     * Sınırları aşıldığı için reddedilen istekleri yakalar (örneğin asenkron yükleme kuyruğu doluysa).
+     *
+     * @param ex Reddetme nedenini ve önerilen bekleme süresini taşıyan istisnadır.
+     * @return Retry-After başlığı ile birlikte hata bilgisi içeren bir ResponseEntity döner.
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimit(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS) // 429 Too Many Requests döner.
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(), LocalDateTime.now()));
+    }
+
     /**
      * Validation hatalarını yakalar (örneğin: @Valid anotasyonu geçmezse).
      *
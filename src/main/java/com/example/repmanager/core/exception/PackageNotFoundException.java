@@ -0,0 +1,12 @@
+package com.example.repmanager.core.exception;
+
+/**
+ * Bu istisna, istenen paket, versiyon veya dosya sistemde bulunamadığında fırlatılır.
+ * GlobalExceptionHandler tarafından yakalanarak HTTP 404 cevabına dönüştürülür.
+ */
+public class PackageNotFoundException extends RuntimeException {
+
+    public PackageNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.repmanager.core.exception;
+
+import lombok.Getter;
+
+/**
+ * Bu istisna, bir istek hız veya eşzamanlılık sınırlarını aştığı için reddedildiğinde fırlatılır.
+ * İstek HTTP 429 Too Many Requests ve Retry-After başlığı ile cevaplanır.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String reason;            // Aşılan sınır (örn. client-requests, download-concurrency); metrik etiketi olarak kullanılır.
+    private final long retryAfterSeconds;   // İstemcinin tekrar denemeden önce beklemesi gereken süre (saniye).
+
+    public RateLimitExceededException(String reason, long retryAfterSeconds) {
+        super("Rate limit exceeded (" + reason + "), retry after " + retryAfterSeconds + "s");
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
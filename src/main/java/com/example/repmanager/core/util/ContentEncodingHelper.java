@@ -0,0 +1,56 @@
+package com.example.repmanager.core.util;
+
+/**
+ * Bu sınıf, HTTP Accept-Encoding başlığına göre bir içerik kodlamasının (örneğin gzip) istemci tarafından
+ * kabul edilip edilmediğini belirler.
+ */
+public final class ContentEncodingHelper {
+
+    private ContentEncodingHelper() {
+    }
+
+    /**
+     * İstemcinin verilen kodlamayı kabul edip etmediğini döner.
+     * Kodlama adı açıkça (veya "x-" önekli eski adıyla) ya da "*" ile geçiyorsa ve kalite değeri (q) sıfırdan büyükse
+     * kabul edilir; "gzip;q=0" gibi açık bir ret, "*" değerinden önceliklidir.
+     *
+     * @param acceptEncoding İstemcinin gönderdiği Accept-Encoding başlığı; yoksa null.
+     * @param coding Kontrol edilecek kodlama (örneğin gzip).
+     * @return Kodlama kabul ediliyorsa true.
+     */
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        double explicit = -1; // Kodlamanın kendi kalite değeri; geçmiyorsa -1.
+        double wildcard = -1; // "*" değerinin kalite değeri; geçmiyorsa -1.
+        for (String part : acceptEncoding.split(",")) {
+            String[] parameters = part.split(";");
+            String name = parameters[0].trim();
+            double quality = quality(parameters);
+            if (name.equalsIgnoreCase(coding) || name.equalsIgnoreCase("x-" + coding)) {
+                explicit = Math.max(explicit, quality);
+            } else if (name.equals("*")) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return explicit >= 0 ? explicit > 0 : wildcard > 0;
+    }
+
+    /**
+     * Bir Accept-Encoding değerinin q parametresini döner; yoksa veya okunamıyorsa 1 kabul edilir.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0; // Geçersiz bir kalite değeri kabul edilmemiş sayılır.
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.repmanager.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * Bu sınıf, bir zip girdisinin açılmış içeriğini, arşivin merkezi dizinindeki CRC-32 değeri ve boyutu ile okuma
+ * sırasında karşılaştıran bir akıştır. Paket arşivinin içindeki girdilerin kayıtta SHA-256 özeti yoktur;
+ * arşivin kendisi ise yalnızca bir kısmı okunduğu için özetle doğrulanamaz.
+ * DigestVerifyingInputStream gibi, beklenen boyuta ulaşıldığında son parça çağırana verilmeden önce kontrol yapılır;
+ * girdi beklenenden kısa veya uzunsa da hata verilir.
+ */
+public class Crc32VerifyingInputStream extends FilterInputStream {
+
+    private final CRC32 crc = new CRC32(); // Okunan byte'ların CRC-32 değeri.
+    private final long expectedCrc;        // Merkezi dizindeki CRC-32 değeri.
+    private final long expectedSize;       // Merkezi dizindeki açılmış boyut.
+    private final Runnable onMismatch;     // Uyuşmazlıkta, hata fırlatılmadan önce bir kez çağrılır (log, metrik).
+    private long bytesRead;                // Şimdiye kadar okunan toplam byte sayısı.
+    private boolean verifying = true;      // Atlama yapıldıysa veya kontrol tamamlandıysa false.
+
+    /**
+     * @param in Doğrulanacak (açılmış) girdiyi okuyan akış.
+     * @param expectedCrc Beklenen CRC-32 değeri.
+     * @param expectedSize Beklenen boyut.
+     * @param onMismatch Uyuşmazlık bulunduğunda çağrılacak fonksiyon.
+     */
+    public Crc32VerifyingInputStream(InputStream in, long expectedCrc, long expectedSize, Runnable onMismatch) {
+        super(in);
+        this.expectedCrc = expectedCrc;
+        this.expectedSize = expectedSize;
+        this.onMismatch = onMismatch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (!verifying) {
+            return read;
+        }
+        if (read == -1) {
+            if (bytesRead < expectedSize) {
+                fail("entry is truncated (" + bytesRead + " of " + expectedSize + " bytes)");
+            }
+            return -1;
+        }
+        crc.update(b, off, read);
+        bytesRead += read;
+        if (bytesRead > expectedSize) {
+            fail("entry is longer than expected (" + expectedSize + " bytes)");
+        }
+        if (bytesRead == expectedSize && crc.getValue() != expectedCrc) {
+            fail(String.format("CRC-32 mismatch (expected %08x, got %08x)", expectedCrc, crc.getValue()));
+        }
+        return read;
+    }
+
+    /**
+     * Atlanan byte'lar CRC'ye dahil edilemeyeceği için doğrulama kapatılır.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        verifying = false;
+        return in.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void fail(String reason) throws IOException {
+        verifying = false;
+        onMismatch.run();
+        throw new IOException("Integrity check failed: " + reason);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.repmanager.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Bu sınıf, paket dosyalarının içerik özetini (SHA-256 digest) hesaplamak için yardımcı metodlar sunar.
+ * Hesaplanan özet, dosyanın içeriğine bağlı güçlü bir ETag olarak kullanılır.
+ */
+public final class DigestHelper {
+
+    private static final int BUFFER_SIZE = 64 * 1024; // Akıştan okuma yapılırken kullanılan sabit tampon boyutu.
+
+    private DigestHelper() {
+    }
+
+    /**
+     * Yeni bir SHA-256 MessageDigest nesnesi oluşturur.
+     *
+     * @return SHA-256 algoritması ile çalışan MessageDigest nesnesi.
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 her JVM'de bulunmak zorundadır; buraya düşülmesi beklenmez.
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Bir byte dizisinin SHA-256 özetini hex formatında döner.
+     *
+     * @param data Özeti hesaplanacak veridir.
+     * @return 64 karakterlik küçük harfli hex string.
+     */
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newSha256().digest(data));
+    }
+
+    /**
+     * Bir akışın (stream) SHA-256 özetini, içeriği belleğe almadan sabit boyutlu bir tampon ile okuyarak hesaplar.
+     * Akış bu metod tarafından kapatılmaz.
+     *
+     * @param inputStream Özeti hesaplanacak akıştır.
+     * @return 64 karakterlik küçük harfli hex string.
+     */
+    public static String sha256Hex(InputStream inputStream) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
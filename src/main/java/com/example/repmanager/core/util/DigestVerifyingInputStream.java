@@ -0,0 +1,92 @@
+package com.example.repmanager.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Bu sınıf, içinden geçen verinin SHA-256 özetini ve boyutunu, kayıtta tutulan değerlerle okuma sırasında karşılaştıran
+ * bir akıştır. Veri ek bir tampona alınmaz; özet okunan her parça ile güncellenir.
+ * Beklenen boyuta ulaşıldığında özet, son parça çağırana verilmeden önce kontrol edilir. Böylece bozuk bir dosya
+ * istemciye hiçbir zaman eksiksiz ulaşmaz: akış son parçada IOException fırlatır ve cevap yarıda kesilir.
+ * Dosya beklenenden kısa veya uzunsa da aynı şekilde hata verilir.
+ * Akışın bir kısmı atlanırsa (örneğin Range isteği ile) özet hesaplanamayacağı için doğrulama kapatılır.
+ */
+public class DigestVerifyingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest = DigestHelper.newSha256(); // Okunan byte'ların SHA-256 özeti.
+    private final String expectedDigest; // Kayıttaki SHA-256 özeti (hex).
+    private final long expectedSize;     // Kayıttaki byte cinsinden boyut.
+    private final Runnable onMismatch;   // Uyuşmazlıkta, hata fırlatılmadan önce bir kez çağrılır (log, metrik).
+    private long bytesRead;              // Şimdiye kadar okunan toplam byte sayısı.
+    private boolean verifying = true;    // Atlama yapıldıysa veya kontrol tamamlandıysa false.
+
+    /**
+     * @param in Doğrulanacak (ham) içeriği okuyan akış.
+     * @param expectedDigest Beklenen SHA-256 özeti (64 karakter hex).
+     * @param expectedSize Beklenen boyut.
+     * @param onMismatch Uyuşmazlık bulunduğunda çağrılacak fonksiyon.
+     */
+    public DigestVerifyingInputStream(InputStream in, String expectedDigest, long expectedSize, Runnable onMismatch) {
+        super(in);
+        this.expectedDigest = expectedDigest;
+        this.expectedSize = expectedSize;
+        this.onMismatch = onMismatch;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (!verifying) {
+            return read;
+        }
+        if (read == -1) {
+            if (bytesRead < expectedSize) {
+                fail("content is truncated (" + bytesRead + " of " + expectedSize + " bytes)");
+            }
+            return -1;
+        }
+        digest.update(b, off, read);
+        bytesRead += read;
+        if (bytesRead > expectedSize) {
+            fail("content is longer than expected (" + expectedSize + " bytes)");
+        }
+        if (bytesRead == expectedSize) {
+            // Son parça çağırana verilmeden önce özet kontrol edilir. Ardından gelen fazladan veri de yukarıda hata verir.
+            String actual = HexFormat.of().formatHex(digest.digest());
+            if (!actual.equals(expectedDigest)) {
+                fail("digest mismatch (expected " + expectedDigest + ", got " + actual + ")");
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Atlanan byte'lar özete dahil edilemeyeceği için doğrulama kapatılır ve atlama alttaki akışa bırakılır.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        verifying = false;
+        return in.skip(n);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false; // Geri sarma özeti bozacağı için desteklenmez.
+    }
+
+    private void fail(String reason) throws IOException {
+        verifying = false;
+        onMismatch.run();
+        throw new IOException("Integrity check failed: " + reason);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.repmanager.core.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Bu sınıf, içinden geçen veriyi değiştirmeden SHA-256 özetini ve toplam byte sayısını hesaplayan bir akıştır.
+ * Yükleme sırasında dosya storage'a yazılırken özet ve boyut aynı geçişte (tek okuma ile) elde edilir.
+ */
+public class HashingInputStream extends FilterInputStream {
+
+    private final MessageDigest digest = DigestHelper.newSha256(); // Okunan byte'ların SHA-256 özeti.
+    private long bytesRead;                                         // Şimdiye kadar okunan toplam byte sayısı.
+
+    public HashingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            digest.update((byte) b);
+            bytesRead++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            digest.update(b, off, read);
+            bytesRead += read;
+        }
+        return read;
+    }
+
+    /**
+     * Atlanan byte'lar özete dahil edilemeyeceği için skip, veriyi okuyarak gerçekleştirilir.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (read == -1) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false; // Geri sarma özeti bozacağı için desteklenmez.
+    }
+
+    /**
+     * Okunan verinin SHA-256 özetini hex formatında döner. Akış tamamen okunduktan sonra bir kez çağrılmalıdır (özet hesaplandıktan sonra sıfırlanır).
+     *
+     * @return 64 karakterlik küçük harfli hex string.
+     */
+    public String getDigestHex() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Akıştan okunan toplam byte sayısını döner.
+     *
+     * @return Okunan byte sayısı.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.repmanager.core.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bu sınıf, "major.minor.patch" formatındaki (örneğin: 1.10.2) bir paket versiyonunu sayısal parçalarına ayırır.
+ * Versiyonlar veritabanında bu sayısal sütunlarla saklandığı için metin olarak değil, sayısal olarak sıralanır
+ * (1.10.0 > 1.9.0).
+ *
+ * @param major Ana versiyon numarası.
+ * @param minor Alt versiyon numarası.
+ * @param patch Yama versiyon numarası.
+ */
+public record SemanticVersion(int major, int minor, int patch) implements Comparable<SemanticVersion> {
+
+    private static final Pattern PATTERN = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+)"); // MetaDTO'daki format ile aynıdır.
+
+    /**
+     * Bir versiyon metnini ayrıştırır.
+     *
+     * @param version Ayrıştırılacak versiyon (örnek: 1.0.0).
+     * @return Versiyonun sayısal parçaları.
+     * @throws RuntimeException Versiyon formatı geçersizse veya sayılar int sınırını aşıyorsa.
+     */
+    public static SemanticVersion parse(String version) {
+        Matcher matcher = version == null ? null : PATTERN.matcher(version);
+        if (matcher == null || !matcher.matches()) {
+            throw new RuntimeException("Version format must be like 1.0.0");
+        }
+        try {
+            return new SemanticVersion(
+                    Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3)));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Version number is too large: " + version, e);
+        }
+    }
+
+    @Override
+    public int compareTo(SemanticVersion other) {
+        int result = Integer.compare(major, other.major);
+        if (result == 0) {
+            result = Integer.compare(minor, other.minor);
+        }
+        if (result == 0) {
+            result = Integer.compare(patch, other.patch);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch;
+    }
+}
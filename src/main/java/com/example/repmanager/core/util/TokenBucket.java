@@ -0,0 +1,83 @@
+package com.example.repmanager.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bu sınıf, kilitsiz (lock-free) bir token bucket'tır. GCRA (Generic Cell Rate Algorithm) ile çalışır:
+ * kovanın durumu "teorik varış zamanı" (TAT) olarak tek bir AtomicLong'da tutulur ve her işlem tek bir
+ * compare-and-set ile yapılır. Ayrı bir token sayacı ve dolum zamanlayıcısı yoktur; tokenlar zamandan hesaplanır.
+ * Kova doluyken capacity kadar token anında harcanabilir (burst), sonra tokenlar saniyede tokensPerSecond hızla dolar.
+ * Zaman değerleri çağırandan (System.nanoTime) alınır; böylece testlerde sahte bir saat kullanılabilir.
+ */
+public final class TokenBucket {
+
+    private final double nanosPerToken; // Bir tokenın dolma süresi (nanosaniye).
+    private final long burstNanos;      // Kovanın tamamen dolma süresi; capacity * nanosPerToken.
+    private final AtomicLong tat;       // Teorik varış zamanı; now'dan küçükse kova doludur.
+
+    /**
+     * @param tokensPerSecond Saniyede eklenen token sayısı.
+     * @param capacity Kovanın kapasitesi (anında harcanabilecek en fazla token).
+     * @param now Şu anki zaman (nanosaniye); kova dolu olarak başlar.
+     */
+    public TokenBucket(double tokensPerSecond, long capacity, long now) {
+        if (tokensPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and capacity must be positive");
+        }
+        this.nanosPerToken = 1_000_000_000d / tokensPerSecond;
+        this.burstNanos = nanos(capacity);
+        this.tat = new AtomicLong(now);
+    }
+
+    /**
+     * Yeterli token varsa cost kadar token harcar.
+     *
+     * @param cost Harcanacak token sayısı.
+     * @param now Şu anki zaman (nanosaniye).
+     * @return Tokenlar harcandıysa 0; yetmiyorsa hiçbir şey harcamadan, yeterli token birikene kadar beklenmesi
+     *         gereken süre (nanosaniye).
+     */
+    public long tryAcquire(long cost, long now) {
+        long increment = nanos(cost);
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + increment;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Sınır kontrolü yapmadan cost kadar token harcar; kova eksiye düşebilir (borç).
+     * Miktarı işlem bittikten sonra bilinen kaynaklar (örneğin gönderilen byte sayısı) için kullanılır.
+     */
+    public void consume(long cost, long now) {
+        long increment = nanos(cost);
+        tat.getAndUpdate(current -> Math.max(current, now) + increment);
+    }
+
+    /**
+     * Daha önce tryAcquire ile harcanmış cost kadar tokenı geri verir. Harcanan tokenlar daha sonra reddedilen
+     * bir isteğe aitse kullanılır; kova, harcamadan önceki durumundan daha dolu olamaz.
+     */
+    public void refund(long cost) {
+        long increment = nanos(cost);
+        tat.getAndUpdate(current -> current - increment);
+    }
+
+    /**
+     * Kova eksideyse (borç varsa) borcun kapanması için beklenmesi gereken süreyi döner; değilse 0.
+     */
+    public long debtNanos(long now) {
+        return Math.max(0, tat.get() - now - burstNanos);
+    }
+
+    private long nanos(long tokens) {
+        return (long) Math.min(Long.MAX_VALUE / 4d, tokens * nanosPerToken);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.repmanager.core.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bu sınıf, bir zip arşivinin merkezi dizinini (central directory) arşivin tamamını okumadan çözümler.
+ * Önce arşivin sonundaki End of Central Directory kaydı (gerekirse ZIP64 karşılığı) okunur, ardından yalnızca
+ * merkezi dizinin bulunduğu aralık okunur. Bir girdinin verisi, girdinin yerel başlığının (local header) hemen
+ * arkasındadır; dataOffset ile bu konum yalnızca yerel başlık okunarak bulunur.
+ * Okumalar RangeReader üzerinden yapılır; böylece arşiv dosya sisteminde de MinIO'da da aynı şekilde okunur.
+ */
+public final class ZipDirectory {
+
+    public static final int STORED = 0;   // Sıkıştırılmamış girdi.
+    public static final int DEFLATED = 8; // Deflate ile sıkıştırılmış girdi.
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EOCD_SIZE = 56;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    public static final int LOCAL_HEADER_SIZE = 30;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private ZipDirectory() {
+    }
+
+    /**
+     * Arşivin bir aralığını okuyan fonksiyon.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * @param offset Okumaya başlanacak byte konumu.
+         * @param length Okunacak byte sayısı.
+         * @return Aralığın içeriği; tam olarak length byte.
+         */
+        byte[] read(long offset, int length) throws IOException;
+    }
+
+    /**
+     * Merkezi dizindeki bir girdi.
+     *
+     * @param name Girdinin arşiv içindeki yolu (örn. META-INF/MANIFEST.MF); klasörler "/" ile biter.
+     * @param method Sıkıştırma yöntemi (STORED veya DEFLATED; diğerleri desteklenmez).
+     * @param crc Girdinin açılmış içeriğinin CRC-32 değeri.
+     * @param compressedSize Arşivdeki (sıkıştırılmış) boyut.
+     * @param size Açılmış boyut.
+     * @param localHeaderOffset Girdinin yerel başlığının arşivdeki konumu.
+     * @param encrypted Girdi şifreliyse true.
+     */
+    public record Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset,
+                        boolean encrypted) {
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * Arşivin merkezi dizinini okur.
+     *
+     * @param reader Arşivin aralıklarını okuyan fonksiyon.
+     * @param archiveSize Arşivin byte cinsinden boyutu.
+     * @param maxDirectorySize Okunmasına izin verilen en büyük merkezi dizin boyutu.
+     * @return Arşivdeki girdiler, merkezi dizindeki sırayla.
+     * @throws IOException Arşiv okunamazsa veya geçerli bir zip değilse.
+     */
+    public static List<Entry> read(RangeReader reader, long archiveSize, long maxDirectorySize) throws IOException {
+        // EOCD kaydı arşivin son 22 byte'ı ile (yorum varsa) son 64 KB'ı arasındadır.
+        int tailSize = (int) Math.min(archiveSize, EOCD_SIZE + MAX_COMMENT_SIZE);
+        long tailOffset = archiveSize - tailSize;
+        ByteBuffer tail = littleEndian(reader.read(tailOffset, tailSize));
+        int eocd = -1;
+        for (int i = tailSize - EOCD_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw new IOException("Not a zip archive (end of central directory not found)");
+        }
+
+        long entryCount = tail.getShort(eocd + 10) & 0xFFFF;
+        long directorySize = tail.getInt(eocd + 12) & ZIP64_MAGIC;
+        long directoryOffset = tail.getInt(eocd + 16) & ZIP64_MAGIC;
+        if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            // ZIP64: asıl değerler, EOCD'nin hemen önündeki locator'ın gösterdiği ZIP64 EOCD kaydındadır.
+            long locatorOffset = tailOffset + eocd - ZIP64_LOCATOR_SIZE;
+            ByteBuffer locator = littleEndian(reader.read(locatorOffset, ZIP64_LOCATOR_SIZE));
+            if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+                throw new IOException("Invalid zip archive (ZIP64 locator not found)");
+            }
+            ByteBuffer zip64 = littleEndian(reader.read(locator.getLong(8), ZIP64_EOCD_SIZE));
+            if (zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                throw new IOException("Invalid zip archive (ZIP64 end of central directory not found)");
+            }
+            entryCount = zip64.getLong(32);
+            directorySize = zip64.getLong(40);
+            directoryOffset = zip64.getLong(48);
+        }
+        if (directorySize > maxDirectorySize || directoryOffset + directorySize > archiveSize) {
+            throw new IOException("Zip central directory is too large or out of bounds (" + directorySize + " bytes)");
+        }
+
+        ByteBuffer directory = littleEndian(reader.read(directoryOffset, (int) directorySize));
+        List<Entry> entries = new ArrayList<>((int) Math.min(entryCount, 65536));
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (position + CENTRAL_HEADER_SIZE > directorySize || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new IOException("Invalid zip central directory at entry " + i);
+            }
+            int flags = directory.getShort(position + 8) & 0xFFFF;
+            int method = directory.getShort(position + 10) & 0xFFFF;
+            long crc = directory.getInt(position + 16) & ZIP64_MAGIC;
+            long compressedSize = directory.getInt(position + 20) & ZIP64_MAGIC;
+            long size = directory.getInt(position + 24) & ZIP64_MAGIC;
+            int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = directory.getInt(position + 42) & ZIP64_MAGIC;
+            int end = position + CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+            if (end > directorySize) {
+                throw new IOException("Invalid zip central directory at entry " + i);
+            }
+
+            byte[] nameBytes = new byte[nameLength];
+            directory.get(position + CENTRAL_HEADER_SIZE, nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            // ZIP64 ek alanı yalnızca 0xFFFFFFFF olan değerleri, bu sırayla içerir.
+            int extra = position + CENTRAL_HEADER_SIZE + nameLength;
+            int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = directory.getShort(extra) & 0xFFFF;
+                int length = directory.getShort(extra + 2) & 0xFFFF;
+                if (id == ZIP64_EXTRA_ID) {
+                    int field = extra + 4;
+                    if (size == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                        size = directory.getLong(field);
+                        field += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                        compressedSize = directory.getLong(field);
+                        field += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                        localHeaderOffset = directory.getLong(field);
+                    }
+                    break;
+                }
+                extra += 4 + length;
+            }
+
+            entries.add(new Entry(name, method, crc, compressedSize, size, localHeaderOffset, (flags & 1) != 0));
+            position = end;
+        }
+        return entries;
+    }
+
+    /**
+     * Girdinin verisinin arşivdeki konumunu, girdinin yerel başlığından hesaplar.
+     * Yerel başlıktaki ad ve ek alan uzunlukları merkezi dizindekilerden farklı olabileceği için bu başlık ayrıca okunur.
+     *
+     * @param localHeader Girdinin konumundan başlayan en az LOCAL_HEADER_SIZE byte.
+     * @param entry Verisi aranan girdi.
+     * @return Verinin ilk byte'ının arşivdeki konumu.
+     * @throws IOException Yerel başlık geçerli değilse.
+     */
+    public static long dataOffset(byte[] localHeader, Entry entry) throws IOException {
+        ByteBuffer header = littleEndian(localHeader);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("Invalid zip local header for entry " + entry.name());
+        }
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+        return entry.localHeaderOffset() + LOCAL_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    private static ByteBuffer littleEndian(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
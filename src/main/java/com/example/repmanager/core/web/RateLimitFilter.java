@@ -0,0 +1,186 @@
+package com.example.repmanager.core.web;
+
+import com.example.repmanager.core.exception.ErrorResponse;
+import com.example.repmanager.core.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Bu filtre, paket API'sine gelen istekleri RateLimiter ile sınırlar.
+ * Reddedilen istekler controller'a ulaşmadan 429 Too Many Requests ve Retry-After başlığı ile cevaplanır.
+ * Kabul edilen isteklerin cevap olarak gönderdiği byte'lar yazıldıkça istemcinin byte kovasından düşülür;
+ * eşzamanlılık izni istek bittiğinde, asenkron cevaplarda (bundle) ise cevap tamamlandığında bırakılır.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String clientIdHeader; // Doluysa istemci kimliği bu başlıktan alınır; yoksa IP adresi kullanılır.
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, String clientIdHeader) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Kind kind = isWrite(request) ? RateLimiter.Kind.UPLOAD : RateLimiter.Kind.DOWNLOAD;
+        long requestBytes = kind == RateLimiter.Kind.UPLOAD ? Math.max(0, request.getContentLengthLong()) : 0;
+
+        RateLimiter.Permit permit;
+        try {
+            permit = rateLimiter.acquire(clientId(request), kind, requestBytes);
+        } catch (RateLimitExceededException e) {
+            reject(response, e);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, new ChargingResponse(response, permit));
+            if (isAsyncStarted(request)) {
+                // Cevap başka bir thread'de yazılmaya devam eder; izin cevap tamamlandığında bırakılır.
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Yazma isteklerini (yükleme, silme) ayırt eder; bundle isteği POST olsa da bir okuma isteğidir.
+     */
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("POST".equals(method)) {
+            return !request.getRequestURI().endsWith("/bundle");
+        }
+        return "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    private String clientId(HttpServletRequest request) {
+        if (clientIdHeader != null && !clientIdHeader.isBlank()) {
+            String value = request.getHeader(clientIdHeader);
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, RateLimitExceededException e) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * Asenkron bir cevap tamamlandığında (veya hata/zaman aşımı ile bittiğinde) izni bırakır.
+     */
+    private record ReleasingListener(RateLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Cevap gövdesine yazılan byte'ları, yazıldıkları anda izin üzerinden byte kovalarından düşen bir response sarmalayıcısı.
+     */
+    private static final class ChargingResponse extends HttpServletResponseWrapper {
+
+        private final RateLimiter.Permit permit;
+        private ServletOutputStream outputStream;
+
+        private ChargingResponse(HttpServletResponse response, RateLimiter.Permit permit) {
+            super(response);
+            this.permit = permit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ChargingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        private final class ChargingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private ChargingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                permit.consume(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+                permit.consume(len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
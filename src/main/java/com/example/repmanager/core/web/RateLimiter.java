@@ -0,0 +1,214 @@
+package com.example.repmanager.core.web;
+
+import com.example.repmanager.core.exception.RateLimitExceededException;
+import com.example.repmanager.core.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Bu sınıf, paket API'sine gelen istekleri istemci bazında ve global olarak sınırlar:
+ * - İstek sayısı: her istek bir token harcar (token bucket),
+ * - Byte miktarı: yükleme boyutu istek kabul edilirken, cevap byte'ları yazıldıkça harcanır. Byte kovası
+ *   eksiye düşebilir; kova eksideyken (borç kapanana kadar) yeni istekler reddedilir,
+ * - Eşzamanlılık: istemci başına süren istek sayısı ile yükleme (yazma) ve indirme (okuma) istekleri için ayrı
+ *   global üst sınırlar. İstemci sınırı, tek bir istemcinin global izinlerin hepsini tutmasını engeller.
+ * Sınır aşıldığında istek sıraya alınmaz; RateLimitExceededException ile hemen reddedilir (429 + Retry-After).
+ * Reddedilen bir istek harcadığı istek tokenlarını geri verir; reddedilen tekrar denemeler kovayı boşaltmaz.
+ * Kovalar kilitsiz (tek CAS), eşzamanlılık sınırları bekleme yapmayan Semaphore.tryAcquire ile uygulanır;
+ * istemci kovaları Caffeine ile boyutu sınırlı ve bir süre kullanılmayınca silinen bir tabloda tutulur.
+ */
+public class RateLimiter {
+
+    /**
+     * İsteğin eşzamanlılık sınıfı.
+     */
+    public enum Kind {
+        UPLOAD,  // Yazma istekleri: yükleme ve silme.
+        DOWNLOAD // Okuma istekleri: indirme, listeleme, bundle.
+    }
+
+    /**
+     * Bir sınır grubunun (istemci başına veya global) değerleri.
+     *
+     * @param requestsPerSecond Saniyede izin verilen istek sayısı.
+     * @param requestBurst Anında kabul edilebilecek en fazla istek sayısı.
+     * @param bytesPerSecond Saniyede izin verilen byte sayısı.
+     * @param byteBurst Anında harcanabilecek en fazla byte sayısı.
+     */
+    public record Limit(double requestsPerSecond, long requestBurst, double bytesPerSecond, long byteBurst) {
+    }
+
+    private final Limit clientLimit;
+    private final int maxClientConcurrent;           // Bir istemcinin aynı anda süren en fazla istek sayısı.
+    private final Buckets global;
+    private final Semaphore uploads;
+    private final Semaphore downloads;
+    private final long concurrencyRetryAfterSeconds; // Eşzamanlılık sınırı aşıldığında önerilen bekleme süresi.
+    private final LongSupplier clock;                // Nanosaniye cinsinden zaman kaynağı (System::nanoTime).
+    private final Cache<String, Buckets> clients;    // İstemci kimliği -> istemcinin kovaları.
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param clientLimit Her istemci için ayrı uygulanan sınırlar.
+     * @param globalLimit Tüm istemcilerin toplamına uygulanan sınırlar.
+     * @param maxClientConcurrent Bir istemcinin aynı anda süren en fazla isteği (yükleme ve indirme birlikte).
+     * @param maxUploads Aynı anda işlenebilecek en fazla yazma isteği.
+     * @param maxDownloads Aynı anda işlenebilecek en fazla okuma isteği.
+     * @param maxClients Kovaları bellekte tutulan en fazla istemci sayısı.
+     * @param concurrencyRetryAfter Eşzamanlılık sınırı aşıldığında Retry-After değeri.
+     * @param clock Nanosaniye cinsinden zaman kaynağı.
+     * @param meterRegistry Reddedilen istek ve süren istek metriklerinin yayınlanacağı registry.
+     */
+    public RateLimiter(Limit clientLimit, Limit globalLimit, int maxClientConcurrent, int maxUploads, int maxDownloads,
+                       long maxClients, Duration concurrencyRetryAfter, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.clientLimit = clientLimit;
+        this.maxClientConcurrent = maxClientConcurrent;
+        this.clock = clock;
+        this.global = new Buckets(globalLimit, 0, clock.getAsLong()); // Global eşzamanlılık, türe göre ayrı izinlerle sınırlanır.
+        this.uploads = new Semaphore(maxUploads);
+        this.downloads = new Semaphore(maxDownloads);
+        this.concurrencyRetryAfterSeconds = Math.max(1, concurrencyRetryAfter.toSeconds());
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMinutes(10)) // Kovası dolmuş (uzun süre istek yapmayan) istemciler silinir.
+                .build();
+        this.meterRegistry = meterRegistry;
+        inFlightGauge(Kind.UPLOAD, uploads, maxUploads);
+        inFlightGauge(Kind.DOWNLOAD, downloads, maxDownloads);
+        Gauge.builder("http.ratelimit.clients", clients, Cache::estimatedSize)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bir isteği sınırlara göre kabul eder.
+     *
+     * @param clientId İstemcinin kimliği (IP adresi veya istemci başlığı).
+     * @param kind İsteğin eşzamanlılık sınıfı.
+     * @param requestBytes İstek gövdesinin byte cinsinden boyutu (yükleme); bilinmiyorsa 0.
+     * @return Cevap byte'larının consume ile harcanacağı ve istek bittiğinde release ile bırakılması gereken izin.
+     * @throws RateLimitExceededException Herhangi bir sınır aşıldıysa; bu durumda hiçbir token harcanmış olmaz.
+     */
+    public Permit acquire(String clientId, Kind kind, long requestBytes) {
+        long now = clock.getAsLong();
+        Buckets client = clients.get(clientId, id -> new Buckets(clientLimit, maxClientConcurrent, now));
+        Semaphore slots = kind == Kind.UPLOAD ? uploads : downloads;
+
+        check("client-requests", client.requests.tryAcquire(1, now));
+        boolean globalCharged = false;
+        try {
+            check("global-requests", global.requests.tryAcquire(1, now));
+            globalCharged = true;
+            check("client-bytes", client.bytes.debtNanos(now));
+            check("global-bytes", global.bytes.debtNanos(now));
+
+            if (!client.inFlight.tryAcquire()) {
+                throw reject("client-concurrency", concurrencyRetryAfterSeconds);
+            }
+            if (!slots.tryAcquire()) {
+                client.inFlight.release();
+                throw reject(kind == Kind.UPLOAD ? "upload-concurrency" : "download-concurrency", concurrencyRetryAfterSeconds);
+            }
+        } catch (RateLimitExceededException e) {
+            // Sonraki bir sınıra takılan istek, önceki kontrollerde harcadığı istek tokenlarını geri verir.
+            client.requests.refund(1);
+            if (globalCharged) {
+                global.requests.refund(1);
+            }
+            throw e;
+        }
+        if (requestBytes > 0) {
+            client.bytes.consume(requestBytes, now);
+            global.bytes.consume(requestBytes, now);
+        }
+        return new Permit(client, slots);
+    }
+
+    private void check(String reason, long waitNanos) {
+        if (waitNanos > 0) {
+            throw reject(reason, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+    }
+
+    private RateLimitExceededException reject(String reason, long retryAfterSeconds) {
+        // Ret nedenleri sınırlı sayıda olduğu için sayaç ilk retde oluşturulur.
+        Counter.builder("http.ratelimit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new RateLimitExceededException(reason, retryAfterSeconds);
+    }
+
+    private void inFlightGauge(Kind kind, Semaphore slots, int max) {
+        Gauge.builder("http.ratelimit.in.flight", slots, semaphore -> max - semaphore.availablePermits())
+                .description("Requests currently holding a concurrency slot")
+                .tag("kind", kind.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Kabul edilmiş bir isteğin izni. Cevap byte'ları yazıldıkça consume ile harcanır; böylece süren büyük indirmeler
+     * kovayı hemen borca sokar ve aynı istemcinin yeni istekleri indirme bitmeden reddedilir.
+     * release yalnızca bir kez etkili olur.
+     */
+    public final class Permit {
+
+        private final Buckets client;
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Buckets client, Semaphore slots) {
+            this.client = client;
+            this.slots = slots;
+        }
+
+        /**
+         * İstemciye gönderilen byte'ları istemcinin ve global byte kovalarından düşer.
+         *
+         * @param responseBytes Cevap olarak yazılan byte sayısı.
+         */
+        public void consume(long responseBytes) {
+            if (responseBytes > 0) {
+                long now = clock.getAsLong();
+                client.bytes.consume(responseBytes, now);
+                global.bytes.consume(responseBytes, now);
+            }
+        }
+
+        /**
+         * İstemcinin ve global eşzamanlılık izinlerini bırakır.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+                client.inFlight.release();
+            }
+        }
+    }
+
+    /**
+     * Bir sınır grubunun istek ve byte kovaları ile süren istek izinleri.
+     */
+    private static final class Buckets {
+
+        private final TokenBucket requests;
+        private final TokenBucket bytes;
+        private final Semaphore inFlight;
+
+        private Buckets(Limit limit, int maxConcurrent, long now) {
+            this.requests = new TokenBucket(limit.requestsPerSecond(), limit.requestBurst(), now);
+            this.bytes = new TokenBucket(limit.bytesPerSecond(), limit.byteBurst(), now);
+            this.inFlight = new Semaphore(maxConcurrent);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.entities.BlobEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bu arayüz (interface), BlobEntity nesnesi için veri tabanı işlemlerini yönetir.
+ */
+public interface BlobRepository extends JpaRepository<BlobEntity, String> {
+
+    /**
+     * Bir blob'u satır kilidi (SELECT ... FOR UPDATE) alarak okur.
+     * Referans sayısı değişiklikleri ve çöp toplama aynı satır üzerinde sırayla çalışır;
+     * böylece silinmek üzere olan bir blob'a aynı anda yeni bir referans eklenemez.
+     *
+     * @param digest Blob'un SHA-256 özetidir.
+     * @return Bulunursa BlobEntity nesnesini içeren bir Optional nesnesi döner.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BlobEntity b where b.digest = :digest")
+    Optional<BlobEntity> findByDigestForUpdate(@Param("digest") String digest);
+
+    /**
+     * Referans sayısı 1 olan yeni bir blob kaydı ekler; aynı özetle bir kayıt varsa (ör. aynı içeriği eşzamanlı olarak
+     * yükleyen başka bir transaction onu az önce eklediyse) o kaydın referans sayısını artırır.
+     * Çakışan kayıt henüz commit edilmemişse PostgreSQL o transaction'ın bitmesini bekler; ekleme birincil anahtar
+     * ihlali ile başarısız olmaz.
+     *
+     * @return Eklenen veya güncellenen satır sayısı (her zaman 1).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO storage_blob (digest, size, encoding, ref_count, storage_path, created_at)
+            VALUES (:digest, :size, :encoding, 1, :storagePath, :createdAt)
+            ON CONFLICT (digest) DO UPDATE SET ref_count = storage_blob.ref_count + 1, released_at = NULL
+            """, nativeQuery = true)
+    int insertOrReference(@Param("digest") String digest, @Param("size") long size, @Param("encoding") String encoding,
+                          @Param("storagePath") String storagePath, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Storage'a yazılmış ama yüklemesi başarısız olduğu için kaydı eklenmemiş bir blob'u, referansı olmayan bir kayıt olarak ekler;
+     * içerik böylece bekleme süresinden sonra çöp toplama ile silinir. Kayıt varsa (içerik kullanılıyorsa) hiçbir şey yapmaz.
+     *
+     * @return Eklenen satır sayısı (0 veya 1).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO storage_blob (digest, size, encoding, ref_count, storage_path, created_at, released_at)
+            VALUES (:digest, :size, :encoding, 0, :storagePath, :releasedAt, :releasedAt)
+            ON CONFLICT (digest) DO NOTHING
+            """, nativeQuery = true)
+    int insertReleased(@Param("digest") String digest, @Param("size") long size, @Param("encoding") String encoding,
+                       @Param("storagePath") String storagePath, @Param("releasedAt") LocalDateTime releasedAt);
+
+    /**
+     * Referans sayısı sıfır olan ve belirtilen zamandan önce serbest bırakılmış blob'ların özetlerini döner.
+     *
+     * @param releasedBefore Bu zamandan önce serbest bırakılan blob'lar döner.
+     * @param pageable Tek seferde dönecek kayıt sayısını sınırlar.
+     * @return Silinebilecek blob'ların özet listesi.
+     */
+    @Query("select b.digest from BlobEntity b where b.refCount = 0 and b.releasedAt < :releasedBefore")
+    List<String> findCollectableDigests(@Param("releasedBefore") LocalDateTime releasedBefore, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.entities.DependencyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Bu arayüz (interface), DependencyEntity nesnesi için veri tabanı işlemlerini yönetir.
+ */
+public interface DependencyRepository extends JpaRepository<DependencyEntity, Long> {
+
+    /**
+     * Bir paket versiyonunun doğrudan bağımlılıklarını döner.
+     *
+     * @param packageId Paket kaydının id'si.
+     * @return Paketin bağımlılık kenarları.
+     */
+    List<DependencyEntity> findByPackageIdOrderByDependencyName(Long packageId);
+
+    /**
+     * Bir paket versiyonunun tüm bağımlılık kenarlarını tek bir sorgu ile siler.
+     *
+     * @param packageId Paket kaydının id'si.
+     * @return Silinen kayıt sayısı.
+     */
+    @Modifying
+    @Query("delete from DependencyEntity d where d.packageId = :packageId")
+    int deleteByPackageId(@Param("packageId") Long packageId);
+}
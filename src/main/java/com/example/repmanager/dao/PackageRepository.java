@@ -1,22 +1,122 @@
 package com.example.repmanager.dao;
 
 import com.example.repmanager.entities.PackageEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Bu arayüz (interface), PackageEntity nesnesi için veri tabanı işlemlerini yönetir.
  * Spring Data JPA sayesinde CRUD (Create, Read, Update, Delete) işlemleri otomatik olarak sağlanır.
+ * Listeleme sorguları OFFSET yerine imleç (keyset) kullanır ve (name, version_major, version_minor, version_patch)
+ * indeksi ile cevaplanır; böylece tablo büyüdükçe sayfa maliyeti artmaz.
+ * Arama sorgusu PackageSearchRepository parçasından gelir.
  */
-public interface PackageRepository extends JpaRepository<PackageEntity, Long> {
+public interface PackageRepository extends JpaRepository<PackageEntity, Long>, PackageSearchRepository {
 
     /**
      * Paket ismine ve versiyonuna göre veri tabanında bir PackageEntity nesnesi arar.
+     * (name, version) benzersiz olduğu için en fazla bir kayıt döner.
      *
      * @param name Aranacak paketin adını belirtir.
      * @param version Aranacak paketin versiyonunu belirtir.
      * @return Bulunursa PackageEntity nesnesini içeren bir Optional nesnesi döner.
      */
     Optional<PackageEntity> findByNameAndVersion(String name, String version);
+
+    /**
+     * Paket ismine ve versiyonuna göre bir kaydın var olup olmadığını kontrol eder.
+     *
+     * @param name Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @return Kayıt varsa true.
+     */
+    boolean existsByNameAndVersion(String name, String version);
+
+    /**
+     * Kimliği verilen değerden büyük kayıtları kimlik sırasıyla döner; tüm tablo birincil anahtar üzerinden sayfa sayfa gezilir.
+     *
+     * @param id İmleç kimlik; ilk sayfa için 0 verilir.
+     * @param limit En fazla kaç kayıt döneceğini belirtir.
+     * @return İmleçten sonraki kayıtlar.
+     */
+    List<PackageEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Özeti olmayan eski bir kaydın package.rep özetini yazar; özet bu arada yazılmışsa (örneğin paket yeniden
+     * yüklendiyse) kayda dokunmaz. Kaydın diğer alanları güncellenmez.
+     *
+     * @param id Paket kaydının kimliği.
+     * @param digest package.rep dosyasının SHA-256 özeti (hex).
+     * @return Güncellenen kayıt sayısı (0 veya 1).
+     */
+    @Modifying
+    @Transactional
+    @Query("update PackageEntity p set p.packageDigest = :digest where p.id = :id and p.packageDigest is null")
+    int backfillPackageDigest(@Param("id") Long id, @Param("digest") String digest);
+
+    /**
+     * Özeti olmayan eski bir kaydın meta.json özetini yazar; özet bu arada yazılmışsa kayda dokunmaz.
+     *
+     * @param id Paket kaydının kimliği.
+     * @param digest meta.json dosyasının SHA-256 özeti (hex).
+     * @return Güncellenen kayıt sayısı (0 veya 1).
+     */
+    @Modifying
+    @Transactional
+    @Query("update PackageEntity p set p.metaDigest = :digest where p.id = :id and p.metaDigest is null")
+    int backfillMetaDigest(@Param("id") Long id, @Param("digest") String digest);
+
+    /**
+     * Bir paketin sayısal olarak en büyük versiyonunu döner.
+     *
+     * @param name Paketin adını belirtir.
+     * @return Bulunursa en son versiyonu içeren bir Optional nesnesi döner.
+     */
+    Optional<PackageEntity> findFirstByNameOrderByVersionMajorDescVersionMinorDescVersionPatchDesc(String name);
+
+    /**
+     * Bir paketin, verilen versiyondan küçük versiyonlarını büyükten küçüğe sıralı olarak döner.
+     * İlk sayfa için imleç olarak Integer.MAX_VALUE değerleri verilir.
+     *
+     * @param name Paketin adını belirtir.
+     * @param major İmleç versiyonunun ana numarası.
+     * @param minor İmleç versiyonunun alt numarası.
+     * @param patch İmleç versiyonunun yama numarası.
+     * @param limit En fazla kaç kayıt döneceğini belirtir.
+     * @return İmleçten sonraki versiyonlar.
+     */
+    @Query(value = """
+            SELECT * FROM package_entity
+            WHERE name = :name
+              AND (version_major, version_minor, version_patch) < (:major, :minor, :patch)
+            ORDER BY version_major DESC, version_minor DESC, version_patch DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PackageEntity> findVersionsBefore(@Param("name") String name,
+                                           @Param("major") int major,
+                                           @Param("minor") int minor,
+                                           @Param("patch") int patch,
+                                           @Param("limit") int limit);
+
+    /**
+     * Adı verilen değerden büyük olan paketlerin her biri için en son versiyonu, paket adına göre sıralı olarak döner.
+     *
+     * @param after İmleç paket adı; ilk sayfa için boş metin verilir.
+     * @param limit En fazla kaç paket döneceğini belirtir.
+     * @return Her paket için en son versiyon kaydı.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (name) * FROM package_entity
+            WHERE name > :after
+            ORDER BY name, version_major DESC, version_minor DESC, version_patch DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PackageEntity> findLatestVersionsAfter(@Param("after") String after, @Param("limit") int limit);
 }
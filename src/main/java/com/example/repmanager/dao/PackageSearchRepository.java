@@ -0,0 +1,24 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.entities.PackageEntity;
+
+import java.util.List;
+
+/**
+ * Bu arayüz (interface), paket arama sorgusunu tanımlar. Sorgu verilen filtrelere göre dinamik olarak oluşturulduğu
+ * için Spring Data tarafından türetilemez; implementasyonu PackageSearchRepositoryImpl sınıfındadır ve
+ * PackageRepository üzerinden kullanılır.
+ */
+public interface PackageSearchRepository {
+
+    /**
+     * Filtrelere uyan paketlerin her biri için filtrelere uyan en son versiyonu, paket adına göre sıralı olarak döner.
+     *
+     * @param criteria Arama filtreleri; boş olanlar uygulanmaz.
+     * @param after İmleç paket adı; ilk sayfa için boş metin verilir.
+     * @param limit En fazla kaç paket döneceğini belirtir.
+     * @return Her paket için filtrelere uyan en son versiyon kaydı.
+     */
+    List<PackageEntity> search(PackageSearchDTO criteria, String after, int limit);
+}
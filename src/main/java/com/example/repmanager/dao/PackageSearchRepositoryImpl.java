@@ -0,0 +1,82 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.entities.PackageEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bu sınıf, PackageSearchRepository arayüzünün implementasyonudur.
+ * Sorguya yalnızca verilen filtrelerin koşulları eklenir; böylece her filtre kombinasyonu için PostgreSQL kendi
+ * indeksini seçebilir ("(:p IS NULL OR ...)" kalıbındaki gibi tüm koşullar tek bir plana sıkıştırılmaz):
+ * önek için lower(name) text_pattern_ops, metin için trigram GIN, yazar için lower(author), ters bağımlılık için
+ * (dependency_name, dependency_version) indeksi kullanılır (bkz. V3__search_indexes.sql).
+ */
+public class PackageSearchRepositoryImpl implements PackageSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PackageEntity> search(PackageSearchDTO criteria, String after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT ON (p.name) p.* FROM package_entity p WHERE p.name > :after");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("after", after);
+
+        if (hasText(criteria.getPrefix())) {
+            sql.append(" AND lower(p.name) LIKE :prefix ESCAPE '\\'");
+            parameters.put("prefix", escapeLike(criteria.getPrefix()) + "%");
+        }
+        if (hasText(criteria.getQuery())) {
+            sql.append(" AND (lower(p.name) LIKE :query ESCAPE '\\' OR lower(p.author) LIKE :query ESCAPE '\\')");
+            parameters.put("query", "%" + escapeLike(criteria.getQuery()) + "%");
+        }
+        if (hasText(criteria.getAuthor())) {
+            sql.append(" AND lower(p.author) = :author");
+            parameters.put("author", criteria.getAuthor().trim().toLowerCase(Locale.ROOT));
+        }
+        if (hasText(criteria.getDependsOn())) {
+            // "ad@versiyon" verilirse yalnızca o versiyona bağımlı olanlar döner.
+            String dependsOn = criteria.getDependsOn().trim();
+            int separator = dependsOn.lastIndexOf('@');
+            sql.append(" AND EXISTS (SELECT 1 FROM package_dependency d WHERE d.package_id = p.id"
+                    + " AND d.dependency_name = :dependencyName");
+            if (separator > 0) {
+                sql.append(" AND d.dependency_version = :dependencyVersion");
+                parameters.put("dependencyName", dependsOn.substring(0, separator));
+                parameters.put("dependencyVersion", dependsOn.substring(separator + 1));
+            } else {
+                parameters.put("dependencyName", dependsOn);
+            }
+            sql.append(")");
+        }
+
+        sql.append(" ORDER BY p.name, p.version_major DESC, p.version_minor DESC, p.version_patch DESC LIMIT :limit");
+        parameters.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), PackageEntity.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Aranan metni küçük harfe çevirir ve LIKE joker karakterlerini (%, _) kaçış karakteriyle etkisizleştirir.
+     */
+    private static String escapeLike(String value) {
+        return value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
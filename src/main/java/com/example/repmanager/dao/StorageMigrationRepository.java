@@ -0,0 +1,50 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.entities.StorageMigrationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bu arayüz (interface), storage taşıma işinin kontrol noktası için veri tabanı işlemlerini yönetir.
+ */
+public interface StorageMigrationRepository extends JpaRepository<StorageMigrationEntity, String> {
+
+    /**
+     * Taşıma işini bu replika adına üstlenir. İş çalışmıyorsa veya çalıştığı görünen replika staleBefore'dan beri
+     * kontrol noktası yazmadıysa (çöktüyse) tek bir UPDATE ile sahiplik alınır; iki replika aynı anda üstlenemez.
+     *
+     * @param id İşin kimliği ("kaynak->hedef").
+     * @param owner İşi üstlenen replika.
+     * @param now Şu anki zaman.
+     * @param staleBefore Bu zamandan önce güncellenmiş RUNNING işler sahipsiz sayılır.
+     * @param running RUNNING durumu (JPQL'de iç içe enum sabitine doğrudan yazılamadığı için parametre olarak verilir).
+     * @return İş üstlenildiyse 1, başka bir replikada sürüyorsa 0.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            update StorageMigrationEntity m
+            set m.state = :running, m.owner = :owner, m.updatedAt = :now, m.finishedAt = null, m.error = null
+            where m.id = :id and (m.state <> :running or m.updatedAt < :staleBefore)
+            """)
+    int claim(@Param("id") String id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("running") StorageMigrationEntity.State running);
+
+    /**
+     * İşi yürüten replika adına kontrol noktasının zamanını yeniler; iş uzun süren bir sayfadayken de canlı görünür.
+     *
+     * @return İş hâlâ bu replikadaysa 1; başka bir replika devraldıysa 0.
+     */
+    @Modifying
+    @Transactional
+    @Query("update StorageMigrationEntity m set m.updatedAt = :now where m.id = :id and m.owner = :owner")
+    int heartbeat(@Param("id") String id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,22 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bu sınıf, bir package.rep (zip) arşivindeki tek bir girdinin bilgilerini taşır.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveEntryDTO {
+
+    private String path;          // Girdinin arşiv içindeki yolu (örnek: META-INF/MANIFEST.MF); klasörler "/" ile biter.
+    private long size;            // Girdinin açılmış byte cinsinden boyutu.
+    private long compressedSize;  // Girdinin arşivdeki (sıkıştırılmış) boyutu.
+    private String crc32;         // Açılmış içeriğin CRC-32 değeri (hex).
+    private boolean directory;    // Girdi bir klasörse true.
+}
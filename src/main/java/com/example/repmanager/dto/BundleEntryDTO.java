@@ -0,0 +1,21 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bu sınıf, toplu indirme arşivine (bundle) yazılacak tek bir dosyayı temsil eder.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleEntryDTO {
+
+    private String path;       // Arşiv içindeki yol (örnek: mypackage/1.0.0/package.rep).
+    private String storageKey; // Dosyanın storage üzerindeki anahtarı.
+    private long size;         // Dosyanın ham (açılmış) byte cinsinden boyutu; bilinmiyorsa -1.
+    private boolean compress;  // false ise dosya zaten sıkıştırılmış olduğu için arşive sıkıştırılmadan yazılır.
+    private String encoding;   // Dosyanın storage'daki kodlaması (gzip); arşive açılarak yazılır. Ham saklanıyorsa null.
+    private String digest;     // Ham içeriğin SHA-256 özeti; arşive yazılırken doğrulanır. Kaydedilmemişse null.
+}
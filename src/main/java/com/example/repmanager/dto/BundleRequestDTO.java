@@ -0,0 +1,21 @@
+package com.example.repmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bu sınıf, toplu indirme isteğinde istenen paket versiyonlarının listesini taşır.
+ * Her eleman "ad@versiyon" formatındadır (örnek: mypackage@1.0.0).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BundleRequestDTO {
+
+    @NotEmpty(message = "packages must not be empty")
+    private List<String> packages; // İndirilecek paket versiyonları (örnek: ["core@1.0.0", "web@2.1.0"]).
+}
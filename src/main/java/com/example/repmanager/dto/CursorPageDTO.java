@@ -0,0 +1,23 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bu sınıf, imleç (keyset) tabanlı sayfalamada bir sayfanın içeriğini taşır.
+ * Sonraki sayfa, nextCursor değeri "after" parametresi olarak gönderilerek istenir; son sayfada nextCursor null'dır.
+ * OFFSET kullanılmadığı için sayfa ne kadar ileride olursa olsun sorgu maliyeti aynı kalır.
+ *
+ * @param <T> Sayfadaki elemanların tipi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;     // Bu sayfadaki elemanlar.
+    private String nextCursor; // Sonraki sayfanın imleci; daha fazla eleman yoksa null.
+}
@@ -0,0 +1,19 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bu sınıf, indirilecek bir paket dosyasının (meta.json veya package.rep) HTTP önbellekleme bilgilerini taşır.
+ * Controller bu bilgilerle ETag ve Last-Modified başlıklarını üretir ve koşullu istekleri (304) cevaplar.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageFileDTO {
+
+    private String digest;     // Dosya içeriğinin SHA-256 özeti; güçlü ETag olarak kullanılır.
+    private long lastModified; // Dosyanın yüklendiği zaman (epoch milisaniye); Last-Modified başlığı için kullanılır.
+    private String encoding;   // Dosyanın storage'daki kodlaması (gzip); ham saklanıyorsa null.
+}
@@ -0,0 +1,23 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bu sınıf, paket arama uç noktasının filtrelerini taşır. Boş bırakılan filtreler uygulanmaz;
+ * verilen filtrelerin hepsine uyan paketler döner. Karşılaştırmalar büyük/küçük harf duyarsızdır
+ * (dependsOn hariç; paket adları yüklendiği gibi eşleştirilir).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageSearchDTO {
+
+    private String prefix;    // Paket adı bu önek ile başlar (autocomplete).
+    private String query;     // Paket adında veya yazarında geçen metin (en az 3 karakter).
+    private String author;    // Yazar adı (tam eşleşme).
+    private String dependsOn; // Bu pakete bağımlı olan paketler; "ad" veya "ad@versiyon" şeklinde verilir.
+}
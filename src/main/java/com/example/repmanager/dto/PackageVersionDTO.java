@@ -0,0 +1,26 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bu sınıf, listeleme uç noktalarında bir paket versiyonunun özet bilgilerini taşır.
+ * Dosya içerikleri veya meta.json metni bu nesnede bulunmaz.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageVersionDTO {
+
+    private String name;              // Paket adı (örnek: mypackage).
+    private String version;           // Paket versiyonu (örnek: 1.0.0).
+    private String author;            // Paketi yükleyen yazar.
+    private LocalDateTime uploadedAt; // Versiyonun yüklendiği zaman.
+    private Long packageSize;         // package.rep dosyasının byte cinsinden boyutu.
+    private String packageDigest;     // package.rep dosyasının SHA-256 özeti.
+}
@@ -0,0 +1,22 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bu sınıf, bir paket versiyonunun bağımlılık çözümlemesinin sonucunu taşır.
+ * packages listesi, istenen paket dahil tüm geçişli (transitive) bağımlılıkları kurulum sırasına göre içerir:
+ * her paket, bağımlı olduğu tüm paketlerden sonra gelir; istenen paket listenin sonundadır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionDTO {
+
+    private String name;                      // Çözümlenen paketin adı.
+    private String version;                   // Çözümlenen paketin versiyonu.
+    private List<ResolvedPackageDTO> packages; // Kurulum sırasına göre tüm paketler.
+}
@@ -0,0 +1,25 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bu sınıf, bağımlılık çözümlemesi sonucunda kurulması gereken tek bir paket versiyonunu temsil eder.
+ * İstemci, paketi indirmek ve indirdiği dosyayı doğrulamak için gereken bilgileri tek cevapta alır.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolvedPackageDTO {
+
+    private String name;                               // Paket adı.
+    private String version;                            // Paket versiyonu.
+    private String packageDigest;                      // package.rep dosyasının SHA-256 özeti.
+    private Long packageSize;                          // package.rep dosyasının byte cinsinden boyutu.
+    private List<MetaDTO.Dependency> dependencies;     // Paketin doğrudan bağımlılıkları.
+}
@@ -0,0 +1,45 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bu sınıf, storage bütünlük taramasının (scrub) sonucunu taşır.
+ * Sayılar bulunan sorunların tamamını, listeler ise en fazla storage.scrub.max-reported-findings kadarını içerir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrubReportDTO {
+
+    /**
+     * Taramanın aşamaları: RUNNING -> COMPLETED veya FAILED.
+     */
+    public enum State {
+        RUNNING,   // Tarama sürüyor; sayılar o ana kadarki durumu gösterir.
+        COMPLETED, // Tarama bitti.
+        FAILED     // Tarama yarıda kesildi; neden error alanındadır.
+    }
+
+    private State state;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long packagesChecked;  // İncelenen paket kaydı sayısı.
+    private long filesVerified;    // Özeti yeniden hesaplanan dosya sayısı.
+    private long bytesVerified;    // Özet hesaplanırken okunan (açılmış) byte sayısı.
+    private long objectsListed;    // Storage'da listelenen nesne sayısı.
+    private long errors;           // Storage veya veritabanı hatası nedeniyle kontrol edilemeyen dosya sayısı.
+    private long corruptCount;     // İçeriği kayıttaki özetle veya boyutla uyuşmayan dosya sayısı.
+    private long danglingCount;    // Kaydı olan ama storage'da bulunmayan dosya sayısı.
+    private long orphanCount;      // Storage'da olan ama hiçbir kayda ait olmayan nesne sayısı.
+    private List<String> corrupt;  // Bozuk dosyalar ("ad@versiyon dosya (anahtar)").
+    private List<String> dangling; // Eksik dosyalar ("ad@versiyon dosya (anahtar)").
+    private List<String> orphans;  // Sahipsiz nesnelerin anahtarları.
+    private String error;          // Tarama başarısız olduysa hata mesajı.
+}
@@ -0,0 +1,35 @@
+package com.example.repmanager.dto;
+
+import com.example.repmanager.entities.StorageMigrationEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bu sınıf, storage taşıma işinin durumunu taşır.
+ * Sayılar kontrol noktasından (tüm replikalar için ortak), failures listesi ise işi yürüten replikanın belleğinden gelir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageMigrationDTO {
+
+    private String source;                        // Kaynak strateji (örn. file-system).
+    private String target;                        // Hedef strateji (örn. object-storage).
+    private StorageMigrationEntity.State state;   // İş hiç başlatılmadıysa null.
+    private long lastPackageId;                   // Taşınan son paket kaydının kimliği.
+    private long copiedObjects;
+    private long copiedBytes;
+    private long failedObjects;
+    private String owner;                         // İşi yürüten replika.
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private List<String> failures;                // Bu replikada kopyalanamayan nesneler ("anahtar: neden").
+}
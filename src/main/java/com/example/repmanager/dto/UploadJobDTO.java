@@ -0,0 +1,38 @@
+package com.example.repmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bu sınıf, asenkron bir paket yükleme işinin (upload job) durumunu taşır.
+ * Aynı nesne, işin spool klasöründeki job.json dosyasına da yazılır; uygulama yeniden başladığında iş buradan okunur.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJobDTO {
+
+    /**
+     * İşin aşamaları: QUEUED -> PROCESSING -> COMPLETED veya FAILED.
+     */
+    public enum State {
+        QUEUED,     // Dosyalar spool klasörüne yazıldı; bir worker'ı bekliyor.
+        PROCESSING, // Dosyalar storage'a yazılıyor ve veritabanı kaydı oluşturuluyor.
+        COMPLETED,  // Paket yayınlandı.
+        FAILED      // Yükleme başarısız oldu; neden error alanındadır.
+    }
+
+    private String id;                // İşin kimliği (UUID).
+    private String name;              // Yüklenen paketin adı.
+    private String version;           // Yüklenen paketin versiyonu.
+    private State state;              // İşin şu anki aşaması.
+    private int attempts;             // İşin kaç kez işlenmeye başlandığı (yeniden başlatmalarda artar).
+    private String error;             // İş başarısız olduysa hata mesajı.
+    private LocalDateTime createdAt;  // İşin kabul edildiği zaman.
+    private LocalDateTime updatedAt;  // Durumun son değiştiği zaman.
+}
@@ -0,0 +1,41 @@
+package com.example.repmanager.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bu sınıf, içerik adresli (content-addressed) storage modunda saklanan tekil bir blob'u temsil eder.
+ * Aynı içeriğe sahip dosyalar (örneğin byte olarak aynı package.rep) storage'a yalnızca bir kez yazılır;
+ * paket kayıtları bu blob'a SHA-256 özeti ile referans verir ve kaç referans olduğu refCount alanında tutulur.
+ */
+@Entity
+@Table(name = "storage_blob")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobEntity {
+
+    @Id // Blob'un birincil anahtarı, içeriğinin SHA-256 özetidir (hex).
+    @Column(length = 64)
+    private String digest;
+
+    private long size; // Blob'un ham (açılmış) içeriğinin byte cinsinden boyutunu tutar.
+
+    @Column(length = 16) // Blob'un storage'daki kodlaması (gzip); ham saklanıyorsa null.
+    private String encoding;
+
+    @Column(name = "ref_count") // Bu blob'a referans veren paket dosyası sayısını tutar.
+    private int refCount;
+
+    @Column(name = "storage_path") // Blob'un storage üzerindeki yolunu veya nesne adını tutar.
+    private String storagePath;
+
+    @Column(name = "created_at") // Blob'un storage'a ilk yazıldığı zamanı tutar.
+    private LocalDateTime createdAt;
+
+    @Column(name = "released_at") // Referans sayısının sıfıra düştüğü zamanı tutar; çöp toplama bu zamana göre yapılır.
+    private LocalDateTime releasedAt;
+}
@@ -0,0 +1,38 @@
+package com.example.repmanager.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Bu sınıf, bir paket versiyonunun meta.json dosyasında belirttiği tek bir bağımlılığı (dependency) temsil eder.
+ * Bağımlılık kenarları yükleme sırasında kaydedilir; böylece bağımlılık ağacı meta.json tekrar okunmadan çözümlenebilir.
+ */
+@Entity
+@Table(
+        name = "package_dependency",
+        uniqueConstraints = @UniqueConstraint(name = "uk_dependency_package_name", columnNames = {"package_id", "dependency_name"}),
+        indexes = {
+                @Index(name = "idx_dependency_package", columnList = "package_id"),
+                @Index(name = "idx_dependency_reverse", columnList = "dependency_name, dependency_version") // Ters bağımlılık araması için.
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "package_dependency_seq") // Batch insert için (bkz. PackageEntity).
+    @SequenceGenerator(name = "package_dependency_seq", sequenceName = "package_dependency_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "package_id", nullable = false) // Bağımlılığı tanımlayan paket kaydının (PackageEntity) id'si.
+    private Long packageId;
+
+    @Column(name = "dependency_name", nullable = false) // Bağımlı olunan paketin adı.
+    private String dependencyName;
+
+    @Column(name = "dependency_version", nullable = false) // Bağımlı olunan paketin versiyonu (örnek: 1.0.0).
+    private String dependencyVersion;
+}
@@ -8,20 +8,41 @@ import java.time.LocalDateTime;
 /**
  * Bu sınıf, veri tabanındaki "package" kayıtlarını temsil eder.
  * Her bir nesne, bir paketi (name, version, author, vs.) veri tabanında saklar.
+ * Bir paketin her versiyonu yalnızca bir kez bulunabilir (name, version benzersizdir).
+ * Versiyonlar ayrıca sayısal major/minor/patch sütunlarında tutulur; listeleme ve "en son versiyon" sorguları
+ * (name, version_major, version_minor, version_patch) indeksi üzerinden tablo taraması yapmadan çalışır.
  */
 @Entity // Bu anotasyon, sınıfı bir JPA entity'si (veri tabanı tablosu) olarak işaretler.
+@Table(
+        name = "package_entity",
+        uniqueConstraints = @UniqueConstraint(name = "uk_package_name_version", columnNames = {"name", "version"}),
+        indexes = @Index(name = "idx_package_name_semver", columnList = "name, version_major, version_minor, version_patch")
+)
 @Data // Lombok anotasyonu: Getter, Setter, toString, equals ve hashCode metodlarını otomatik üretir.
-@Builder // Lombok anotasyonu: Builder tasarım desenini kullanarak nesne oluşturmayı sağlar.
+@Builder(toBuilder = true) // Lombok anotasyonu: Builder tasarım desenini kullanarak nesne oluşturmayı sağlar; toBuilder kopyalamak için kullanılır.
 @NoArgsConstructor // Parametresiz (boş) constructor üretir.
 @AllArgsConstructor // Tüm alanları içeren constructor üretir.
 public class PackageEntity {
 
     @Id // Bu alanın birincil anahtar (primary key) olduğunu belirtir.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // ID değerinin veri tabanı tarafından otomatik oluşturulmasını sağlar.
+    // ID değerleri bir sequence'tan 50'lik bloklar halinde alınır (pooled); IDENTITY'den farklı olarak
+    // insert'ler ID için veri tabanını beklemez ve Hibernate tarafından JDBC batch olarak gönderilebilir.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "package_entity_seq")
+    @SequenceGenerator(name = "package_entity_seq", sequenceName = "package_entity_seq", allocationSize = 50)
     private Long id;
 
     private String name;    // Paketin adını tutar (örneğin: mypackage).
     private String version; // Paketin versiyonunu tutar (örneğin: 1.0.0).
+
+    @Column(name = "version_major") // Versiyonun sayısal ana numarası; sıralama için kullanılır.
+    private Integer versionMajor;
+
+    @Column(name = "version_minor") // Versiyonun sayısal alt numarası.
+    private Integer versionMinor;
+
+    @Column(name = "version_patch") // Versiyonun sayısal yama numarası.
+    private Integer versionPatch;
+
     private String author;  // Paketin yazarını belirtir.
 
     @Lob // Büyük veri nesnelerini (Large Object) saklamak için kullanılır.
@@ -33,4 +54,28 @@ public class PackageEntity {
 
     @Column(name = "uploaded_at") // Paketin sisteme yüklendiği zamanı tutar.
     private LocalDateTime uploadedAt;
+
+    @Column(name = "package_digest", length = 64) // package.rep dosyasının SHA-256 özetini (hex) tutar; ETag olarak kullanılır.
+    private String packageDigest;
+
+    @Column(name = "package_size") // package.rep dosyasının byte cinsinden boyutunu tutar.
+    private Long packageSize;
+
+    @Column(name = "meta_size") // meta.json dosyasının yüklendiği haliyle byte cinsinden boyutunu tutar.
+    private Long metaSize;
+
+    @Column(name = "meta_digest", length = 64) // meta.json dosyasının SHA-256 özetini (hex) tutar; ETag olarak kullanılır.
+    private String metaDigest;
+
+    @Column(name = "meta_encoding", length = 16) // meta.json dosyasının storage'daki kodlaması (gzip); ham saklanıyorsa null.
+    private String metaEncoding;
+
+    @Column(name = "package_encoding", length = 16) // package.rep dosyasının storage'daki kodlaması (gzip); ham saklanıyorsa null.
+    private String packageEncoding;
+
+    @Column(name = "content_addressed") // true ise dosyalar blobs/ab/<sha256> anahtarı ile, özetlerine göre tekil olarak saklanır.
+    private Boolean contentAddressed;
+
+    @Column(name = "dependencies_indexed") // true ise meta.json'daki bağımlılıklar package_dependency tablosuna kaydedilmiştir.
+    private Boolean dependenciesIndexed;
 }
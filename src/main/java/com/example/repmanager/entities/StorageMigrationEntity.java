@@ -0,0 +1,65 @@
+package com.example.repmanager.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bu sınıf, storage backend'leri arasındaki taşıma işinin kontrol noktasını (checkpoint) temsil eder.
+ * Paket kayıtları kimlik sırasıyla taşındığı için işin kaldığı yer, taşınan son sayfanın son kayıt kimliğidir.
+ * İşi hangi replikanın yürüttüğü owner alanında tutulur; updated_at her sayfada yenilenir ve bir süre yenilenmezse
+ * (replika çöktüyse) iş başka bir replika tarafından devralınabilir.
+ */
+@Entity
+@Table(name = "storage_migration")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageMigrationEntity {
+
+    /**
+     * Taşıma işinin aşamaları: RUNNING -> COMPLETED; durdurulursa PAUSED, hata ile kesilirse FAILED.
+     */
+    public enum State {
+        RUNNING,
+        PAUSED,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id // "kaynak->hedef" (örn. file-system->object-storage).
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private State state;
+
+    @Column(name = "last_package_id", nullable = false) // Taşınan son paket kaydının kimliği; iş buradan devam eder.
+    private long lastPackageId;
+
+    @Column(name = "copied_objects", nullable = false) // Hedefe kopyalanan nesne sayısı.
+    private long copiedObjects;
+
+    @Column(name = "copied_bytes", nullable = false) // Hedefe kopyalanan byte sayısı.
+    private long copiedBytes;
+
+    @Column(name = "failed_objects", nullable = false) // Kopyalanamayan veya doğrulanamayan nesne sayısı.
+    private long failedObjects;
+
+    private String owner; // İşi yürüten replika (host:pid).
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at") // Kontrol noktasının son yazıldığı zaman (aynı zamanda işin canlı olduğunu gösterir).
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000) // İş hata ile kesildiyse hata mesajı.
+    private String error;
+}
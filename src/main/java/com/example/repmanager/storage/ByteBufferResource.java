@@ -0,0 +1,97 @@
+package com.example.repmanager.storage;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Bu sınıf, bellekte (heap veya off-heap / direct) tutulan bir ByteBuffer'ı Spring Resource olarak sunar.
+ * Her getInputStream çağrısı buffer'ın bağımsız bir kopyasını (duplicate) kullandığı için
+ * aynı içerik birden fazla isteğe aynı anda, içerik kopyalanmadan sunulabilir.
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;    // Salt okunur içerik; konum (position) bilgisi hiçbir zaman değiştirilmez.
+    private final String description;   // Hata mesajlarında kullanılan açıklama (örneğin storage anahtarı).
+
+    public ByteBufferResource(ByteBuffer buffer, String description) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.description = description;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    /**
+     * İçeriğin bağımsız konumlu, salt okunur bir görünümünü döner (içerik kopyalanmaz).
+     */
+    public ByteBuffer getByteBuffer() {
+        return buffer.duplicate();
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return description.substring(description.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached object [" + description + "]";
+    }
+
+    /**
+     * ByteBuffer üzerinden okuma yapan basit bir InputStream.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            // Range isteklerinde atlama, yalnızca buffer'ın konumunu ilerletir.
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.repmanager.storage;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Bu sınıf, herhangi bir StorageService'in önüne konan ve sık indirilen (hot) nesneleri bellekte tutan bir dekoratördür.
+ * Önbellek Caffeine (W-TinyLFU) ile byte cinsinden ağırlıklandırılarak sınırlandırılır; toplam boyut aşıldığında
+ * en az değerli nesneler çıkarılır. Büyük nesneler heap yerine off-heap (direct) buffer'larda tutulur.
+ * Aynı anahtar için eş zamanlı gelen önbellek kaçırmaları (miss) tek bir backend okumasında birleştirilir.
+ * Okuma, önbelleğin içindeki kilit tutulurken değil çağıran thread'de yapılır; diğer isteyenler yalnızca sonucu bekler.
+ * Böylece virtual thread'ler storage gecikmesi boyunca taşıyıcı (carrier) thread'e sabitlenmez.
+ * Önbellek istatistikleri (hit, miss, eviction) Micrometer üzerinden "storage" adıyla yayınlanır.
+ */
+@Slf4j
+public class CachingStorageService implements StorageService {
+
+    private final StorageService delegate;           // Asıl okuma/yazma işlemlerini yapan storage servisi.
+    private final AsyncCache<String, ByteBuffer> cache; // Anahtar -> içerik önbelleği (yüklenmekte olan içerik dahil).
+    private final long maxEntrySize;                 // Bu boyuttan büyük nesneler önbelleğe alınmaz, doğrudan akış olarak sunulur.
+    private final long offHeapThreshold;             // Bu boyuttan büyük nesneler off-heap (direct) buffer'da tutulur.
+
+    /**
+     * @param delegate Önbelleğin önüne konduğu storage servisi.
+     * @param maxSize Önbellekteki toplam içeriğin byte cinsinden üst sınırı.
+     * @param maxEntrySize Önbelleğe alınabilecek tek bir nesnenin byte cinsinden üst sınırı.
+     * @param offHeapThreshold Bu boyuttan büyük nesnelerin off-heap tutulacağı eşik (byte).
+     * @param meterRegistry Önbellek istatistiklerinin yayınlanacağı Micrometer registry'si.
+     */
+    public CachingStorageService(StorageService delegate, long maxSize, long maxEntrySize, long offHeapThreshold,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxEntrySize = Math.min(maxEntrySize, Integer.MAX_VALUE);
+        this.offHeapThreshold = offHeapThreshold;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, ByteBuffer value) -> value.capacity())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "storage");
+    }
+
+    @Override
+    public String saveObject(String key, InputStream content, long size) {
+        String path = delegate.saveObject(key, content, size);
+        cache.synchronous().invalidate(key); // Aynı anahtarın eski içeriği önbellekte kalmamalıdır.
+        return path;
+    }
+
+    /**
+     * Nesne önbellekteyse backend'e hiç gidilmeden bellekteki kopyası döner.
+     * Değilse ve boyutu sınırın altındaysa backend'den bir kez okunup önbelleğe alınır;
+     * Caffeine aynı anahtar için eş zamanlı yüklemeleri tek bir yüklemede birleştirir.
+     */
+    @Override
+    public Resource loadObject(String key) {
+        CompletableFuture<ByteBuffer> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new ByteBufferResource(join(cached), key);
+        }
+
+        Resource resource = delegate.loadObject(key);
+        long size = contentLength(resource);
+        if (size < 0 || size > maxEntrySize) {
+            // Çok büyük nesneler önbelleği domine etmesin diye doğrudan akış olarak sunulur.
+            return resource;
+        }
+
+        // Anahtar için ilk gelen istek yüklemeyi üstlenir; aynı anda gelenler onun sonucunu bekler.
+        CompletableFuture<ByteBuffer> loading = new CompletableFuture<>();
+        CompletableFuture<ByteBuffer> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing == null) {
+            try {
+                loading.complete(read(resource, (int) size, key));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e); // Başarısız yüklemeler Caffeine tarafından önbellekten çıkarılır.
+                throw e;
+            }
+            existing = loading;
+        }
+        return new ByteBufferResource(join(existing), key);
+    }
+
+    /**
+     * Nesne önbellekteyse aralık bellekteki kopyadan okunur; değilse backend'den yalnızca aralık okunur.
+     * Aralık okumaları nesneyi önbelleğe almaz.
+     */
+    @Override
+    public InputStream openRange(String key, long offset, long length) {
+        CompletableFuture<ByteBuffer> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            ByteBuffer buffer = join(cached);
+            int start = (int) Math.min(offset, buffer.capacity());
+            int end = (int) Math.min(offset + length, buffer.capacity());
+            return new ByteBufferResource(buffer.slice(start, end - start), key).getInputStream();
+        }
+        return delegate.openRange(key, offset, length);
+    }
+
+    @Override
+    public InputStream openUncached(String key) {
+        return delegate.openUncached(key);
+    }
+
+    @Override
+    public URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        return delegate.presignedUrl(key, expiry, responseHeaders);
+    }
+
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        delegate.listObjects(action);
+    }
+
+    @Override
+    public boolean objectExists(String key) {
+        return cache.getIfPresent(key) != null || delegate.objectExists(key);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        delegate.deleteObject(key);
+        cache.synchronous().invalidate(key);
+    }
+
+    /**
+     * Resource'un içeriğini tek seferde bir buffer'a okur. İçerik sonuna kadar okunur; uzunluğu boyut bilgisinden
+     * farklıysa (nesne okunurken değiştiyse) kayıt önbelleğe alınmaz.
+     * Eşik değerinin üzerindeki nesneler direct buffer'a okunur; dosya sistemi kaynaklarında bu okuma
+     * FileChannel üzerinden doğrudan off-heap belleğe yapılır ve heap'e kopya düşmez.
+     */
+    private ByteBuffer read(Resource resource, int size, String key) {
+        ByteBuffer buffer = size >= offHeapThreshold ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        try (ReadableByteChannel channel = resource.readableChannel()) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break;
+                }
+            }
+            if (!buffer.hasRemaining() && channel.read(ByteBuffer.allocate(1)) != -1) {
+                // Nesne okunurken uzadıysa buffer'a yalnızca eski boyut kadarı sığar; kesilmiş içerik önbelleğe alınmaz.
+                throw new RuntimeException("Could not read file: " + key + " (content is longer than its size)");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + key, e);
+        }
+        if (buffer.hasRemaining()) {
+            // Nesne okunurken kısaldıysa eksik içerik önbelleğe alınmaz.
+            throw new RuntimeException("Could not read file: " + key + " (unexpected end of content)");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer join(CompletableFuture<ByteBuffer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private long contentLength(Resource resource) {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            log.debug("Could not determine size of {}, serving without cache", resource.getDescription(), e);
+            return -1;
+        }
+    }
+}
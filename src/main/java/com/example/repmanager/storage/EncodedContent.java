@@ -0,0 +1,77 @@
+package com.example.repmanager.storage;
+
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bu sınıf, storage'a yazılmak üzere hazırlanmış (gerekirse sıkıştırılmış) bir dosya içeriğini temsil eder.
+ * İçerik sıkıştırıldıysa geçici bir dosyada tutulur; close() çağrıldığında bu dosya silinir.
+ */
+public final class EncodedContent implements InputStreamSource, AutoCloseable {
+
+    private final InputStreamSource content; // Storage'a yazılacak byte'lar.
+    private final long size;                 // Storage'a yazılacak byte sayısı.
+    private final String encoding;           // Saklama kodlaması (gzip); ham saklanıyorsa null.
+    private final String digest;             // Ham içeriğin SHA-256 özeti; içerik henüz okunmadıysa null.
+    private final long rawSize;              // Ham içeriğin byte cinsinden boyutu.
+    private final Path tempFile;             // Sıkıştırılmış içeriğin geçici dosyası; yoksa null.
+
+    EncodedContent(InputStreamSource content, long size, String encoding, String digest, long rawSize, Path tempFile) {
+        this.content = content;
+        this.size = size;
+        this.encoding = encoding;
+        this.digest = digest;
+        this.rawSize = rawSize;
+        this.tempFile = tempFile;
+    }
+
+    /**
+     * Ham haliyle saklanacak bir içerik oluşturur.
+     */
+    public static EncodedContent identity(InputStreamSource content, long size) {
+        return new EncodedContent(content, size, null, null, size, null);
+    }
+
+    /**
+     * Aynı içeriği, ham içeriğin dışarıda hesaplanmış özeti ve boyutu ile döner.
+     */
+    public EncodedContent withDigest(String digest, long rawSize) {
+        return new EncodedContent(content, size, encoding, digest, rawSize, tempFile);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return content.getInputStream();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public long getRawSize() {
+        return rawSize;
+    }
+
+    @Override
+    public void close() {
+        if (tempFile != null) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                tempFile.toFile().deleteOnExit(); // Silinemeyen geçici dosya en geç uygulama kapanırken silinir.
+            }
+        }
+    }
+}
@@ -1,73 +1,225 @@
 package com.example.repmanager.storage;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Consumer;
 
 /**
  * Bu sınıf, dosyaları yerel dosya sistemine kaydeder ve oradan okur.
  * StorageService arayüzünü implemente eder.
  */
 @Service // Spring tarafından otomatik olarak Bean olarak tanımlanır.
+@Lazy    // Yalnızca seçilen storage stratejisi bu servisi kullanıyorsa oluşturulur (bkz. StorageConfig).
 @Slf4j   // Lombok anotasyonu: Loglama (log.info, log.error) işlemleri için logger oluşturur.
 public class FileSystemStorageService implements StorageService {
 
-    private final String rootDir = "storage/packages"; // Tüm dosyaların saklanacağı ana klasör yoludur.
+    private static final String TEMP_SUFFIX = ".tmp"; // Yazılmakta olan geçici dosyaların uzantısı.
+
+    @Value("${storage.file-system.root-dir:storage/packages}")
+    private Path rootDir; // Tüm dosyaların saklanacağı ana klasör yoludur.
+
+    // true ise dosyalar bellek eşlemesi (memory-mapped FileChannel) üzerinden okunur.
+    @Value("${storage.file-system.mmap.enabled:false}")
+    private boolean mmapEnabled;
+
+    @Value("${storage.file-system.mmap.max-mappings:256}")
+    private int mmapMaxMappings; // Havuzda aynı anda tutulabilecek en fazla eşleme sayısı.
+
+    @Value("${storage.file-system.mmap.max-file-size:1GB}")
+    private DataSize mmapMaxFileSize; // Bu boyuttan büyük dosyalar eşlenmez, dosyadan akış olarak okunur.
+
+    private MappedFilePool mappedFilePool; // Bellek eşlemelerinin istekler arasında yeniden kullanıldığı havuz.
 
     /**
-     * Bir dosyayı belirtilen paketin ve versiyonun altında dosya sistemine kaydeder.
+     * Bellek eşlemesi etkinse eşleme havuzunu oluşturur.
+     */
+    @PostConstruct
+    public void init() {
+        rootDir = rootDir.normalize(); // "./storage" gibi yollar da anahtar kontrolünde (resolve) doğru karşılaştırılır.
+        if (mmapEnabled) {
+            mappedFilePool = new MappedFilePool(mmapMaxMappings, mmapMaxFileSize.toBytes());
+        }
+    }
+
+    /**
+     * Bir içeriği verilen anahtarın karşılık geldiği konuma dosya sistemine kaydeder.
+     * İçerik önce aynı klasördeki geçici bir dosyaya akış halinde yazılır, ardından atomik olarak hedef ada taşınır.
+     * Böylece yarıda kalan bir yükleme, okuyuculara eksik bir dosya olarak görünmez.
      *
-     * @param packageName Paketin adını belirtir.
-     * @param version Paketin versiyonunu belirtir.
-     * @param fileName Kaydedilecek dosyanın adını belirtir.
-     * @param file Kaydedilecek MultipartFile nesnesidir (gelen dosya).
+     * @param key Kaydedilecek nesnenin anahtarıdır (örnek: mypackage/1.0.0/package.rep).
+     * @param content Kaydedilecek içeriği okuyan akıştır.
+     * @param size İçeriğin byte cinsinden boyutudur.
      * @return Kaydedilen dosyanın dosya sistemi üzerindeki tam yolu.
      */
     @Override
-    public String saveFile(String packageName, String version, String fileName, MultipartFile file) {
+    public String saveObject(String key, InputStream content, long size) {
+        Path tempPath = null;
         try {
-            // Kayıt edilecek klasör yolunu oluşturur (örnek: storage/packages/mypackage/1.0.0).
-            Path dirPath = Paths.get(rootDir, packageName, version);
+            // Dosyanın tam yolunu oluşturur (örnek: storage/packages/mypackage/1.0.0/package.rep).
+            Path filePath = resolve(key);
+            Path dirPath = filePath.getParent();
             Files.createDirectories(dirPath); // Eğer klasör yoksa oluşturur.
 
-            // Dosyanın tam yolunu oluşturur.
-            Path filePath = dirPath.resolve(fileName);
+            // İçeriği aynı klasördeki geçici bir dosyaya akış halinde yazar (aynı dosya sistemi, atomik taşımayı mümkün kılar).
+            tempPath = Files.createTempFile(dirPath, filePath.getFileName().toString(), TEMP_SUFFIX);
+            Files.copy(content, tempPath, StandardCopyOption.REPLACE_EXISTING);
 
-            // Gelen dosyayı belirlenen konuma yazar (kaydeder).
-            file.transferTo(filePath);
+            // Geçici dosyayı tek adımda hedef ada taşır.
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            invalidateMapping(filePath); // Eski içeriğin eşlemesi artık sunulmamalıdır.
 
             // Dosya yolu String olarak geri döner.
             return filePath.toString();
         } catch (IOException e) {
+            deleteQuietly(tempPath); // Yarım kalan geçici dosyayı temizler.
             // Hata oluşursa RuntimeException fırlatır.
-            throw new RuntimeException("Could not save file: " + fileName, e);
+            throw new RuntimeException("Could not save file: " + key, e);
         }
     }
 
     /**
-     * Bir dosyayı belirtilen paketin ve versiyonun altından okur ve byte dizisi olarak döner.
+     * Bir dosyayı belleğe okumadan, dosya sistemi üzerindeki konumuna işaret eden bir Resource olarak döner.
+     * FileSystemResource içeriği istemciye sabit boyutlu bir tampon üzerinden parça parça kopyalanır;
+     * dosyanın tamamı hiçbir zaman heap'e alınmaz.
+     * Bellek eşlemesi etkinse dosya, havuzdaki bir eşleme üzerinden (page cache'ten, heap kopyası olmadan) sunulur.
      *
-     * @param packageName Paketin adını belirtir.
-     * @param version Paketin versiyonunu belirtir.
-     * @param fileName Okunacak dosyanın adını belirtir.
-     * @return Dosya içeriğini byte[] (bayt dizisi) olarak döner.
+     * @param key Okunacak nesnenin anahtarıdır.
+     * @return Dosyaya işaret eden FileSystemResource veya eşlenmiş ByteBufferResource nesnesini döner.
+     */
+    @Override
+    public Resource loadObject(String key) {
+        // Okunacak dosyanın tam yolunu oluşturur.
+        Path filePath = resolve(key);
+
+        // Dosya yoksa, içerik yazılmaya başlamadan önce hata fırlatır.
+        if (!Files.isRegularFile(filePath)) {
+            throw new RuntimeException("Could not read file: " + key);
+        }
+
+        if (mappedFilePool != null) {
+            try {
+                MappedByteBuffer mapped = mappedFilePool.map(filePath);
+                if (mapped != null) {
+                    return new ByteBufferResource(mapped, key);
+                }
+            } catch (IOException e) {
+                // Eşleme başarısız olursa dosya normal yoldan sunulur.
+                log.warn("Could not memory-map file: {}", filePath, e);
+            }
+        }
+
+        return new FileSystemResource(filePath);
+    }
+
+    /**
+     * Dosyayı bellek eşlemesi havuzunu kullanmadan doğrudan okur.
      */
     @Override
-    public byte[] readFile(String packageName, String version, String fileName) {
+    public InputStream openUncached(String key) {
         try {
-            // Okunacak dosyanın tam yolunu oluşturur.
-            Path filePath = Paths.get(rootDir, packageName, version, fileName);
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + key, e);
+        }
+    }
 
-            // Dosyayı byte dizisi (byte[]) olarak okur.
-            return Files.readAllBytes(filePath);
+    /**
+     * Kök klasörü gezerek dosyaları iletir. Gezinti sırasında silinen klasörler hata sayılmaz, atlanır.
+     */
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        if (!Files.isDirectory(rootDir)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(rootDir, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile() && !file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                        String key = rootDir.relativize(file).toString().replace(File.separatorChar, '/');
+                        action.accept(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
-            // Hata oluşursa RuntimeException fırlatır.
-            throw new RuntimeException("Could not read file: " + fileName, e);
+            throw new RuntimeException("Could not list files in " + rootDir, e);
+        }
+    }
+
+    /**
+     * Verilen anahtara karşılık gelen dosyanın var olup olmadığını kontrol eder.
+     */
+    @Override
+    public boolean objectExists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    /**
+     * Verilen anahtara karşılık gelen dosyayı siler.
+     */
+    @Override
+    public void deleteObject(String key) {
+        try {
+            Path filePath = resolve(key);
+            Files.deleteIfExists(filePath);
+            invalidateMapping(filePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not delete file: " + key, e);
+        }
+    }
+
+    /**
+     * Anahtarı kök klasör altındaki bir dosya yoluna çevirir.
+     * "../" gibi parçalarla kök klasörün dışına çıkılmasını engeller.
+     */
+    private Path resolve(String key) {
+        Path path = rootDir.resolve(key).normalize();
+        if (!path.startsWith(rootDir) || path.equals(rootDir)) {
+            throw new RuntimeException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
+    private void invalidateMapping(Path filePath) {
+        if (mappedFilePool != null) {
+            mappedFilePool.invalidate(filePath);
+        }
+    }
+
+    /**
+     * Geçici bir dosyayı, silme sırasında oluşabilecek hataları yutarak siler.
+     */
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file: {}", path, e);
         }
     }
 }
@@ -0,0 +1,59 @@
+package com.example.repmanager.storage;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bu sınıf, gzip ile sıkıştırılmış olarak saklanan bir dosyayı, okunurken açılan (ham) içerik olarak sunar.
+ * İçerik belleğe alınmaz; sıkıştırılmış akış okundukça açılır.
+ * Ham boyut kayıttan bilindiği için Content-Length, içeriği okumadan verilebilir.
+ */
+public class GzipDecodingResource extends AbstractResource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Resource encoded;   // Storage'daki sıkıştırılmış içerik.
+    private final long contentLength; // Ham içeriğin byte cinsinden boyutu; bilinmiyorsa -1.
+
+    public GzipDecodingResource(Resource encoded, long contentLength) {
+        this.encoded = encoded;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new GZIPInputStream(encoded.getInputStream(), BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean exists() {
+        return encoded.exists();
+    }
+
+    /**
+     * Ham boyut bilinmiyorsa içerik bir kez açılarak sayılır.
+     */
+    @Override
+    public long contentLength() throws IOException {
+        return contentLength >= 0 ? contentLength : super.contentLength();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return encoded.lastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        return encoded.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "gzip-decoded " + encoded.getDescription();
+    }
+}
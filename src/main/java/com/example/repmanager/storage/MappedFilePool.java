@@ -0,0 +1,77 @@
+package com.example.repmanager.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Bu sınıf, dosya sistemindeki dosyaların salt okunur bellek eşlemelerini (memory-mapped FileChannel bölgeleri)
+ * sınırlı sayıda tutar ve istekler arasında yeniden kullanır.
+ * Eşlenen bir dosyanın içeriği işletim sisteminin page cache'inden okunur; heap'e kopyalanmaz.
+ * Havuz dolduğunda en az kullanılan eşleme havuzdan çıkarılır (eşlemenin kendisi, ona referans kalmadığında GC ile kapanır).
+ */
+public class MappedFilePool {
+
+    private final Cache<Path, MappedFile> mappings; // Dosya yolu -> bellek eşlemesi.
+    private final long maxFileSize;                 // Bu boyuttan büyük dosyalar eşlenmez.
+
+    /**
+     * @param maxMappings Aynı anda havuzda tutulabilecek en fazla eşleme sayısı.
+     * @param maxFileSize Eşlenebilecek en büyük dosya boyutu (byte); tek bir eşleme 2 GB'ı geçemez.
+     */
+    public MappedFilePool(int maxMappings, long maxFileSize) {
+        this.maxFileSize = Math.min(maxFileSize, Integer.MAX_VALUE);
+        this.mappings = Caffeine.newBuilder()
+                .maximumSize(maxMappings)
+                .build();
+    }
+
+    /**
+     * Dosyanın bellek eşlemesini döner; havuzda güncel bir eşleme varsa yeniden kullanılır.
+     * Dosya, eşleme oluşturulduktan sonra değiştiyse (boyut veya değiştirilme zamanı farklıysa) yeniden eşlenir.
+     *
+     * @param path Eşlenecek dosyanın yoludur.
+     * @return Salt okunur bellek eşlemesi; dosya eşlenemeyecek kadar büyükse null döner.
+     */
+    public MappedByteBuffer map(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (attributes.size() > maxFileSize) {
+            return null;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        MappedFile mapped = mappings.getIfPresent(path);
+        if (mapped != null && mapped.size() == attributes.size() && mapped.lastModified() == lastModified) {
+            return mapped.buffer();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Eşleme, kanal kapatıldıktan sonra da geçerli kalır.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, attributes.size());
+            mappings.put(path, new MappedFile(buffer, attributes.size(), lastModified));
+            return buffer;
+        }
+    }
+
+    /**
+     * Bir dosyanın eşlemesini havuzdan çıkarır (dosya yeniden yazıldığında veya silindiğinde çağrılır).
+     *
+     * @param path Eşlemesi kaldırılacak dosyanın yoludur.
+     */
+    public void invalidate(Path path) {
+        mappings.invalidate(path);
+    }
+
+    /**
+     * Havuzdaki bir eşlemeyi ve eşlendiği andaki dosya bilgilerini tutar.
+     */
+    private record MappedFile(MappedByteBuffer buffer, long size, long lastModified) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.repmanager.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bu sınıf, bir storage backend'inin çağrılarını Micrometer ile ölçen bir dekoratördür.
+ * Yayınlanan metrikler (tümü "backend" etiketi ile, örn. file-system veya object-storage):
+ * - storage.requests: işlem (save, load, range, exists, delete) ve sonuç (success, error) bazında süre histogramı,
+ * - storage.errors: işlem ve hata tipi bazında başarısız çağrı sayısı,
+ * - storage.bytes: yazılan (written) ve sunulan (read) byte sayısı,
+ * - storage.in.flight: o an backend'de süren çağrı sayısı.
+ * Ölçüm için kullanılan Timer ve Counter nesneleri oluşturulurken bir kez kaydedilir; çağrı başına yalnızca
+ * süre ölçümü ve sayaç artışı yapılır.
+ */
+public class MeteredStorageService implements StorageService {
+
+    private final StorageService delegate;   // Ölçülen storage backend'i.
+    private final String backend;            // Metriklerin "backend" etiketi.
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Operation save;
+    private final Operation load;
+    private final Operation range;
+    private final Operation exists;
+    private final Operation delete;
+    private final Counter bytesWritten;
+    private final Counter bytesRead;
+
+    /**
+     * @param delegate Ölçülecek storage servisi.
+     * @param backend Metriklerde kullanılacak backend adı.
+     * @param meterRegistry Metriklerin yayınlanacağı Micrometer registry'si.
+     */
+    public MeteredStorageService(StorageService delegate, String backend, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.save = new Operation("save");
+        this.load = new Operation("load");
+        this.range = new Operation("range");
+        this.exists = new Operation("exists");
+        this.delete = new Operation("delete");
+        this.bytesWritten = bytesCounter("written");
+        this.bytesRead = bytesCounter("read");
+        Gauge.builder("storage.in.flight", inFlight, AtomicInteger::get)
+                .description("Storage calls currently in progress")
+                .tag("backend", backend)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String saveObject(String key, InputStream content, long size) {
+        String path = save.record(() -> delegate.saveObject(key, content, size));
+        bytesWritten.increment(size);
+        return path;
+    }
+
+    /**
+     * Okuma süresi, Resource'un açılmasını (dosyanın veya nesnenin bulunmasını) kapsar; içerik daha sonra akış halinde okunur.
+     * Sunulan byte sayısı, ek bir okuma yapmadan Resource'un boyutundan alınır.
+     */
+    @Override
+    public Resource loadObject(String key) {
+        Resource resource = load.record(() -> delegate.loadObject(key));
+        try {
+            bytesRead.increment(resource.contentLength());
+        } catch (IOException e) {
+            // Boyutu bilinmeyen kaynaklar byte sayacına eklenmez.
+        }
+        return resource;
+    }
+
+    /**
+     * Aralık okumalarında sunulan byte sayısı olarak istenen aralığın boyutu sayılır.
+     */
+    @Override
+    public InputStream openRange(String key, long offset, long length) {
+        InputStream in = range.record(() -> delegate.openRange(key, offset, length));
+        bytesRead.increment(length);
+        return in;
+    }
+
+    /**
+     * Doğrudan okumalar da "load" işlemi olarak ölçülür; boyut bilinmediği için byte sayacına eklenmez.
+     */
+    @Override
+    public InputStream openUncached(String key) {
+        return load.record(() -> delegate.openUncached(key));
+    }
+
+    /**
+     * URL yerel olarak imzalandığı için ölçülmez; indirme byte'ları uygulamadan geçmez.
+     */
+    @Override
+    public URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        return delegate.presignedUrl(key, expiry, responseHeaders);
+    }
+
+    /**
+     * Listeleme süresi anahtarları işleyen fonksiyonun süresini de kapsayacağı için ölçülmez.
+     */
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        delegate.listObjects(action);
+    }
+
+    @Override
+    public boolean objectExists(String key) {
+        return exists.record(() -> delegate.objectExists(key));
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        delete.record(() -> {
+            delegate.deleteObject(key);
+            return null;
+        });
+    }
+
+    private Counter bytesCounter(String direction) {
+        return Counter.builder("storage.bytes")
+                .description("Bytes transferred to and from the storage backend")
+                .baseUnit("bytes")
+                .tag("backend", backend)
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bir storage işleminin başarılı ve başarısız çağrılarının süre ölçerleri.
+     */
+    private final class Operation {
+
+        private final String name;
+        private final Timer success;
+        private final Timer error;
+
+        private Operation(String name) {
+            this.name = name;
+            this.success = timer("success");
+            this.error = timer("error");
+        }
+
+        private <T> T record(Supplier<T> call) {
+            inFlight.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                T result = call.get();
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                // Hata tipleri sınırlı sayıda olduğu için sayaç ilk hatada oluşturulur.
+                Counter.builder("storage.errors")
+                        .description("Failed storage calls")
+                        .tag("backend", backend)
+                        .tag("operation", name)
+                        .tag("exception", e.getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+                throw e;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("storage.requests")
+                    .description("Storage call latency")
+                    .tag("backend", backend)
+                    .tag("operation", name)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.repmanager.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bu sınıf, bir storage backend'inden diğerine (örneğin file-system -> object-storage) kesintisiz geçiş sırasında
+ * kullanılan bir StorageService'tir. Geçiş süresince servis her nesneyi o an hangi backend'de ise oradan sunar:
+ * - Okumalar: nesne kaynak (source) backend'de hâlâ varsa oradan, yoksa hedef (target) backend'den yapılır.
+ *   Taşıma işi kaynaktaki nesneleri silmediği için bir nesne taşınırken de kaynaktan okunmaya devam eder.
+ * - Yazmalar: yeni içerik yalnızca hedefe yazılır; kaynaktaki eski kopya silinir, böylece okumalar eski içeriği görmez.
+ * - Silmeler: nesne her iki backend'den de silinir.
+ * Aynı anahtarın taşınması ile aynı anahtara yazılması, anahtar bazlı kilitlerle (lock striping) sıralanır;
+ * böylece taşıma işi, bu sırada yüklenen yeni içeriğin üzerine eski içeriği yazamaz.
+ */
+public class MigratingStorageService implements StorageService {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final StorageService source;       // İçeriğin taşındığı (eski) backend.
+    private final StorageService target;       // İçeriğin taşındığı (yeni) backend; yeni yazmalar buraya yapılır.
+    private final String sourceName;           // Kaynak stratejinin adı (örn. file-system).
+    private final String targetName;           // Hedef stratejinin adı (örn. object-storage).
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public MigratingStorageService(StorageService source, String sourceName, StorageService target, String targetName) {
+        this.source = source;
+        this.sourceName = sourceName;
+        this.target = target;
+        this.targetName = targetName;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String saveObject(String key, InputStream content, long size) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            String path = target.saveObject(key, content, size);
+            source.deleteObject(key);
+            return path;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Resource loadObject(String key) {
+        return source.objectExists(key) ? source.loadObject(key) : target.loadObject(key);
+    }
+
+    @Override
+    public InputStream openRange(String key, long offset, long length) {
+        return source.objectExists(key) ? source.openRange(key, offset, length) : target.openRange(key, offset, length);
+    }
+
+    @Override
+    public InputStream openUncached(String key) {
+        return source.objectExists(key) ? source.openUncached(key) : target.openUncached(key);
+    }
+
+    /**
+     * Nesne hangi backend'de ise onun imzalı adresi döner; kaynak URL üretemiyorsa (file-system) null döner.
+     */
+    @Override
+    public URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        return source.objectExists(key)
+                ? source.presignedUrl(key, expiry, responseHeaders)
+                : target.presignedUrl(key, expiry, responseHeaders);
+    }
+
+    /**
+     * Önce kaynaktaki, sonra yalnızca hedefte bulunan nesneler listelenir; her iki backend'de olan nesne bir kez listelenir.
+     */
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        source.listObjects(action);
+        target.listObjects(object -> {
+            if (!source.objectExists(object.key())) {
+                action.accept(object);
+            }
+        });
+    }
+
+    @Override
+    public boolean objectExists(String key) {
+        return source.objectExists(key) || target.objectExists(key);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            target.deleteObject(key);
+            source.deleteObject(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bir nesneyi kaynaktan hedefe kopyalar. Kopyalama sırasında aynı anahtara yazma veya silme yapılamaz.
+     *
+     * @param key Kopyalanacak nesnenin anahtarı.
+     * @return Nesnenin hedefteki yolu ve kopyalanan byte sayısı; nesne kaynakta yoksa (zaten taşınmış,
+     *         yeniden yüklenmiş veya silinmişse) null.
+     */
+    public CopyResult copyToTarget(String key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            if (!source.objectExists(key)) {
+                return null;
+            }
+            Resource resource = source.loadObject(key);
+            long size = resource.contentLength();
+            try (InputStream in = resource.getInputStream()) {
+                return new CopyResult(target.saveObject(key, in, size), size);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy " + key + " from " + sourceName + " to " + targetName, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Doğrulanamayan bir kopyayı hedeften siler. Nesne artık kaynakta yoksa, kopyalamadan sonra aynı anahtara yeni
+     * içerik yazılmış veya nesne silinmiştir; hedefteki nesne güncel içerik olduğu için silinmez.
+     *
+     * @param key Silinecek kopyanın anahtarı.
+     * @return Kopya silindiyse true; nesne bu arada değiştiği için bırakıldıysa false.
+     */
+    public boolean discardCopy(String key) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            if (!source.objectExists(key)) {
+                return false;
+            }
+            target.deleteObject(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Kopyalanan bir nesnenin sonucu.
+     *
+     * @param path Nesnenin hedef backend'deki yolu (saveObject'in döndüğü değer).
+     * @param size Kopyalanan byte sayısı.
+     */
+    public record CopyResult(String path, long size) {
+    }
+
+    public StorageService getTarget() {
+        return target;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public String getTargetName() {
+        return targetName;
+    }
+
+    private ReentrantLock lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.repmanager.storage;
+
+import io.minio.CreateMultipartUploadResponse;
+import io.minio.MinioAsyncClient;
+import io.minio.ObjectWriteResponse;
+import io.minio.UploadPartResponse;
+import io.minio.messages.Part;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bu sınıf, MinIO'nun asenkron istemcisinde protected olarak tanımlı olan multipart upload adımlarını
+ * (başlatma, parça yükleme, tamamlama, iptal) dışarıya açar.
+ * MinIO'nun kendi putObject metodu parçaları sırayla yüklerken, bu adımlar sayesinde parçalar paralel yüklenebilir.
+ */
+public class MultipartMinioClient extends MinioAsyncClient {
+
+    public MultipartMinioClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * Yeni bir multipart upload başlatır.
+     *
+     * @return Upload kimliğini (uploadId) içeren cevap.
+     */
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(
+            String bucketName, String region, String objectName) throws Exception {
+        return createMultipartUploadAsync(bucketName, region, objectName, null, null);
+    }
+
+    /**
+     * Bir parçayı yükler. Parça numaraları 1'den başlar.
+     *
+     * @return Parçanın ETag değerini içeren cevap.
+     */
+    public CompletableFuture<UploadPartResponse> uploadPart(
+            String bucketName, String region, String objectName, String uploadId, int partNumber,
+            byte[] data, int length) throws Exception {
+        return uploadPartAsync(bucketName, region, objectName, data, length, uploadId, partNumber, null, null);
+    }
+
+    /**
+     * Yüklenen parçaları tek bir nesnede birleştirerek upload'u tamamlar.
+     */
+    public CompletableFuture<ObjectWriteResponse> completeMultipartUpload(
+            String bucketName, String region, String objectName, String uploadId, Part[] parts) throws Exception {
+        return completeMultipartUploadAsync(bucketName, region, objectName, uploadId, parts, null, null);
+    }
+
+    /**
+     * Yarıda kalan bir upload'u iptal eder; o ana kadar yüklenen parçalar MinIO tarafından silinir.
+     */
+    public void abortMultipartUpload(String bucketName, String region, String objectName, String uploadId)
+            throws Exception {
+        abortMultipartUploadAsync(bucketName, region, objectName, uploadId, null, null).get();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.repmanager.storage;
+
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bu sınıf, MinIO üzerindeki bir nesneyi (object) Spring Resource olarak temsil eder.
+ * Nesnenin içeriği belleğe alınmaz; getInputStream çağrıldığında MinIO'dan gelen akış doğrudan döner
+ * ve HTTP cevabına parça parça (sabit boyutlu tampon ile) kopyalanır.
+ * Range isteklerinde Spring akışın başını skip ile atlar; bu atlama MinIO'ya offset'li bir GetObject isteği olarak
+ * iletildiği için atlanan byte'lar sunucudan hiç indirilmez.
+ */
+public class ObjectStorageResource extends AbstractResource {
+
+    private final MinioClient minioClient; // MinIO sunucusuyla iletişim kurmak için kullanılır.
+    private final String bucketName;       // Nesnenin bulunduğu bucket adı.
+    private final String objectName;       // Nesnenin bucket içindeki tam yolu (örnek: mypackage/1.0.0/package.rep).
+
+    private StatObjectResponse stat; // Nesnenin boyut ve tarih bilgileri; ilk ihtiyaç duyulduğunda bir kez okunur.
+
+    public ObjectStorageResource(MinioClient minioClient, String bucketName, String objectName) {
+        this.minioClient = minioClient;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+    }
+
+    /**
+     * MinIO'dan nesnenin içeriğini akış olarak açar. Akışı kapatmak çağıranın sorumluluğundadır.
+     * MinIO isteği ilk okuma anında yapılır; okumadan önce yapılan skip çağrıları isteğin başlangıç offset'ine eklenir.
+     *
+     * @return Nesnenin içeriğini okuyan InputStream.
+     */
+    @Override
+    public InputStream getInputStream() {
+        return new RangedObjectInputStream();
+    }
+
+    /**
+     * Nesnenin boyutunu MinIO'nun stat bilgisinden döner (içeriği okumadan).
+     */
+    @Override
+    public long contentLength() throws IOException {
+        return stat().size();
+    }
+
+    /**
+     * Nesnenin son değiştirilme zamanını milisaniye cinsinden döner.
+     */
+    @Override
+    public long lastModified() throws IOException {
+        return stat().lastModified().toInstant().toEpochMilli();
+    }
+
+    @Override
+    public boolean exists() {
+        try {
+            stat();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getFilename() {
+        return objectName.substring(objectName.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "MinIO object [" + bucketName + "/" + objectName + "]";
+    }
+
+    /**
+     * Nesnenin stat bilgisini MinIO'dan bir kez okur ve saklar.
+     */
+    private StatObjectResponse stat() throws IOException {
+        if (stat == null) {
+            try {
+                stat = minioClient.statObject(
+                        StatObjectArgs.builder()
+                                .bucket(bucketName)
+                                .object(objectName)
+                                .build()
+                );
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Object storage stat failed: " + objectName, e);
+            }
+        }
+        return stat;
+    }
+
+    /**
+     * MinIO nesnesini ilk okuma anında, o ana kadar atlanan byte sayısı kadar offset ile açan akış.
+     * Böylece Range isteklerinde yalnızca istenen aralık ve sonrası MinIO'dan çekilir.
+     */
+    private class RangedObjectInputStream extends InputStream {
+
+        private long offset;          // Okumaya başlanacak konum (ilk okumadan önce yapılan skip'lerin toplamı).
+        private InputStream delegate; // MinIO'dan dönen asıl akış; ilk okumada açılır.
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (delegate != null) {
+                return delegate.skip(n);
+            }
+            // Henüz istek yapılmadığı için atlama, MinIO isteğinin offset'ine eklenir; veri indirilmez.
+            long skipped = Math.max(0, n);
+            offset += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return open().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return open().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+
+        private InputStream open() throws IOException {
+            if (delegate == null) {
+                try {
+                    GetObjectArgs.Builder args = GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName);
+                    if (offset > 0) {
+                        args.offset(offset); // MinIO'ya yalnızca bu konumdan sonrasını göndermesini söyler.
+                    }
+                    delegate = minioClient.getObject(args.build());
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException("Object storage read failed: " + objectName, e);
+                }
+            }
+            return delegate;
+        }
+    }
+}
@@ -1,25 +1,63 @@
 package com.example.repmanager.storage;
 
-import io.minio.MinioClient;
-import io.minio.PutObjectArgs;
-import io.minio.GetObjectArgs;
 import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.http.Method;
+import io.minio.messages.Item;
+import io.minio.messages.Part;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Bu sınıf, MinIO kullanarak nesne tabanlı (object storage) dosya kaydetme ve okuma işlemlerini gerçekleştirir.
  * StorageService arayüzünü implemente eder.
+ * Büyük nesneler, boyutu ve eş zamanlılığı ayarlanabilen parçalar halinde paralel olarak yüklenir (multipart upload).
+ * MinIO ile iletişim, bağlantı havuzu ve zaman aşımları açıkça ayarlanmış tek bir HTTP istemcisi üzerinden yapılır.
  */
 @Service // Spring tarafından bir servis bileşeni (bean) olarak tanımlanır.
+@Lazy    // MinIO istemcisi yalnızca object-storage veya tiered stratejisi seçildiyse oluşturulur (bkz. StorageConfig).
+@Slf4j
 public class ObjectStorageService implements StorageService {
 
-    private MinioClient minioClient; // MinIO sunucusuyla iletişim kurmak için kullanılır.
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // S3/MinIO'nun izin verdiği en küçük parça boyutu (son parça hariç).
+
+    private MinioClient minioClient;                   // MinIO sunucusuyla iletişim kurmak için kullanılır.
+    private MultipartMinioClient multipartClient;     // Parçaları paralel yüklemek için kullanılan asenkron istemci.
+    private MinioClient presignClient;                 // İstemcilere verilen imzalı URL'leri public adres ile üretir.
+    private volatile boolean bucketReady;             // Bucket'ın var olduğu bir kez doğrulandıktan sonra true olur.
+    private final Lock bucketLock = new ReentrantLock();
 
     // MinIO bağlantı bilgileri application.properties dosyasından okunur.
     @Value("${minio.url}")
@@ -34,91 +72,321 @@ public class ObjectStorageService implements StorageService {
     @Value("${minio.bucketName}")
     private String bucketName;
 
+    // İstemcilerin MinIO'ya eriştiği adres (örn. https://cdn.example.com); boşsa minio.url kullanılır.
+    // İmza adresin host kısmını da kapsadığı için imzalı URL'ler doğrudan bu adres ile üretilir.
+    @Value("${minio.public-url:}")
+    private String publicUrl;
+
+    // Bölge bilgisi verildiğinde MinIO istemcisi her istekten önce bucket konumunu sorgulamaz.
+    @Value("${minio.region:us-east-1}")
+    private String region;
+
+    // Multipart upload ayarları.
+    @Value("${minio.upload.part-size:16MB}")
+    private DataSize partSize; // Her parçanın boyutu; bu boyuttan küçük nesneler tek istekle yüklenir.
+
+    @Value("${minio.upload.concurrency:4}")
+    private int uploadConcurrency; // Bir nesne için aynı anda yüklenen en fazla parça sayısı.
+
+    // HTTP bağlantı havuzu ve zaman aşımı ayarları.
+    @Value("${minio.http.max-idle-connections:32}")
+    private int maxIdleConnections;
+
+    @Value("${minio.http.keep-alive:5m}")
+    private Duration keepAlive;
+
+    @Value("${minio.http.max-requests:128}")
+    private int maxRequests;
+
+    @Value("${minio.http.max-requests-per-host:64}")
+    private int maxRequestsPerHost;
+
+    @Value("${minio.http.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    @Value("${minio.http.read-timeout:5m}")
+    private Duration readTimeout;
+
+    @Value("${minio.http.write-timeout:5m}")
+    private Duration writeTimeout;
+
     /**
      * Uygulama başlarken MinIO client'ı oluşturur.
      * @PostConstruct anotasyonu sayesinde Spring, bean oluşturulduğunda bu metodu otomatik çağırır.
+     * Senkron ve asenkron istemciler aynı HTTP istemcisini (ve dolayısıyla aynı bağlantı havuzunu) paylaşır.
      */
     @PostConstruct
     public void init() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .protocols(List.of(Protocol.HTTP_1_1))
+                .build();
+
         minioClient = MinioClient.builder()
                 .endpoint(minioUrl)
                 .credentials(accessKey, secretKey)
+                .region(region)
+                .httpClient(httpClient)
+                .build();
+
+        multipartClient = new MultipartMinioClient(MinioAsyncClient.builder()
+                .endpoint(minioUrl)
+                .credentials(accessKey, secretKey)
+                .region(region)
+                .httpClient(httpClient)
+                .build());
+
+        // Bölge verildiği için URL imzalanırken MinIO'ya istek atılmaz.
+        presignClient = publicUrl == null || publicUrl.isBlank() ? minioClient : MinioClient.builder()
+                .endpoint(publicUrl)
+                .credentials(accessKey, secretKey)
+                .region(region)
+                .httpClient(httpClient)
                 .build();
     }
 
     /**
-     * Gelen dosyayı (package.rep veya meta.json) MinIO object storage'a kaydeder.
+     * Bucket'ın var olduğunu doğrular, yoksa oluşturur. Kontrol yalnızca bir kez yapılır ve sonucu saklanır.
+     * object-storage stratejisi seçildiğinde uygulama başlarken StorageConfig tarafından çağrılır.
+     */
+    public void ensureBucket() {
+        if (bucketReady) {
+            return;
+        }
+        bucketLock.lock(); // synchronized yerine kilit: ağ çağrısı sırasında virtual thread taşıyıcıya sabitlenmez.
+        try {
+            if (bucketReady) {
+                return;
+            }
+            try {
+                // Bucket'ın var olup olmadığını kontrol eder.
+                boolean bucketExists = minioClient.bucketExists(
+                        BucketExistsArgs.builder()
+                                .bucket(bucketName)
+                                .build()
+                );
+
+                // Eğer bucket yoksa, yeni bir bucket oluşturur.
+                if (!bucketExists) {
+                    minioClient.makeBucket(
+                            MakeBucketArgs.builder()
+                                    .bucket(bucketName)
+                                    .build()
+                    );
+                }
+                bucketReady = true;
+            } catch (Exception e) {
+                throw new RuntimeException("Object storage bucket check failed", e);
+            }
+        } finally {
+            bucketLock.unlock();
+        }
+    }
+
+    /**
+     * Gelen içeriği verilen anahtar altında MinIO object storage'a akış halinde kaydeder.
+     * MinIO'da bir nesne ancak yükleme tamamlandığında görünür hale geldiği için kayıt atomiktir.
+     * Parça boyutundan büyük nesneler paralel multipart upload ile yüklenir.
      *
-     * @param packageName Paketin adını belirtir.
-     * @param version Paketin versiyonunu belirtir.
-     * @param fileName Kaydedilecek dosyanın adını belirtir.
-     * @param file MultipartFile nesnesi (yüklenecek dosya).
+     * @param key Kaydedilecek nesnenin anahtarıdır (örnek: mypackage/1.0.0/package.rep).
+     * @param content Yüklenecek içeriği okuyan akıştır.
+     * @param size İçeriğin byte cinsinden boyutudur.
      * @return Kaydedilen nesnenin adı (object name).
      */
     @Override
-    public String saveFile(String packageName, String version, String fileName, MultipartFile file) {
+    public String saveObject(String key, InputStream content, long size) {
+        ensureBucket(); // Başlangıçta doğrulandıysa yalnızca bir alan okumasıdır.
         try {
-            // Dosyanın MinIO içindeki tam yolunu oluşturur (örnek: mypackage/1.0.0/meta.json).
-            String objectName = packageName + "/" + version + "/" + fileName;
-
-            // Bucket'ın var olup olmadığını kontrol eder.
-            boolean bucketExists = minioClient.bucketExists(
-                    BucketExistsArgs.builder()
-                            .bucket(bucketName)
-                            .build()
-            );
-
-            // Eğer bucket yoksa, yeni bir bucket oluşturur.
-            if (!bucketExists) {
-                minioClient.makeBucket(
-                        MakeBucketArgs.builder()
+            if (size >= 0 && size <= effectivePartSize()) {
+                // Küçük nesneleri tek bir istekle yükler.
+                minioClient.putObject(
+                        PutObjectArgs.builder()
                                 .bucket(bucketName)
+                                .object(key)
+                                .stream(content, size, -1) // Dosyayı input stream olarak gönderir.
+                                .contentType("application/octet-stream") // İçerik türünü (MIME type) belirtir.
                                 .build()
                 );
+            } else {
+                putMultipart(key, content);
             }
 
-            // Dosyayı belirtilen bucket ve nesne adı ile MinIO'ya yükler.
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(bucketName)
-                            .object(objectName)
-                            .stream(file.getInputStream(), file.getSize(), -1) // Dosyayı input stream olarak gönderir.
-                            .contentType(file.getContentType()) // İçerik türünü (MIME type) belirtir.
-                            .build()
-            );
-
-            return objectName; // Başarılı kayıttan sonra nesnenin yolunu döner.
+            return key; // Başarılı kayıttan sonra nesnenin yolunu döner.
         } catch (Exception e) {
             throw new RuntimeException("Object storage save failed", e); // Hata olursa özel bir RuntimeException fırlatır.
         }
     }
 
     /**
-     * Belirtilen nesneyi (object) MinIO üzerinden okur ve içeriğini byte[] olarak döner.
+     * İçeriği parça boyutunda dilimler halinde okur ve parçaları paralel olarak yükler.
+     * Aynı anda en fazla "concurrency" kadar parça bellekte tutulur; yani bellek kullanımı
+     * nesne boyutundan bağımsız olarak partSize * concurrency ile sınırlıdır.
+     * Herhangi bir parça başarısız olursa upload iptal edilir ve MinIO yüklenen parçaları siler.
+     */
+    private void putMultipart(String key, InputStream content) throws Exception {
+        String uploadId = multipartClient.createMultipartUpload(bucketName, region, key).get().result().uploadId();
+        int partLength = (int) effectivePartSize();
+        Semaphore permits = new Semaphore(uploadConcurrency);
+        List<CompletableFuture<Part>> parts = new ArrayList<>();
+
+        try {
+            int partNumber = 1;
+            while (true) {
+                permits.acquire(); // Boşta bir yükleme yuvası olana kadar bir sonraki parçayı okumaz.
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    permits.release();
+                    break; // Bir parça başarısız olduysa okumaya devam etmenin anlamı yoktur.
+                }
+
+                byte[] buffer = new byte[partLength];
+                int length = content.readNBytes(buffer, 0, partLength);
+                if (length == 0 && partNumber > 1) {
+                    permits.release();
+                    break;
+                }
+
+                int number = partNumber++;
+                parts.add(multipartClient.uploadPart(bucketName, region, key, uploadId, number, buffer, length)
+                        .thenApply(response -> new Part(number, response.etag()))
+                        .whenComplete((part, error) -> permits.release()));
+
+                if (length < partLength) {
+                    break; // Son parça okundu.
+                }
+            }
+
+            Part[] completed = new Part[parts.size()];
+            for (int i = 0; i < completed.length; i++) {
+                completed[i] = parts.get(i).get(); // Başarısız bir parça varsa burada istisna fırlatılır.
+            }
+            multipartClient.completeMultipartUpload(bucketName, region, key, uploadId, completed).get();
+        } catch (Exception e) {
+            try {
+                multipartClient.abortMultipartUpload(bucketName, region, key, uploadId);
+            } catch (Exception abortError) {
+                log.warn("Could not abort multipart upload {} for {}", uploadId, key, abortError);
+            }
+            throw e;
+        }
+    }
+
+    private long effectivePartSize() {
+        return Math.max(MIN_PART_SIZE, Math.min(partSize.toBytes(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Belirtilen nesneyi belleğe almadan, akış olarak okunabilecek bir Resource şeklinde döner.
+     * Nesnenin var olup olmadığı burada kontrol edilir; içerik ise ancak Resource okunduğunda MinIO'dan çekilir
+     * ve HTTP cevabına doğrudan aktarılır.
      *
-     * @param packageName Paketin adını belirtir.
-     * @param version Paketin versiyonunu belirtir.
-     * @param fileName Okunacak dosyanın adını belirtir.
-     * @return Dosya içeriğini byte dizisi (byte[]) olarak döner.
+     * @param key Okunacak nesnenin anahtarıdır.
+     * @return MinIO nesnesini temsil eden ObjectStorageResource nesnesini döner.
      */
     @Override
-    public byte[] readFile(String packageName, String version, String fileName) {
-        try {
-            // Okunacak nesnenin tam yolunu oluşturur.
-            String objectName = packageName + "/" + version + "/" + fileName;
+    public Resource loadObject(String key) {
+        ObjectStorageResource resource = new ObjectStorageResource(minioClient, bucketName, key);
+        if (!resource.exists()) {
+            throw new RuntimeException("Object storage read failed");
+        }
+        return resource;
+    }
 
-            // MinIO'dan nesneyi okur (InputStream olarak).
-            InputStream inputStream = minioClient.getObject(
+    /**
+     * Nesnenin yalnızca istenen aralığını offset ve length içeren tek bir GetObject isteği ile (HTTP Range) indirir.
+     */
+    @Override
+    public InputStream openRange(String key, long offset, long length) {
+        try {
+            return minioClient.getObject(
                     GetObjectArgs.builder()
                             .bucket(bucketName)
-                            .object(objectName)
+                            .object(key)
+                            .offset(offset)
+                            .length(length)
                             .build()
             );
+        } catch (Exception e) {
+            throw new RuntimeException("Object storage read failed", e);
+        }
+    }
 
-            // Okunan veriyi byte[] formatında döner.
-            return inputStream.readAllBytes();
+    /**
+     * Nesne için GET isteğine izin veren, expiry süresince geçerli bir imzalı (SigV4) URL üretir.
+     * Cevap başlıkları S3'ün response-* sorgu parametreleri ile verilir ve imzaya dahildir; istemci bunları değiştiremez.
+     */
+    @Override
+    public URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        Map<String, String> queryParams = new HashMap<>();
+        responseHeaders.forEach((name, value) -> queryParams.put("response-" + name.toLowerCase(Locale.ROOT), value));
+        try {
+            return URI.create(presignClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(Method.GET)
+                            .bucket(bucketName)
+                            .object(key)
+                            .expiry((int) expiry.toSeconds())
+                            .extraQueryParams(queryParams)
+                            .build()
+            ));
+        } catch (Exception e) {
+            throw new RuntimeException("Object storage presign failed", e);
+        }
+    }
+
+    /**
+     * Bucket'taki nesneleri sayfa sayfa (ListObjectsV2) listeler; tamamlanmamış multipart yüklemeler listelenmez.
+     */
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        Iterable<Result<Item>> results = minioClient.listObjects(
+                ListObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .recursive(true)
+                        .build()
+        );
+        for (Result<Item> result : results) {
+            Item item;
+            try {
+                item = result.get();
+            } catch (Exception e) {
+                throw new RuntimeException("Object storage list failed", e);
+            }
+            if (!item.isDir()) {
+                action.accept(new StoredObject(item.objectName(), item.size(), item.lastModified().toInstant()));
+            }
+        }
+    }
+
+    /**
+     * Verilen anahtarda bir nesne olup olmadığını MinIO'nun stat bilgisi ile kontrol eder.
+     */
+    @Override
+    public boolean objectExists(String key) {
+        return new ObjectStorageResource(minioClient, bucketName, key).exists();
+    }
+
+    /**
+     * Verilen anahtardaki nesneyi MinIO'dan siler. MinIO, olmayan bir nesnenin silinmesini hata saymaz.
+     */
+    @Override
+    public void deleteObject(String key) {
+        try {
+            minioClient.removeObject(
+                    RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(key)
+                            .build()
+            );
         } catch (Exception e) {
-            throw new RuntimeException("Object storage read failed", e); // Hata durumunda özel bir RuntimeException fırlatır.
+            throw new RuntimeException("Object storage delete failed", e);
         }
     }
 }
@@ -0,0 +1,145 @@
+package com.example.repmanager.storage;
+
+import com.example.repmanager.core.util.HashingInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bu sınıf, storage'a yazılacak dosyaların sıkıştırılmış (gzip) olarak saklanıp saklanmayacağına karar verir.
+ * Her dosya yüklenirken bir kez sıkıştırılır ve sıkıştırma oranı ölçülür: sıkıştırılmış boyut ham boyutun
+ * max-ratio katı veya daha azıysa dosya sıkıştırılmış, değilse (örneğin zaten zip olan bir package.rep) ham haliyle saklanır.
+ * Sıkıştırılmış dosyalar, gzip kabul eden istemcilere olduğu gibi gönderilir; böylece her istekte yeniden sıkıştırma yapılmaz.
+ */
+@Component
+public class StorageCompressor {
+
+    public static final String GZIP = "gzip"; // Saklama kodlamasının adı; HTTP Content-Encoding değeri ile aynıdır.
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final boolean enabled;   // false ise dosyalar her zaman ham haliyle saklanır.
+    private final long minSize;      // Bu boyuttan küçük dosyalar sıkıştırılmaz (gzip başlığı kazançtan büyük olabilir).
+    private final double maxRatio;   // Sıkıştırılmış / ham boyut oranının üst sınırı.
+    private final int level;         // Deflate sıkıştırma seviyesi (1-9); sıkıştırma yükleme başına bir kez yapılır.
+
+    public StorageCompressor(@Value("${storage.compression.enabled:false}") boolean enabled,
+                             @Value("${storage.compression.min-size:1KB}") DataSize minSize,
+                             @Value("${storage.compression.max-ratio:0.9}") double maxRatio,
+                             @Value("${storage.compression.level:6}") int level) {
+        this.enabled = enabled;
+        this.minSize = minSize.toBytes();
+        this.maxRatio = maxRatio;
+        this.level = level;
+    }
+
+    /**
+     * Dosyaları her zaman ham haliyle saklayan bir örnek döner.
+     */
+    public static StorageCompressor disabled() {
+        return new StorageCompressor(false, DataSize.ofBytes(0), 1, 6);
+    }
+
+    /**
+     * Bellekteki küçük bir içeriği (meta.json) saklama için kodlar.
+     *
+     * @param content Ham içerik.
+     * @return Sıkıştırma yeterli kazanç sağlıyorsa gzip, sağlamıyorsa ham içerik.
+     */
+    public EncodedContent encode(byte[] content) {
+        if (!enabled || content.length < minSize) {
+            return EncodedContent.identity(new ByteArrayResource(content), content.length);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (OutputStream gzip = gzip(buffer)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not compress content", e);
+        }
+        if (!worthIt(buffer.size(), content.length)) {
+            return EncodedContent.identity(new ByteArrayResource(content), content.length);
+        }
+        return new EncodedContent(new ByteArrayResource(buffer.toByteArray()), buffer.size(), GZIP, null,
+                content.length, null);
+    }
+
+    /**
+     * Akış halindeki bir içeriği (package.rep) saklama için kodlar. İçerik geçici bir dosyaya sıkıştırılır;
+     * aynı geçişte ham içeriğin SHA-256 özeti ve boyutu da hesaplanır.
+     * Sıkıştırma denenmediyse (kapalı veya dosya çok küçük) içerik hiç okunmaz ve özet null döner.
+     *
+     * @param content Ham içeriğin kaynağı; sıkıştırma yeterli kazanç sağlamazsa bu kaynak olduğu gibi döner.
+     * @param size Ham içeriğin byte cinsinden boyutu.
+     * @return Kodlanmış içerik; kullanıldıktan sonra geçici dosyanın silinmesi için kapatılmalıdır.
+     */
+    public EncodedContent encode(InputStreamSource content, long size) {
+        if (!enabled || size < minSize) {
+            return EncodedContent.identity(content, size);
+        }
+
+        Path temp = null;
+        try {
+            temp = Files.createTempFile("repmanager-", ".gz");
+            HashingInputStream hashing;
+            try (InputStream inputStream = content.getInputStream();
+                 OutputStream gzip = gzip(Files.newOutputStream(temp))) {
+                hashing = new HashingInputStream(inputStream);
+                hashing.transferTo(gzip);
+            }
+            long compressed = Files.size(temp);
+            if (worthIt(compressed, hashing.getBytesRead())) {
+                return new EncodedContent(new FileSystemResource(temp), compressed, GZIP, hashing.getDigestHex(),
+                        hashing.getBytesRead(), temp);
+            }
+            Files.deleteIfExists(temp);
+            return EncodedContent.identity(content, hashing.getBytesRead())
+                    .withDigest(hashing.getDigestHex(), hashing.getBytesRead());
+        } catch (IOException e) {
+            if (temp != null) {
+                temp.toFile().delete(); // Yarım kalan geçici dosya silinir.
+            }
+            throw new RuntimeException("Could not compress content", e);
+        }
+    }
+
+    /**
+     * Storage'dan okunan bir dosyayı saklama kodlamasına göre ham içerik olarak döner.
+     *
+     * @param stored Storage'daki içerik.
+     * @param encoding Kayıtta tutulan saklama kodlaması; ham saklanıyorsa null.
+     * @param rawSize Ham içeriğin byte cinsinden boyutu; bilinmiyorsa -1.
+     */
+    public static Resource decode(Resource stored, String encoding, long rawSize) {
+        if (encoding == null) {
+            return stored;
+        }
+        if (GZIP.equals(encoding)) {
+            return new GzipDecodingResource(stored, rawSize);
+        }
+        throw new RuntimeException("Unsupported storage encoding: " + encoding);
+    }
+
+    private boolean worthIt(long compressed, long raw) {
+        return raw > 0 && compressed <= raw * maxRatio;
+    }
+
+    private OutputStream gzip(OutputStream outputStream) throws IOException {
+        return new GZIPOutputStream(outputStream, BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+}
@@ -1,31 +1,186 @@
 package com.example.repmanager.storage;
 
-import org.springframework.web.multipart.MultipartFile;
+import com.example.repmanager.core.util.BoundedInputStream;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Bu arayüz, farklı depolama (storage) stratejileri için temel operasyonları tanımlar.
  * Dosya kaydetme ve dosya okuma işlemleri için standart bir yapı sunar.
+ * Tüm stratejiler içerikleri bir anahtar (key) altında saklar; paket dosyaları "paket/versiyon/dosya" anahtarını,
+ * içerik adresli (content-addressed) blob'lar ise "blobs/ab/&lt;sha256&gt;" anahtarını kullanır.
  */
 public interface StorageService {
 
+    /**
+     * Verilen anahtar altına içeriği kaydeder.
+     * İçerik akış halinde ve sabit boyutlu tamponlarla yazılır; dosyanın tamamı belleğe alınmaz.
+     * Kayıt atomiktir: yazma yarıda kalırsa hedef konumda eksik bir dosya görünmez.
+     *
+     * @param key Kaydedilecek nesnenin anahtarıdır (örnek: mypackage/1.0.0/package.rep).
+     * @param content Kaydedilecek içeriği okuyan akıştır (bu metod tarafından kapatılmaz).
+     * @param size İçeriğin byte cinsinden boyutudur.
+     * @return Kaydedilen dosyanın yolu veya nesne adı (storage stratejisine göre değişir).
+     */
+    String saveObject(String key, InputStream content, long size);
+
+    /**
+     * Verilen anahtardaki içeriği belleğe almadan, akış olarak okunabilecek bir Resource şeklinde döner.
+     * Büyük dosyalar (örneğin 200 MB'lık package.rep) bu metod ile heap'e yüklenmeden istemciye aktarılır.
+     *
+     * @param key Okunacak nesnenin anahtarıdır.
+     * @return Nesneye erişim sağlayan Resource nesnesini döner (içerik ancak okunduğunda storage'dan çekilir).
+     */
+    Resource loadObject(String key);
+
+    /**
+     * Verilen anahtardaki nesnenin yalnızca [offset, offset + length) aralığını akış olarak okur.
+     * Varsayılan implementasyon nesneyi açıp başını atlar (dosya sisteminde bu bir seek işlemidir);
+     * uzak backend'ler yalnızca istenen aralığı indiren bir istek ile bunu ezer (override).
+     *
+     * @param key Okunacak nesnenin anahtarıdır.
+     * @param offset Okumaya başlanacak byte konumu.
+     * @param length Okunacak en fazla byte sayısı.
+     * @return Aralığın içeriğini okuyan akış; kapatmak çağıranın sorumluluğundadır.
+     */
+    default InputStream openRange(String key, long offset, long length) {
+        InputStream in = null;
+        try {
+            in = loadObject(key).getInputStream();
+            in.skipNBytes(offset);
+            return new BoundedInputStream(in, length);
+        } catch (IOException e) {
+            closeQuietly(in);
+            throw new RuntimeException("Could not read file: " + key, e);
+        }
+    }
+
+    /**
+     * Nesneyi, önbellek katmanlarını atlayarak ve onları doldurmadan doğrudan kalıcı backend'den okur.
+     * Bütünlük taraması (bkz. ScrubService) önbellekteki kopyayı değil, backend'deki asıl içeriği kontrol eder.
+     *
+     * @param key Okunacak nesnenin anahtarıdır.
+     * @return Nesnenin storage'daki byte'larını okuyan akış; kapatmak çağıranın sorumluluğundadır.
+     */
+    default InputStream openUncached(String key) {
+        try {
+            return loadObject(key).getInputStream();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + key, e);
+        }
+    }
+
+    /**
+     * Nesneyi uygulama sunucusundan geçmeden indirmek için kısa ömürlü, imzalı (pre-signed) bir URL üretir.
+     * İstemci bu adrese yönlendirilir ve byte'ları doğrudan backend'den alır. URL yerel olarak imzalanır; backend'e istek atılmaz.
+     * Nesnenin var olup olmadığı kontrol edilmez. URL üretemeyen stratejiler (örneğin file-system) null döner.
+     *
+     * @param key İndirilecek nesnenin anahtarıdır.
+     * @param expiry URL'in geçerlilik süresi.
+     * @param responseHeaders Backend'in cevapta kullanacağı başlıklar (Content-Type, Content-Encoding gibi).
+     * @return İmzalı URL; strateji desteklemiyorsa null.
+     */
+    default URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        return null;
+    }
+
+    /**
+     * Storage'daki tüm nesneleri, backend'den geldikçe verilen fonksiyona iletir; liste belleğe toplanmaz.
+     * Yazılmakta olan geçici dosyalar listelenmez. Listeleme desteklemeyen stratejiler UnsupportedOperationException fırlatır.
+     *
+     * @param action Her nesne için çağrılacak fonksiyon.
+     */
+    default void listObjects(Consumer<StoredObject> action) {
+        throw new UnsupportedOperationException("Listing is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Verilen anahtarda bir nesne olup olmadığını kontrol eder.
+     *
+     * @param key Kontrol edilecek nesnenin anahtarıdır.
+     * @return Nesne varsa true döner.
+     */
+    boolean objectExists(String key);
+
+    /**
+     * Verilen anahtardaki nesneyi siler. Nesne yoksa hata fırlatmaz.
+     *
+     * @param key Silinecek nesnenin anahtarıdır.
+     */
+    void deleteObject(String key);
+
     /**
      * Bir dosyayı verilen paket adı, versiyon ve dosya adı bilgilerine göre kaydeder.
      *
      * @param packageName Paketin adını belirtir.
      * @param version Paketin versiyonunu belirtir.
      * @param fileName Kaydedilecek dosyanın adını belirtir.
-     * @param file Kaydedilecek MultipartFile nesnesidir.
+     * @param content Kaydedilecek içeriği okuyan akıştır (bu metod tarafından kapatılmaz).
+     * @param size İçeriğin byte cinsinden boyutudur.
      * @return Kaydedilen dosyanın yolu veya nesne adı (storage stratejisine göre değişir).
      */
-    String saveFile(String packageName, String version, String fileName, MultipartFile file);
+    default String saveFile(String packageName, String version, String fileName, InputStream content, long size) {
+        return saveObject(fileKey(packageName, version, fileName), content, size);
+    }
 
     /**
      * Verilen paket adı, versiyon ve dosya adına göre bir dosyayı okur ve içeriğini döner.
+     * Yalnızca küçük dosyalar (örneğin meta.json) için kullanılmalıdır; büyük dosyalar için loadFile tercih edilmelidir.
      *
      * @param packageName Paketin adını belirtir.
      * @param version Paketin versiyonunu belirtir.
      * @param fileName Okunacak dosyanın adını belirtir.
      * @return Dosya içeriğini byte dizisi (byte[]) olarak döner.
      */
-    byte[] readFile(String packageName, String version, String fileName);
+    default byte[] readFile(String packageName, String version, String fileName) {
+        try (InputStream inputStream = loadFile(packageName, version, fileName).getInputStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + fileName, e);
+        }
+    }
+
+    /**
+     * Verilen paket adı, versiyon ve dosya adına göre bir dosyayı akış olarak okunabilecek bir Resource şeklinde döner.
+     *
+     * @param packageName Paketin adını belirtir.
+     * @param version Paketin versiyonunu belirtir.
+     * @param fileName Okunacak dosyanın adını belirtir.
+     * @return Dosyaya erişim sağlayan Resource nesnesini döner.
+     */
+    default Resource loadFile(String packageName, String version, String fileName) {
+        return loadObject(fileKey(packageName, version, fileName));
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // Asıl hata çağırana iletilir.
+            }
+        }
+    }
+
+    /**
+     * Bir paket dosyasının storage anahtarını üretir (örnek: mypackage/1.0.0/package.rep).
+     */
+    static String fileKey(String packageName, String version, String fileName) {
+        return packageName + "/" + version + "/" + fileName;
+    }
+
+    /**
+     * İçerik adresli bir blob'un storage anahtarını üretir (örnek: blobs/ab/ab12...).
+     * İlk iki karakterlik alt klasör, tek bir klasörde çok fazla dosya birikmesini önler.
+     * Versiyon formatı (1.0.0) iki karakterlik bir klasör adı ile eşleşemeyeceği için paket anahtarlarıyla çakışmaz.
+     */
+    static String blobKey(String digest) {
+        return "blobs/" + digest.substring(0, 2) + "/" + digest;
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.repmanager.storage;
+
+import java.time.Instant;
+
+/**
+ * Storage listelemesinde dönen bir nesnenin bilgileri.
+ *
+ * @param key Nesnenin anahtarı (örn. mypackage/1.0.0/package.rep veya blobs/ab/ab12...).
+ * @param size Nesnenin storage'daki byte cinsinden boyutu.
+ * @param lastModified Nesnenin son yazıldığı zaman.
+ */
+public record StoredObject(String key, long size, Instant lastModified) {
+}
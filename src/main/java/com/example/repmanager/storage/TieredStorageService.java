@@ -0,0 +1,531 @@
+package com.example.repmanager.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Bu sınıf, nesne tabanlı storage'ın (soğuk katman, asıl kaynak) önüne yerel diskte boyutu sınırlı bir sıcak katman koyar.
+ * Yazma ve silme işlemleri her zaman soğuk katmana yapılır; yerel kopya yalnızca geçersiz kılınır.
+ * Yerel diskte olmayan bir nesne istendiğinde istek soğuk katmandan sunulur; istemciye giden akış aynı anda yerel diske de
+ * yazılır (soğuk katmandan ikinci bir okuma yapılmaz). Sonraki indirmeler yerel disk gecikmesiyle yapılır.
+ * Yerel kopyanın dosyası loadObject içinde açılır; dosya kota nedeniyle silinse bile açık dosya okunmaya devam eder.
+ * Yerel katmanın indeksi Caffeine (W-TinyLFU: hem yakın zamanda hem sık kullanılanları tutar) ile disk kotasına göre
+ * sınırlandırılır; indeksten çıkarılan nesnenin dosyası silinir.
+ * Uygulama yeniden başladığında yerel klasör taranarak indeks yeniden oluşturulur; böylece disk üzerindeki kopyalar kaybolmaz.
+ */
+@Slf4j
+public class TieredStorageService implements StorageService {
+
+    private static final String TEMP_SUFFIX = ".part"; // Yarıda kalmış kopyaların uzantısı; yeniden indekslemede silinir.
+
+    private final StorageService coldTier;       // Asıl kaynak olan storage (MinIO).
+    private final Path cacheDir;                 // Yerel kopyaların tutulduğu klasör.
+    private final long maxEntrySize;             // Bu boyuttan büyük nesneler yerel diske kopyalanmaz.
+    private final Cache<String, Long> index;     // Anahtar -> yerel kopyanın byte cinsinden boyutu.
+    private final Map<String, Object> filling = new ConcurrentHashMap<>(); // Kopyalanmakta olan anahtarlar.
+
+    /**
+     * @param coldTier Asıl kaynak olan storage servisi.
+     * @param cacheDir Yerel kopyaların tutulacağı klasör.
+     * @param maxSize Yerel kopyaların toplam boyutunun byte cinsinden üst sınırı (disk kotası).
+     * @param maxEntrySize Yerel diske kopyalanabilecek tek bir nesnenin byte cinsinden üst sınırı.
+     * @param executor Kotadan çıkarılan yerel kopyaların silindiği havuz.
+     * @param meterRegistry İsabet, kaçırma ve çıkarma istatistiklerinin yayınlanacağı registry ("storage-tier").
+     */
+    public TieredStorageService(StorageService coldTier, Path cacheDir, long maxSize, long maxEntrySize,
+                                Executor executor, MeterRegistry meterRegistry) {
+        this.coldTier = coldTier;
+        this.cacheDir = cacheDir.toAbsolutePath().normalize();
+        this.maxEntrySize = Math.min(maxEntrySize, maxSize);
+        // Ağırlık KB cinsindendir; böylece 2 GB'tan büyük dosyalar da int ağırlığa sığar.
+        this.index = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, maxSize / 1024))
+                .weigher((String key, Long size) -> (int) Math.min(Integer.MAX_VALUE, (size + 1023) / 1024))
+                .evictionListener((String key, Long size, RemovalCause cause) ->
+                        deleteQuietly(localPath(key)))
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, index, "storage-tier");
+        Gauge.builder("storage.tier.bytes", index, cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0) * 1024.0).orElse(0.0))
+                .description("Approximate size of the local disk tier")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        reindex();
+    }
+
+    /**
+     * Nesneyi soğuk katmana yazar ve aynı anahtarın eski yerel kopyasını siler.
+     */
+    @Override
+    public String saveObject(String key, InputStream content, long size) {
+        String path = coldTier.saveObject(key, content, size);
+        invalidate(key);
+        return path;
+    }
+
+    /**
+     * Nesnenin yerel kopyası varsa doğrudan diskten sunulur. Yoksa istek soğuk katmandan sunulur ve
+     * istemciye giden akış aynı anda yerel diske de yazılır.
+     */
+    @Override
+    public Resource loadObject(String key) {
+        if (index.getIfPresent(key) != null) {
+            try {
+                // Dosya burada açılır; bu andan sonra kotadan çıkarılıp silinse bile açık kanal okunabilir.
+                return new LocalResource(key, FileChannel.open(localPath(key), StandardOpenOption.READ));
+            } catch (NoSuchFileException e) {
+                index.invalidate(key); // Dosya bu arada çıkarılmış veya dışarıdan silinmiş; indeks düzeltilir.
+            } catch (IOException e) {
+                log.warn("Could not open {} in the local storage tier", key, e);
+            }
+        }
+        return new FillingResource(key, coldTier.loadObject(key));
+    }
+
+    /**
+     * Nesne yerel diskteyse aralık yerel dosyadan (seek ile), değilse doğrudan soğuk katmandan okunur.
+     * Aralık okumaları yerel diske kopyalama başlatmaz.
+     */
+    @Override
+    public InputStream openRange(String key, long offset, long length) {
+        if (index.getIfPresent(key) != null) {
+            Path local = localPath(key);
+            if (Files.isRegularFile(local)) {
+                return StorageService.super.openRange(key, offset, length);
+            }
+        }
+        return coldTier.openRange(key, offset, length);
+    }
+
+    /**
+     * Soğuk katman asıl kaynak olduğu için doğrudan okuma ve listeleme oraya yönlendirilir; yerel kopyalar birer önbellektir.
+     */
+    @Override
+    public InputStream openUncached(String key) {
+        return coldTier.openUncached(key);
+    }
+
+    /**
+     * İstemci yönlendirildiğinde yerel kopya kullanılamaz; URL soğuk katmanın (nesne storage'ı) imzalı adresidir.
+     */
+    @Override
+    public URI presignedUrl(String key, Duration expiry, Map<String, String> responseHeaders) {
+        return coldTier.presignedUrl(key, expiry, responseHeaders);
+    }
+
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        coldTier.listObjects(action);
+    }
+
+    @Override
+    public boolean objectExists(String key) {
+        return index.asMap().containsKey(key) || coldTier.objectExists(key);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        coldTier.deleteObject(key);
+        invalidate(key);
+    }
+
+    /**
+     * Tamamı okunmuş bir kopyayı yerel katmanda yayınlar.
+     * Yayınlama, aynı anahtarın geçersiz kılınması ve çıkarılması ile aynı kilit altında yapılır;
+     * kopyalama sırasında nesne değiştiyse (token silindiyse) eski içerik yayınlanmaz.
+     */
+    private void publish(String key, Path temp, long size, Object token) {
+        try {
+            index.asMap().compute(key, (k, existing) -> {
+                if (!filling.remove(k, token)) {
+                    return existing;
+                }
+                try {
+                    Files.move(temp, localPath(k), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return size;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not copy {} to the local storage tier", key, e);
+        }
+    }
+
+    /**
+     * Anahtarın yerel kopyasını siler ve devam eden bir kopyalamanın sonucunu yayınlamasını engeller.
+     */
+    private void invalidate(String key) {
+        filling.remove(key);
+        index.asMap().compute(key, (k, existing) -> {
+            deleteQuietly(localPath(k));
+            return null;
+        });
+    }
+
+    /**
+     * Yerel klasördeki dosyalardan indeksi yeniden oluşturur. Yarıda kalmış kopyalar silinir.
+     * Dosyalar son değişiklik zamanına göre eskiden yeniye eklenir; kota aşılırsa fazlası çıkarılır.
+     */
+    private void reindex() {
+        try {
+            Files.createDirectories(cacheDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create storage tier directory: " + cacheDir, e);
+        }
+
+        List<Map.Entry<Path, BasicFileAttributes>> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(cacheDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(path);
+                } else {
+                    files.add(Map.entry(path, attributes));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not index storage tier directory: " + cacheDir, e);
+        }
+
+        files.sort(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()));
+        for (Map.Entry<Path, BasicFileAttributes> file : files) {
+            String key = cacheDir.relativize(file.getKey()).toString().replace(file.getKey().getFileSystem().getSeparator(), "/");
+            index.put(key, file.getValue().size());
+        }
+        if (!files.isEmpty()) {
+            log.info("Indexed {} files in the local storage tier {}", files.size(), cacheDir);
+        }
+    }
+
+    /**
+     * Anahtarı yerel klasör altındaki bir dosya yoluna çevirir; klasörün dışına çıkılmasını engeller.
+     */
+    private Path localPath(String key) {
+        Path path = cacheDir.resolve(key).normalize();
+        if (!path.startsWith(cacheDir) || path.equals(cacheDir)) {
+            throw new RuntimeException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
+    /**
+     * Yerel katmandaki bir kopyayı, loadObject içinde açılmış kanal üzerinden sunar.
+     * İlk getInputStream çağrısı açık kanalı kullanır ve akış kapatılınca kanalı kapatır. Sonraki çağrılar
+     * (çok aralıklı Range istekleri) dosyayı yeniden açar; dosya bu arada silinmişse soğuk katmandan okunur.
+     * Hiç okunmayan bir kaynağın (HEAD isteği) kanalı, kaynağa referans kalmadığında JVM tarafından kapatılır.
+     */
+    private final class LocalResource extends AbstractResource {
+
+        private final String key;
+        private final long size;
+        private FileChannel channel; // İlk okumaya kadar açık tutulan kanal; devredildikten sonra null.
+
+        private LocalResource(String key, FileChannel channel) throws IOException {
+            this.key = key;
+            this.channel = channel;
+            try {
+                this.size = channel.size();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (channel != null) {
+                FileChannel opened = channel;
+                channel = null;
+                return new ChannelInputStream(opened);
+            }
+            try {
+                return new ChannelInputStream(FileChannel.open(localPath(key), StandardOpenOption.READ));
+            } catch (NoSuchFileException e) {
+                return coldTier.loadObject(key).getInputStream();
+            }
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getFilename() {
+            return key.substring(key.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Local tier copy [" + key + "]";
+        }
+    }
+
+    /**
+     * Bir FileChannel'ı okuyan ve kapatıldığında kanalı da kapatan akış. Range isteklerinde atlama, yalnızca konumu ilerletir.
+     */
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+
+        private ChannelInputStream(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int read = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, channel.size() - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Soğuk katmandan sunulan bir nesne. Akış baştan sona okunduğunda okunan byte'lar aynı anda yerel diske yazılır;
+     * böylece kaçırılan bir istek soğuk katmandan yalnızca bir kez okunur. Aynı anahtar için aynı anda yalnızca bir
+     * akış kopyalama yapar; boyutu bilinmeyen veya sınırdan büyük nesneler ve aralık okumaları kopyalanmaz.
+     */
+    private final class FillingResource extends AbstractResource {
+
+        private final String key;
+        private final Resource cold;
+
+        private FillingResource(String key, Resource cold) {
+            this.key = key;
+            this.cold = cold;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            InputStream inputStream = cold.getInputStream();
+            long size;
+            try {
+                size = cold.contentLength();
+            } catch (IOException e) {
+                return inputStream; // Boyutu bilinmeyen nesneler yerel diske alınmaz.
+            }
+            Object token = new Object();
+            if (size > maxEntrySize || filling.putIfAbsent(key, token) != null) {
+                return inputStream;
+            }
+
+            Path temp = null;
+            try {
+                Path target = localPath(key);
+                Files.createDirectories(target.getParent());
+                temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_SUFFIX);
+                return new FillingInputStream(inputStream, key, temp, Files.newOutputStream(temp), size, token);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not copy {} to the local storage tier", key, e);
+                filling.remove(key, token);
+                if (temp != null) {
+                    deleteQuietly(temp);
+                }
+                return inputStream;
+            }
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return cold.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return cold.lastModified();
+        }
+
+        @Override
+        public boolean exists() {
+            return cold.exists();
+        }
+
+        @Override
+        public String getFilename() {
+            return cold.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return cold.getDescription();
+        }
+    }
+
+    /**
+     * Soğuk katmandan okunan byte'ları geçici bir dosyaya da yazan akış. Akışın sonuna gelindiğinde ve okunan boyut
+     * beklenen boyuta eşitse kopya yayınlanır. Atlama yapılırsa, yerel dosyaya yazılamazsa veya akış erken kapatılırsa
+     * kopya atılır; istemciye giden okuma bundan etkilenmez.
+     */
+    private final class FillingInputStream extends FilterInputStream {
+
+        private final String key;
+        private final Path temp;
+        private final long expectedSize;
+        private final Object token;
+        private OutputStream copy; // Kopyalama bittiğinde veya atıldığında null.
+        private long copied;
+
+        private FillingInputStream(InputStream in, String key, Path temp, OutputStream copy, long expectedSize,
+                                   Object token) {
+            super(in);
+            this.key = key;
+            this.temp = temp;
+            this.copy = copy;
+            this.expectedSize = expectedSize;
+            this.token = token;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (copy == null) {
+                return read;
+            }
+            if (read == -1) {
+                finish();
+            } else if (read > 0) {
+                try {
+                    copy.write(b, off, read);
+                    copied += read;
+                } catch (IOException e) {
+                    log.warn("Could not copy {} to the local storage tier", key, e);
+                    discard();
+                }
+            }
+            return read;
+        }
+
+        /**
+         * Atlanan byte'lar kopyaya yazılamayacağı için kopyalama bırakılır.
+         */
+        @Override
+        public long skip(long n) throws IOException {
+            discard();
+            return in.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                in.close();
+            } finally {
+                discard();
+            }
+        }
+
+        private void finish() {
+            OutputStream output = copy;
+            copy = null;
+            try {
+                output.close();
+                if (copied == expectedSize) {
+                    publish(key, temp, copied, token);
+                }
+            } catch (IOException e) {
+                log.warn("Could not copy {} to the local storage tier", key, e);
+            } finally {
+                filling.remove(key, token);
+                deleteQuietly(temp); // Yayınlandıysa dosya artık hedef adındadır; silinecek bir şey kalmaz.
+            }
+        }
+
+        private void discard() {
+            if (copy == null) {
+                return;
+            }
+            try {
+                copy.close();
+            } catch (IOException e) {
+                log.debug("Could not close partial copy {}", temp, e);
+            }
+            copy = null;
+            filling.remove(key, token);
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.repmanager.storage;
+
+import com.example.repmanager.core.util.DigestVerifyingInputStream;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bu sınıf, bir dosyanın (ham) içeriğini, okunurken kayıttaki SHA-256 özeti ve boyutu ile doğrulanan bir akış olarak sunar.
+ * İçerik belleğe alınmaz; doğrulama DigestVerifyingInputStream ile okuma sırasında yapılır.
+ */
+public class VerifyingResource extends AbstractResource {
+
+    private final Resource resource;      // Doğrulanacak (açılmış) içerik.
+    private final String expectedDigest;  // Kayıttaki SHA-256 özeti.
+    private final long expectedSize;      // Kayıttaki ham boyut.
+    private final Runnable onMismatch;    // Uyuşmazlıkta çağrılır.
+
+    public VerifyingResource(Resource resource, String expectedDigest, long expectedSize, Runnable onMismatch) {
+        this.resource = resource;
+        this.expectedDigest = expectedDigest;
+        this.expectedSize = expectedSize;
+        this.onMismatch = onMismatch;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new DigestVerifyingInputStream(resource.getInputStream(), expectedDigest, expectedSize, onMismatch);
+    }
+
+    @Override
+    public boolean exists() {
+        return resource.exists();
+    }
+
+    /**
+     * Boyut kayıttan bilindiği için içerik okunmadan döner.
+     */
+    @Override
+    public long contentLength() {
+        return expectedSize;
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return resource.lastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        return resource.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "verified " + resource.getDescription();
+    }
+}
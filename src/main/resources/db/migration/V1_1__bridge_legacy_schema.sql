@@ -0,0 +1,53 @@
+-- Daha once ddl-auto=update ile olusturulmus veritabanlarini V1 semasina tamamlar. Bu veritabanlari
+-- spring.flyway.baseline-on-migrate ile V1 olarak isaretlendigi icin V1 uzerlerinde hic calismaz; eksik sutun,
+-- sequence, tablo ve indeksler burada eklenir. Tum komutlar idempotenttir: V1 ile olusturulmus bir veritabaninda
+-- ve uygulamanin ara surumleriyle kismen guncellenmis veritabanlarinda yalnizca eksik olanlari ekler.
+
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS version_major INTEGER;
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS version_minor INTEGER;
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS version_patch INTEGER;
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS package_digest VARCHAR(64);
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS package_size BIGINT;
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS meta_digest VARCHAR(64);
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS meta_encoding VARCHAR(16);
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS package_encoding VARCHAR(16);
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS content_addressed BOOLEAN;
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS dependencies_indexed BOOLEAN;
+
+-- Eski kayitlar IDENTITY ile numaralandirilmisti. Sequence'lar burada 1'den baslatilir; V2 onlari mevcut en buyuk
+-- ID'nin ilerisine tasir (setval), boylece Hibernate'in ayirdigi ID bloklari eski kayitlarla cakismaz.
+CREATE SEQUENCE IF NOT EXISTS package_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS package_dependency_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS package_dependency (
+    id                 BIGINT       NOT NULL,
+    package_id         BIGINT       NOT NULL,
+    dependency_name    VARCHAR(255) NOT NULL,
+    dependency_version VARCHAR(255) NOT NULL,
+    CONSTRAINT package_dependency_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_dependency_package_name UNIQUE (package_id, dependency_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_dependency_package ON package_dependency (package_id);
+
+CREATE TABLE IF NOT EXISTS storage_blob (
+    digest       VARCHAR(64) NOT NULL,
+    size         BIGINT      NOT NULL,
+    encoding     VARCHAR(16),
+    ref_count    INTEGER     NOT NULL,
+    storage_path VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    released_at  TIMESTAMP(6),
+    CONSTRAINT storage_blob_pkey PRIMARY KEY (digest)
+);
+
+-- Benzersizlik kisitindan once olusmus tekrar eden (name, version) kayitlarindan yalnizca en yenisi kalir
+-- (V2 ayni temizligi yapar, ancak benzersiz indeks ondan once burada olusturulur).
+DELETE FROM package_entity p
+WHERE EXISTS (SELECT 1 FROM package_entity newer
+              WHERE newer.name = p.name AND newer.version = p.version AND newer.id > p.id);
+
+-- ADD CONSTRAINT'in IF NOT EXISTS secenegi yoktur; kisitin arkasindaki benzersiz indeks ayni adla olusturulur.
+-- Kisit daha once (V1 veya Hibernate ile) eklenmisse indeksi de bu adi tasidigi icin komut atlanir.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_package_name_version ON package_entity (name, version);
+CREATE INDEX IF NOT EXISTS idx_package_name_semver ON package_entity (name, version_major, version_minor, version_patch);
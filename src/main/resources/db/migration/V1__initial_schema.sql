@@ -0,0 +1,53 @@
+-- Baslangic semasi: daha once spring.jpa.hibernate.ddl-auto=update ile olusturulan tablolarin karsiligi.
+-- Bu tablolari zaten iceren veritabanlarinda migration calismaz; spring.flyway.baseline-on-migrate ile
+-- sema 1. versiyon olarak isaretlenir ve sonraki migration'lar buradan devam eder.
+
+-- ID'ler sequence'lardan 50'lik bloklar halinde alinir (JDBC batch insert icin, bkz. PackageEntity).
+CREATE SEQUENCE package_entity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE package_dependency_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE package_entity (
+    id                   BIGINT NOT NULL,
+    name                 VARCHAR(255),
+    version              VARCHAR(255),
+    version_major        INTEGER,
+    version_minor        INTEGER,
+    version_patch        INTEGER,
+    author               VARCHAR(255),
+    package_binary       TEXT,
+    storage_path         VARCHAR(255),
+    uploaded_at          TIMESTAMP(6),
+    package_digest       VARCHAR(64),
+    package_size         BIGINT,
+    meta_digest          VARCHAR(64),
+    meta_encoding        VARCHAR(16),
+    package_encoding     VARCHAR(16),
+    content_addressed    BOOLEAN,
+    dependencies_indexed BOOLEAN,
+    CONSTRAINT package_entity_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_package_name_version UNIQUE (name, version)
+);
+
+CREATE INDEX idx_package_name_semver ON package_entity (name, version_major, version_minor, version_patch);
+
+CREATE TABLE package_dependency (
+    id                 BIGINT       NOT NULL,
+    package_id         BIGINT       NOT NULL,
+    dependency_name    VARCHAR(255) NOT NULL,
+    dependency_version VARCHAR(255) NOT NULL,
+    CONSTRAINT package_dependency_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_dependency_package_name UNIQUE (package_id, dependency_name)
+);
+
+CREATE INDEX idx_dependency_package ON package_dependency (package_id);
+
+CREATE TABLE storage_blob (
+    digest       VARCHAR(64) NOT NULL,
+    size         BIGINT      NOT NULL,
+    encoding     VARCHAR(16),
+    ref_count    INTEGER     NOT NULL,
+    storage_path VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    released_at  TIMESTAMP(6),
+    CONSTRAINT storage_blob_pkey PRIMARY KEY (digest)
+);
@@ -0,0 +1,24 @@
+-- Versiyon indeksi ve sequence ID'lerinden once yuklenmis kayitlari yeni semaya uyarlar (daha once her acilista
+-- PackageIndexBackfill tarafindan calistirilirdi). Bos veya zaten uyumlu bir veritabaninda hicbir satira dokunmaz.
+
+-- Benzersizlik kisitindan once olusmus tekrar eden (name, version) kayitlarindan yalnizca en yenisi kalir.
+-- Eski kayitlar ayni storage dosyalarini gosterdigi icin dosyalara dokunulmaz.
+DELETE FROM package_entity p USING package_entity newer
+WHERE p.name = newer.name AND p.version = newer.version AND p.id < newer.id;
+
+-- Sayisal versiyon sutunlari bos olan eski kayitlar versiyon metninden doldurulur.
+UPDATE package_entity
+SET version_major = CAST(split_part(version, '.', 1) AS integer),
+    version_minor = CAST(split_part(version, '.', 2) AS integer),
+    version_patch = CAST(split_part(version, '.', 3) AS integer)
+WHERE version_major IS NULL AND version ~ '^[0-9]{1,9}\.[0-9]{1,9}\.[0-9]{1,9}$';
+
+-- IDENTITY ile olusturulmus eski kayitlar varken sequence'lar mevcut ID'leri tekrar uretmesin diye
+-- en buyuk ID'nin en az bir blok (50) ilerisine tasinir; sequence zaten ilerideyse degeri degismez.
+SELECT setval('package_entity_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM package_entity) + 50,
+    (SELECT last_value FROM package_entity_seq)));
+
+SELECT setval('package_dependency_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM package_dependency) + 50,
+    (SELECT last_value FROM package_dependency_seq)));
@@ -0,0 +1,16 @@
+-- Paket arama uc noktasi (/api/packages/search) icin indeksler.
+-- pg_trgm, PostgreSQL 13'ten itibaren guvenilir (trusted) bir eklentidir; veritabani sahibi tarafindan kurulabilir.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Ad oneki (autocomplete): lower(name) LIKE 'abc%' sorgulari, collation'dan bagimsiz olarak bu B-tree indeksini kullanir.
+CREATE INDEX idx_package_name_prefix ON package_entity (lower(name) text_pattern_ops);
+
+-- Ad veya yazar icinde gecen metin: lower(...) LIKE '%abc%' sorgulari trigram GIN indekslerini kullanir.
+CREATE INDEX idx_package_name_trgm ON package_entity USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_package_author_trgm ON package_entity USING gin (lower(author) gin_trgm_ops);
+
+-- Yazara gore filtreleme (buyuk/kucuk harf duyarsiz tam eslesme).
+CREATE INDEX idx_package_author ON package_entity (lower(author));
+
+-- Ters bagimlilik ("X'e kim bagimli?"): bagimlilik adindan (ve versiyonundan) paket kayitlarina.
+CREATE INDEX idx_dependency_reverse ON package_dependency (dependency_name, dependency_version);
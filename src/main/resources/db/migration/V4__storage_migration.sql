@@ -0,0 +1,16 @@
+-- Storage backend'leri arasindaki tasima isinin (StorageMigrationService) kaldigi yer.
+-- Her kaynak -> hedef cifti icin tek bir satir tutulur; is yeniden baslatildiginda last_package_id'den devam eder.
+CREATE TABLE storage_migration (
+    id              VARCHAR(64) NOT NULL,
+    state           VARCHAR(16) NOT NULL,
+    last_package_id BIGINT      NOT NULL,
+    copied_objects  BIGINT      NOT NULL,
+    copied_bytes    BIGINT      NOT NULL,
+    failed_objects  BIGINT      NOT NULL,
+    owner           VARCHAR(255),
+    started_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    finished_at     TIMESTAMP(6),
+    error           VARCHAR(1000),
+    CONSTRAINT storage_migration_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+-- meta.json dosyasinin yuklendigi haliyle boyutu. package_binary metin olarak saklandigi icin orijinal byte sayisi
+-- ondan geri hesaplanamaz (BOM, UTF-16 veya gecersiz UTF-8 iceren dosyalar). Eski kayitlarda bos kalir.
+ALTER TABLE package_entity ADD COLUMN IF NOT EXISTS meta_size BIGINT;
@@ -0,0 +1,52 @@
+package com.example.loadtest;
+
+import com.example.repmanager.storage.ObjectStorageService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * SlowBackendLoadTest'in başlattığı, yalnızca ObjectStorageService ve bir indirme uç noktası içeren, veritabanı
+ * gerektirmeyen test uygulaması.
+ * Bilerek com.example.repmanager paketinin dışındadır: RepManagerApplication'ın bileşen taraması bu sınıfı bulsaydı,
+ * DataSource/JPA hariç tutmaları asıl uygulama bağlamına (ve tüm @SpringBootTest'lere) da uygulanırdı.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class LoadTestApplication {
+
+    @Bean
+    ObjectStorageService objectStorageService() {
+        return new ObjectStorageService();
+    }
+
+    @Bean
+    DownloadController downloadController(ObjectStorageService objectStorageService) {
+        return new DownloadController(objectStorageService);
+    }
+
+    @RestController
+    static class DownloadController {
+
+        private final ObjectStorageService storageService;
+
+        DownloadController(ObjectStorageService storageService) {
+            this.storageService = storageService;
+        }
+
+        @GetMapping("/download/{name}/{version}/{fileName}")
+        ResponseEntity<Resource> download(@PathVariable String name, @PathVariable String version,
+                                          @PathVariable String fileName) {
+            Resource resource = storageService.loadObject(name + "/" + version + "/" + fileName);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(resource);
+        }
+    }
+}
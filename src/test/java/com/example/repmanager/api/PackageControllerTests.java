@@ -0,0 +1,85 @@
+package com.example.repmanager.api;
+
+import com.example.repmanager.bussines.abstracts.ArchiveService;
+import com.example.repmanager.bussines.abstracts.BundleService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.DownloadRedirectService;
+import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.bussines.abstracts.UploadJobService;
+import com.example.repmanager.dto.PackageFileDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PackageControllerTests {
+
+    private static final String URL = "/api/packages/demo/1.0.0/package.rep";
+    private static final String DIGEST = "3a7bd3e2360a3d29eea436fcfb7e44c735d117c42d1c1835420b6b9942dd4f1b";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private final PackageService packageService = mock(PackageService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        PackageController controller = new PackageController(packageService, mock(DependencyService.class),
+                mock(BundleService.class), mock(UploadJobService.class), mock(ArchiveService.class),
+                mock(DownloadRedirectService.class)); // Yönlendirme bulunmaz; dosya uygulama üzerinden sunulur.
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(packageService.getPackageFileInfo("demo", "1.0.0", "package.rep"))
+                .thenReturn(new PackageFileDTO(DIGEST, 1_700_000_000_000L, null));
+        when(packageService.downloadPackageFile("demo", "1.0.0", "package.rep"))
+                .thenReturn(new ByteArrayResource(CONTENT));
+    }
+
+    @Test
+    void servesTheFileWithValidators() throws Exception {
+        mockMvc.perform(get(URL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + DIGEST + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutReadingStorage() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"" + DIGEST + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + DIGEST + "\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(packageService, never()).downloadPackageFile(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void suffixRangeReturnsTheLastBytes() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-9/10"))
+                .andExpect(content().string("6789"));
+    }
+
+    @Test
+    void unsatisfiableRangeIsRejected() throws Exception {
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+}
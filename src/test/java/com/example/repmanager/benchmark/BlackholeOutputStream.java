@@ -0,0 +1,29 @@
+package com.example.repmanager.benchmark;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+
+/**
+ * Yazılan byte'ları Blackhole'a tüketerek JIT'in yazmayı elemesini engelleyen OutputStream.
+ * Benchmark'larda bir HTTP cevabının gövdesini temsil eder.
+ */
+final class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+        blackhole.consume(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        blackhole.consume(b[off]);
+        blackhole.consume(len);
+    }
+}
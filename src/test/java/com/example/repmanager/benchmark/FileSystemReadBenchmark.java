@@ -0,0 +1,107 @@
+package com.example.repmanager.benchmark;
+
+import com.example.repmanager.storage.ByteBufferResource;
+import com.example.repmanager.storage.MappedFilePool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dosya sistemi okuma yollarını karşılaştırır:
+ * eski Files.readAllBytes yolu, FileChannel.transferTo ile akış ve bellek eşlemesi havuzu (MappedFilePool).
+ * Her yöntem dosyanın tamamını bir HTTP cevabını temsil eden bir OutputStream'e yazar.
+ *
+ * Çalıştırmak için:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.repmanager.benchmark.FileSystemReadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileSystemReadBenchmark {
+
+    @Param({"1024", "1048576", "524288000"}) // 1 KB, 1 MB, 500 MB
+    private int fileSize;
+
+    private Path file;
+    private MappedFilePool mappedFilePool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("repmanager-bench", ".rep");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(42).nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int written = 0; written < fileSize; written += chunk.length) {
+                out.write(chunk, 0, Math.min(chunk.length, fileSize - written));
+            }
+        }
+        mappedFilePool = new MappedFilePool(16, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Önceki yol: dosyanın tamamı heap'te bir byte[] olarak okunur ve yazılır.
+     */
+    @Benchmark
+    public void readAllBytes(Blackhole blackhole) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        OutputStream out = new BlackholeOutputStream(blackhole);
+        out.write(data);
+    }
+
+    /**
+     * FileChannel.transferTo ile bir OutputStream kanalına akış. Hedef bir soket olmadığı için
+     * içerik yine kullanıcı alanındaki bir tampon üzerinden kopyalanır; karşılaştırma için tutulur.
+     */
+    @Benchmark
+    public void fileChannelTransferTo(Blackhole blackhole) throws IOException {
+        WritableByteChannel target = Channels.newChannel(new BlackholeOutputStream(blackhole));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    /**
+     * Havuzdan yeniden kullanılan bellek eşlemesi ile okuma (storage.file-system.mmap.enabled=true yolu).
+     */
+    @Benchmark
+    public void mappedPool(Blackhole blackhole) throws IOException {
+        ByteBuffer buffer = new ByteBufferResource(mappedFilePool.map(file), "bench").getByteBuffer();
+        WritableByteChannel target = Channels.newChannel(new BlackholeOutputStream(blackhole));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FileSystemReadBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.repmanager.benchmark;
+
+import com.example.repmanager.RepManagerApplication;
+import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.dto.PackageFileDTO;
+import com.example.repmanager.storage.InMemoryS3Server;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PackageServiceImpl'in yükleme ve indirme yollarını uçtan uca ölçer: meta.json ayrıştırma, özet hesaplama,
+ * storage'a yazma/okuma ve veritabanı sorguları.
+ * Uygulama bağlamı web sunucusu olmadan, PostgreSQL uyumluluk modundaki gömülü bir H2 veritabanı ile başlatılır;
+ * object-storage stratejisi süreç içi S3 sunucusuna (InMemoryS3Server) bağlanır.
+ * Bellek içi önbellek kapalıdır; böylece her indirme storage'a gider.
+ *
+ * Çalıştırmak için:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.repmanager.benchmark.PackageServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackageServiceBenchmark {
+
+    private static final String PACKAGE_NAME = "bench";
+    private static final String VERSION = "1.0.0";
+
+    @Param({"file-system", "object-storage"})
+    private String strategy;
+
+    @Param({"1024", "1048576"}) // 1 KB, 1 MB
+    private int packageSize;
+
+    private final AtomicInteger nextPatch = new AtomicInteger(1); // Her yükleme yeni bir versiyon (2.0.N) kullanır.
+    private byte[] packageContent;
+    private Path rootDir;
+    private InMemoryS3Server s3Server;
+    private ConfigurableApplicationContext context;
+    private PackageService packageService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        packageContent = new byte[packageSize];
+        new Random(42).nextBytes(packageContent);
+        rootDir = Files.createTempDirectory("repmanager-bench");
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false", // Migration'lar PostgreSQL'e özgü sorgular içerir; şema Hibernate ile oluşturulur.
+                "--spring.jpa.show-sql=false",
+                "--storage.cache.enabled=false",
+                "--storage.file-system.root-dir=" + rootDir,
+                "--spring.devtools.restart.enabled=false",
+                // DevTools, kapanışta H2'yi ikinci kez kapatmaya çalışıp uyarı basmasın.
+                "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.repmanager=WARN",
+                "--logging.file.name=" + rootDir.resolve("application.log"),
+                "--storage.strategy=" + strategy));
+        if (strategy.equals("object-storage")) {
+            s3Server = new InMemoryS3Server();
+            args.add("--minio.url=" + s3Server.url());
+        }
+        context = new SpringApplicationBuilder(RepManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        packageService = context.getBean(PackageService.class);
+
+        // İndirme benchmark'larının okuyacağı paket.
+        packageService.uploadPackage(PACKAGE_NAME, VERSION, metaFile(VERSION), packageFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (s3Server != null) {
+            s3Server.close();
+        }
+        FileSystemUtils.deleteRecursively(rootDir);
+    }
+
+    /**
+     * Yeni bir paket versiyonu yükler: meta.json doğrulama, SHA-256 özetleri, iki storage yazması ve veritabanı kaydı.
+     */
+    @Benchmark
+    public void upload() {
+        String version = "2.0." + nextPatch.getAndIncrement();
+        packageService.uploadPackage(PACKAGE_NAME, version, metaFile(version), packageFile());
+    }
+
+    /**
+     * package.rep dosyasını bulur ve akış halinde bir HTTP cevabına aktarır.
+     */
+    @Benchmark
+    public long download(Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = packageService.downloadPackageFile(PACKAGE_NAME, VERSION, "package.rep").getInputStream()) {
+            return inputStream.transferTo(new BlackholeOutputStream(blackhole));
+        }
+    }
+
+    /**
+     * Koşullu isteklerde (If-None-Match) kullanılan ETag bilgisini okur; yalnızca veritabanına gider.
+     */
+    @Benchmark
+    public PackageFileDTO fileInfo() {
+        return packageService.getPackageFileInfo(PACKAGE_NAME, VERSION, "package.rep");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PackageServiceBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    private static MockMultipartFile metaFile(String version) {
+        String json = "{\"name\":\"" + PACKAGE_NAME + "\",\"version\":\"" + version + "\",\"author\":\"bench\",\"dependencies\":[]}";
+        return new MockMultipartFile("metaFile", "meta.json", "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MockMultipartFile packageFile() {
+        return new MockMultipartFile("packageFile", "package.rep", "application/octet-stream", packageContent);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.repmanager.benchmark;
+
+import com.example.loadtest.LoadTestApplication;
+import com.example.repmanager.storage.InMemoryS3Server;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Yavaş bir object storage backend'i arkasında indirme yükü altında platform ve virtual thread modlarını karşılaştırır.
+ * Uygulama, gecikme eklenmiş bir S3 taklidine (InMemoryS3Server) bağlı ObjectStorageService ile küçük bir
+ * Spring MVC uygulaması olarak başlatılır ve aynı yük iki modda da uygulanır:
+ * platform modunda verim Tomcat thread sayısı ile sınırlanırken virtual thread modunda eş zamanlı istek sayısı ile ölçeklenir.
+ *
+ * Çalıştırmak için (Java 21):
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.repmanager.benchmark.SlowBackendLoadTest
+ */
+public class SlowBackendLoadTest {
+
+    private static final int TOMCAT_THREADS = 32;                           // Platform modunda aynı anda işlenebilecek istek sayısı.
+    private static final long BACKEND_DELAY_MS = Long.getLong("delay", 250); // Her storage isteğine (stat ve okuma) eklenen gecikme.
+    private static final int CONCURRENCY = 400;                             // İstemcinin aynı anda açık tuttuğu istek sayısı.
+    private static final int REQUESTS = 2000;                               // Her mod için toplam istek sayısı.
+
+    public static void main(String[] args) throws Exception {
+        try (InMemoryS3Server backend = new InMemoryS3Server()) {
+            backend.objects.put("pkg/1.0.0/package.rep", new byte[4 * 1024]);
+            backend.readDelayMillis = BACKEND_DELAY_MS;
+
+            for (boolean virtualThreads : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(backend, virtualThreads)) {
+                    int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                    URI uri = URI.create("http://127.0.0.1:" + port + "/download/pkg/1.0.0/package.rep");
+                    run(uri, CONCURRENCY / 4, REQUESTS / 4); // Isınma turu.
+                    Result result = run(uri, CONCURRENCY, REQUESTS);
+                    System.out.printf("%-16s threads=%d concurrency=%d -> %.0f req/s, p50=%d ms, p99=%d ms, errors=%d%n",
+                            virtualThreads ? "virtual" : "platform", TOMCAT_THREADS, CONCURRENCY,
+                            result.throughput(), result.p50(), result.p99(), result.errors());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(InMemoryS3Server backend, boolean virtualThreads) {
+        return new SpringApplicationBuilder(LoadTestApplication.class)
+                .properties(
+                        "spring.config.name=load-test", // application.properties (veritabanı ayarları) okunmaz.
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn",
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "minio.url=" + backend.url(),
+                        "minio.accessKey=test",
+                        "minio.secretKey=test-secret",
+                        "minio.bucketName=load-test")
+                .run();
+    }
+
+    private static Result run(URI uri, int concurrency, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                results.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        latencies.add((System.nanoTime() - requestStart) / 1_000_000);
+                        return response.statusCode() == 200;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int errors = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                errors += result.get() ? 0 : 1;
+            } catch (Exception e) {
+                errors++;
+            }
+        }
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return new Result(requests / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, sorted.size() * percentile));
+    }
+
+    private record Result(double throughput, long p50, long p99, int errors) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.repmanager.benchmark;
+
+import com.example.repmanager.storage.FileSystemStorageService;
+import com.example.repmanager.storage.InMemoryS3Server;
+import com.example.repmanager.storage.ObjectStorageService;
+import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.TieredStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StorageService.saveFile / readFile / loadFile yollarını iki storage stratejisi için ölçer:
+ * geçici bir klasöre yazan FileSystemStorageService, süreç içi S3 sunucusuna (InMemoryS3Server) bağlanan ObjectStorageService
+ * ve bunun önüne yerel disk katmanı koyan TieredStorageService.
+ * 32 MB'lık dosya, part-size'dan büyük olduğu için paralel multipart yükleme yolunu da kapsar.
+ * SampleTime modu gecikme yüzdeliklerini (p50, p99, p99.9), gc profiler'ı ise işlem başına ayrılan belleği raporlar.
+ *
+ * Çalıştırmak için:
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.repmanager.benchmark.StorageBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    private static final String PACKAGE_NAME = "bench";
+    private static final String VERSION = "1.0.0";
+    private static final String FILE_NAME = "package.rep";
+
+    @Param({"file-system", "object-storage", "tiered"})
+    private String strategy;
+
+    @Param({"1024", "1048576", "33554432"}) // 1 KB, 1 MB, 32 MB
+    private int fileSize;
+
+    private byte[] content;
+    private Path rootDir;
+    private InMemoryS3Server s3Server;
+    private StorageService storageService;
+    private ExecutorService fillExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+
+        if (strategy.equals("object-storage")) {
+            s3Server = new InMemoryS3Server();
+            storageService = objectStorage(s3Server.url());
+        } else if (strategy.equals("tiered")) {
+            // Okumalar ilk kopyalamadan sonra yerel diskten, yazmalar S3'e yapılır.
+            s3Server = new InMemoryS3Server();
+            rootDir = Files.createTempDirectory("repmanager-bench");
+            fillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            storageService = new TieredStorageService(objectStorage(s3Server.url()), rootDir, DataSize.ofGigabytes(1).toBytes(),
+                    DataSize.ofGigabytes(1).toBytes(), fillExecutor, new SimpleMeterRegistry());
+        } else {
+            rootDir = Files.createTempDirectory("repmanager-bench");
+            storageService = fileSystemStorage(rootDir);
+        }
+        // Okuma benchmark'larının okuyacağı dosya.
+        storageService.saveFile(PACKAGE_NAME, VERSION, FILE_NAME, new ByteArrayInputStream(content), content.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (fillExecutor != null) {
+            fillExecutor.shutdownNow();
+        }
+        if (s3Server != null) {
+            s3Server.close();
+        }
+        if (rootDir != null) {
+            FileSystemUtils.deleteRecursively(rootDir);
+        }
+    }
+
+    /**
+     * Dosyayı aynı anahtarın üzerine yazar (dosya sisteminde geçici dosya + atomik taşıma, S3'te tek veya parçalı PUT).
+     */
+    @Benchmark
+    public String saveFile() {
+        return storageService.saveFile(PACKAGE_NAME, "2.0.0", FILE_NAME, new ByteArrayInputStream(content), content.length);
+    }
+
+    /**
+     * Dosyanın tamamını heap'e bir byte[] olarak okur (meta.json gibi küçük dosyaların yolu).
+     */
+    @Benchmark
+    public byte[] readFile() {
+        return storageService.readFile(PACKAGE_NAME, VERSION, FILE_NAME);
+    }
+
+    /**
+     * Dosyayı Resource üzerinden akış halinde bir HTTP cevabına aktarır (package.rep indirme yolu).
+     */
+    @Benchmark
+    public long loadFile(Blackhole blackhole) throws IOException {
+        try (InputStream inputStream = storageService.loadFile(PACKAGE_NAME, VERSION, FILE_NAME).getInputStream()) {
+            return inputStream.transferTo(new BlackholeOutputStream(blackhole));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StorageBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    /**
+     * Uygulamanın varsayılan ayarlarıyla (bellek eşlemesi açık) verilen klasöre yazan bir FileSystemStorageService oluşturur.
+     */
+    static FileSystemStorageService fileSystemStorage(Path rootDir) {
+        FileSystemStorageService storageService = new FileSystemStorageService();
+        ReflectionTestUtils.setField(storageService, "rootDir", rootDir);
+        ReflectionTestUtils.setField(storageService, "mmapEnabled", true);
+        ReflectionTestUtils.setField(storageService, "mmapMaxMappings", 256);
+        ReflectionTestUtils.setField(storageService, "mmapMaxFileSize", DataSize.ofGigabytes(1));
+        storageService.init();
+        return storageService;
+    }
+
+    /**
+     * Uygulamanın varsayılan multipart ve HTTP havuzu ayarlarıyla verilen adrese bağlanan bir ObjectStorageService oluşturur.
+     */
+    static ObjectStorageService objectStorage(String url) {
+        ObjectStorageService storageService = new ObjectStorageService();
+        ReflectionTestUtils.setField(storageService, "minioUrl", url);
+        ReflectionTestUtils.setField(storageService, "accessKey", "bench");
+        ReflectionTestUtils.setField(storageService, "secretKey", "bench-secret");
+        ReflectionTestUtils.setField(storageService, "bucketName", "packages");
+        ReflectionTestUtils.setField(storageService, "region", "us-east-1");
+        ReflectionTestUtils.setField(storageService, "partSize", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(storageService, "uploadConcurrency", 4);
+        ReflectionTestUtils.setField(storageService, "maxIdleConnections", 32);
+        ReflectionTestUtils.setField(storageService, "keepAlive", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(storageService, "maxRequests", 128);
+        ReflectionTestUtils.setField(storageService, "maxRequestsPerHost", 64);
+        ReflectionTestUtils.setField(storageService, "connectTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(storageService, "readTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(storageService, "writeTimeout", Duration.ofMinutes(5));
+        storageService.init();
+        storageService.ensureBucket();
+        return storageService;
+    }
+}
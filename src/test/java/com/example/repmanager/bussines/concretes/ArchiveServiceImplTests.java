@@ -0,0 +1,140 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.dto.ArchiveEntryDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.InMemoryStorageService;
+import com.example.repmanager.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArchiveServiceImplTests {
+
+    private static final byte[] MANIFEST = "Manifest-Version: 1.0\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final InMemoryStorageService storage = new InMemoryStorageService() {
+        @Override
+        public InputStream openRange(String key, long offset, long length) {
+            bytesRead.addAndGet(length);
+            return super.openRange(key, offset, length);
+        }
+    };
+    private final PackageLookupService lookup = mock(PackageLookupService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ArchiveServiceImpl archiveService = new ArchiveServiceImpl(lookup, storage, meterRegistry,
+            true, DataSize.ofMegabytes(1), 1000);
+
+    @Test
+    void listsAndExtractsEntriesByReadingOnlyTheirRanges() throws IOException {
+        byte[] payload = new byte[4 * 1024 * 1024];
+        new Random(1).nextBytes(payload);
+        byte[] archive = zip(payload);
+        register(archive);
+
+        List<ArchiveEntryDTO> entries = archiveService.listEntries("lib", "1.0.0");
+        assertEquals(List.of("META-INF/", "META-INF/MANIFEST.MF", "lib/payload.bin"),
+                entries.stream().map(ArchiveEntryDTO::getPath).toList());
+        assertTrue(entries.get(0).isDirectory());
+        assertEquals(MANIFEST.length, entries.get(1).getSize());
+        assertTrue(entries.get(1).getCompressedSize() < MANIFEST.length); // Deflate ile sıkıştırılmış.
+
+        long listingBytes = bytesRead.get();
+        try (InputStream in = archiveService.openEntry("lib", "1.0.0", "META-INF/MANIFEST.MF").getInputStream()) {
+            assertArrayEquals(MANIFEST, in.readAllBytes());
+        }
+        // Listeleme ve tek girdi, 4 MB'lık arşivin yalnızca sonunu ve girdinin aralığını okur.
+        assertTrue(bytesRead.get() < 100 * 1024, "read " + bytesRead.get() + " bytes");
+        assertTrue(bytesRead.get() > listingBytes);
+
+        try (InputStream in = archiveService.openEntry("lib", "1.0.0", "lib/payload.bin").getInputStream()) {
+            assertArrayEquals(payload, in.readAllBytes()); // Sıkıştırılmadan (STORED) saklanan girdi.
+        }
+        assertThrows(PackageNotFoundException.class, () -> archiveService.openEntry("lib", "1.0.0", "missing.txt"));
+    }
+
+    @Test
+    void failsWhenAnEntryDoesNotMatchItsCrc() throws IOException {
+        byte[] payload = new byte[64 * 1024];
+        new Random(2).nextBytes(payload);
+        byte[] archive = zip(payload);
+        // Merkezi dizin sağlam kalır; STORED girdinin verisinin ortasındaki bir byte bozulur.
+        int dataOffset = indexOf(archive, Arrays.copyOf(payload, 32));
+        archive[dataOffset + payload.length / 2] ^= 1;
+        register(archive);
+
+        try (InputStream in = archiveService.openEntry("lib", "1.0.0", "lib/payload.bin").getInputStream()) {
+            IOException error = assertThrows(IOException.class, in::readAllBytes);
+            assertTrue(error.getMessage().contains("CRC-32 mismatch"), error.getMessage());
+        }
+        assertEquals(1, meterRegistry.counter("storage.integrity.failures", "source", "archive").count());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotZipArchives() {
+        register("not a zip".getBytes(StandardCharsets.UTF_8));
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> archiveService.listEntries("lib", "1.0.0"));
+        assertTrue(error.getMessage().contains("Not a zip archive"), error.getMessage());
+    }
+
+    private void register(byte[] archive) {
+        storage.objects.put(StorageService.fileKey("lib", "1.0.0", "package.rep"), archive);
+        when(lookup.findPackage("lib", "1.0.0")).thenReturn(Optional.of(PackageEntity.builder()
+                .name("lib").version("1.0.0").packageDigest("digest-" + archive.length)
+                .packageSize((long) archive.length).contentAddressed(false).build()));
+    }
+
+    private static int indexOf(byte[] array, byte[] target) {
+        for (int i = 0; i <= array.length - target.length; i++) {
+            if (Arrays.equals(array, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Sequence not found");
+    }
+
+    private static byte[] zip(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("META-INF/"));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.write(MANIFEST);
+            zip.closeEntry();
+
+            ZipEntry stored = new ZipEntry("lib/payload.bin");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(payload.length);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            stored.setCrc(crc.getValue());
+            zip.putNextEntry(stored);
+            zip.write(payload);
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.dao.BlobRepository;
+import com.example.repmanager.entities.BlobEntity;
+import com.example.repmanager.storage.EncodedContent;
+import com.example.repmanager.storage.InMemoryStorageService;
+import com.example.repmanager.storage.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlobServiceImplTests {
+
+    private static final byte[] CONTENT = "shared package content".getBytes(StandardCharsets.UTF_8);
+    private static final String DIGEST = DigestHelper.sha256Hex(CONTENT);
+    private static final String KEY = StorageService.blobKey(DIGEST);
+
+    private final Map<String, BlobEntity> rows = new ConcurrentHashMap<>(); // storage_blob tablosu.
+    private final BlobRepository blobRepository = mock(BlobRepository.class);
+    private final InMemoryStorageService storageService = new InMemoryStorageService();
+    private final BlobServiceImpl blobService = new BlobServiceImpl(blobRepository, storageService,
+            mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(blobService, "gracePeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(blobService, "batchSize", 100);
+
+        // Depo, storage_blob tablosunu bellekteki bir map üzerinde taklit eder.
+        when(blobRepository.existsById(anyString())).thenAnswer(invocation -> rows.containsKey(invocation.<String>getArgument(0)));
+        when(blobRepository.findByDigestForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+        when(blobRepository.insertOrReference(anyString(), anyLong(), any(), anyString(), any())).thenAnswer(invocation -> {
+            rows.merge(invocation.getArgument(0), BlobEntity.builder()
+                    .digest(invocation.getArgument(0))
+                    .size(invocation.getArgument(1))
+                    .encoding(invocation.getArgument(2))
+                    .refCount(1)
+                    .storagePath(invocation.getArgument(3))
+                    .createdAt(invocation.getArgument(4))
+                    .build(), (existing, inserted) -> {
+                existing.setRefCount(existing.getRefCount() + 1);
+                existing.setReleasedAt(null);
+                return existing;
+            });
+            return 1;
+        });
+        when(blobRepository.insertReleased(anyString(), anyLong(), any(), anyString(), any())).thenAnswer(invocation -> {
+            BlobEntity released = BlobEntity.builder()
+                    .digest(invocation.getArgument(0))
+                    .size(invocation.getArgument(1))
+                    .encoding(invocation.getArgument(2))
+                    .refCount(0)
+                    .storagePath(invocation.getArgument(3))
+                    .createdAt(invocation.getArgument(4))
+                    .releasedAt(invocation.getArgument(4))
+                    .build();
+            return rows.putIfAbsent(released.getDigest(), released) == null ? 1 : 0;
+        });
+        when(blobRepository.findCollectableDigests(any(), any(Pageable.class))).thenAnswer(invocation -> {
+            LocalDateTime releasedBefore = invocation.getArgument(0);
+            return rows.values().stream()
+                    .filter(blob -> blob.getRefCount() == 0 && blob.getReleasedAt().isBefore(releasedBefore))
+                    .map(BlobEntity::getDigest)
+                    .toList();
+        });
+        doAnswer(invocation -> rows.remove(invocation.<BlobEntity>getArgument(0).getDigest()))
+                .when(blobRepository).delete(any(BlobEntity.class));
+    }
+
+    @Test
+    void identicalContentIsStoredOnceAndReferenceCounted() {
+        BlobEntity first = acquire();
+        storageService.objects.remove(KEY); // İkinci çağrı içeriği tekrar yazarsa anahtar yeniden oluşur.
+        BlobEntity second = acquire();
+
+        assertEquals(KEY, first.getStoragePath());
+        assertEquals(2, second.getRefCount());
+        assertFalse(storageService.objects.containsKey(KEY));
+    }
+
+    @Test
+    void releasedBlobIsCollectedOnlyAfterTheGracePeriod() {
+        acquire();
+        acquire();
+
+        blobService.release(DIGEST);
+        assertEquals(1, rows.get(DIGEST).getRefCount());
+        assertNull(rows.get(DIGEST).getReleasedAt());
+
+        blobService.release(DIGEST);
+        assertEquals(0, rows.get(DIGEST).getRefCount());
+        assertNotNull(rows.get(DIGEST).getReleasedAt());
+
+        // Bekleme süresi dolmadan silinmez.
+        assertEquals(0, blobService.collectGarbage());
+        assertTrue(storageService.objects.containsKey(KEY));
+
+        rows.get(DIGEST).setReleasedAt(LocalDateTime.now().minusHours(2));
+        assertEquals(1, blobService.collectGarbage());
+        assertFalse(rows.containsKey(DIGEST));
+        assertFalse(storageService.objects.containsKey(KEY));
+    }
+
+    @Test
+    void reacquiringAReleasedBlobCancelsItsCollection() {
+        acquire();
+        blobService.release(DIGEST);
+        rows.get(DIGEST).setReleasedAt(LocalDateTime.now().minusHours(2));
+
+        BlobEntity reacquired = acquire();
+
+        assertEquals(1, reacquired.getRefCount());
+        assertNull(reacquired.getReleasedAt());
+        assertEquals(0, blobService.collectGarbage());
+        assertTrue(storageService.objects.containsKey(KEY));
+    }
+
+    @Test
+    void concurrentlyInsertedBlobIsReferencedInsteadOfFailing() {
+        // Başka bir transaction aynı içeriği, bu çağrının kilitli okumasından sonra kaydetmiş.
+        when(blobRepository.findByDigestForUpdate(DIGEST))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(DIGEST)));
+        rows.put(DIGEST, BlobEntity.builder().digest(DIGEST).size(CONTENT.length).refCount(1).storagePath(KEY).build());
+
+        BlobEntity blob = blobService.acquireStored(DIGEST, CONTENT.length, KEY, null);
+
+        assertEquals(2, blob.getRefCount());
+        verify(blobRepository, never()).save(any());
+    }
+
+    @Test
+    void contentOfAFailedUploadIsLeftToGarbageCollection() {
+        String storagePath = blobService.storeIfAbsent(DIGEST, CONTENT.length, content());
+        // Yüklemenin transaction'ı başarısız oldu; içerik doğrudan silinmez, referansı olmayan bir kayıt olarak eklenir.
+        blobService.releaseStored(DIGEST, CONTENT.length, storagePath, null);
+
+        assertEquals(0, rows.get(DIGEST).getRefCount());
+        assertEquals(KEY, rows.get(DIGEST).getStoragePath());
+        assertEquals(0, blobService.collectGarbage());
+        assertTrue(storageService.objects.containsKey(KEY));
+
+        rows.get(DIGEST).setReleasedAt(LocalDateTime.now().minusHours(2));
+        assertEquals(1, blobService.collectGarbage());
+        assertFalse(storageService.objects.containsKey(KEY));
+    }
+
+    @Test
+    void releasingStoredContentKeepsABlobReferencedByAnotherUpload() {
+        acquire();
+        // Aynı içeriği yükleyen başka bir istek referansını eklemiş; başarısız yükleme kaydı değiştirmez.
+        blobService.releaseStored(DIGEST, CONTENT.length, KEY, null);
+
+        assertEquals(1, rows.get(DIGEST).getRefCount());
+        assertNull(rows.get(DIGEST).getReleasedAt());
+    }
+
+    /**
+     * Yüklemedeki gibi içeriği transaction dışında yazar ve referansı ekler.
+     */
+    private BlobEntity acquire() {
+        String storagePath = blobService.storeIfAbsent(DIGEST, CONTENT.length, content());
+        return blobService.acquireStored(DIGEST, CONTENT.length, storagePath, null);
+    }
+
+    private static EncodedContent content() {
+        return EncodedContent.identity(new ByteArrayResource(CONTENT), CONTENT.length);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.dto.BundleEntryDTO;
+import com.example.repmanager.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class BundleServiceImplTests {
+
+    private final InMemoryStorage storage = new InMemoryStorage();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BundleServiceImpl bundleService = new BundleServiceImpl(mock(PackageLookupService.class),
+            mock(DependencyService.class), storage, meterRegistry, executor, 2, DataSize.ofKilobytes(1), 10, true);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writesEntriesInOrder() throws IOException {
+        List<BundleEntryDTO> entries = new ArrayList<>();
+        Map<String, byte[]> expected = new LinkedHashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10; i++) {
+            // Küçük girdiler önceden belleğe okunur, 1 KB'tan büyük olanlar akış halinde kopyalanır.
+            byte[] content = new byte[i % 2 == 0 ? 100 : 5000];
+            random.nextBytes(content);
+            String path = "p" + i + "/1.0.0/" + (i % 2 == 0 ? "meta.json" : "package.rep");
+            storage.objects.put(path, content);
+            entries.add(new BundleEntryDTO(path, path, content.length, i % 2 == 0, null, DigestHelper.sha256Hex(content)));
+            expected.put(path, content);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bundleService.writeBundle(entries, out);
+
+        Map<String, byte[]> actual = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                actual.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        expected.forEach((path, content) -> assertArrayEquals(content, actual.get(path)));
+    }
+
+    @Test
+    void failsWhenAnEntryCannotBeRead() {
+        List<BundleEntryDTO> entries = List.of(new BundleEntryDTO("a/1.0.0/meta.json", "missing", 10, true, null, null));
+
+        assertThrows(RuntimeException.class, () -> bundleService.writeBundle(entries, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void failsWhenAnEntryDoesNotMatchItsDigest() {
+        List<BundleEntryDTO> entries = new ArrayList<>();
+        for (int size : new int[]{100, 5000}) { // Önceden okunan ve akış halinde kopyalanan girdiler.
+            byte[] content = new byte[size];
+            String path = "p" + size + "/1.0.0/package.rep";
+            storage.objects.put(path, content.clone());
+            content[0] = 1; // Kayıttaki özet, storage'daki içerikten farklı.
+            entries.add(new BundleEntryDTO(path, path, size, false, null, DigestHelper.sha256Hex(content)));
+        }
+
+        assertThrows(UncheckedIOException.class,
+                () -> bundleService.writeBundle(entries.subList(0, 1), new ByteArrayOutputStream()));
+        assertThrows(IOException.class,
+                () -> bundleService.writeBundle(entries.subList(1, 2), new ByteArrayOutputStream()));
+        assertEquals(2, meterRegistry.counter("storage.integrity.failures", "source", "bundle").count());
+    }
+
+    private static class InMemoryStorage implements StorageService {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+        @Override
+        public String saveObject(String key, InputStream content, long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Resource loadObject(String key) {
+            byte[] content = objects.get(key);
+            if (content == null) {
+                throw new RuntimeException("Could not read file: " + key);
+            }
+            return new ByteArrayResource(content);
+        }
+
+        @Override
+        public boolean objectExists(String key) {
+            return objects.containsKey(key);
+        }
+
+        @Override
+        public void deleteObject(String key) {
+            objects.remove(key);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.core.exception.PackageNotFoundException;
+import com.example.repmanager.dao.DependencyRepository;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.ResolvedPackageDTO;
+import com.example.repmanager.entities.DependencyEntity;
+import com.example.repmanager.entities.PackageEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DependencyServiceImplTests {
+
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final DependencyRepository dependencyRepository = mock(DependencyRepository.class);
+    private final Map<String, PackageEntity> packages = new HashMap<>();
+    private final Map<Long, List<DependencyEntity>> edges = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private DependencyServiceImpl dependencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(packageRepository.findByNameAndVersion(anyString(), anyString()))
+                .thenAnswer(inv -> Optional.ofNullable(packages.get(inv.getArgument(0) + "@" + inv.getArgument(1))));
+        when(dependencyRepository.findByPackageIdOrderByDependencyName(anyLong()))
+                .thenAnswer(inv -> edges.getOrDefault((Long) inv.getArgument(0), List.of()));
+        dependencyService = new DependencyServiceImpl(packageRepository, dependencyRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), 1000, PackageLookupServiceImplTests.uncached(packageRepository));
+    }
+
+    @Test
+    void resolvesTransitiveClosureInInstallOrder() {
+        // app -> (web, db), web -> core, db -> core
+        add("core", "1.0.0");
+        add("web", "2.0.0", "core@1.0.0");
+        add("db", "1.1.0", "core@1.0.0");
+        add("app", "1.0.0", "web@2.0.0", "db@1.1.0");
+
+        List<String> resolved = names(dependencyService.resolve("app", "1.0.0").getPackages());
+
+        assertEquals(List.of("core@1.0.0", "web@2.0.0", "db@1.1.0", "app@1.0.0"), resolved);
+    }
+
+    @Test
+    void detectsCycles() {
+        add("a", "1.0.0", "b@1.0.0");
+        add("b", "1.0.0", "c@1.0.0");
+        add("c", "1.0.0", "a@1.0.0");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> dependencyService.resolve("a", "1.0.0"));
+
+        assertEquals("Dependency cycle detected: a@1.0.0 -> b@1.0.0 -> c@1.0.0 -> a@1.0.0", error.getMessage());
+    }
+
+    @Test
+    void reportsMissingDependencies() {
+        add("a", "1.0.0", "missing@1.0.0");
+
+        PackageNotFoundException error = assertThrows(PackageNotFoundException.class,
+                () -> dependencyService.resolve("a", "1.0.0"));
+
+        assertTrue(error.getMessage().contains("missing@1.0.0"));
+    }
+
+    @Test
+    void closuresAreCachedUntilTheGraphChanges() {
+        add("core", "1.0.0");
+        add("app", "1.0.0", "core@1.0.0");
+        dependencyService.resolve("app", "1.0.0");
+        clearInvocations(dependencyRepository);
+
+        dependencyService.resolve("app", "1.0.0");
+        verify(dependencyRepository, never()).findByPackageIdOrderByDependencyName(any());
+
+        // Yeni bir yükleme önbelleği temizler ve yeni bağımlılık görünür hale gelir.
+        PackageEntity log = add("log", "1.0.0");
+        addEdge(packages.get("core@1.0.0"), "log@1.0.0");
+        dependencyService.saveDependencies(log, List.of());
+
+        assertEquals(List.of("log@1.0.0", "core@1.0.0", "app@1.0.0"),
+                names(dependencyService.resolve("app", "1.0.0").getPackages()));
+    }
+
+    private PackageEntity add(String name, String version, String... dependencies) {
+        PackageEntity entity = PackageEntity.builder()
+                .id(ids.incrementAndGet())
+                .name(name)
+                .version(version)
+                .dependenciesIndexed(true)
+                .build();
+        packages.put(name + "@" + version, entity);
+        for (String dependency : dependencies) {
+            addEdge(entity, dependency);
+        }
+        return entity;
+    }
+
+    private void addEdge(PackageEntity entity, String dependency) {
+        String[] parts = dependency.split("@");
+        edges.computeIfAbsent(entity.getId(), id -> new ArrayList<>()).add(DependencyEntity.builder()
+                .packageId(entity.getId())
+                .dependencyName(parts[0])
+                .dependencyVersion(parts[1])
+                .build());
+    }
+
+    private static List<String> names(List<ResolvedPackageDTO> packages) {
+        return packages.stream().map(p -> p.getName() + "@" + p.getVersion()).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DownloadRedirectServiceImplTests {
+
+    private final PackageLookupService packageLookupService = mock(PackageLookupService.class);
+    private final StorageService storageService = mock(StorageService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DownloadRedirectServiceImpl redirectService = new DownloadRedirectServiceImpl(packageLookupService,
+            storageService, meterRegistry, true, Duration.ofMinutes(15), Duration.ofMinutes(5), DataSize.ofKilobytes(1),
+            100);
+
+    @Test
+    void presignedUrlsAreCachedPerObjectAndRepresentation() {
+        PackageEntity entity = PackageEntity.builder()
+                .name("demo")
+                .version("1.0.0")
+                .packageBinary("{}")
+                .packageSize(10_000L)
+                .packageEncoding("gzip")
+                .contentAddressed(false)
+                .build();
+        when(packageLookupService.findPackage("demo", "1.0.0")).thenReturn(Optional.of(entity));
+        URI signed = URI.create("http://minio:9000/packages/demo/1.0.0/package.rep?X-Amz-Signature=abc");
+        when(storageService.presignedUrl(eq("demo/1.0.0/package.rep"), eq(Duration.ofMinutes(15)), any()))
+                .thenReturn(signed);
+
+        assertEquals(signed, redirectService.findRedirect("demo", "1.0.0", "package.rep", true));
+        assertEquals(signed, redirectService.findRedirect("demo", "1.0.0", "package.rep", true));
+        verify(storageService, times(1)).presignedUrl(eq("demo/1.0.0/package.rep"), eq(Duration.ofMinutes(15)),
+                eq(Map.of("Content-Type", "application/octet-stream", "Content-Encoding", "gzip")));
+
+        // gzip kabul etmeyen istemci ve küçük dosyalar uygulama üzerinden gönderilir.
+        assertNull(redirectService.findRedirect("demo", "1.0.0", "package.rep", false));
+        assertNull(redirectService.findRedirect("demo", "1.0.0", "meta.json", false));
+        assertEquals(2, meterRegistry.counter("package.downloads", "mode", "redirect").count());
+    }
+}
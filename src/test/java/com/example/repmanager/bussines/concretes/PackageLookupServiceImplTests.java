@@ -0,0 +1,88 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.entities.PackageEntity;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PackageLookupServiceImplTests {
+
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final PackageLookupServiceImpl lookup = new PackageLookupServiceImpl(packageRepository, mock(JdbcTemplate.class),
+            new SimpleMeterRegistry(), true, DataSize.ofMegabytes(1), Duration.ofHours(1), Duration.ofHours(1), "", "", "");
+
+    /**
+     * Önbelleği kapalı, doğrudan repository'ye giden bir lookup servisi döner (diğer servislerin testleri için).
+     */
+    static PackageLookupServiceImpl uncached(PackageRepository packageRepository) {
+        return new PackageLookupServiceImpl(packageRepository, mock(JdbcTemplate.class), new SimpleMeterRegistry(),
+                false, DataSize.ofBytes(0), Duration.ZERO, Duration.ZERO, "", "", "");
+    }
+
+    @Test
+    void hotKeyIsLoadedOnceAndReturnedAsCopies() {
+        PackageEntity entity = PackageEntity.builder().id(1L).name("core").version("1.0.0").build();
+        when(packageRepository.findByNameAndVersion("core", "1.0.0")).thenReturn(Optional.of(entity));
+
+        PackageEntity first = lookup.findPackage("core", "1.0.0").orElseThrow();
+        first.setPackageDigest("changed"); // Kopya değiştirilir; önbellekteki kayıt etkilenmez.
+        PackageEntity second = lookup.findPackage("core", "1.0.0").orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(null, second.getPackageDigest());
+        assertTrue(lookup.exists("core", "1.0.0"));
+        verify(packageRepository, times(1)).findByNameAndVersion("core", "1.0.0");
+    }
+
+    @Test
+    void missingKeyIsCachedUntilInvalidated() {
+        when(packageRepository.findByNameAndVersion("core", "2.0.0")).thenReturn(Optional.empty());
+
+        assertFalse(lookup.exists("core", "2.0.0"));
+        assertFalse(lookup.exists("core", "2.0.0"));
+        verify(packageRepository, times(1)).findByNameAndVersion("core", "2.0.0");
+
+        // Yüklemeden sonra (transaction yokken hemen) önbellek temizlenir ve kayıt yeniden okunur.
+        PackageEntity entity = PackageEntity.builder().id(2L).name("core").version("2.0.0").build();
+        when(packageRepository.findByNameAndVersion("core", "2.0.0")).thenReturn(Optional.of(entity));
+        when(packageRepository.findFirstByNameOrderByVersionMajorDescVersionMinorDescVersionPatchDesc("core"))
+                .thenReturn(Optional.of(entity));
+        lookup.invalidateAfterCommit("core", "2.0.0");
+
+        assertTrue(lookup.exists("core", "2.0.0"));
+        assertEquals("2.0.0", lookup.findLatest("core").orElseThrow().getVersion());
+        verify(packageRepository, times(2)).findByNameAndVersion("core", "2.0.0");
+    }
+
+    @Test
+    void cacheIsBoundedByMetadataSize() {
+        String meta = "x".repeat(300_000);
+        for (int i = 0; i < 10; i++) {
+            PackageEntity entity = PackageEntity.builder().id((long) i).name("big").version("1.0." + i)
+                    .packageBinary(meta).build();
+            when(packageRepository.findByNameAndVersion("big", "1.0." + i)).thenReturn(Optional.of(entity));
+            lookup.findPackage("big", "1.0." + i);
+        }
+
+        // 1 MB sınırına yalnızca üç kayıt sığar; kayıt sayısı sınırı olsaydı onunun tamamı tutulurdu.
+        Cache<?, ?> cache = (Cache<?, ?>) ReflectionTestUtils.getField(lookup, "cache");
+        cache.cleanUp();
+        assertEquals(3, cache.estimatedSize());
+    }
+}
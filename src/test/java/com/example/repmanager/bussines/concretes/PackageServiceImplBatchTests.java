@@ -0,0 +1,158 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.BlobService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.PackageVersionDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.StorageCompressor;
+import com.example.repmanager.storage.StorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PackageServiceImplBatchTests {
+
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final DependencyService dependencyService = mock(DependencyService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final InMemoryStorage storage = new InMemoryStorage();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private PackageServiceImpl packageService;
+
+    @BeforeEach
+    void setUp() {
+        packageService = new PackageServiceImpl(packageRepository, storage, mock(BlobService.class), dependencyService,
+                new ObjectMapper(), executor, transactionManager, new SimpleMeterRegistry(), StorageCompressor.disabled(),
+                PackageLookupServiceImplTests.uncached(packageRepository));
+        ReflectionTestUtils.setField(packageService, "maxBatchPackages", 10);
+        ReflectionTestUtils.setField(packageService, "batchConcurrency", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadsAllPackagesInOneBatch() {
+        AtomicLong ids = new AtomicLong();
+        when(packageRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<PackageEntity> entities = inv.getArgument(0);
+            entities.forEach(entity -> entity.setId(ids.incrementAndGet()));
+            return entities;
+        });
+
+        List<PackageVersionDTO> uploaded = packageService.uploadPackages(
+                List.of(meta("a", "1.0.0"), meta("b", "2.0.0"), meta("c", "1.10.0")),
+                List.of(rep("a"), rep("b"), rep("c")));
+
+        assertEquals(List.of("a", "b", "c"), uploaded.stream().map(PackageVersionDTO::getName).toList());
+        assertEquals(6, storage.objects.size());
+        assertEquals("b", new String(storage.objects.get("b/2.0.0/package.rep"), StandardCharsets.UTF_8));
+        verify(dependencyService).addDependencies(any());
+    }
+
+    @Test
+    void failedInsertRemovesStoredFiles() {
+        when(packageRepository.saveAll(anyList())).thenThrow(new RuntimeException("duplicate key"));
+
+        assertThrows(RuntimeException.class, () -> packageService.uploadPackages(
+                List.of(meta("a", "1.0.0"), meta("b", "2.0.0")), List.of(rep("a"), rep("b"))));
+
+        assertTrue(storage.objects.isEmpty());
+    }
+
+    @Test
+    void failedStorageWriteRemovesOtherFilesAndSkipsTheDatabase() {
+        storage.failingKey = "b/2.0.0/package.rep";
+
+        assertThrows(RuntimeException.class, () -> packageService.uploadPackages(
+                List.of(meta("a", "1.0.0"), meta("b", "2.0.0")), List.of(rep("a"), rep("b"))));
+
+        assertTrue(storage.objects.isEmpty());
+        verify(packageRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void rejectsExistingVersionsBeforeWritingAnything() {
+        when(packageRepository.existsByNameAndVersion("b", "2.0.0")).thenReturn(true);
+
+        assertThrows(RuntimeException.class, () -> packageService.uploadPackages(
+                List.of(meta("a", "1.0.0"), meta("b", "2.0.0")), List.of(rep("a"), rep("b"))));
+
+        assertTrue(storage.objects.isEmpty());
+    }
+
+    private static MultipartFile meta(String name, String version) {
+        String json = "{\"name\":\"" + name + "\",\"version\":\"" + version + "\",\"author\":\"ci\",\"dependencies\":[]}";
+        return new MockMultipartFile("metaFile", "meta.json", "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MultipartFile rep(String content) {
+        return new MockMultipartFile("packageFile", "package.rep", "application/octet-stream",
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class InMemoryStorage implements StorageService {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private volatile String failingKey;
+
+        @Override
+        public String saveObject(String key, InputStream content, long size) {
+            if (key.equals(failingKey)) {
+                throw new RuntimeException("Storage unavailable");
+            }
+            try {
+                objects.put(key, content.readAllBytes());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return key;
+        }
+
+        @Override
+        public Resource loadObject(String key) {
+            return new ByteArrayResource(objects.get(key));
+        }
+
+        @Override
+        public boolean objectExists(String key) {
+            return objects.containsKey(key);
+        }
+
+        @Override
+        public void deleteObject(String key) {
+            objects.remove(key);
+        }
+    }
+}
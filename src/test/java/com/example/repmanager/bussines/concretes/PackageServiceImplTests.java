@@ -0,0 +1,155 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.BlobService;
+import com.example.repmanager.bussines.abstracts.DependencyService;
+import com.example.repmanager.bussines.abstracts.PackageLookupService;
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.PackageFileDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.InMemoryStorageService;
+import com.example.repmanager.storage.StorageCompressor;
+import com.example.repmanager.storage.StorageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PackageServiceImplTests {
+
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final PackageLookupService packageLookupService = mock(PackageLookupService.class);
+    private final InMemoryStorageService storage = new InMemoryStorageService();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final PackageServiceImpl packageService = new PackageServiceImpl(packageRepository, storage,
+            mock(BlobService.class), mock(DependencyService.class), new ObjectMapper(), executor,
+            transactionManager, new SimpleMeterRegistry(), StorageCompressor.disabled(), packageLookupService);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void backfillsAMissingDigestWithoutSavingTheCachedCopy() {
+        byte[] content = "legacy package".getBytes(StandardCharsets.UTF_8);
+        storage.objects.put(StorageService.fileKey("legacy", "1.0.0", "package.rep"), content);
+        PackageEntity legacy = PackageEntity.builder()
+                .id(7L)
+                .name("legacy")
+                .version("1.0.0")
+                .uploadedAt(LocalDateTime.now())
+                .build(); // Özet sütunları olmadan yüklenmiş eski bir kayıt.
+        when(packageLookupService.findPackage("legacy", "1.0.0")).thenReturn(Optional.of(legacy));
+
+        PackageFileDTO info = packageService.getPackageFileInfo("legacy", "1.0.0", "package.rep");
+
+        assertEquals(DigestHelper.sha256Hex(content), info.getDigest());
+        // Yalnızca boş özet sütunu yazılır; önbellekten gelen kopyanın tamamı kaydedilmez.
+        verify(packageRepository).backfillPackageDigest(7L, DigestHelper.sha256Hex(content));
+        verify(packageRepository, never()).backfillMetaDigest(anyLong(), anyString());
+        verify(packageRepository, never()).save(any());
+        verify(packageLookupService).invalidateAfterCommit("legacy", "1.0.0");
+    }
+
+    @Test
+    void uploadHashesThePackageWhileStoringItInASinglePass() throws Exception {
+        byte[] meta = "{\"name\":\"demo\",\"version\":\"1.0.0\",\"author\":\"someone\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[256 * 1024];
+        new Random(1).nextBytes(content);
+        MockMultipartFile metaFile = spy(new MockMultipartFile("metaFile", "meta.json", "application/json", meta));
+        MockMultipartFile packageFile = spy(new MockMultipartFile("packageFile", "package.rep", null, content));
+
+        packageService.uploadPackage("demo", "1.0.0", metaFile, packageFile);
+
+        // meta.json bir kez belleğe okunur; package.rep bir kez açılır ve storage'a yazılırken özeti hesaplanır.
+        verify(metaFile, times(1)).getBytes();
+        verify(metaFile, never()).getInputStream();
+        verify(packageFile, times(1)).getInputStream();
+        verify(packageFile, never()).getBytes();
+
+        assertArrayEquals(content, storage.objects.get(StorageService.fileKey("demo", "1.0.0", "package.rep")));
+        ArgumentCaptor<PackageEntity> saved = ArgumentCaptor.forClass(PackageEntity.class);
+        verify(packageRepository).save(saved.capture());
+        assertEquals(DigestHelper.sha256Hex(content), saved.getValue().getPackageDigest());
+        assertEquals(content.length, saved.getValue().getPackageSize());
+        assertEquals(DigestHelper.sha256Hex(meta), saved.getValue().getMetaDigest());
+    }
+
+    @Test
+    void uploadRecordsTheMetaSizeAsUploaded() {
+        // UTF-16 bir dosya metin olarak saklandıktan sonra UTF-8 ile yeniden kodlanırsa boyutu değişir.
+        byte[] meta = "{\"name\":\"demo\",\"version\":\"1.0.0\"}".getBytes(StandardCharsets.UTF_16);
+
+        packageService.uploadPackage("demo", "1.0.0", new MockMultipartFile("metaFile", meta),
+                new MockMultipartFile("packageFile", new byte[]{1, 2, 3}));
+
+        ArgumentCaptor<PackageEntity> saved = ArgumentCaptor.forClass(PackageEntity.class);
+        verify(packageRepository).save(saved.capture());
+        assertEquals(meta.length, saved.getValue().getMetaSize());
+        assertEquals(meta.length, PackageServiceImpl.sizeOf(saved.getValue(), "meta.json"));
+    }
+
+    @Test
+    void legacyMetaSizeIsOnlyDerivedWhenTheTextMatchesTheDigest() {
+        byte[] meta = "{\"name\":\"demo\"}".getBytes(StandardCharsets.UTF_8);
+        PackageEntity legacy = PackageEntity.builder()
+                .packageBinary(new String(meta, StandardCharsets.UTF_8))
+                .metaDigest(DigestHelper.sha256Hex(meta))
+                .build();
+        assertEquals(meta.length, PackageServiceImpl.sizeOf(legacy, "meta.json"));
+
+        // Metin yüklenen dosyadan farklı kodlanmışsa boyut bilinmiyor kabul edilir.
+        legacy.setMetaDigest(DigestHelper.sha256Hex(new String(meta, StandardCharsets.UTF_8)
+                .getBytes(StandardCharsets.UTF_16)));
+        assertEquals(-1, PackageServiceImpl.sizeOf(legacy, "meta.json"));
+    }
+
+    @Test
+    void uploadStoresFilesBeforeTheTransactionStarts() {
+        byte[] meta = "{\"name\":\"demo\",\"version\":\"1.0.0\"}".getBytes(StandardCharsets.UTF_8);
+        String packageKey = StorageService.fileKey("demo", "1.0.0", "package.rep");
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            // Dosyalar transaction açılmadan önce yazılmış olmalıdır; yükleme süresince bağlantı tutulmaz.
+            assertTrue(storage.objects.containsKey(packageKey));
+            return status;
+        });
+
+        packageService.uploadPackage("demo", "1.0.0", new MockMultipartFile("metaFile", meta),
+                new MockMultipartFile("packageFile", new byte[]{1, 2, 3}));
+
+        InOrder order = inOrder(transactionManager, packageRepository);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(packageRepository).findByNameAndVersion("demo", "1.0.0");
+        order.verify(packageRepository).save(any());
+        order.verify(transactionManager).commit(status);
+    }
+}
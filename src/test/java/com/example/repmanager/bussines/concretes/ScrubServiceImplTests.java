@@ -0,0 +1,118 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.dao.BlobRepository;
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dto.ScrubReportDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.storage.InMemoryStorageService;
+import com.example.repmanager.storage.StorageService;
+import com.example.repmanager.storage.StoredPackages;
+import com.example.repmanager.storage.VerifyingResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScrubServiceImplTests {
+
+    private final InMemoryStorageService storage = new InMemoryStorageService();
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final BlobRepository blobRepository = mock(BlobRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScrubServiceImpl scrubService = new ScrubServiceImpl(packageRepository, blobRepository, storage,
+            meterRegistry, 2, 2, DataSize.ofMegabytes(100), 10_000, Duration.ofHours(1), 100);
+
+    @Test
+    void reportsCorruptDanglingAndOrphanObjects() {
+        PackageEntity healthy = StoredPackages.store(storage, 1L, "healthy");
+        PackageEntity corrupt = StoredPackages.store(storage, 2L, "corrupt");
+        PackageEntity dangling = StoredPackages.store(storage, 3L, "dangling");
+        storage.objects.get("corrupt/1.0.0/package.rep")[0] ^= 1; // Tek bir bit değişir; boyut aynı kalır.
+        storage.deleteObject("dangling/1.0.0/meta.json");
+        storage.objects.put("deleted/1.0.0/package.rep", new byte[10]);
+        storage.objects.put(StorageService.blobKey("ab" + "0".repeat(62)), new byte[10]);
+
+        List<PackageEntity> entities = List.of(healthy, corrupt, dangling);
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(entities.subList(0, 2));
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class))).thenReturn(entities.subList(2, 3));
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Limit.class))).thenReturn(List.of());
+        when(packageRepository.findByNameAndVersion(anyString(), anyString())).thenReturn(Optional.empty());
+        for (PackageEntity entity : entities) {
+            when(packageRepository.findById(entity.getId())).thenReturn(Optional.of(entity));
+            when(packageRepository.findByNameAndVersion(entity.getName(), "1.0.0")).thenReturn(Optional.of(entity));
+        }
+        when(blobRepository.findAllById(any())).thenReturn(List.of());
+
+        ScrubReportDTO report = scrubService.scrub();
+
+        assertEquals(ScrubReportDTO.State.COMPLETED, report.getState());
+        assertEquals(3, report.getPackagesChecked());
+        assertEquals(5, report.getFilesVerified());
+        assertEquals(List.of("corrupt@1.0.0 package.rep (corrupt/1.0.0/package.rep)"),
+                report.getCorrupt().stream().map(finding -> finding.substring(0, finding.indexOf(':'))).toList());
+        assertEquals(List.of("dangling@1.0.0 meta.json (dangling/1.0.0/meta.json)"), report.getDangling());
+        assertEquals(2, report.getOrphanCount());
+        assertTrue(report.getOrphans().contains("deleted/1.0.0/package.rep"));
+        assertEquals(0, report.getErrors());
+        assertEquals(1, meterRegistry.counter("storage.scrub.findings", "type", "corrupt").count());
+        assertEquals(report, scrubService.getReport());
+    }
+
+    @Test
+    void verifiedDownloadFailsBeforeTheLastChunkOfCorruptContent() throws IOException {
+        byte[] content = "x".repeat(200_000).getBytes(StandardCharsets.UTF_8);
+        String digest = DigestHelper.sha256Hex(content);
+        AtomicInteger failures = new AtomicInteger();
+
+        try (InputStream in = new VerifyingResource(new ByteArrayResource(content), digest, content.length,
+                failures::incrementAndGet).getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        byte[] corrupt = content.clone();
+        corrupt[0] = 'y';
+        try (InputStream in = new VerifyingResource(new ByteArrayResource(corrupt), digest, content.length,
+                failures::incrementAndGet).getInputStream()) {
+            byte[] buffer = new byte[8192];
+            long delivered = 0;
+            IOException error = null;
+            try {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    delivered += read;
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            assertTrue(error != null && error.getMessage().contains("digest mismatch"));
+            assertTrue(delivered < content.length, "delivered " + delivered + " bytes");
+        }
+
+        // Kayıttakinden kısa bir dosya da hata verir.
+        try (InputStream in = new VerifyingResource(new ByteArrayResource(content), digest, content.length + 1L,
+                failures::incrementAndGet).getInputStream()) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+        assertEquals(2, failures.get());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.dao.PackageRepository;
+import com.example.repmanager.dao.StorageMigrationRepository;
+import com.example.repmanager.dto.StorageMigrationDTO;
+import com.example.repmanager.entities.PackageEntity;
+import com.example.repmanager.entities.StorageMigrationEntity;
+import com.example.repmanager.storage.InMemoryStorageService;
+import com.example.repmanager.storage.MigratingStorageService;
+import com.example.repmanager.storage.StoredPackages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class StorageMigrationServiceImplTests {
+
+    private final InMemoryStorageService source = new InMemoryStorageService();
+    private final InMemoryStorageService target = new InMemoryStorageService() {
+        @Override
+        public String saveObject(String key, InputStream content, long size) {
+            String path = super.saveObject(key, content, size);
+            if (key.equals("corrupt/1.0.0/package.rep")) {
+                objects.get(key)[0] ^= 1; // Hedef backend içeriği bozuk yazar.
+            }
+            return "s3://" + path;
+        }
+    };
+    private final MigratingStorageService storage =
+            new MigratingStorageService(source, "file-system", target, "object-storage");
+    private final PackageRepository packageRepository = mock(PackageRepository.class);
+    private final StorageMigrationRepository migrationRepository = mock(StorageMigrationRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StorageMigrationServiceImpl migrationService = migrationService("file-system");
+
+    @Test
+    void copiesVerifiesAndCheckpointsEveryPage() throws IOException, InterruptedException {
+        PackageEntity first = StoredPackages.store(source, 1L, "first");
+        PackageEntity corrupt = StoredPackages.store(source, 2L, "corrupt");
+        PackageEntity moved = StoredPackages.store(source, 3L, "moved");
+        // Bu paket geçiş sırasında yeniden yüklenmiş: yalnızca hedefte bulunur ve kopyalanmaz.
+        storage.saveObject("moved/1.0.0/package.rep", new ByteArrayInputStream(new byte[]{1, 2, 3}), 3);
+        storage.saveObject("moved/1.0.0/meta.json", new ByteArrayInputStream(new byte[]{4}), 1);
+
+        List<PackageEntity> entities = List.of(first, corrupt, moved);
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(entities.subList(0, 2));
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Limit.class))).thenReturn(entities.subList(2, 3));
+        when(packageRepository.findByIdGreaterThanOrderByIdAsc(eq(3L), any(Limit.class))).thenReturn(List.of());
+        for (PackageEntity entity : entities) {
+            when(packageRepository.findById(entity.getId())).thenReturn(Optional.of(entity));
+        }
+
+        // Kontrol noktası satırı bellekte tutulur; claim onu bu replika adına RUNNING yapar.
+        AtomicReference<StorageMigrationEntity> row = new AtomicReference<>();
+        when(migrationRepository.findById("file-system->object-storage"))
+                .thenAnswer(invocation -> Optional.ofNullable(row.get()));
+        when(migrationRepository.save(any())).thenAnswer(invocation -> {
+            StorageMigrationEntity saved = invocation.getArgument(0);
+            row.set(saved);
+            return saved;
+        });
+        when(migrationRepository.claim(anyString(), anyString(), any(), any(), any())).thenAnswer(invocation -> {
+            row.get().setState(StorageMigrationEntity.State.RUNNING);
+            row.get().setOwner(invocation.getArgument(1));
+            return 1;
+        });
+
+        assertTrue(migrationService.start());
+        StorageMigrationDTO status = awaitFinished();
+
+        assertEquals(StorageMigrationEntity.State.COMPLETED, status.getState());
+        assertEquals(3, status.getLastPackageId());
+        assertEquals(3, status.getCopiedObjects());
+        assertEquals(1, status.getFailedObjects());
+        assertEquals(1, status.getFailures().size());
+        assertTrue(status.getFailures().get(0).startsWith("corrupt/1.0.0/package.rep: expected"));
+
+        // Doğrulanan kopyalar hedefte, doğrulanamayan kopya yalnızca kaynakta kalır; kaynak silinmez.
+        assertArrayEquals(source.objects.get("first/1.0.0/package.rep"), target.objects.get("first/1.0.0/package.rep"));
+        assertFalse(target.objects.containsKey("corrupt/1.0.0/package.rep"));
+        assertTrue(source.objects.containsKey("corrupt/1.0.0/package.rep"));
+        assertArrayEquals(new byte[]{1, 2, 3}, target.objects.get("moved/1.0.0/package.rep"));
+        assertArrayEquals(new byte[]{1, 2, 3}, storage.loadObject("moved/1.0.0/package.rep").getContentAsByteArray());
+
+        // Yalnızca doğrulanan package.rep kopyasının yolu güncellenir.
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE package_entity SET storage_path = ? WHERE id = ? AND package_digest = ?"),
+                argThat((List<Object[]> rows) -> rows.size() == 1
+                        && rows.get(0)[0].equals("s3://first/1.0.0/package.rep") && rows.get(0)[1].equals(1L)));
+        assertEquals(3, meterRegistry.counter("storage.migration.objects", "outcome", "copied").count());
+        assertEquals(2, meterRegistry.counter("storage.migration.objects", "outcome", "skipped").count());
+    }
+
+    @Test
+    void discardingACopyKeepsContentUploadedAfterIt() {
+        String key = "corrupt/1.0.0/package.rep";
+        source.objects.put(key, new byte[]{1, 2, 3});
+        storage.copyToTarget(key);
+
+        // Kopya doğrulanırken paket yeniden yüklenir: yeni içerik hedefe yazılır, kaynaktaki nesne silinir.
+        storage.saveObject(key, new ByteArrayInputStream(new byte[]{4, 5}), 2);
+
+        assertFalse(storage.discardCopy(key));
+        assertTrue(target.objects.containsKey(key));
+
+        // Nesne kaynakta duruyorsa hatalı kopya silinir ve okumalar kaynaktan devam eder.
+        String other = "other/1.0.0/package.rep";
+        source.objects.put(other, new byte[]{6});
+        storage.copyToTarget(other);
+        assertTrue(storage.discardCopy(other));
+        assertFalse(target.objects.containsKey(other));
+        assertTrue(storage.objectExists(other));
+    }
+
+    @Test
+    void isDisabledWithoutAMigrationSource() {
+        StorageMigrationServiceImpl disabled = migrationService("");
+
+        assertFalse(disabled.start());
+        assertFalse(disabled.stop());
+        assertNull(disabled.getStatus().getState());
+        assertNull(disabled.getStatus().getSource());
+        disabled.heartbeat();
+        verifyNoInteractions(migrationRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StorageMigrationServiceImpl migrationService(String migrationSource) {
+        ObjectProvider<MigratingStorageService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(storage);
+        return new StorageMigrationServiceImpl(packageRepository, migrationRepository, provider, migrationSource, jdbcTemplate,
+                mock(PlatformTransactionManager.class), meterRegistry, 2, 2, true, DataSize.ofBytes(0),
+                Duration.ofMinutes(5));
+    }
+
+    private StorageMigrationDTO awaitFinished() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            StorageMigrationDTO status = migrationService.getStatus();
+            if (status.getState() != StorageMigrationEntity.State.RUNNING && status.getState() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Migration did not finish: " + migrationService.getStatus());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.repmanager.bussines.concretes;
+
+import com.example.repmanager.bussines.abstracts.PackageService;
+import com.example.repmanager.core.exception.RateLimitExceededException;
+import com.example.repmanager.dto.UploadJobDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class UploadJobServiceImplTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void processesSpooledUploadAndKeepsOnlyJobState() throws Exception {
+        PackageService packageService = mock(PackageService.class);
+        CountDownLatch uploaded = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            MultipartFile packageFile = invocation.getArgument(3);
+            assertEquals("rep-content", new String(packageFile.getBytes(), StandardCharsets.UTF_8));
+            uploaded.countDown();
+            return null;
+        }).when(packageService).uploadPackage(eq("core"), eq("1.0.0"), any(), any());
+
+        UploadJobServiceImpl service = service(packageService, 10);
+        UploadJobDTO job = service.submit("core", "1.0.0", meta(), rep());
+        assertEquals(UploadJobDTO.State.QUEUED, job.getState());
+
+        assertTrue(uploaded.await(5, TimeUnit.SECONDS));
+        UploadJobDTO finished = awaitFinished(service, job.getId());
+        assertEquals(UploadJobDTO.State.COMPLETED, finished.getState());
+        assertEquals(1, finished.getAttempts());
+
+        Path jobDir = spoolDir.resolve(job.getId());
+        assertTrue(Files.exists(jobDir.resolve("job.json")));
+        assertFalse(Files.exists(jobDir.resolve("package.rep")));
+        service.shutdown();
+    }
+
+    @Test
+    void resumesUnfinishedJobsAfterRestart() throws Exception {
+        // İlk örnek işi işlerken kapanır; iş diskte PROCESSING olarak kalır.
+        PackageService stuck = mock(PackageService.class);
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return null;
+        }).when(stuck).uploadPackage(any(), any(), any(), any());
+
+        UploadJobServiceImpl first = service(stuck, 10);
+        String jobId = first.submit("core", "1.0.0", meta(), rep()).getId();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        first.shutdown();
+
+        UploadJobServiceImpl second = service(mock(PackageService.class), 10);
+        UploadJobDTO finished = awaitFinished(second, jobId);
+        assertEquals(UploadJobDTO.State.COMPLETED, finished.getState());
+        assertEquals(2, finished.getAttempts());
+        second.shutdown();
+    }
+
+    @Test
+    void rejectsSubmissionsWhenQueueIsFull() throws InterruptedException {
+        PackageService blocking = mock(PackageService.class);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(blocking).uploadPackage(any(), any(), any(), any());
+
+        UploadJobServiceImpl service = service(blocking, 1);
+        String jobId = service.submit("core", "1.0.0", meta(), rep()).getId();
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+                () -> service.submit("core", "1.0.1", meta(), rep()));
+        assertEquals("upload-queue", rejected.getReason());
+        release.countDown();
+        awaitFinished(service, jobId); // İş, spool klasörü silinmeden önce kendi dosyalarını temizler.
+        service.shutdown();
+    }
+
+    private UploadJobServiceImpl service(PackageService packageService, int maxPending) {
+        return new UploadJobServiceImpl(packageService, objectMapper, new SimpleMeterRegistry(), spoolDir,
+                2, maxPending, Duration.ofDays(1));
+    }
+
+    private static UploadJobDTO awaitFinished(UploadJobServiceImpl service, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            UploadJobDTO job = service.getJob(jobId);
+            if (job.getState() == UploadJobDTO.State.COMPLETED || job.getState() == UploadJobDTO.State.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Upload job did not finish: " + jobId);
+    }
+
+    private static MockMultipartFile meta() {
+        return new MockMultipartFile("metaFile", "meta.json", "application/json",
+                "{\"name\":\"core\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockMultipartFile rep() {
+        return new MockMultipartFile("packageFile", "package.rep", "application/octet-stream",
+                "rep-content".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.repmanager.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SemanticVersionTests {
+
+    @Test
+    void parsesNumericParts() {
+        assertEquals(new SemanticVersion(1, 10, 2), SemanticVersion.parse("1.10.2"));
+        assertEquals("1.10.2", SemanticVersion.parse("1.10.2").toString());
+    }
+
+    @Test
+    void sortsNumericallyNotLexically() {
+        List<String> sorted = Stream.of("1.9.0", "1.10.0", "0.1.0", "1.9.10", "1.9.2")
+                .map(SemanticVersion::parse)
+                .sorted()
+                .map(SemanticVersion::toString)
+                .toList();
+
+        assertEquals(List.of("0.1.0", "1.9.0", "1.9.2", "1.9.10", "1.10.0"), sorted);
+    }
+
+    @Test
+    void rejectsInvalidVersions() {
+        assertThrows(RuntimeException.class, () -> SemanticVersion.parse("1.0"));
+        assertThrows(RuntimeException.class, () -> SemanticVersion.parse("1.0.0-beta"));
+        assertThrows(RuntimeException.class, () -> SemanticVersion.parse("99999999999.0.0"));
+        assertThrows(RuntimeException.class, () -> SemanticVersion.parse(null));
+    }
+}
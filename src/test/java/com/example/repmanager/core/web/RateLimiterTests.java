@@ -0,0 +1,113 @@
+package com.example.repmanager.core.web;
+
+import com.example.repmanager.core.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsClientOverRequestRateAndRefillsOverTime() {
+        RateLimiter limiter = limiter(new RateLimiter.Limit(1, 2, 1_000_000, 1_000_000), 10);
+
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0));
+        assertEquals("client-requests", rejected.getReason());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+
+        limiter.acquire("b", RateLimiter.Kind.DOWNLOAD, 0).release(); // Diğer istemciler etkilenmez.
+
+        clock.addAndGet(SECOND);
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        assertEquals(1, meterRegistry.get("http.ratelimit.rejected").tag("reason", "client-requests").counter().count());
+    }
+
+    @Test
+    void sentBytesPutClientIntoDebtUntilRefilled() {
+        RateLimiter limiter = limiter(new RateLimiter.Limit(100, 100, 1000, 1000), 10);
+
+        // Süren bir indirmenin yazdığı byte'lar kovayı hemen 4 saniyelik borca sokar; indirme bitmeden ve borç
+        // kapanana kadar aynı istemcinin yeni istekleri kabul edilmez.
+        RateLimiter.Permit download = limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0);
+        download.consume(5000);
+        RateLimitExceededException rejected = assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0));
+        assertEquals("client-bytes", rejected.getReason());
+        assertEquals(4, rejected.getRetryAfterSeconds());
+        download.release();
+
+        clock.addAndGet(4 * SECOND);
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+    }
+
+    @Test
+    void capsConcurrentUploadsWithoutQueueing() {
+        RateLimiter limiter = limiter(new RateLimiter.Limit(100, 100, 1_000_000, 1_000_000), 1);
+
+        RateLimiter.Permit first = limiter.acquire("a", RateLimiter.Kind.UPLOAD, 10);
+        assertEquals("upload-concurrency", assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("b", RateLimiter.Kind.UPLOAD, 10)).getReason());
+        limiter.acquire("b", RateLimiter.Kind.DOWNLOAD, 0).release(); // İndirmelerin ayrı sınırı vardır.
+
+        first.release();
+        first.release(); // İkinci release etkisizdir; izin sayısı artmaz.
+        RateLimiter.Permit second = limiter.acquire("b", RateLimiter.Kind.UPLOAD, 10);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire("c", RateLimiter.Kind.UPLOAD, 10));
+        second.release();
+    }
+
+    @Test
+    void capsConcurrentRequestsPerClient() {
+        RateLimiter limiter = limiter(new RateLimiter.Limit(100, 100, 1_000_000, 1_000_000), 10);
+
+        RateLimiter.Permit first = limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0);
+        RateLimiter.Permit second = limiter.acquire("a", RateLimiter.Kind.UPLOAD, 10);
+        assertEquals("client-concurrency", assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0)).getReason());
+        // Diğer istemciler global izinleri kullanmaya devam eder.
+        limiter.acquire("b", RateLimiter.Kind.DOWNLOAD, 0).release();
+        assertEquals(2, meterRegistry.get("http.ratelimit.in.flight").tag("kind", "download").gauge().value()
+                + meterRegistry.get("http.ratelimit.in.flight").tag("kind", "upload").gauge().value());
+
+        first.release();
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        second.release();
+    }
+
+    @Test
+    void rejectedRequestsDoNotSpendRequestTokens() {
+        RateLimiter limiter = limiter(new RateLimiter.Limit(1, 3, 1_000_000, 1_000_000), 1);
+
+        RateLimiter.Permit upload = limiter.acquire("a", RateLimiter.Kind.UPLOAD, 10);
+        // Eşzamanlılık sınırına takılan tekrar denemeler istemcinin istek kovasını boşaltmaz.
+        for (int i = 0; i < 5; i++) {
+            assertEquals("upload-concurrency", assertThrows(RateLimitExceededException.class,
+                    () -> limiter.acquire("a", RateLimiter.Kind.UPLOAD, 10)).getReason());
+        }
+        upload.release();
+
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0).release();
+        assertEquals("client-requests", assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire("a", RateLimiter.Kind.DOWNLOAD, 0)).getReason());
+    }
+
+    private RateLimiter limiter(RateLimiter.Limit clientLimit, int maxUploads) {
+        RateLimiter.Limit globalLimit = new RateLimiter.Limit(1000, 1000, 1_000_000_000, 1_000_000_000);
+        return new RateLimiter(clientLimit, globalLimit, 2, maxUploads, 10, 1000, Duration.ofSeconds(1),
+                clock::get, meterRegistry);
+    }
+}
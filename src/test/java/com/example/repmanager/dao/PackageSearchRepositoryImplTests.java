@@ -0,0 +1,107 @@
+package com.example.repmanager.dao;
+
+import com.example.repmanager.dto.PackageSearchDTO;
+import com.example.repmanager.entities.PackageEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Arama sorgusunun filtrelere göre nasıl oluşturulduğunu kontrol eder. İndeks kullanımı PostgreSQL'e özgü olduğu
+ * için (trigram GIN, text_pattern_ops) burada yalnızca üretilen SQL ve parametreler doğrulanır.
+ */
+class PackageSearchRepositoryImplTests {
+
+    private static final String SELECT = "SELECT DISTINCT ON (p.name) p.* FROM package_entity p WHERE p.name > :after";
+    private static final String ORDER = " ORDER BY p.name, p.version_major DESC, p.version_minor DESC,"
+            + " p.version_patch DESC LIMIT :limit";
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final Query query = mock(Query.class);
+    private final PackageSearchRepositoryImpl repository = new PackageSearchRepositoryImpl();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private String sql;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+        when(entityManager.createNativeQuery(anyString(), eq(PackageEntity.class))).thenAnswer(invocation -> {
+            sql = invocation.getArgument(0);
+            return query;
+        });
+        doAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return query;
+        }).when(query).setParameter(anyString(), any());
+        when(query.getResultList()).thenReturn(List.of());
+    }
+
+    @Test
+    void withoutFiltersOnlyTheCursorAndLimitAreApplied() {
+        repository.search(new PackageSearchDTO(), "", 21);
+
+        assertEquals(SELECT + ORDER, sql);
+        assertEquals(Map.of("after", "", "limit", 21), parameters);
+    }
+
+    @Test
+    void cursorContinuesAfterTheLastReturnedName() {
+        repository.search(PackageSearchDTO.builder().prefix(" Http").build(), "http-client", 51);
+
+        assertEquals(SELECT + " AND lower(p.name) LIKE :prefix ESCAPE '\\'" + ORDER, sql);
+        assertEquals(List.of("after", "prefix", "limit"), List.copyOf(parameters.keySet()));
+        assertEquals("http-client", parameters.get("after"));
+        assertEquals("http%", parameters.get("prefix"));
+        assertEquals(51, parameters.get("limit"));
+    }
+
+    @Test
+    void everyGivenFilterAddsItsOwnCondition() {
+        PackageSearchDTO criteria = PackageSearchDTO.builder()
+                .prefix("my_lib")
+                .query("100%")
+                .author(" Someone ")
+                .dependsOn("core@1.2.0")
+                .build();
+
+        repository.search(criteria, "a", 11);
+
+        assertEquals(SELECT
+                + " AND lower(p.name) LIKE :prefix ESCAPE '\\'"
+                + " AND (lower(p.name) LIKE :query ESCAPE '\\' OR lower(p.author) LIKE :query ESCAPE '\\')"
+                + " AND lower(p.author) = :author"
+                + " AND EXISTS (SELECT 1 FROM package_dependency d WHERE d.package_id = p.id"
+                + " AND d.dependency_name = :dependencyName AND d.dependency_version = :dependencyVersion)"
+                + ORDER, sql);
+        // LIKE joker karakterleri kaçış karakteriyle etkisizleştirilir.
+        assertEquals("my\\_lib%", parameters.get("prefix"));
+        assertEquals("%100\\%%", parameters.get("query"));
+        assertEquals("someone", parameters.get("author"));
+        assertEquals("core", parameters.get("dependencyName"));
+        assertEquals("1.2.0", parameters.get("dependencyVersion"));
+        assertEquals(11, parameters.get("limit"));
+    }
+
+    @Test
+    void dependsOnWithoutVersionMatchesAnyVersion() {
+        repository.search(PackageSearchDTO.builder().dependsOn("core").query(" ").build(), "", 5);
+
+        assertEquals(SELECT + " AND EXISTS (SELECT 1 FROM package_dependency d WHERE d.package_id = p.id"
+                + " AND d.dependency_name = :dependencyName)" + ORDER, sql);
+        assertEquals(Map.of("after", "", "dependencyName", "core", "limit", 5), parameters);
+    }
+}
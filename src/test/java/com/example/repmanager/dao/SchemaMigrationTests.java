@@ -0,0 +1,100 @@
+package com.example.repmanager.dao;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Flyway migration'larını PostgreSQL uyumluluk modundaki gömülü H2 veritabanında çalıştırır.
+ * V2 ve sonrası PostgreSQL'e özgü komutlar (setval, pg_trgm) içerdiği için migration'lar V1_1'e kadar uygulanır.
+ */
+class SchemaMigrationTests {
+
+    /**
+     * Uygulamanın Flyway'den önceki sürümünün ddl-auto=update ile oluşturduğu tablo.
+     */
+    private static final String LEGACY_SCHEMA = """
+            CREATE TABLE package_entity (
+                id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+                author         VARCHAR(255),
+                name           VARCHAR(255),
+                package_binary TEXT,
+                storage_path   VARCHAR(255),
+                uploaded_at    TIMESTAMP(6),
+                version        VARCHAR(255),
+                PRIMARY KEY (id)
+            )""";
+
+    @Test
+    void legacyDatabaseIsBridgedToTheInitialSchema() {
+        DataSource dataSource = dataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(LEGACY_SCHEMA);
+        jdbcTemplate.update("INSERT INTO package_entity (name, version, author) VALUES ('demo', '1.0.0', 'old')");
+        jdbcTemplate.update("INSERT INTO package_entity (name, version, author) VALUES ('demo', '1.0.0', 'new')");
+        jdbcTemplate.update("INSERT INTO package_entity (name, version, author) VALUES ('other', '2.0.0', 'someone')");
+
+        MigrateResult result = migrate(dataSource);
+
+        // Veritabanı V1 olarak işaretlenir; V1 atlanır ve yalnızca köprü migration'ı çalışır.
+        assertEquals("1.1", result.targetSchemaVersion);
+        assertEquals(List.of("1.1"), result.migrations.stream().map(migration -> migration.version).toList());
+
+        // Tekrar eden kayıtlardan en yenisi kalır; yeni sütunlar eski kayıtlarda boştur.
+        assertEquals(List.of("new", "someone"),
+                jdbcTemplate.queryForList("SELECT author FROM package_entity ORDER BY id", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM package_entity WHERE version_major IS NOT NULL"
+                + " OR package_digest IS NOT NULL OR content_addressed IS NOT NULL", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM package_dependency", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM storage_blob", Integer.class));
+        assertEquals(List.of("package_dependency_seq", "package_entity_seq"), jdbcTemplate.queryForList(
+                "SELECT sequence_name FROM information_schema.sequences ORDER BY sequence_name", String.class));
+        assertEquals(List.of("idx_package_name_semver", "uk_package_name_version"), jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'package_entity'"
+                        + " AND index_name IN ('idx_package_name_semver', 'uk_package_name_version') ORDER BY index_name",
+                String.class));
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO package_entity (id, name, version) VALUES (100, 'demo', '1.0.0')"));
+    }
+
+    @Test
+    void bridgeIsANoOpOnTheInitialSchema() {
+        DataSource dataSource = dataSource();
+
+        MigrateResult result = migrate(dataSource);
+
+        assertEquals(List.of("1", "1.1"), result.migrations.stream().map(migration -> migration.version).toList());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO package_entity (id, name, version) VALUES (1, 'demo', '1.0.0')");
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO package_entity (id, name, version) VALUES (2, 'demo', '1.0.0')"));
+    }
+
+    private static DataSource dataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    /**
+     * application.properties'teki baseline ayarlarıyla migration'ları uygular.
+     */
+    private static MigrateResult migrate(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .target("1.1")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.repmanager.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingStorageServiceTests {
+
+    private final CountingStorageService backend = new CountingStorageService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CachingStorageService cachingStorageService =
+            new CachingStorageService(backend, 1024, 100, 50, meterRegistry);
+
+    @Test
+    void repeatedReadsAreServedFromCache() throws IOException {
+        save("a/1.0.0/meta.json", new byte[10]);
+
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(new byte[10], read("a/1.0.0/meta.json"));
+        }
+
+        assertEquals(1, backend.reads.get());
+        assertEquals(4, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void entriesAboveMaxEntrySizeBypassTheCache() throws IOException {
+        save("a/1.0.0/package.rep", new byte[200]);
+
+        read("a/1.0.0/package.rep");
+        read("a/1.0.0/package.rep");
+
+        assertEquals(2, backend.reads.get());
+    }
+
+    @Test
+    void largeEntriesAreKeptOffHeapAndSupportSkip() throws IOException {
+        byte[] content = new byte[80];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        save("a/1.0.0/package.rep", content);
+        read("a/1.0.0/package.rep");
+
+        try (InputStream inputStream = cachingStorageService.loadObject("a/1.0.0/package.rep").getInputStream()) {
+            assertEquals(70, inputStream.skip(70));
+            assertEquals(70, inputStream.read());
+        }
+    }
+
+    @Test
+    void entriesThatDoNotMatchTheirSizeAreNotCached() {
+        // Boyut bilgisi okunduktan sonra nesne değişmiş: kayıt 10 byte görünür, içerik 20 byte'tır.
+        CountingStorageService changing = new CountingStorageService() {
+            @Override
+            public Resource loadObject(String key) {
+                return new ByteArrayResource(new byte[20]) {
+                    @Override
+                    public long contentLength() {
+                        return 10;
+                    }
+                };
+            }
+        };
+        CachingStorageService caching = new CachingStorageService(changing, 1024, 100, 50, meterRegistry);
+
+        assertThrows(RuntimeException.class, () -> caching.loadObject("a/1.0.0/meta.json"));
+        // Başarısız yükleme önbellekte kalmaz; sonraki istek de backend'e gider ve aynı hatayı alır.
+        assertThrows(RuntimeException.class, () -> caching.loadObject("a/1.0.0/meta.json"));
+    }
+
+    @Test
+    void saveInvalidatesCachedEntry() throws IOException {
+        save("a/1.0.0/meta.json", new byte[]{1});
+        read("a/1.0.0/meta.json");
+
+        save("a/1.0.0/meta.json", new byte[]{2});
+
+        assertArrayEquals(new byte[]{2}, read("a/1.0.0/meta.json"));
+    }
+
+    @Test
+    void deleteInvalidatesCachedEntry() throws IOException {
+        save("a/1.0.0/meta.json", new byte[]{1});
+        read("a/1.0.0/meta.json");
+
+        cachingStorageService.deleteObject("a/1.0.0/meta.json");
+
+        assertFalse(cachingStorageService.objectExists("a/1.0.0/meta.json"));
+    }
+
+    private void save(String key, byte[] content) {
+        cachingStorageService.saveObject(key, new ByteArrayInputStream(content), content.length);
+    }
+
+    private byte[] read(String key) throws IOException {
+        try (InputStream inputStream = cachingStorageService.loadObject(key).getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * Nesneleri bellekte tutan ve içerik okumalarını sayan basit bir StorageService.
+     */
+    private static class CountingStorageService implements StorageService {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public String saveObject(String key, InputStream content, long size) {
+            try {
+                objects.put(key, content.readAllBytes());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return key;
+        }
+
+        @Override
+        public Resource loadObject(String key) {
+            byte[] content = objects.get(key);
+            if (content == null) {
+                throw new RuntimeException("Could not read file: " + key);
+            }
+            return new ByteArrayResource(content) {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    reads.incrementAndGet();
+                    return super.getInputStream();
+                }
+            };
+        }
+
+        @Override
+        public boolean objectExists(String key) {
+            return objects.containsKey(key);
+        }
+
+        @Override
+        public void deleteObject(String key) {
+            objects.remove(key);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.repmanager.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSystemStorageServiceTests {
+
+    private static final String KEY = "demo/1.0.0/package.rep";
+
+    @TempDir
+    Path rootDir;
+
+    private FileSystemStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileSystemStorageService();
+        ReflectionTestUtils.setField(storage, "rootDir", rootDir);
+        storage.init();
+    }
+
+    @Test
+    void savesAndLoadsObjectsAsStreams() throws IOException {
+        byte[] content = new byte[3 * 1024 * 1024];
+        new Random(1).nextBytes(content);
+
+        String path = storage.saveObject(KEY, new ByteArrayInputStream(content), content.length);
+
+        assertEquals(rootDir.resolve(KEY).toString(), path);
+        Resource resource = storage.loadObject(KEY);
+        assertInstanceOf(FileSystemResource.class, resource); // Dosya belleğe alınmaz, yoluyla sunulur.
+        assertEquals(content.length, resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertTrue(storage.objectExists(KEY));
+        assertEquals(List.of("package.rep"), fileNames(rootDir.resolve("demo/1.0.0"))); // Geçici dosya kalmaz.
+
+        storage.deleteObject(KEY);
+        assertFalse(storage.objectExists(KEY));
+        assertThrows(RuntimeException.class, () -> storage.loadObject(KEY));
+    }
+
+    @Test
+    void interruptedWriteKeepsThePreviousFileAndRemovesTheTemporaryFile() throws IOException {
+        byte[] previous = "previous".getBytes(StandardCharsets.UTF_8);
+        storage.saveObject(KEY, new ByteArrayInputStream(previous), previous.length);
+
+        // Bağlantısı yarıda kopan bir yükleme: akış bir miktar veri verdikten sonra hata fırlatır.
+        InputStream failing = new InputStream() {
+            private int remaining = 100_000;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("Connection reset");
+                }
+                return 'x';
+            }
+        };
+        assertThrows(RuntimeException.class, () -> storage.saveObject(KEY, failing, 1_000_000));
+
+        // Hedef dosya atomik taşıma ile değiştirildiği için okuyucular eksik bir dosya görmez.
+        try (InputStream in = storage.loadObject(KEY).getInputStream()) {
+            assertArrayEquals(previous, in.readAllBytes());
+        }
+        assertEquals(List.of("package.rep"), fileNames(rootDir.resolve("demo/1.0.0")));
+    }
+
+    @Test
+    void rejectsKeysOutsideTheRootDirectory() throws IOException {
+        Path outside = Files.writeString(rootDir.resolveSibling(rootDir.getFileName() + "-outside.txt"), "secret");
+        try {
+            for (String key : List.of("../" + outside.getFileName(), "demo/../../" + outside.getFileName(),
+                    outside.toString(), "", "demo/..")) {
+                assertThrows(RuntimeException.class, () -> storage.loadObject(key), key);
+                assertThrows(RuntimeException.class, () -> storage.objectExists(key), key);
+                assertThrows(RuntimeException.class, () -> storage.deleteObject(key), key);
+                assertThrows(RuntimeException.class,
+                        () -> storage.saveObject(key, new ByteArrayInputStream(new byte[1]), 1), key);
+            }
+            assertEquals("secret", Files.readString(outside));
+        } finally {
+            Files.deleteIfExists(outside);
+        }
+
+        // Kök klasör içinde kalan ".." parçaları kabul edilir.
+        storage.saveObject("demo/tmp/../1.0.0/meta.json", new ByteArrayInputStream(new byte[]{1}), 1);
+        assertTrue(storage.objectExists("demo/1.0.0/meta.json"));
+    }
+
+    private static List<String> fileNames(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
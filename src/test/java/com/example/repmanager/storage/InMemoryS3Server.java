@@ -0,0 +1,181 @@
+package com.example.repmanager.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testlerde MinIO yerine kullanılan, S3 API'sinin ObjectStorageService'in ihtiyaç duyduğu kısmını
+ * (bucket kontrolü, tek istekle yükleme, multipart upload, okuma ve silme) bellekte taklit eden küçük bir HTTP sunucusu.
+ * İmza doğrulaması yapmaz. Yavaş bir backend'i taklit etmek için nesne okumalarına gecikme eklenebilir.
+ */
+public class InMemoryS3Server implements AutoCloseable {
+
+    public final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Set<String> buckets = ConcurrentHashMap.newKeySet();
+    final AtomicInteger bucketChecks = new AtomicInteger();
+    final AtomicInteger singlePuts = new AtomicInteger();
+    final AtomicInteger uploadedParts = new AtomicInteger();
+    final AtomicInteger abortedUploads = new AtomicInteger();
+    final AtomicInteger maxConcurrentParts = new AtomicInteger();
+    volatile int failPartNumber = -1; // Bu numaralı parça yüklenirken 500 döner.
+    public volatile long readDelayMillis; // Her nesne okumasından (GET/HEAD) önce beklenen süre.
+
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger activeParts = new AtomicInteger();
+    private final HttpServer server;
+
+    public InMemoryS3Server() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true"); // Küçük cevaplarda Nagle/gecikmeli ACK beklemesini önler.
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().substring(1).split("/", 2);
+            String bucket = path[0];
+            String key = path.length > 1 ? path[1] : "";
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            String method = exchange.getRequestMethod();
+
+            if (key.isEmpty()) {
+                handleBucket(exchange, method, bucket);
+            } else if (method.equals("POST") && query.containsKey("uploads")) {
+                String uploadId = UUID.randomUUID().toString();
+                uploads.put(uploadId, new ConcurrentHashMap<>());
+                sendXml(exchange, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+                        + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            } else if (method.equals("PUT") && query.containsKey("partNumber")) {
+                uploadPart(exchange, query, body);
+            } else if (method.equals("POST") && query.containsKey("uploadId")) {
+                Map<Integer, byte[]> parts = new TreeMap<>(uploads.remove(query.get("uploadId")));
+                ByteArrayOutputStream object = new ByteArrayOutputStream();
+                parts.values().forEach(object::writeBytes);
+                objects.put(key, object.toByteArray());
+                sendXml(exchange, "<CompleteMultipartUploadResult><Location>" + key + "</Location><Bucket>" + bucket
+                        + "</Bucket><Key>" + key + "</Key><ETag>\"etag\"</ETag></CompleteMultipartUploadResult>");
+            } else if (method.equals("DELETE") && query.containsKey("uploadId")) {
+                uploads.remove(query.get("uploadId"));
+                abortedUploads.incrementAndGet();
+                exchange.sendResponseHeaders(204, -1);
+            } else if (method.equals("PUT")) {
+                singlePuts.incrementAndGet();
+                objects.put(key, body);
+                exchange.getResponseHeaders().add("ETag", "\"etag\"");
+                exchange.sendResponseHeaders(200, -1);
+            } else if (method.equals("DELETE")) {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                sendObject(exchange, method, objects.get(key));
+            }
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String method, String bucket) throws IOException {
+        if (method.equals("HEAD")) {
+            bucketChecks.incrementAndGet();
+            exchange.sendResponseHeaders(buckets.contains(bucket) ? 200 : 404, -1);
+        } else {
+            buckets.add(bucket);
+            exchange.sendResponseHeaders(200, -1);
+        }
+    }
+
+    private void uploadPart(HttpExchange exchange, Map<String, String> query, byte[] body) throws IOException {
+        int active = activeParts.incrementAndGet();
+        maxConcurrentParts.accumulateAndGet(active, Math::max);
+        try {
+            Thread.sleep(200); // Parçaların gerçekten eş zamanlı yüklendiğini görebilmek için.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeParts.decrementAndGet();
+        }
+
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        if (partNumber == failPartNumber) {
+            exchange.sendResponseHeaders(500, -1);
+            return;
+        }
+        Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+        if (parts == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        parts.put(partNumber, body);
+        uploadedParts.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", "\"part-" + partNumber + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void sendObject(HttpExchange exchange, String method, byte[] object) throws IOException {
+        if (readDelayMillis > 0) {
+            try {
+                Thread.sleep(readDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        exchange.getResponseHeaders().add("ETag", "\"etag\"");
+        exchange.getResponseHeaders().add("Last-Modified", "Mon, 01 Jan 2024 00:00:00 GMT");
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        if (method.equals("HEAD")) {
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, object.length == 0 ? -1 : object.length);
+        exchange.getResponseBody().write(object);
+    }
+
+    private void sendXml(HttpExchange exchange, String xml) throws IOException {
+        byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> values = new HashMap<>();
+        if (query == null) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            values.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return values;
+    }
+}
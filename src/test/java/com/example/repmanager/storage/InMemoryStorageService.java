@@ -0,0 +1,57 @@
+package com.example.repmanager.storage;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Nesneleri bellekte tutan bir StorageService. Dekoratörlerin testlerinde ve ek yüklerini ölçen benchmark'larda
+ * gerçek bir backend'in G/Ç maliyeti olmadan kullanılır.
+ */
+public class InMemoryStorageService implements StorageService {
+
+    public final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public String saveObject(String key, InputStream content, long size) {
+        try {
+            objects.put(key, content.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not save file: " + key, e);
+        }
+        return key;
+    }
+
+    @Override
+    public Resource loadObject(String key) {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw new RuntimeException("Could not read file: " + key);
+        }
+        return new ByteArrayResource(content, key);
+    }
+
+    /**
+     * Bellekteki nesnelerin yazılma zamanı tutulmaz; hepsi çok eski yazılmış gibi listelenir.
+     */
+    @Override
+    public void listObjects(Consumer<StoredObject> action) {
+        objects.forEach((key, content) -> action.accept(new StoredObject(key, content.length, Instant.EPOCH)));
+    }
+
+    @Override
+    public boolean objectExists(String key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        objects.remove(key);
+    }
+}
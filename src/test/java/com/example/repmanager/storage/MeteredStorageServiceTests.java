@@ -0,0 +1,50 @@
+package com.example.repmanager.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MeteredStorageServiceTests {
+
+    private final InMemoryStorageService backend = new InMemoryStorageService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeteredStorageService storageService = new MeteredStorageService(backend, "test", meterRegistry);
+
+    @Test
+    void callsAndBytesAreRecordedPerOperation() {
+        storageService.saveObject("a/1.0.0/package.rep", new ByteArrayInputStream(new byte[100]), 100);
+        storageService.loadObject("a/1.0.0/package.rep");
+        storageService.loadObject("a/1.0.0/package.rep");
+
+        assertEquals(1, timerCount("save", "success"));
+        assertEquals(2, timerCount("load", "success"));
+        assertEquals(100, meterRegistry.get("storage.bytes").tag("direction", "written").counter().count());
+        assertEquals(200, meterRegistry.get("storage.bytes").tag("direction", "read").counter().count());
+        assertEquals(0, meterRegistry.get("storage.in.flight").gauge().value());
+    }
+
+    @Test
+    void failedCallsAreCountedAsErrors() {
+        assertThrows(RuntimeException.class, () -> storageService.loadObject("missing/1.0.0/package.rep"));
+
+        assertEquals(1, timerCount("load", "error"));
+        assertEquals(1, meterRegistry.get("storage.errors")
+                .tag("backend", "test")
+                .tag("operation", "load")
+                .tag("exception", "RuntimeException")
+                .counter().count());
+        assertEquals(0, meterRegistry.get("storage.bytes").tag("direction", "read").counter().count());
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get("storage.requests")
+                .tag("backend", "test")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer().count();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.repmanager.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObjectStorageServiceTests {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    private InMemoryS3Server server;
+    private ObjectStorageService storageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new InMemoryS3Server();
+        storageService = new ObjectStorageService();
+        ReflectionTestUtils.setField(storageService, "minioUrl", server.url());
+        ReflectionTestUtils.setField(storageService, "accessKey", "test");
+        ReflectionTestUtils.setField(storageService, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(storageService, "bucketName", "packages");
+        ReflectionTestUtils.setField(storageService, "region", "us-east-1");
+        ReflectionTestUtils.setField(storageService, "partSize", DataSize.ofBytes(PART_SIZE));
+        ReflectionTestUtils.setField(storageService, "uploadConcurrency", 3);
+        ReflectionTestUtils.setField(storageService, "maxIdleConnections", 8);
+        ReflectionTestUtils.setField(storageService, "keepAlive", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(storageService, "maxRequests", 16);
+        ReflectionTestUtils.setField(storageService, "maxRequestsPerHost", 16);
+        ReflectionTestUtils.setField(storageService, "connectTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(storageService, "readTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(storageService, "writeTimeout", Duration.ofSeconds(30));
+        storageService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void bucketIsCheckedOnlyOnce() {
+        storageService.ensureBucket();
+        storageService.saveObject("a/1.0.0/meta.json", new ByteArrayInputStream(new byte[10]), 10);
+        storageService.saveObject("a/1.0.0/package.rep", new ByteArrayInputStream(new byte[20]), 20);
+
+        assertEquals(1, server.bucketChecks.get());
+        assertTrue(server.buckets.contains("packages"));
+        assertEquals(2, server.singlePuts.get());
+    }
+
+    @Test
+    void largeObjectsAreUploadedInParallelParts() throws IOException {
+        byte[] content = randomBytes(PART_SIZE * 5 + 123);
+
+        storageService.saveObject("a/1.0.0/package.rep", new ByteArrayInputStream(content), content.length);
+
+        assertEquals(0, server.singlePuts.get());
+        assertEquals(6, server.uploadedParts.get());
+        assertTrue(server.maxConcurrentParts.get() > 1);
+        assertTrue(server.maxConcurrentParts.get() <= 3);
+        assertArrayEquals(content, server.objects.get("a/1.0.0/package.rep"));
+
+        try (InputStream in = storageService.loadObject("a/1.0.0/package.rep").getInputStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void failedPartAbortsTheUpload() {
+        server.failPartNumber = 2;
+        byte[] content = randomBytes(PART_SIZE * 3);
+
+        assertThrows(RuntimeException.class, () -> storageService.saveObject(
+                "a/1.0.0/package.rep", new ByteArrayInputStream(content), content.length));
+
+        assertEquals(1, server.abortedUploads.get());
+        assertFalse(server.objects.containsKey("a/1.0.0/package.rep"));
+    }
+
+    @Test
+    void presignedUrlIsSignedLocallyAndServesTheObject() throws IOException, InterruptedException {
+        byte[] content = randomBytes(1000);
+        storageService.saveObject("a/1.0.0/package.rep", new ByteArrayInputStream(content), content.length);
+
+        URI url = storageService.presignedUrl("a/1.0.0/package.rep", Duration.ofMinutes(10),
+                Map.of("Content-Type", "application/octet-stream"));
+        assertTrue(url.getQuery().contains("X-Amz-Signature="));
+        assertTrue(url.getQuery().contains("X-Amz-Expires=600"));
+        assertTrue(url.getQuery().contains("response-content-type=application/octet-stream"));
+        HttpResponse<byte[]> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(url).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertArrayEquals(content, response.body());
+
+        // İstemcilere verilen adres public-url ile imzalanır.
+        ReflectionTestUtils.setField(storageService, "publicUrl", "https://downloads.example.com");
+        storageService.init();
+        URI publicUrl = storageService.presignedUrl("a/1.0.0/package.rep", Duration.ofMinutes(10), Map.of());
+        assertEquals("downloads.example.com", publicUrl.getHost());
+        assertEquals("/packages/a/1.0.0/package.rep", publicUrl.getPath());
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
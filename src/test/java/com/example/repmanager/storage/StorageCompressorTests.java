@@ -0,0 +1,77 @@
+package com.example.repmanager.storage;
+
+import com.example.repmanager.core.util.ContentEncodingHelper;
+import com.example.repmanager.core.util.DigestHelper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StorageCompressorTests {
+
+    private final StorageCompressor compressor = new StorageCompressor(true, DataSize.ofBytes(64), 0.9, 6);
+
+    @Test
+    void storesCompressibleContentAsGzipAndDecodesIt() throws IOException {
+        byte[] raw = "{\"name\":\"a\",\"version\":\"1.0.0\",\"dependencies\":[]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        try (EncodedContent encoded = compressor.encode(new ByteArrayResource(raw), raw.length)) {
+            assertEquals(StorageCompressor.GZIP, encoded.getEncoding());
+            assertTrue(encoded.getSize() < raw.length / 10);
+            assertEquals(DigestHelper.sha256Hex(raw), encoded.getDigest()); // Özet, ham içeriğin özetidir.
+            assertEquals(raw.length, encoded.getRawSize());
+
+            byte[] stored = read(encoded.getInputStream());
+            assertArrayEquals(raw, read(StorageCompressor.decode(new ByteArrayResource(stored), encoded.getEncoding(),
+                    raw.length).getInputStream()));
+        }
+    }
+
+    @Test
+    void keepsIncompressibleContentRaw() throws IOException {
+        byte[] raw = new byte[64 * 1024];
+        new Random(1).nextBytes(raw); // Zaten sıkıştırılmış bir package.rep gibi davranır.
+
+        try (EncodedContent encoded = compressor.encode(new ByteArrayResource(raw), raw.length)) {
+            assertNull(encoded.getEncoding());
+            assertEquals(raw.length, encoded.getSize());
+            assertEquals(DigestHelper.sha256Hex(raw), encoded.getDigest());
+            assertArrayEquals(raw, read(encoded.getInputStream()));
+        }
+        assertNull(compressor.encode(new byte[10]).getEncoding()); // En küçük boyutun altındaki dosyalar denenmez.
+    }
+
+    @Test
+    void disabledCompressorDoesNotReadContent() {
+        EncodedContent encoded = StorageCompressor.disabled().encode(new ByteArrayResource(new byte[4096]), 4096);
+
+        assertNull(encoded.getEncoding());
+        assertNull(encoded.getDigest());
+    }
+
+    @Test
+    void honoursAcceptEncodingQualities() {
+        assertTrue(ContentEncodingHelper.accepts("gzip, deflate, br", "gzip"));
+        assertTrue(ContentEncodingHelper.accepts("br;q=1.0, *;q=0.5", "gzip"));
+        assertTrue(ContentEncodingHelper.accepts("x-gzip", "gzip"));
+        assertFalse(ContentEncodingHelper.accepts("gzip;q=0, *", "gzip"));
+        assertFalse(ContentEncodingHelper.accepts("identity", "gzip"));
+        assertFalse(ContentEncodingHelper.accepts(null, "gzip"));
+    }
+
+    private static byte[] read(InputStream inputStream) throws IOException {
+        try (inputStream) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
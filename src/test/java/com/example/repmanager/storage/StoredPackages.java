@@ -0,0 +1,37 @@
+package com.example.repmanager.storage;
+
+import com.example.repmanager.core.util.DigestHelper;
+import com.example.repmanager.entities.PackageEntity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Storage'ı tarayan veya taşıyan servislerin testleri için paket senaryoları hazırlar: dosyaları verilen storage'a
+ * yazar ve özetleri, boyutları kayıtlı bir paket kaydı döner.
+ */
+public final class StoredPackages {
+
+    private StoredPackages() {
+    }
+
+    /**
+     * name@1.0.0 paketinin meta.json ve package.rep dosyalarını ad/versiyon anahtarlarıyla storage'a yazar.
+     */
+    public static PackageEntity store(InMemoryStorageService storage, long id, String name) {
+        byte[] meta = ("{\"name\":\"" + name + "\"}").getBytes(StandardCharsets.UTF_8);
+        byte[] binary = (name + " package").repeat(100).getBytes(StandardCharsets.UTF_8);
+        storage.objects.put(StorageService.fileKey(name, "1.0.0", "meta.json"), meta);
+        storage.objects.put(StorageService.fileKey(name, "1.0.0", "package.rep"), binary);
+        return PackageEntity.builder()
+                .id(id)
+                .name(name)
+                .version("1.0.0")
+                .packageBinary(new String(meta, StandardCharsets.UTF_8))
+                .metaSize((long) meta.length)
+                .metaDigest(DigestHelper.sha256Hex(meta))
+                .packageDigest(DigestHelper.sha256Hex(binary))
+                .packageSize((long) binary.length)
+                .contentAddressed(false)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.repmanager.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredStorageServiceTests {
+
+    private final AtomicInteger coldReads = new AtomicInteger();
+    private final InMemoryStorageService coldTier = new InMemoryStorageService() {
+        @Override
+        public Resource loadObject(String key) {
+            super.loadObject(key); // Nesne yoksa hata fırlatır.
+            return new ByteArrayResource(objects.get(key), key) {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    coldReads.incrementAndGet(); // Her akış soğuk katmana bir GET isteğidir.
+                    return super.getInputStream();
+                }
+            };
+        }
+    };
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void missIsServedFromColdTierAndCopiedToDiskInTheSameRead() throws IOException {
+        TieredStorageService storageService = tiered(1024 * 1024);
+        save(storageService, "a/1.0.0/package.rep", new byte[]{1, 2, 3});
+
+        assertArrayEquals(new byte[]{1, 2, 3}, read(storageService.loadObject("a/1.0.0/package.rep")));
+        assertArrayEquals(new byte[]{1, 2, 3}, read(storageService.loadObject("a/1.0.0/package.rep")));
+
+        assertEquals(1, coldReads.get()); // İkinci indirme yerel kopyadan sunulur.
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(cacheDir.resolve("a/1.0.0/package.rep")));
+    }
+
+    @Test
+    void partialOrRangedReadsAreNotCopied() throws IOException {
+        TieredStorageService storageService = tiered(1024 * 1024);
+        save(storageService, "a/1.0.0/package.rep", new byte[4096]);
+
+        try (InputStream inputStream = storageService.loadObject("a/1.0.0/package.rep").getInputStream()) {
+            inputStream.readNBytes(100); // İstemci bağlantıyı yarıda kesti.
+        }
+        try (InputStream inputStream = storageService.openRange("a/1.0.0/package.rep", 1000, 10)) {
+            inputStream.readAllBytes();
+        }
+
+        assertFalse(Files.exists(cacheDir.resolve("a/1.0.0/package.rep")));
+        try (var files = Files.walk(cacheDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count()); // Geçici dosya kalmaz.
+        }
+    }
+
+    @Test
+    void localCopyRemovedAfterLoadIsStillServed() throws IOException {
+        TieredStorageService storageService = tiered(1024 * 1024);
+        save(storageService, "a/1.0.0/package.rep", new byte[]{4, 5, 6});
+        read(storageService.loadObject("a/1.0.0/package.rep"));
+
+        Resource local = storageService.loadObject("a/1.0.0/package.rep");
+        // Kota nedeniyle çıkarma, kaynak döndükten sonra ve okunmadan önce dosyayı siler.
+        Files.delete(cacheDir.resolve("a/1.0.0/package.rep"));
+
+        assertEquals(3, local.contentLength());
+        assertArrayEquals(new byte[]{4, 5, 6}, read(local));
+        assertArrayEquals(new byte[]{4, 5, 6}, read(local)); // Yeniden açma soğuk katmana düşer.
+        assertEquals(2, coldReads.get());
+    }
+
+    @Test
+    void saveReplacesTheLocalCopy() throws IOException {
+        TieredStorageService storageService = tiered(1024 * 1024);
+        save(storageService, "a/1.0.0/meta.json", new byte[]{1});
+        read(storageService.loadObject("a/1.0.0/meta.json"));
+        assertTrue(Files.exists(cacheDir.resolve("a/1.0.0/meta.json")));
+
+        save(storageService, "a/1.0.0/meta.json", new byte[]{2});
+
+        assertFalse(Files.exists(cacheDir.resolve("a/1.0.0/meta.json")));
+        assertArrayEquals(new byte[]{2}, read(storageService.loadObject("a/1.0.0/meta.json")));
+    }
+
+    @Test
+    void localTierStaysWithinQuota() throws IOException {
+        TieredStorageService storageService = tiered(8 * 1024);
+        for (int i = 0; i < 10; i++) {
+            String key = "a/1.0." + i + "/package.rep";
+            save(storageService, key, new byte[2048]);
+            read(storageService.loadObject(key));
+        }
+
+        long usage;
+        try (var files = Files.walk(cacheDir)) {
+            usage = files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+        assertTrue(usage <= 8 * 1024, "local tier uses " + usage + " bytes");
+    }
+
+    @Test
+    void restartReindexesLocalCopiesAndRemovesPartialOnes() throws IOException {
+        TieredStorageService storageService = tiered(1024 * 1024);
+        save(storageService, "a/1.0.0/package.rep", new byte[]{7});
+        read(storageService.loadObject("a/1.0.0/package.rep"));
+        Path partial = Files.writeString(cacheDir.resolve("a/1.0.0/package.rep123.part"), "partial");
+
+        TieredStorageService restarted = tiered(1024 * 1024);
+
+        assertArrayEquals(new byte[]{7}, read(restarted.loadObject("a/1.0.0/package.rep")));
+        assertEquals(1, coldReads.get()); // Yeniden başlatmadan sonra yerel kopya kullanılır.
+        assertFalse(Files.exists(partial));
+    }
+
+    private TieredStorageService tiered(long maxSize) {
+        // Çıkarılan dosyalar çağıran thread'de silinir; böylece testler arka plan işini beklemek zorunda kalmaz.
+        return new TieredStorageService(coldTier, cacheDir, maxSize, maxSize, Runnable::run, new SimpleMeterRegistry());
+    }
+
+    private static void save(StorageService storageService, String key, byte[] content) {
+        storageService.saveObject(key, new ByteArrayInputStream(content), content.length);
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+}